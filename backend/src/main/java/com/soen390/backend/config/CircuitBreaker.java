@@ -0,0 +1,244 @@
+package com.soen390.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Count-based circuit breaker around calls to one upstream.
+ *
+ * The outcomes of the last {@code windowSize} calls are kept in a ring. Once at least
+ * {@code minimumCalls} are recorded, the circuit opens when the share of failed calls or of calls
+ * slower than {@code slowCallDuration} reaches its threshold. While open, calls are rejected with
+ * {@link OpenException} without reaching the upstream. After {@code openDuration} the circuit is
+ * half-open: {@code halfOpenCalls} trial calls go through and their outcomes decide whether it
+ * closes again or stays open for another period.
+ *
+ * A call abandoned by its caller (cancelled, or interrupted while waiting) says nothing about the
+ * upstream, so it is not recorded in the window and any half-open trial slot it held is released.
+ *
+ * The state is published as the gauge {@code google.circuit.state} (0 closed, 1 open,
+ * 2 half-open) and outcomes are counted in {@code google.circuit.calls} tagged {@code outcome}
+ * (success, failure, slow, cancelled or rejected); both are tagged {@code upstream}.
+ */
+public final class CircuitBreaker {
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    /**
+     * @param failureRateThreshold  percentage of failed calls that opens the circuit
+     * @param slowCallRateThreshold percentage of slow calls that opens the circuit
+     */
+    public record Settings(int windowSize, int minimumCalls, double failureRateThreshold,
+                           Duration slowCallDuration, double slowCallRateThreshold,
+                           Duration openDuration, int halfOpenCalls) {
+
+        public static final Settings DEFAULTS = new Settings(20, 10, 50, Duration.ofSeconds(3), 80,
+                Duration.ofSeconds(30), 3);
+
+        public Settings {
+            if (windowSize < 1 || minimumCalls < 1 || halfOpenCalls < 1) {
+                throw new IllegalArgumentException("Circuit breaker window sizes must be positive");
+            }
+            minimumCalls = Math.min(minimumCalls, windowSize);
+            halfOpenCalls = Math.min(halfOpenCalls, windowSize);
+        }
+    }
+
+    /** Thrown instead of calling the upstream while the circuit is open. */
+    public static final class OpenException extends RuntimeException {
+        public OpenException(String upstream) {
+            super("Circuit for " + upstream + " is open");
+        }
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final Clock clock;
+
+    // Ring of the last outcomes; failures and slowCalls count the flags currently in the ring.
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtMillis;
+    private int trialsStarted;
+
+    private final Counter successes;
+    private final Counter failureCount;
+    private final Counter slowCount;
+    private final Counter cancelled;
+    private final Counter rejected;
+
+    public CircuitBreaker(String name, Settings settings, MeterRegistry meterRegistry, Clock clock) {
+        this.name = name;
+        this.settings = settings;
+        this.clock = clock;
+        this.failed = new boolean[settings.windowSize()];
+        this.slow = new boolean[settings.windowSize()];
+        this.successes = outcome(meterRegistry, "success");
+        this.failureCount = outcome(meterRegistry, "failure");
+        this.slowCount = outcome(meterRegistry, "slow");
+        this.cancelled = outcome(meterRegistry, "cancelled");
+        this.rejected = outcome(meterRegistry, "rejected");
+        Gauge.builder("google.circuit.state", this, breaker -> breaker.state().ordinal())
+                .description("Circuit state: 0 closed, 1 open, 2 half-open")
+                .tag("upstream", name)
+                .register(meterRegistry);
+    }
+
+    private Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("google.circuit.calls")
+                .description("Calls through the circuit breaker by outcome")
+                .tag("upstream", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether {@code e} is a 4xx response to a request the upstream rejected as malformed or
+     * unknown. 408 and 429 are the upstream shedding load, so they are not client errors here.
+     */
+    public static boolean isClientError(RuntimeException e) {
+        if (!(e instanceof HttpClientErrorException client)) return false;
+        int status = client.getStatusCode().value();
+        return status != HttpStatus.REQUEST_TIMEOUT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Current state; an open circuit whose wait has elapsed reports half-open. */
+    public synchronized State state() {
+        if (state == State.OPEN && openElapsed()) return State.HALF_OPEN;
+        return state;
+    }
+
+    /** Runs {@code call} through the breaker; every exception other than a cancellation counts as a failure. */
+    public <T> T call(Supplier<T> call) {
+        return call(call, e -> false);
+    }
+
+    /**
+     * Runs {@code call} through the breaker and records its outcome. Exceptions matching
+     * {@code ignored} are answers rather than upstream faults (for example "no route found"): they
+     * count as successes and are rethrown unchanged.
+     *
+     * @throws OpenException when the circuit is open or all half-open trial calls are in flight
+     */
+    public <T> T call(Supplier<T> call, Predicate<RuntimeException> ignored) {
+        acquire();
+        long start = clock.millis();
+        try {
+            T result = call.get();
+            record(false, clock.millis() - start);
+            return result;
+        } catch (RuntimeException e) {
+            if (isCancellation(e)) release();
+            else record(!ignored.test(e), clock.millis() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Whether the call failed because it was cancelled or its thread interrupted. Socket timeouts
+     * are {@link InterruptedIOException}s too, but they are the upstream being slow and still count.
+     */
+    static boolean isCancellation(RuntimeException e) {
+        Throwable cause = e;
+        for (int depth = 0; cause != null && depth < 10; depth++, cause = cause.getCause()) {
+            if (cause instanceof CancellationException
+                    || cause instanceof InterruptedException
+                    || cause instanceof ClosedByInterruptException
+                    || (cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException))) {
+                return true;
+            }
+        }
+        return Thread.currentThread().isInterrupted();
+    }
+
+    private synchronized void release() {
+        cancelled.increment();
+        if (state == State.HALF_OPEN && trialsStarted > 0) trialsStarted--;
+    }
+
+    private synchronized void acquire() {
+        if (state == State.OPEN && openElapsed()) {
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            resetWindow();
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && trialsStarted >= settings.halfOpenCalls())) {
+            rejected.increment();
+            throw new OpenException(name);
+        }
+        if (state == State.HALF_OPEN) trialsStarted++;
+    }
+
+    private synchronized void record(boolean failure, long elapsedMillis) {
+        boolean slowCall = elapsedMillis >= settings.slowCallDuration().toMillis();
+        if (failure) failureCount.increment();
+        else successes.increment();
+        if (slowCall) slowCount.increment();
+
+        // Outcomes of calls admitted before the circuit opened arrive late and are dropped.
+        if (state == State.OPEN) return;
+
+        if (recorded == failed.length) {
+            if (failed[next]) failures--;
+            if (slow[next]) slowCalls--;
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        slow[next] = slowCall;
+        if (failure) failures++;
+        if (slowCall) slowCalls++;
+        next = (next + 1) % failed.length;
+
+        int needed = state == State.HALF_OPEN ? settings.halfOpenCalls() : settings.minimumCalls();
+        if (recorded < needed) return;
+        if (overThreshold()) {
+            state = State.OPEN;
+            openedAtMillis = clock.millis();
+        } else if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            resetWindow();
+        }
+    }
+
+    private boolean overThreshold() {
+        return failures * 100d / recorded >= settings.failureRateThreshold()
+                || slowCalls * 100d / recorded >= settings.slowCallRateThreshold();
+    }
+
+    private boolean openElapsed() {
+        return clock.millis() - openedAtMillis >= settings.openDuration().toMillis();
+    }
+
+    private void resetWindow() {
+        Arrays.fill(failed, false);
+        Arrays.fill(slow, false);
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
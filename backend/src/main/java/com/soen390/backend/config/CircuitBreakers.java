@@ -0,0 +1,71 @@
+package com.soen390.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One {@link CircuitBreaker} per Google upstream, created on first use.
+ *
+ * Settings are read from {@code google.circuit.<upstream>.*} (window-size, minimum-calls,
+ * failure-rate-threshold, slow-call-duration, slow-call-rate-threshold, open-duration and
+ * half-open-calls) and fall back to {@link CircuitBreaker.Settings#DEFAULTS}.
+ */
+@Component
+public class CircuitBreakers {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<OutboundHttpClients.Upstream, CircuitBreaker> breakers =
+            new EnumMap<>(OutboundHttpClients.Upstream.class);
+
+    /** Breakers with the default settings, for use outside Spring. */
+    public CircuitBreakers() {
+        this(new StandardEnvironment(), new SimpleMeterRegistry(), Clock.systemUTC());
+    }
+
+    @Autowired
+    public CircuitBreakers(Environment environment, MeterRegistry meterRegistry) {
+        this(environment, meterRegistry, Clock.systemUTC());
+    }
+
+    CircuitBreakers(Environment environment, MeterRegistry meterRegistry, Clock clock) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    public synchronized CircuitBreaker get(OutboundHttpClients.Upstream upstream) {
+        return breakers.computeIfAbsent(upstream, u ->
+                new CircuitBreaker(u.getPropertyName(), settings(u), meterRegistry, clock));
+    }
+
+    /** Settings of {@code upstream} after applying {@code google.circuit.<upstream>.*} overrides. */
+    public CircuitBreaker.Settings settings(OutboundHttpClients.Upstream upstream) {
+        String prefix = "google.circuit." + upstream.getPropertyName() + ".";
+        CircuitBreaker.Settings defaults = CircuitBreaker.Settings.DEFAULTS;
+        return new CircuitBreaker.Settings(
+                environment.getProperty(prefix + "window-size", Integer.class, defaults.windowSize()),
+                environment.getProperty(prefix + "minimum-calls", Integer.class, defaults.minimumCalls()),
+                environment.getProperty(prefix + "failure-rate-threshold", Double.class, defaults.failureRateThreshold()),
+                duration(prefix + "slow-call-duration", defaults.slowCallDuration()),
+                environment.getProperty(prefix + "slow-call-rate-threshold", Double.class, defaults.slowCallRateThreshold()),
+                duration(prefix + "open-duration", defaults.openDuration()),
+                environment.getProperty(prefix + "half-open-calls", Integer.class, defaults.halfOpenCalls()));
+    }
+
+    private Duration duration(String key, Duration fallback) {
+        String value = environment.getProperty(key);
+        return value == null || value.isBlank() ? fallback : DurationStyle.detectAndParse(value.trim());
+    }
+}
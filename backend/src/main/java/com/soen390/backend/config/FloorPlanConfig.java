@@ -0,0 +1,22 @@
+package com.soen390.backend.config;
+
+import com.soen390.backend.model.ConnectorWaitTable;
+import com.soen390.backend.model.FloorPlanRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FloorPlanConfig {
+
+    /** Exposes the shared repository so its per-plan load gauges are bound to the meter registry. */
+    @Bean
+    public FloorPlanRepository floorPlanRepository() {
+        return FloorPlanRepository.getShared();
+    }
+
+    /** Connector waits shared by single-building and cross-building routing. */
+    @Bean
+    public ConnectorWaitTable connectorWaitTable() {
+        return ConnectorWaitTable.getDefault();
+    }
+}
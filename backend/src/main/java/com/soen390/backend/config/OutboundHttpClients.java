@@ -0,0 +1,174 @@
+package com.soen390.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.core5.http.io.HttpConnectionFactory;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Pooled HTTP clients for the Google APIs the backend calls, one per upstream.
+ *
+ * Each upstream gets its own connection pool, so a slow API can only exhaust its own connections,
+ * and its own timeouts, so no call can hold a request thread indefinitely. Settings are read from
+ * {@code outbound.http.<upstream>.*} and fall back to the defaults of {@link Upstream}.
+ *
+ * Per upstream, the pool gauges are published as {@code httpcomponents.httpclient.pool.*} tagged
+ * {@code httpclient}. Connection reuse is the difference between {@code outbound.http.requests}
+ * and {@code outbound.http.connections.opened}, both tagged {@code upstream}.
+ */
+public class OutboundHttpClients implements DisposableBean {
+
+    private static final TimeValue IDLE_EVICTION = TimeValue.ofSeconds(30);
+    private static final TimeValue VALIDATE_AFTER_INACTIVITY = TimeValue.ofSeconds(2);
+    private static final TimeValue CONNECTION_TIME_TO_LIVE = TimeValue.ofMinutes(5);
+
+    /** Google APIs called by the backend, with their default pool size and timeouts. */
+    public enum Upstream {
+        DIRECTIONS("directions", 20, Duration.ofSeconds(2), Duration.ofSeconds(5)),
+        PLACES("places", 10, Duration.ofSeconds(2), Duration.ofSeconds(5)),
+        OAUTH("oauth", 5, Duration.ofSeconds(2), Duration.ofSeconds(10)),
+        CALENDAR("calendar", 10, Duration.ofSeconds(2), Duration.ofSeconds(10));
+
+        private final String propertyName;
+        private final int maxConnections;
+        private final Duration connectTimeout;
+        private final Duration responseTimeout;
+
+        Upstream(String propertyName, int maxConnections, Duration connectTimeout, Duration responseTimeout) {
+            this.propertyName = propertyName;
+            this.maxConnections = maxConnections;
+            this.connectTimeout = connectTimeout;
+            this.responseTimeout = responseTimeout;
+        }
+
+        public String getPropertyName() {
+            return propertyName;
+        }
+    }
+
+    /** Resolved settings of one upstream. */
+    public record Settings(int maxConnections, Duration connectTimeout, Duration responseTimeout, Duration poolTimeout) {}
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<Upstream, CloseableHttpClient> clients = new EnumMap<>(Upstream.class);
+
+    public OutboundHttpClients(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Settings of {@code upstream} after applying {@code outbound.http.<upstream>.*} overrides. */
+    public Settings settings(Upstream upstream) {
+        String prefix = "outbound.http." + upstream.propertyName + ".";
+        Duration connectTimeout = duration(prefix + "connect-timeout", upstream.connectTimeout);
+        return new Settings(
+                environment.getProperty(prefix + "max-connections", Integer.class, upstream.maxConnections),
+                connectTimeout,
+                duration(prefix + "response-timeout", upstream.responseTimeout),
+                duration(prefix + "pool-timeout", connectTimeout));
+    }
+
+    /** Accepts both {@code 5s} and {@code PT5S}, like {@code @Value} Duration properties. */
+    private Duration duration(String key, Duration fallback) {
+        String value = environment.getProperty(key);
+        return value == null || value.isBlank() ? fallback : DurationStyle.detectAndParse(value.trim());
+    }
+
+    /** Request factory backed by the pooled client of {@code upstream}; the client is created once. */
+    public synchronized ClientHttpRequestFactory requestFactory(Upstream upstream) {
+        return new HttpComponentsClientHttpRequestFactory(clients.computeIfAbsent(upstream, this::createClient));
+    }
+
+    private CloseableHttpClient createClient(Upstream upstream) {
+        Settings settings = settings(upstream);
+        String name = upstream.propertyName;
+        Counter opened = Counter.builder("outbound.http.connections.opened")
+                .description("Outbound connections opened; requests minus this is the number of reused connections")
+                .tag("upstream", name)
+                .register(meterRegistry);
+        Counter requests = Counter.builder("outbound.http.requests")
+                .description("Outbound requests sent")
+                .tag("upstream", name)
+                .register(meterRegistry);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setConnectionFactory(new CountingConnectionFactory(opened))
+                .setMaxConnTotal(settings.maxConnections())
+                .setMaxConnPerRoute(settings.maxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(settings.connectTimeout()))
+                        .setSocketTimeout(timeout(settings.responseTimeout()))
+                        .setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY)
+                        .setTimeToLive(CONNECTION_TIME_TO_LIVE)
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, name).bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(settings.poolTimeout()))
+                        .setResponseTimeout(timeout(settings.responseTimeout()))
+                        .build())
+                .addRequestInterceptorLast((request, entity, context) -> requests.increment())
+                .evictIdleConnections(IDLE_EVICTION)
+                .evictExpiredConnections()
+                .build();
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        for (CloseableHttpClient client : clients.values()) {
+            client.close();
+        }
+        clients.clear();
+    }
+
+    /** Default connection factory that counts the connections it opens. */
+    private static final class CountingConnectionFactory implements HttpConnectionFactory<ManagedHttpClientConnection> {
+        private final Counter opened;
+
+        CountingConnectionFactory(Counter opened) {
+            this.opened = opened;
+        }
+
+        @Override
+        public ManagedHttpClientConnection createConnection(Socket socket) throws IOException {
+            opened.increment();
+            return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+        }
+
+        @Override
+        public ManagedHttpClientConnection createConnection(SSLSocket sslSocket, Socket socket) throws IOException {
+            opened.increment();
+            return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(sslSocket, socket);
+        }
+    }
+}
@@ -1,14 +1,54 @@
 package com.soen390.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * HTTP clients for the Google APIs, each on its own pool from {@link OutboundHttpClients}.
+ * Services pick theirs by bean name.
+ */
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public OutboundHttpClients outboundHttpClients(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OutboundHttpClients(environment, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    public RestTemplate directionsRestTemplate(ObjectProvider<RestTemplateBuilder> builder, OutboundHttpClients clients) {
+        return restTemplate(builder, clients, OutboundHttpClients.Upstream.DIRECTIONS);
+    }
+
+    @Bean
+    public RestTemplate oauthRestTemplate(ObjectProvider<RestTemplateBuilder> builder, OutboundHttpClients clients) {
+        return restTemplate(builder, clients, OutboundHttpClients.Upstream.OAUTH);
+    }
+
+    @Bean
+    public RestTemplate calendarRestTemplate(ObjectProvider<RestTemplateBuilder> builder, OutboundHttpClients clients) {
+        return restTemplate(builder, clients, OutboundHttpClients.Upstream.CALENDAR);
+    }
+
+    @Bean
+    public RestClient placesRestClient(ObjectProvider<RestClient.Builder> builder, OutboundHttpClients clients) {
+        return builder.getIfAvailable(RestClient::builder)
+                .requestFactory(clients.requestFactory(OutboundHttpClients.Upstream.PLACES))
+                .build();
+    }
+
+    /** Built from Boot's builder when present, so requests are observed like any other RestTemplate's. */
+    private static RestTemplate restTemplate(ObjectProvider<RestTemplateBuilder> builder, OutboundHttpClients clients,
+                                             OutboundHttpClients.Upstream upstream) {
+        return builder.getIfAvailable(RestTemplateBuilder::new)
+                .requestFactory(() -> clients.requestFactory(upstream))
+                .build();
     }
 }
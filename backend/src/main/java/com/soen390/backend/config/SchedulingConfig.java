@@ -0,0 +1,10 @@
+package com.soen390.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Runs {@code @Scheduled} background refreshes, such as the precomputed campus shuttle legs. */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
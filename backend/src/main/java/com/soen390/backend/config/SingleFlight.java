@@ -0,0 +1,95 @@
+package com.soen390.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls to one upstream: while a call for a key is in flight,
+ * further calls for the same key wait for it and share its result or exception instead of
+ * sending their own request. Nothing is kept once the call completes.
+ *
+ * The upstream call runs on its own virtual thread rather than on the caller's, and every caller,
+ * the one that started it included, only waits for it. Cancelling or interrupting a caller
+ * therefore abandons its wait but never aborts a call other callers are sharing.
+ *
+ * Calls are counted in {@code google.singleflight.calls} tagged {@code upstream} and
+ * {@code result}: {@code executed} for calls that went upstream, {@code shared} for calls that
+ * joined one. The coalescing ratio is shared / (executed + shared).
+ */
+public final class SingleFlight<K, V> {
+
+    private static final ExecutorService CALLS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter shared;
+
+    public SingleFlight(String upstream, MeterRegistry meterRegistry) {
+        this.executed = counter(meterRegistry, upstream, "executed");
+        this.shared = counter(meterRegistry, upstream, "shared");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String upstream, String result) {
+        return Counter.builder("google.singleflight.calls")
+                .description("Upstream calls executed, or shared with an identical call in flight")
+                .tag("upstream", upstream)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** Result of {@code call}, or of the identical call already in flight for {@code key}. */
+    public V run(K key, Supplier<V> call) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            shared.increment();
+            return await(running);
+        }
+
+        executed.increment();
+        // The key is released before the result is published, so a later call never joins a finished one.
+        CALLS.execute(() -> {
+            try {
+                V value = call.get();
+                inFlight.remove(key, own);
+                own.complete(value);
+            } catch (RuntimeException | Error e) {
+                inFlight.remove(key, own);
+                own.completeExceptionally(e);
+            }
+        });
+        return await(own);
+    }
+
+    /** Number of keys with a call in flight. */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Waits for the shared call. An interrupted wait keeps the interrupt flag and throws
+     * {@link CancellationException}; the call itself keeps running for the other callers.
+     */
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CancellationException cancelled = new CancellationException("Interrupted while waiting for a shared call");
+            cancelled.initCause(e);
+            throw cancelled;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -2,12 +2,17 @@ package com.soen390.backend.controller;
 
 import com.soen390.backend.exception.IndoorResourceNotFoundException;
 import com.soen390.backend.exception.InvalidIndoorRequestException;
+import com.soen390.backend.model.BuildingRegistry;
 import com.soen390.backend.object.IndoorDirectionResponse;
+import com.soen390.backend.object.IndoorRouteAlternative;
+import com.soen390.backend.object.IndoorSearchResult;
+import com.soen390.backend.object.RouteSimplificationOptions;
 import com.soen390.backend.service.IndoorDirectionService;
+import com.soen390.backend.service.IndoorSearchService;
+import com.soen390.backend.service.RouteGeometryEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Set;
 
 @RestController
 @RequestMapping("/api/directions/indoor")
@@ -15,16 +20,16 @@ public class IndoorDirectionsController {
 
     private static final String PARAM_BUILDING_ID = "buildingId";
     private static final String FLOOR_LABEL = " floor '";
-
-    private static final Set<String> VALID_BUILDING_PREFIXES = Set.of(
-            "Hall-", "VL-", "LB-", "MB-", "CC-", "VE-" );
-    private static final Set<String> VALID_SHORT_CODES = Set.of(
-            "H", "VL", "LB", "MB", "CC", "VE");
+    private static final String FORMAT_FULL = "full";
+    private static final String FORMAT_COMPACT = "compact";
 
     private final IndoorDirectionService indoorDirectionService;
+    private final IndoorSearchService indoorSearchService;
 
-    public IndoorDirectionsController(IndoorDirectionService indoorDirectionService) {
+    public IndoorDirectionsController(IndoorDirectionService indoorDirectionService,
+                                      IndoorSearchService indoorSearchService) {
         this.indoorDirectionService = indoorDirectionService;
+        this.indoorSearchService = indoorSearchService;
     }
 
     @GetMapping
@@ -34,12 +39,17 @@ public class IndoorDirectionsController {
             @RequestParam String destination,
             @RequestParam(required = false) String originFloor,
             @RequestParam(required = false) String destinationFloor,
-            @RequestParam(required = false, defaultValue = "false") boolean avoidStairs) {
+            @RequestParam(required = false, defaultValue = "false") boolean avoidStairs,
+            @RequestParam(required = false, defaultValue = "false") boolean simplify,
+            @RequestParam(required = false) Double simplifyTolerance,
+            @RequestParam(required = false) String format) {
 
         validateNotBlank(buildingId, PARAM_BUILDING_ID);
         validateNotBlank(origin, "origin");
         validateNotBlank(destination, "destination");
         validateBuildingId(buildingId);
+        RouteSimplificationOptions simplification = toSimplificationOptions(simplify, simplifyTolerance);
+        boolean compact = isCompactFormat(format);
 
         String safeBuildingId = sanitize(buildingId);
         String safeOrigin = sanitize(origin);
@@ -53,7 +63,8 @@ public class IndoorDirectionsController {
         }
 
         IndoorDirectionResponse response = indoorDirectionService.getIndoorDirections(
-                safeBuildingId, safeOrigin, safeDestination, safeOriginFloor, safeDestFloor, avoidStairs);
+                safeBuildingId, safeOrigin, safeDestination, safeOriginFloor, safeDestFloor, avoidStairs,
+                simplification);
 
         if (response.getRoutePoints() == null || response.getRoutePoints().isEmpty()) {
             throw new IndoorResourceNotFoundException(
@@ -61,9 +72,47 @@ public class IndoorDirectionsController {
                             + "' in building '" + safeBuildingId + "'.");
         }
 
+        if (compact) {
+            response.useCompactGeometry(RouteGeometryEncoder.encode(
+                    response.getRoutePoints(), RouteGeometryEncoder.DEFAULT_PRECISION));
+        }
         return response;
     }
     
+    @GetMapping("/alternatives")
+    public List<IndoorRouteAlternative> getRouteAlternatives(
+            @RequestParam String buildingId,
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(required = false) String originFloor,
+            @RequestParam(required = false) String destinationFloor,
+            @RequestParam(required = false, defaultValue = "false") boolean avoidStairs) {
+
+        validateNotBlank(buildingId, PARAM_BUILDING_ID);
+        validateNotBlank(origin, "origin");
+        validateNotBlank(destination, "destination");
+        validateBuildingId(buildingId);
+
+        String safeBuildingId = sanitize(buildingId);
+        String safeOrigin = sanitize(origin);
+        String safeDestination = sanitize(destination);
+
+        if (safeOrigin.trim().equalsIgnoreCase(safeDestination.trim())) {
+            throw new InvalidIndoorRequestException(
+                    "origin and destination must be different.");
+        }
+
+        List<IndoorRouteAlternative> alternatives = indoorDirectionService.getRouteAlternatives(
+                safeBuildingId, safeOrigin, safeDestination, sanitize(originFloor), sanitize(destinationFloor),
+                avoidStairs);
+        if (alternatives.isEmpty()) {
+            throw new IndoorResourceNotFoundException(
+                    "No route found from '" + safeOrigin + "' to '" + safeDestination
+                            + "' in building '" + safeBuildingId + "'.");
+        }
+        return alternatives;
+    }
+
     @GetMapping("/rooms")
     public List<String> getAvailableRooms(
             @RequestParam String buildingId,
@@ -135,6 +184,19 @@ public class IndoorDirectionsController {
         return indoorDirectionService.getPointsOfInterest(sanitize(buildingId), sanitize(floor));
     }
 
+    @GetMapping("/search")
+    public List<IndoorSearchResult> search(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "" + IndoorSearchService.DEFAULT_LIMIT) int limit) {
+
+        validateNotBlank(q, "q");
+        if (limit < 1 || limit > IndoorSearchService.MAX_LIMIT) {
+            throw new InvalidIndoorRequestException(
+                    "'limit' must be between 1 and " + IndoorSearchService.MAX_LIMIT + ".");
+        }
+        return indoorSearchService.search(sanitize(q), limit);
+    }
+
     /** Strip newlines and control characters to prevent log injection. */
     private static String sanitize(String input) {
         if (input == null) return null;
@@ -148,19 +210,41 @@ public class IndoorDirectionsController {
         }
     }
 
+    private boolean isCompactFormat(String format) {
+        if (format == null || format.isBlank() || format.equalsIgnoreCase(FORMAT_FULL)) {
+            return false;
+        }
+        if (format.equalsIgnoreCase(FORMAT_COMPACT)) {
+            return true;
+        }
+        throw new InvalidIndoorRequestException(
+                "'format' must be '" + FORMAT_FULL + "' or '" + FORMAT_COMPACT + "'.");
+    }
+
+    private RouteSimplificationOptions toSimplificationOptions(boolean simplify, Double simplifyTolerance) {
+        if (!simplify) {
+            return RouteSimplificationOptions.NONE;
+        }
+        double tolerance = simplifyTolerance != null
+                ? simplifyTolerance
+                : RouteSimplificationOptions.DEFAULT_TOLERANCE_PX;
+        if (tolerance < 0 || Double.isNaN(tolerance)) {
+            throw new InvalidIndoorRequestException(
+                    "'simplifyTolerance' must be a non-negative number of pixels.");
+        }
+        return RouteSimplificationOptions.withTolerance(tolerance);
+    }
+
     private void validateBuildingId(String buildingId) {
-        if (VALID_SHORT_CODES.contains(buildingId)) {
+        if (BuildingRegistry.getDefault().isKnown(buildingId)) {
             return;
         }
-        for (String prefix : VALID_BUILDING_PREFIXES) {
-            if (buildingId.startsWith(prefix)) {
-                return;
-            }
-        }
+        List<String> shortCodes = BuildingRegistry.getDefault().getBuildings().stream()
+                .map(BuildingRegistry.Building::code).toList();
         throw new InvalidIndoorRequestException(
                 "Unknown building ID '" + buildingId
-                + "'. Valid prefixes: " + VALID_BUILDING_PREFIXES
-                + ", valid short codes: " + VALID_SHORT_CODES + ".");
+                + "'. Valid short codes: " + shortCodes
+                + ", or a floor plan id such as 'Hall-8'.");
     }
     
     public static class PoiResponse {
@@ -4,6 +4,7 @@ import com.soen390.backend.enums.BuildingLocation;
 import com.soen390.backend.enums.Campus;
 import com.soen390.backend.exception.GoogleMapsDirectionEmptyException;
 import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.exception.RouteTimeoutException;
 import com.soen390.backend.object.OutdoorDirectionResponse;
 import com.soen390.backend.enums.TransportMode;
 import com.soen390.backend.service.GoogleMapsService;
@@ -30,13 +31,18 @@ public class OutdoorDirectionsController {
     }
 
 
+    /**
+     * Directions between two places. {@code bypassCache} skips the cached response and asks Google
+     * again, refreshing the cache, for clients that need the current schedule or traffic.
+     */
     @GetMapping
     public ResponseEntity<Object> getDirections(
             @RequestParam String origin,
             @RequestParam String destination,
             @RequestParam String transportMode,
             @RequestParam(required = false) String originBuildingId,
-            @RequestParam(required = false) String destinationBuildingId) {
+            @RequestParam(required = false) String destinationBuildingId,
+            @RequestParam(defaultValue = "false") boolean bypassCache) {
         TransportMode normalizedTransportMode;
         try {
             normalizedTransportMode = TransportMode.valueOf(transportMode.toUpperCase(Locale.ROOT));
@@ -49,7 +55,7 @@ public class OutdoorDirectionsController {
 
         try {
             OutdoorDirectionResponse response =
-                    mapsService.getDirections(resolvedOrigin, resolvedDestination, normalizedTransportMode);
+                    mapsService.getDirections(resolvedOrigin, resolvedDestination, normalizedTransportMode, bypassCache);
             return ResponseEntity.ok(response);
         } catch (GoogleMapsDirectionEmptyException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(ERROR_KEY, e.getMessage()));
@@ -77,6 +83,8 @@ public class OutdoorDirectionsController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(ERROR_KEY, e.getMessage()));
         } catch (GoogleMapsDirectionsApiException e) {
             return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Map.of(ERROR_KEY, e.getMessage()));
+        } catch (RouteTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(Map.of(ERROR_KEY, e.getMessage()));
         }
     }
 
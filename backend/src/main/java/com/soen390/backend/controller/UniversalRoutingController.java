@@ -2,6 +2,8 @@ package com.soen390.backend.controller;
 
 import com.soen390.backend.exception.GoogleMapsDirectionEmptyException;
 import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.exception.IndoorResourceNotFoundException;
+import com.soen390.backend.exception.RouteTimeoutException;
 import com.soen390.backend.object.UniversalDirectionResponse;
 import com.soen390.backend.service.UniversalRoutingService;
 import org.springframework.http.HttpStatus;
@@ -39,10 +41,12 @@ public class UniversalRoutingController {
                     startBuilding, startRoom, startFloor,
                     endBuilding, endRoom, endFloor, avoidStairs);
             return ResponseEntity.ok(response);
-        } catch (GoogleMapsDirectionEmptyException e) {
+        } catch (GoogleMapsDirectionEmptyException | IndoorResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(ERR_KEY, e.getMessage()));
         } catch (GoogleMapsDirectionsApiException e) {
             return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Map.of(ERR_KEY, e.getMessage()));
+        } catch (RouteTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(Map.of(ERR_KEY, e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of(
                     ERR_KEY, e.getMessage() != null ? e.getMessage() : "Universal routing failed"));
@@ -1,5 +1,8 @@
 package com.soen390.backend.enums;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum BuildingLocation {
     FB("SGW", "1250 Guy St, Montreal, Quebec H3H 2S7"),
     CL("SGW", "1665 Rue Sainte-Catherine O, Montreal, QC H3H 1L9"),
@@ -18,6 +21,15 @@ public enum BuildingLocation {
     HU("LOY", Constants.LOYOLA_ADDRESS, Constants.LOYOLA_HU_ENTRANCE),
     HB("LOY", Constants.HB_ADDRESS);
 
+    private static final Map<String, BuildingLocation> BY_CODE = new HashMap<>();
+
+    static {
+        for (BuildingLocation b : values()) {
+            BY_CODE.put(b.name(), b);
+        }
+        BY_CODE.put("Hall", H);
+    }
+
     public final String campus;
     public final String address;
     private final String directionsTarget;
@@ -36,20 +48,22 @@ public enum BuildingLocation {
         return directionsTarget;
     }
 
+    /**
+     * Resolves a building code or any id starting with one ("HB-131", "Hall-8") to its location.
+     * The leading run of letters is looked up first, then shortened one character at a time so
+     * the longest matching code wins. Unknown ids fall back to the Hall building.
+     */
     public static BuildingLocation fromId(String id) {
         if (id == null) return H;
-        if (id.startsWith("Hall")) return H;
-        BuildingLocation bestMatch = null;
-        for (BuildingLocation b : values()) {
-            if (id.equals(b.name())) {
-                return b;
-            }
-            if (id.startsWith(b.name())
-                    && (bestMatch == null || b.name().length() > bestMatch.name().length())) {
-                bestMatch = b;
-            }
+        int letters = 0;
+        while (letters < id.length() && Character.isLetter(id.charAt(letters))) {
+            letters++;
+        }
+        for (int end = letters; end > 0; end--) {
+            BuildingLocation match = BY_CODE.get(id.substring(0, end));
+            if (match != null) return match;
         }
-        return bestMatch != null ? bestMatch : H;
+        return H;
     }
 
     private static class Constants {
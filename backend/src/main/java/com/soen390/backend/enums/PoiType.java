@@ -0,0 +1,27 @@
+package com.soen390.backend.enums;
+
+public enum PoiType {
+    BATHROOM_MEN("bathroom-men"),
+    BATHROOM_WOMEN("bathroom-women"),
+    ELEVATOR("elevator"),
+    STAIRS("stairs"),
+    STAIRS_DOWN("stairs-down"),
+    STAIRS_UP("stairs-up"),
+    EMERGENCY_EXIT("emergency-exit"),
+    WATER_FOUNTAIN("water-fountain"),
+    COMPUTER_STATION("computer-station"),
+    STUDY_AREA("study-area"),
+    ENTRANCE_EXIT("entrance-exit"),
+    PRINTER("printer"),
+    BOOKSHELF("bookshelf");
+
+    private final String value;
+
+    PoiType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
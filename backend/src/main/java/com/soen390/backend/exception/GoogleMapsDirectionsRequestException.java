@@ -0,0 +1,11 @@
+package com.soen390.backend.exception;
+
+/**
+ * Google rejected the directions request itself (for example an unknown address or too many
+ * waypoints). The API is healthy, so these do not count against its circuit breaker.
+ */
+public class GoogleMapsDirectionsRequestException extends GoogleMapsDirectionsApiException {
+    public GoogleMapsDirectionsRequestException(String message) {
+        super(message);
+    }
+}
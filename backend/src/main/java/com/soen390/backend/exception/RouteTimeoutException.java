@@ -0,0 +1,11 @@
+package com.soen390.backend.exception;
+
+/**
+ * A route could not be computed before its deadline. Nothing was wrong with the request, so
+ * callers should answer with a gateway timeout rather than a server error.
+ */
+public class RouteTimeoutException extends RuntimeException {
+    public RouteTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
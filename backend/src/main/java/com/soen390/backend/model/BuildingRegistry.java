@@ -0,0 +1,208 @@
+package com.soen390.backend.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soen390.backend.enums.BuildingLocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable index of the buildings that have indoor floor plans, loaded once from {@code buildings.json}.
+ *
+ * Short codes ("H"), aliases ("Hall"), plan prefixes ("Hall-") and plan ids ("Hall-8") all resolve
+ * to the same {@link Building} through hash lookups, so adding a building only means adding an
+ * entry to the JSON file and its floor plans.
+ */
+public final class BuildingRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(BuildingRegistry.class);
+    private static final String RESOURCE = "buildings.json";
+    private static final String CONNECTIONS_RESOURCE = "connections.json";
+    private static final char PLAN_SEPARATOR = '-';
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final BuildingRegistry DEFAULT = loadFromClasspath(RESOURCE, CONNECTIONS_RESOURCE);
+
+    /**
+     * One indoor-mapped building.
+     *
+     * @param code          short code accepted by the directions API (e.g. "H")
+     * @param planPrefix    floor plan id prefix before the dash (e.g. "Hall" for "Hall-8")
+     * @param name          display name (e.g. "Hall Building")
+     * @param campus        "SGW" or "LOY", as used by the shuttle schedules
+     * @param floors        floors with a floor plan, in the order they are listed in the metadata
+     * @param entranceId    room or POI id used as the street entrance/exit
+     * @param entranceFloor floor of {@code entranceId}
+     * @param location      outdoor address and directions target of the building
+     */
+    public record Building(
+            String code,
+            String planPrefix,
+            String name,
+            String campus,
+            List<String> floors,
+            String entranceId,
+            String entranceFloor,
+            BuildingLocation location) {
+
+        public String planId(String floor) {
+            return planPrefix + PLAN_SEPARATOR + floor;
+        }
+    }
+
+    /**
+     * Indoor link between two buildings (e.g. an underground tunnel), joining a room or POI on
+     * one floor plan to one on another.
+     *
+     * @param accessible whether the link can be used without stairs
+     */
+    public record Connection(
+            String type,
+            String fromPlan,
+            String fromId,
+            String toPlan,
+            String toId,
+            double lengthMeters,
+            boolean accessible) {
+    }
+
+    private final List<Building> buildings;
+    /** Bare identifiers: short codes and aliases ("H", "Hall", "LB"). */
+    private final Map<String, Building> byCode;
+    /** Text before the dash of a plan id ("Hall" in "Hall-8"). */
+    private final Map<String, Building> byPlanPrefix;
+    private final List<String> floorPlanIds;
+    private final List<Connection> connections;
+
+    BuildingRegistry(List<Building> buildings, Map<String, List<String>> aliases, List<Connection> connections) {
+        Map<String, Building> codes = new HashMap<>();
+        Map<String, Building> prefixes = new HashMap<>();
+        List<String> planIds = new ArrayList<>();
+        for (Building building : buildings) {
+            codes.put(building.code(), building);
+            aliases.getOrDefault(building.code(), List.of()).forEach(alias -> codes.putIfAbsent(alias, building));
+            prefixes.put(building.planPrefix(), building);
+            building.floors().forEach(floor -> planIds.add(building.planId(floor)));
+        }
+        this.buildings = List.copyOf(buildings);
+        this.byCode = Map.copyOf(codes);
+        this.byPlanPrefix = Map.copyOf(prefixes);
+        this.floorPlanIds = List.copyOf(planIds);
+        this.connections = List.copyOf(connections);
+    }
+
+    public static BuildingRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Resolves a short code, alias or plan id ("H", "Hall", "Hall-8", "Hall-") to its building.
+     */
+    public Optional<Building> find(String buildingId) {
+        if (buildingId == null) return Optional.empty();
+        Building building = byCode.get(buildingId);
+        if (building != null) return Optional.of(building);
+        int dash = buildingId.indexOf(PLAN_SEPARATOR);
+        if (dash <= 0) return Optional.empty();
+        return Optional.ofNullable(byPlanPrefix.get(buildingId.substring(0, dash)));
+    }
+
+    public boolean isKnown(String buildingId) {
+        return find(buildingId).isPresent();
+    }
+
+    /**
+     * Floor plan id for a building id and floor. Plan ids are returned unchanged, bare codes and
+     * aliases get the floor appended, and unknown ids (or a missing floor) pass through as-is.
+     */
+    public String toPlanId(String buildingId, String floor) {
+        if (buildingId == null || floor == null) return buildingId;
+        Optional<Building> building = find(buildingId);
+        if (building.isEmpty()) return buildingId;
+        int dash = buildingId.indexOf(PLAN_SEPARATOR);
+        boolean bare = dash < 0 || dash == buildingId.length() - 1;
+        return bare ? building.get().planId(floor) : buildingId;
+    }
+
+    public String displayName(String buildingId) {
+        return find(buildingId).map(Building::name).orElse("Building " + buildingId);
+    }
+
+    public List<Building> getBuildings() {
+        return buildings;
+    }
+
+    /** Every floor plan id declared by the metadata (e.g. "Hall-8", "MB-S2"). */
+    public List<String> getFloorPlanIds() {
+        return floorPlanIds;
+    }
+
+    /** Indoor links between buildings declared in {@code connections.json}. */
+    public List<Connection> getConnections() {
+        return connections;
+    }
+
+    static BuildingRegistry loadFromClasspath(String resource, String connectionsResource) {
+        JsonNode buildings = readTree(resource);
+        JsonNode connections = readTree(connectionsResource);
+        return parse(buildings, connections);
+    }
+
+    private static JsonNode readTree(String resource) {
+        try (InputStream is = BuildingRegistry.class.getClassLoader().getResourceAsStream(resource)) {
+            if (is == null) {
+                log.warn("No building metadata found at {}", resource);
+                return MAPPER.createArrayNode();
+            }
+            return MAPPER.readTree(is);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load building metadata from " + resource, e);
+        }
+    }
+
+    private static BuildingRegistry parse(JsonNode root, JsonNode connectionsRoot) {
+        List<Building> buildings = new ArrayList<>();
+        Map<String, List<String>> aliases = new HashMap<>();
+        for (JsonNode node : root) {
+            String code = node.path("code").asText();
+            JsonNode entrance = node.path("entrance");
+            buildings.add(new Building(
+                    code,
+                    node.path("planPrefix").asText(code),
+                    node.path("name").asText(),
+                    node.path("campus").asText(),
+                    textList(node.path("floors")),
+                    entrance.path("id").asText(null),
+                    entrance.path("floor").asText(null),
+                    BuildingLocation.fromId(code)));
+            aliases.put(code, textList(node.path("aliases")));
+        }
+        List<Connection> connections = new ArrayList<>();
+        for (JsonNode node : connectionsRoot) {
+            connections.add(new Connection(
+                    node.path("type").asText(),
+                    node.path("from").path("plan").asText(),
+                    node.path("from").path("id").asText(),
+                    node.path("to").path("plan").asText(),
+                    node.path("to").path("id").asText(),
+                    node.path("lengthMeters").asDouble(),
+                    node.path("accessible").asBoolean(true)));
+        }
+        return new BuildingRegistry(buildings, aliases, connections);
+    }
+
+    private static List<String> textList(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asText()));
+        return List.copyOf(values);
+    }
+}
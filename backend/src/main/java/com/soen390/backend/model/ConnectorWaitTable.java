@@ -0,0 +1,147 @@
+package com.soen390.backend.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Expected time spent at elevators and stairs, by connector, weekday and time of day, loaded once
+ * from {@code connector-waits.json}.
+ *
+ * Each listed connector is compiled into one array of waits covering the whole week, so a lookup
+ * is an index computation. Slots a profile does not cover, and connectors that are not listed, use
+ * the default wait for their type.
+ *
+ * {@link #waitSeconds} never lets a later arrival leave earlier: when the next slot is quiet
+ * enough that waiting for it is faster, that is the wait returned. Connector costs are therefore
+ * FIFO and a plain Dijkstra over arrival times stays exact.
+ */
+public final class ConnectorWaitTable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectorWaitTable.class);
+    private static final String RESOURCE = "connector-waits.json";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DAYS = 7;
+    /** Marks a slot without a profile entry; resolved to the default wait for the connector type. */
+    private static final int UNSET = -1;
+
+    private static final ConnectorWaitTable DEFAULT = loadFromClasspath(RESOURCE);
+
+    private final int slotMinutes;
+    private final int slotsPerWeek;
+    private final int elevatorWaitSeconds;
+    private final int stairsWaitSeconds;
+    private final int elevatorSecondsPerFloor;
+    private final int stairsSecondsPerFloor;
+    /** Connector id to waits in seconds, indexed by {@code day * slotsPerDay + slot} from Monday 00:00. */
+    private final Map<String, int[]> waits;
+
+    ConnectorWaitTable(int slotMinutes, int elevatorWaitSeconds, int stairsWaitSeconds,
+                       int elevatorSecondsPerFloor, int stairsSecondsPerFloor, Map<String, int[]> waits) {
+        this.slotMinutes = slotMinutes;
+        this.slotsPerWeek = DAYS * (MINUTES_PER_DAY / slotMinutes);
+        this.elevatorWaitSeconds = elevatorWaitSeconds;
+        this.stairsWaitSeconds = stairsWaitSeconds;
+        this.elevatorSecondsPerFloor = elevatorSecondsPerFloor;
+        this.stairsSecondsPerFloor = stairsSecondsPerFloor;
+        this.waits = Map.copyOf(waits);
+    }
+
+    public static ConnectorWaitTable getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Seconds between arriving at a connector at {@code arrival} and starting the ride.
+     */
+    public int waitSeconds(String connectorId, boolean elevator, LocalDateTime arrival) {
+        int fallback = elevator ? elevatorWaitSeconds : stairsWaitSeconds;
+        int[] profile = connectorId == null ? null : waits.get(connectorId);
+        if (profile == null) return fallback;
+
+        int secondOfWeek = (arrival.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY * 60
+                + arrival.toLocalTime().toSecondOfDay();
+        int slotSeconds = slotMinutes * 60;
+        int slot = secondOfWeek / slotSeconds;
+        int best = slotWait(profile, slot, fallback);
+        // Waiting in the lobby for a quieter slot is allowed, which keeps departures in arrival order.
+        for (int offset = (slot + 1) * slotSeconds - secondOfWeek; offset < best; offset += slotSeconds) {
+            slot++;
+            best = Math.min(best, offset + slotWait(profile, slot, fallback));
+        }
+        return best;
+    }
+
+    /** Seconds spent riding or climbing across {@code floors} floors, at least one. */
+    public int rideSeconds(boolean elevator, int floors) {
+        return Math.max(1, floors) * (elevator ? elevatorSecondsPerFloor : stairsSecondsPerFloor);
+    }
+
+    /** Wait plus ride for one floor change through a connector reached at {@code arrival}. */
+    public int transitionSeconds(String connectorId, boolean elevator, int floors, LocalDateTime arrival) {
+        return waitSeconds(connectorId, elevator, arrival) + rideSeconds(elevator, floors);
+    }
+
+    private int slotWait(int[] profile, int slot, int fallback) {
+        int wait = profile[Math.floorMod(slot, slotsPerWeek)];
+        return wait == UNSET ? fallback : wait;
+    }
+
+    static ConnectorWaitTable loadFromClasspath(String resource) {
+        try (InputStream is = ConnectorWaitTable.class.getClassLoader().getResourceAsStream(resource)) {
+            if (is == null) {
+                log.warn("No connector wait profiles found at {}", resource);
+                return parse(MAPPER.createObjectNode());
+            }
+            return parse(MAPPER.readTree(is));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load connector wait profiles from " + resource, e);
+        }
+    }
+
+    /** Builds a table from the JSON layout of {@code connector-waits.json}. */
+    public static ConnectorWaitTable parse(JsonNode root) {
+        int slotMinutes = root.path("slotMinutes").asInt(15);
+        if (slotMinutes <= 0 || MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("slotMinutes must divide a day, got " + slotMinutes);
+        }
+        int slotsPerDay = MINUTES_PER_DAY / slotMinutes;
+        JsonNode defaults = root.path("defaults");
+
+        Map<String, int[]> waits = new HashMap<>();
+        for (JsonNode connector : root.path("connectors")) {
+            int[] week = new int[DAYS * slotsPerDay];
+            Arrays.fill(week, UNSET);
+            for (JsonNode profile : connector.path("profiles")) {
+                for (JsonNode day : profile.path("days")) {
+                    int base = (DayOfWeek.valueOf(day.asText()).getValue() - 1) * slotsPerDay;
+                    for (JsonNode slot : profile.path("slots")) {
+                        int from = LocalTime.parse(slot.path("from").asText()).toSecondOfDay() / 60 / slotMinutes;
+                        int to = LocalTime.parse(slot.path("to").asText()).toSecondOfDay() / 60 / slotMinutes;
+                        Arrays.fill(week, base + from, base + (to > from ? to : slotsPerDay),
+                                slot.path("waitSeconds").asInt());
+                    }
+                }
+            }
+            waits.put(connector.path("id").asText(), week);
+        }
+        return new ConnectorWaitTable(slotMinutes,
+                defaults.path("elevatorWaitSeconds").asInt(30),
+                defaults.path("stairsWaitSeconds").asInt(0),
+                defaults.path("elevatorSecondsPerFloor").asInt(4),
+                defaults.path("stairsSecondsPerFloor").asInt(12),
+                waits);
+    }
+}
@@ -1,149 +1,144 @@
 package com.soen390.backend.model;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soen390.backend.enums.PoiType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
- * Room data is loaded from JSON files i
+ * Immutable room data of one floor, built from the floor plan JSON parsed by {@link FloorPlanRepository}.
  */
 public class FloorPlanData {
 
     private static final Logger log = LoggerFactory.getLogger(FloorPlanData.class);
-    private static final ObjectMapper MAPPER = new ObjectMapper();
-
-
-    private static final String TYPE_BATHROOM_MEN = "bathroom-men";
-    private static final String TYPE_BATHROOM_WOMEN = "bathroom-women";
-    private static final String TYPE_ELEVATOR = "elevator";
-    private static final String TYPE_STAIRS = "stairs";
-    private static final String TYPE_STAIRS_DOWN = "stairs-down";
-    private static final String TYPE_STAIRS_UP = "stairs-up";
-    private static final String TYPE_EMERGENCY_EXIT = "emergency-exit";
-    private static final String TYPE_WATER_FOUNTAIN = "water-fountain";
-    private static final String TYPE_COMPUTER_STATION = "computer-station";
-    private static final String TYPE_STUDY_AREA = "study-area";
-    private static final String TYPE_ENTRANCE_EXIT = "entrance-exit";
-    private static final String TYPE_PRINTER = "printer";
-    private static final String TYPE_BOOKSHELF = "bookshelf";
+
 
     /** Ordered prefix → POI type mappings (first match wins). */
-    private static final Map<String, String> PREFIX_TO_POI_TYPE = new LinkedHashMap<>();
+    private static final LinkedHashMap<String, PoiType> PREFIX_TO_POI_TYPE = new LinkedHashMap<>();
     /** Fallback contains → POI type mappings. */
-    private static final Map<String, String> CONTAINS_TO_POI_TYPE = new LinkedHashMap<>();
+    private static final LinkedHashMap<String, PoiType> CONTAINS_TO_POI_TYPE = new LinkedHashMap<>();
 
     static {
-        PREFIX_TO_POI_TYPE.put(TYPE_BATHROOM_MEN, TYPE_BATHROOM_MEN);
-        PREFIX_TO_POI_TYPE.put(TYPE_BATHROOM_WOMEN, TYPE_BATHROOM_WOMEN);
-        PREFIX_TO_POI_TYPE.put("bathroom", TYPE_BATHROOM_MEN);
-        PREFIX_TO_POI_TYPE.put(TYPE_ELEVATOR, TYPE_ELEVATOR);
-        PREFIX_TO_POI_TYPE.put(TYPE_STAIRS_DOWN, TYPE_STAIRS_DOWN);
-        PREFIX_TO_POI_TYPE.put(TYPE_STAIRS_UP, TYPE_STAIRS_UP);
-        PREFIX_TO_POI_TYPE.put("stairs-underground", TYPE_STAIRS);
-        PREFIX_TO_POI_TYPE.put(TYPE_STAIRS, TYPE_STAIRS);
-        PREFIX_TO_POI_TYPE.put(TYPE_EMERGENCY_EXIT, TYPE_EMERGENCY_EXIT);
-        PREFIX_TO_POI_TYPE.put("emergency-stairs", TYPE_EMERGENCY_EXIT);
-        PREFIX_TO_POI_TYPE.put("maisonneuve", TYPE_EMERGENCY_EXIT);
-        PREFIX_TO_POI_TYPE.put("bishop", TYPE_EMERGENCY_EXIT);
-        PREFIX_TO_POI_TYPE.put("mckay", TYPE_EMERGENCY_EXIT);
-        PREFIX_TO_POI_TYPE.put("waterfountain", TYPE_WATER_FOUNTAIN);
-        PREFIX_TO_POI_TYPE.put(TYPE_COMPUTER_STATION, TYPE_COMPUTER_STATION);
-        PREFIX_TO_POI_TYPE.put("computer-area", TYPE_COMPUTER_STATION);
-        PREFIX_TO_POI_TYPE.put(TYPE_STUDY_AREA, TYPE_STUDY_AREA);
-        PREFIX_TO_POI_TYPE.put("sitting-area", TYPE_STUDY_AREA);
-        PREFIX_TO_POI_TYPE.put("tabling-area", TYPE_STUDY_AREA);
-        PREFIX_TO_POI_TYPE.put("entrance", TYPE_ENTRANCE_EXIT);
-        PREFIX_TO_POI_TYPE.put("metro", TYPE_ENTRANCE_EXIT);
-        PREFIX_TO_POI_TYPE.put("couch-area", TYPE_STUDY_AREA);
-        PREFIX_TO_POI_TYPE.put("stand", TYPE_STUDY_AREA);
-        PREFIX_TO_POI_TYPE.put(TYPE_PRINTER, TYPE_PRINTER);
-        PREFIX_TO_POI_TYPE.put("shelve", TYPE_BOOKSHELF);
-        PREFIX_TO_POI_TYPE.put("disability", TYPE_ENTRANCE_EXIT);
-        PREFIX_TO_POI_TYPE.put("art-showcase", TYPE_ENTRANCE_EXIT);
-
-        CONTAINS_TO_POI_TYPE.put(TYPE_EMERGENCY_EXIT, TYPE_EMERGENCY_EXIT);
-        CONTAINS_TO_POI_TYPE.put(TYPE_BATHROOM_MEN, TYPE_BATHROOM_MEN);
-        CONTAINS_TO_POI_TYPE.put(TYPE_BATHROOM_WOMEN, TYPE_BATHROOM_WOMEN);
-        CONTAINS_TO_POI_TYPE.put("bathroom", TYPE_BATHROOM_MEN);
-        CONTAINS_TO_POI_TYPE.put(TYPE_ELEVATOR, TYPE_ELEVATOR);
-        CONTAINS_TO_POI_TYPE.put(TYPE_STAIRS, TYPE_STAIRS);
+        PREFIX_TO_POI_TYPE.put("bathroom-men", PoiType.BATHROOM_MEN);
+        PREFIX_TO_POI_TYPE.put("bathroom-women", PoiType.BATHROOM_WOMEN);
+        PREFIX_TO_POI_TYPE.put("bathroom", PoiType.BATHROOM_MEN);
+        PREFIX_TO_POI_TYPE.put("elevator", PoiType.ELEVATOR);
+        PREFIX_TO_POI_TYPE.put("stairs-down", PoiType.STAIRS_DOWN);
+        PREFIX_TO_POI_TYPE.put("stairs-up", PoiType.STAIRS_UP);
+        PREFIX_TO_POI_TYPE.put("stairs-underground", PoiType.STAIRS);
+        PREFIX_TO_POI_TYPE.put("stairs", PoiType.STAIRS);
+        PREFIX_TO_POI_TYPE.put("emergency-exit", PoiType.EMERGENCY_EXIT);
+        PREFIX_TO_POI_TYPE.put("emergency-stairs", PoiType.EMERGENCY_EXIT);
+        PREFIX_TO_POI_TYPE.put("maisonneuve", PoiType.EMERGENCY_EXIT);
+        PREFIX_TO_POI_TYPE.put("bishop", PoiType.EMERGENCY_EXIT);
+        PREFIX_TO_POI_TYPE.put("mckay", PoiType.EMERGENCY_EXIT);
+        PREFIX_TO_POI_TYPE.put("waterfountain", PoiType.WATER_FOUNTAIN);
+        PREFIX_TO_POI_TYPE.put("computer-station", PoiType.COMPUTER_STATION);
+        PREFIX_TO_POI_TYPE.put("computer-area", PoiType.COMPUTER_STATION);
+        PREFIX_TO_POI_TYPE.put("study-area", PoiType.STUDY_AREA);
+        PREFIX_TO_POI_TYPE.put("sitting-area", PoiType.STUDY_AREA);
+        PREFIX_TO_POI_TYPE.put("tabling-area", PoiType.STUDY_AREA);
+        PREFIX_TO_POI_TYPE.put("entrance", PoiType.ENTRANCE_EXIT);
+        PREFIX_TO_POI_TYPE.put("metro", PoiType.ENTRANCE_EXIT);
+        PREFIX_TO_POI_TYPE.put("couch-area", PoiType.STUDY_AREA);
+        PREFIX_TO_POI_TYPE.put("stand", PoiType.STUDY_AREA);
+        PREFIX_TO_POI_TYPE.put("printer", PoiType.PRINTER);
+        PREFIX_TO_POI_TYPE.put("shelve", PoiType.BOOKSHELF);
+        PREFIX_TO_POI_TYPE.put("disability", PoiType.ENTRANCE_EXIT);
+        PREFIX_TO_POI_TYPE.put("art-showcase", PoiType.ENTRANCE_EXIT);
+
+        CONTAINS_TO_POI_TYPE.put("emergency-exit", PoiType.EMERGENCY_EXIT);
+        CONTAINS_TO_POI_TYPE.put("bathroom-men", PoiType.BATHROOM_MEN);
+        CONTAINS_TO_POI_TYPE.put("bathroom-women", PoiType.BATHROOM_WOMEN);
+        CONTAINS_TO_POI_TYPE.put("bathroom", PoiType.BATHROOM_MEN);
+        CONTAINS_TO_POI_TYPE.put("elevator", PoiType.ELEVATOR);
+        CONTAINS_TO_POI_TYPE.put("stairs", PoiType.STAIRS);
     }
 
-    private Map<String, Point> roomPoints;
-    private Map<String, java.util.List<String>> roomEntranceGroups;
-    private String buildingId;
-    private String floor;
+    /** Rule tables compiled once; see {@link PoiTypeClassifier}. */
+    private static final PoiTypeClassifier POI_CLASSIFIER =
+            new PoiTypeClassifier(PREFIX_TO_POI_TYPE, CONTAINS_TO_POI_TYPE);
 
+    private final Map<String, Point> roomPoints;
+    private final Map<String, java.util.List<String>> roomEntranceGroups;
+    /** Entrance id (including the base room itself when it has coordinates) → base room id. */
+    private final Map<String, String> entranceToBaseRoom;
+    /** Base room id → entrance ids and their coordinates as flat primitive arrays. */
+    private final Map<String, EntranceCoordinates> entranceCoordinates;
+    private final Map<String, PoiType> roomTypes;
+    private final java.util.List<PointOfInterest> pointsOfInterest;
+    private final String buildingId;
+    private final String floor;
+
+    /**
+     * Builds a view of the given floor from the shared repository; the file is not parsed again.
+     * Prefer {@link FloorPlanRepository#get(String)}, which also reuses the built view.
+     */
     public FloorPlanData(String buildingId, String floor) {
+        this(buildingId, floor, FloorPlanRepository.getShared().document(buildingId).orElse(null));
+    }
+
+    FloorPlanData(String buildingId, String floor, JsonNode root) {
         this.buildingId = buildingId;
         this.floor = floor;
-        this.roomPoints = new HashMap<>();
-        this.roomEntranceGroups = new HashMap<>();
+        Map<String, Point> rooms = new HashMap<>();
+        Map<String, java.util.List<String>> groups = new HashMap<>();
+        this.entranceToBaseRoom = new HashMap<>();
+        this.entranceCoordinates = new HashMap<>();
+        this.roomTypes = new HashMap<>();
 
-        loadRoomsFromJson(buildingId);
-        buildRoomEntranceGroups();
+        loadRooms(root, rooms);
+        buildRoomEntranceGroups(rooms, groups);
+        groups.replaceAll((base, entrances) -> java.util.List.copyOf(entrances));
+        this.roomPoints = Collections.unmodifiableMap(rooms);
+        this.roomEntranceGroups = Collections.unmodifiableMap(groups);
+        buildEntranceIndex();
+        this.pointsOfInterest = java.util.List.copyOf(classifyPointsOfInterest());
     }
 
-    /**
-     * Load room coordinates from /floorplans/{buildingId}.json
-     */
     /** Strip newlines and control characters to prevent log injection. */
     private static String sanitize(String input) {
         if (input == null) return "null";
         return input.replaceAll("[\\r\\n\\t]", "_");
     }
 
-    private void loadRoomsFromJson(String buildingId) {
-        String safePath = sanitize("floorplans/" + buildingId + ".json");
-        String path = "floorplans/" + buildingId + ".json";
-        try (InputStream is = getClass().getClassLoader().getResourceAsStream(path)) {
-            if (is == null) {
-                log.warn("No floor plan JSON found at {}", safePath);
-                return;
-            }
-            JsonNode root = MAPPER.readTree(is);
+    private void loadRooms(JsonNode root, Map<String, Point> rooms) {
+        if (root == null) return;
+        String safeId = sanitize(buildingId);
 
-            // Verify the floor matches what's in the JSON
-            JsonNode floorNode = root.get("floor");
-            if (floorNode != null && !floorNode.asText().equals(this.floor)) {
-                if (log.isWarnEnabled()) {
-                    log.warn("Floor mismatch: requested {} but JSON has {} in {}", sanitize(this.floor), floorNode.asText(), safePath);
-                }
-                return;
+        // Verify the floor matches what's in the JSON
+        JsonNode floorNode = root.get("floor");
+        if (floorNode != null && !floorNode.asText().equals(this.floor)) {
+            if (log.isWarnEnabled()) {
+                log.warn("Floor mismatch: requested {} but JSON has {} in {}", sanitize(this.floor), floorNode.asText(), safeId);
             }
+            return;
+        }
 
-            JsonNode roomsNode = root.get("rooms");
-            if (roomsNode == null || !roomsNode.isObject()) {
-                log.warn("No 'rooms' object in {}", safePath);
-                return;
-            }
-            Iterator<Map.Entry<String, JsonNode>> fields = roomsNode.fields();
-            while (fields.hasNext()) {
-                Map.Entry<String, JsonNode> entry = fields.next();
-                String roomId = entry.getKey();
-                JsonNode coords = entry.getValue();
-                double x = coords.get("x").asDouble();
-                double y = coords.get("y").asDouble();
-                roomPoints.put(roomId, new Point(x, y));
-            }
-            log.info("Loaded {} rooms from {}", roomPoints.size(), safePath);
-        } catch (Exception e) {
-            log.error("Failed to load floor plan data from {}", safePath, e);
+        JsonNode roomsNode = root.get("rooms");
+        if (roomsNode == null || !roomsNode.isObject()) {
+            log.warn("No 'rooms' object in {}", safeId);
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = roomsNode.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            JsonNode coords = entry.getValue();
+            rooms.put(entry.getKey(), new Point(coords.get("x").asDouble(), coords.get("y").asDouble()));
         }
     }
 
     /**
      * Groups rooms with multiple entrances (e.g. LB-261-1, LB-261-2 → LB-261)
      */
-    private void buildRoomEntranceGroups() {
-        for (String roomId : roomPoints.keySet()) {
+    private static void buildRoomEntranceGroups(Map<String, Point> rooms, Map<String, java.util.List<String>> groups) {
+        for (String roomId : rooms.keySet()) {
             int lastDashIndex = roomId.lastIndexOf('-');
             if (lastDashIndex > 0) {
                 String baseRoomId = roomId.substring(0, lastDashIndex);
@@ -151,27 +146,50 @@ public class FloorPlanData {
                 String possibleSuffix = roomId.substring(lastDashIndex + 1);
                 try {
                     Integer.parseInt(possibleSuffix);
-                    roomEntranceGroups.computeIfAbsent(baseRoomId, k -> new java.util.ArrayList<>()).add(roomId);
+                    groups.computeIfAbsent(baseRoomId, k -> new java.util.ArrayList<>()).add(roomId);
                 } catch (NumberFormatException e) {
                     // Not a numeric suffix — skip
                 }
             }
         }
 
-        for (String baseRoomId : new java.util.ArrayList<>(roomEntranceGroups.keySet())) {
-            if (roomPoints.containsKey(baseRoomId)) {
-                roomEntranceGroups.get(baseRoomId).add(0, baseRoomId);
+        for (Map.Entry<String, java.util.List<String>> group : groups.entrySet()) {
+            if (rooms.containsKey(group.getKey())) {
+                group.getValue().add(0, group.getKey());
             }
         }
     }
 
-    public String getBaseRoomId(String roomId) {
-        for (Map.Entry<String, java.util.List<String>> entry : roomEntranceGroups.entrySet()) {
-            if (entry.getValue().contains(roomId)) {
-                return entry.getKey();
+    /**
+     * Builds the reverse entrance index and packs each group's entrance coordinates into arrays,
+     * so base-room lookups and closest-entrance scans never walk the group lists again.
+     */
+    private void buildEntranceIndex() {
+        for (Map.Entry<String, java.util.List<String>> group : roomEntranceGroups.entrySet()) {
+            String baseRoomId = group.getKey();
+            java.util.List<String> entrances = group.getValue();
+            String[] ids = new String[entrances.size()];
+            double[] xs = new double[entrances.size()];
+            double[] ys = new double[entrances.size()];
+            int count = 0;
+            for (String entranceId : entrances) {
+                entranceToBaseRoom.putIfAbsent(entranceId, baseRoomId);
+                Point point = roomPoints.get(entranceId);
+                if (point == null) continue;
+                ids[count] = entranceId;
+                xs[count] = point.getX();
+                ys[count] = point.getY();
+                count++;
             }
+            entranceCoordinates.put(baseRoomId, new EntranceCoordinates(
+                    java.util.Arrays.copyOf(ids, count),
+                    java.util.Arrays.copyOf(xs, count),
+                    java.util.Arrays.copyOf(ys, count)));
         }
-        return roomId;
+    }
+
+    public String getBaseRoomId(String roomId) {
+        return entranceToBaseRoom.getOrDefault(roomId, roomId);
     }
 
     public java.util.Set<String> getBaseRoomIds() {
@@ -186,27 +204,23 @@ public class FloorPlanData {
      * Resolve a base room ID to the closest entrance relative to a reference point.
      */
     public String resolveToClosestEntrance(String baseRoomId, double referenceX, double referenceY) {
-        java.util.List<String> entrances = roomEntranceGroups.get(baseRoomId);
-        if (entrances == null || entrances.isEmpty()) {
-            return baseRoomId;
-        }
-        String closestEntrance = baseRoomId;
-        double minDistance = Double.MAX_VALUE;
-        Point referencePoint = new Point(referenceX, referenceY);
-
-        for (String entranceId : entrances) {
-            Point entrancePoint = roomPoints.get(entranceId);
-            if (entrancePoint != null) {
-                double distance = referencePoint.distanceTo(entrancePoint);
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    closestEntrance = entranceId;
-                }
-            }
+        EntranceCoordinates entrances = entranceCoordinates.get(baseRoomId);
+        return entrances == null ? baseRoomId : entrances.closestTo(baseRoomId, referenceX, referenceY);
+    }
+
+    /**
+     * Resolves several base room IDs against the same reference point in one pass.
+     * Rooms without grouped entrances map to themselves.
+     */
+    public Map<String, String> resolveToClosestEntrances(
+            java.util.Collection<String> baseRoomIds, double referenceX, double referenceY) {
+        Map<String, String> closest = new LinkedHashMap<>();
+        for (String baseRoomId : baseRoomIds) {
+            closest.put(baseRoomId, resolveToClosestEntrance(baseRoomId, referenceX, referenceY));
         }
-        return closestEntrance;
+        return closest;
     }
-    
+
     public Map<String, Point> getRoomPoints() {
         return roomPoints;
     }
@@ -223,6 +237,34 @@ public class FloorPlanData {
         return roomEntranceGroups;
     }
 
+    /** Entrances of one room, with coordinates in parallel primitive arrays. */
+    private static final class EntranceCoordinates {
+        private final String[] ids;
+        private final double[] xs;
+        private final double[] ys;
+
+        private EntranceCoordinates(String[] ids, double[] xs, double[] ys) {
+            this.ids = ids;
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        private String closestTo(String fallback, double referenceX, double referenceY) {
+            String closest = fallback;
+            double minDistanceSq = Double.MAX_VALUE;
+            for (int i = 0; i < ids.length; i++) {
+                double dx = xs[i] - referenceX;
+                double dy = ys[i] - referenceY;
+                double distanceSq = dx * dx + dy * dy;
+                if (distanceSq < minDistanceSq) {
+                    minDistanceSq = distanceSq;
+                    closest = ids[i];
+                }
+            }
+            return closest;
+        }
+    }
+
     public static class Point {
         private double x;
         private double y;
@@ -254,34 +296,28 @@ public class FloorPlanData {
         }
     }
 
-    private static String getPoiType(String roomId) {
-        String lower = roomId.toLowerCase();
-
-        for (Map.Entry<String, String> entry : PREFIX_TO_POI_TYPE.entrySet()) {
-            if (lower.startsWith(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        for (Map.Entry<String, String> entry : CONTAINS_TO_POI_TYPE.entrySet()) {
-            if (lower.contains(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        return null;
-    }
-
     /**
      * Returns all POIs for this floor.
      */
     public java.util.List<PointOfInterest> getPointsOfInterest() {
+        return pointsOfInterest;
+    }
+
+    /** POI type of a room, classified at load; null for ordinary rooms. */
+    public PoiType getRoomType(String roomId) {
+        return roomTypes.get(roomId);
+    }
+
+    private java.util.List<PointOfInterest> classifyPointsOfInterest() {
         java.util.List<PointOfInterest> pois = new java.util.ArrayList<>();
         for (Map.Entry<String, Point> entry : roomPoints.entrySet()) {
             String roomId = entry.getKey();
-            String type = getPoiType(roomId);
+            PoiType type = POI_CLASSIFIER.classify(roomId);
             if (type == null) continue;
+            roomTypes.put(roomId, type);
             String displayName = getBaseRoomId(roomId);
             Point p = entry.getValue();
-            pois.add(new PointOfInterest(p.getX(), p.getY(), roomId, displayName, type));
+            pois.add(new PointOfInterest(p.getX(), p.getY(), roomId, displayName, type.getValue()));
         }
         return pois;
     }
@@ -0,0 +1,184 @@
+package com.soen390.backend.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide cache of parsed floor plan files.
+ *
+ * Each {@code floorplans/{planId}.json} is read and parsed at most once. The parsed tree is
+ * shared by the pathfinding graphs and by the immutable {@link FloorPlanData} views handed out
+ * by {@link #get(String)}. Parse time, size and room count are kept per plan and published as
+ * gauges once the repository is bound to a meter registry.
+ */
+public final class FloorPlanRepository implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(FloorPlanRepository.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final FloorPlanRepository SHARED = new FloorPlanRepository("floorplans/");
+
+    /**
+     * Load statistics of one floor plan file.
+     *
+     * @param building   short code from the {@link BuildingRegistry}, or the plan prefix if unknown
+     * @param parseNanos time spent reading and parsing the file
+     * @param bytes      size of the JSON file
+     * @param rooms      number of entries in its {@code rooms} object
+     */
+    public record LoadStats(String planId, String building, long parseNanos, int bytes, int rooms) {}
+
+    private final String resourceDirectory;
+    private final Map<String, Optional<JsonNode>> documents = new ConcurrentHashMap<>();
+    private final Map<String, FloorPlanData> floorPlans = new ConcurrentHashMap<>();
+    private final Map<String, LoadStats> loadStats = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    FloorPlanRepository(String resourceDirectory) {
+        this.resourceDirectory = resourceDirectory;
+    }
+
+    public static FloorPlanRepository getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Parsed JSON of a floor plan, or empty when the file does not exist or cannot be parsed.
+     * The returned tree is shared and must be treated as read-only.
+     */
+    public Optional<JsonNode> document(String planId) {
+        if (planId == null) return Optional.empty();
+        return documents.computeIfAbsent(planId, this::parse);
+    }
+
+    /**
+     * Immutable floor plan view for a plan id, using the floor declared in the file.
+     */
+    public FloorPlanData get(String planId) {
+        return floorPlans.computeIfAbsent(planId, id -> {
+            JsonNode root = document(id).orElse(null);
+            String floor = root != null && root.hasNonNull("floor")
+                    ? root.get("floor").asText()
+                    : floorFromPlanId(id);
+            return new FloorPlanData(id, floor, root);
+        });
+    }
+
+    /**
+     * Hash of the raw bytes of the given floor plan files, in order; a missing file contributes
+     * only its plan id. The files are read but not parsed or cached, so stores compiled from them
+     * can be checked at startup without loading any floor.
+     */
+    public long sourceHash(Collection<String> planIds) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (String planId : planIds) {
+            digest.update(planId.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            String path = resourceDirectory + planId + ".json";
+            try (InputStream is = FloorPlanRepository.class.getClassLoader().getResourceAsStream(path)) {
+                if (is != null) digest.update(is.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read floor plan " + path, e);
+            }
+            digest.update((byte) 0);
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    public Map<String, LoadStats> getLoadStats() {
+        return Collections.unmodifiableMap(loadStats);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        loadStats.values().forEach(stats -> register(registry, stats));
+    }
+
+    private Optional<JsonNode> parse(String planId) {
+        String path = resourceDirectory + planId + ".json";
+        long start = System.nanoTime();
+        try (InputStream is = FloorPlanRepository.class.getClassLoader().getResourceAsStream(path)) {
+            if (is == null) {
+                log.warn("No floor plan JSON found at {}", sanitize(path));
+                return Optional.empty();
+            }
+            byte[] bytes = is.readAllBytes();
+            JsonNode root = MAPPER.readTree(bytes);
+            JsonNode rooms = root.get("rooms");
+            LoadStats stats = new LoadStats(planId, buildingOf(planId), System.nanoTime() - start,
+                    bytes.length, rooms != null && rooms.isObject() ? rooms.size() : 0);
+            loadStats.put(planId, stats);
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) register(registry, stats);
+            log.info("Parsed floor plan {} ({} bytes, {} rooms) in {} ms", sanitize(planId), stats.bytes(),
+                    stats.rooms(), TimeUnit.NANOSECONDS.toMillis(stats.parseNanos()));
+            return Optional.of(root);
+        } catch (Exception e) {
+            log.error("Failed to load floor plan data from {}", sanitize(path), e);
+            return Optional.empty();
+        }
+    }
+
+    private static void register(MeterRegistry registry, LoadStats stats) {
+        TimeGauge.builder("floorplan.load.time", stats, TimeUnit.NANOSECONDS, LoadStats::parseNanos)
+                .tag("plan", stats.planId())
+                .tag("building", stats.building())
+                .description("Time spent reading and parsing the floor plan file")
+                .register(registry);
+        Gauge.builder("floorplan.load.bytes", stats, LoadStats::bytes)
+                .tag("plan", stats.planId())
+                .tag("building", stats.building())
+                .description("Size of the floor plan file")
+                .register(registry);
+        Gauge.builder("floorplan.rooms", stats, LoadStats::rooms)
+                .tag("plan", stats.planId())
+                .tag("building", stats.building())
+                .description("Rooms declared in the floor plan file")
+                .register(registry);
+    }
+
+    private static String buildingOf(String planId) {
+        return BuildingRegistry.getDefault().find(planId)
+                .map(BuildingRegistry.Building::code)
+                .orElseGet(() -> {
+                    int dash = planId.indexOf('-');
+                    return dash > 0 ? planId.substring(0, dash) : planId;
+                });
+    }
+
+    private static String floorFromPlanId(String planId) {
+        int dash = planId.indexOf('-');
+        return dash > 0 ? planId.substring(dash + 1) : null;
+    }
+
+    /** Strip newlines and control characters to prevent log injection. */
+    private static String sanitize(String input) {
+        if (input == null) return "null";
+        return input.replaceAll("[\\r\\n\\t]", "_");
+    }
+}
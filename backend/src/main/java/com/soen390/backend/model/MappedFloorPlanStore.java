@@ -0,0 +1,379 @@
+package com.soen390.backend.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.BufferedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only, memory-mapped store of floor plan rooms, POIs, waypoints and walking edges.
+ *
+ * The file is mapped once and never copied onto the heap: opening it only checks the header, and
+ * a floor's records are decoded when they are read, so the OS pages in just the floors that are
+ * actually used. Floors are found by binary search over a fixed-size offset table sorted by plan
+ * id, and rooms by binary search within their floor.
+ *
+ * <pre>
+ * header       magic, format version, floor count, string pool offset       (4 ints)
+ *              hash of the floor plan JSON the store was compiled from     (1 long)
+ * floor table  per floor, sorted by plan id: plan id ref, then offset and
+ *              count of its rooms, POIs, waypoints and edges               (9 ints each)
+ * sections     rooms    (id ref, x, y), sorted by id
+ *              POIs     (id ref, display name ref, type ref, x, y)
+ *              waypoints(id ref, x, y), in file order
+ *              edges    (from waypoint index, to waypoint index, weight)
+ * string pool  unsigned short byte length + UTF-8 bytes; refs are absolute file offsets
+ * </pre>
+ *
+ * All numbers are big-endian; offsets are ints, which limits a store to 2 GB. Reads use absolute
+ * buffer positions only, so one store can be shared by any number of threads. The source hash
+ * lets a reader tell a store compiled from older floor plans apart; see {@link #isCompiledFrom}.
+ */
+public final class MappedFloorPlanStore {
+
+    private static final int MAGIC = 0x46505331; // "FPS1"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES;
+    private static final int FLOOR_ENTRY_BYTES = 9 * Integer.BYTES;
+    private static final int ROOM_BYTES = Integer.BYTES + 2 * Double.BYTES;
+    private static final int POI_BYTES = 3 * Integer.BYTES + 2 * Double.BYTES;
+    private static final int WAYPOINT_BYTES = Integer.BYTES + 2 * Double.BYTES;
+    private static final int EDGE_BYTES = 2 * Integer.BYTES + Double.BYTES;
+
+    public record Room(String id, double x, double y) {}
+
+    public record Poi(String id, String displayName, String type, double x, double y) {}
+
+    public record Waypoint(String id, double x, double y) {}
+
+    /** Undirected walking edge between two waypoints, by their index in the floor's waypoint list. */
+    public record Edge(int from, int to, double weight) {}
+
+    /** Everything stored for one floor plan; the input of {@link #write(Path, Collection, long)}. */
+    public record Floor(String planId, List<Room> rooms, List<Poi> pois, List<Waypoint> waypoints, List<Edge> edges) {}
+
+    private final ByteBuffer buffer;
+    private final int floorCount;
+    private final long sourceHash;
+    private final Path file;
+
+    private MappedFloorPlanStore(Path file, ByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a floor plan store: " + file);
+        }
+        int version = buffer.getInt(Integer.BYTES);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported floor plan store version " + version + " in " + file);
+        }
+        this.floorCount = buffer.getInt(2 * Integer.BYTES);
+        this.sourceHash = buffer.getLong(4 * Integer.BYTES);
+    }
+
+    /**
+     * Whether {@code file} is a store of the current format compiled from floor plans with
+     * {@code sourceHash}. Only the header is read.
+     *
+     * @throws IllegalArgumentException if the file is not a floor plan store at all
+     */
+    public static boolean isCompiledFrom(Path file, long sourceHash) throws IOException {
+        byte[] bytes;
+        try (InputStream in = Files.newInputStream(file)) {
+            bytes = in.readNBytes(HEADER_BYTES);
+        }
+        ByteBuffer header = ByteBuffer.wrap(bytes);
+        if (bytes.length < 2 * Integer.BYTES || header.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a floor plan store: " + file);
+        }
+        return bytes.length == HEADER_BYTES
+                && header.getInt(Integer.BYTES) == FORMAT_VERSION
+                && header.getLong(4 * Integer.BYTES) == sourceHash;
+    }
+
+    /**
+     * Maps a store written by {@link #write(Path, Collection, long)}.
+     *
+     * @throws IllegalArgumentException if the file is not a store of a supported version
+     */
+    public static MappedFloorPlanStore open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedFloorPlanStore(file, mapped);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int floorCount() {
+        return floorCount;
+    }
+
+    /** Hash of the floor plan sources the store was compiled from, as passed to {@code write}. */
+    public long sourceHash() {
+        return sourceHash;
+    }
+
+    /** Mapped size of the store in bytes. */
+    public long sizeBytes() {
+        return buffer.capacity();
+    }
+
+    /** Plan ids of every stored floor, in sorted order; decoded on each call. */
+    public List<String> planIds() {
+        List<String> ids = new ArrayList<>(floorCount);
+        for (int i = 0; i < floorCount; i++) {
+            ids.add(string(floorEntry(i)));
+        }
+        return ids;
+    }
+
+    /** View of one floor, or empty when the store does not contain the plan. */
+    public Optional<FloorView> floor(String planId) {
+        if (planId == null) return Optional.empty();
+        int low = 0;
+        int high = floorCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = string(floorEntry(mid)).compareTo(planId);
+            if (cmp == 0) return Optional.of(new FloorView(planId, floorEntry(mid)));
+            if (cmp < 0) low = mid + 1;
+            else high = mid - 1;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Records of one floor, decoded from the mapped file on every call. The view itself holds only
+     * the position of the floor's table entry.
+     */
+    public final class FloorView {
+        private final String planId;
+        private final int entry;
+
+        private FloorView(String planId, int entry) {
+            this.planId = planId;
+            this.entry = entry;
+        }
+
+        public String planId() {
+            return planId;
+        }
+
+        public int roomCount() {
+            return field(2);
+        }
+
+        public List<Room> rooms() {
+            return records(field(1), roomCount(), ROOM_BYTES, this::room);
+        }
+
+        /** Room with exactly this id, by binary search over the sorted room records. */
+        public Optional<Room> findRoom(String id) {
+            int base = field(1);
+            int low = 0;
+            int high = roomCount() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = string(base + mid * ROOM_BYTES).compareTo(id);
+                if (cmp == 0) return Optional.of(room(base + mid * ROOM_BYTES));
+                if (cmp < 0) low = mid + 1;
+                else high = mid - 1;
+            }
+            return Optional.empty();
+        }
+
+        public List<Poi> pois() {
+            return records(field(3), field(4), POI_BYTES, at -> new Poi(
+                    string(at), string(at + Integer.BYTES), string(at + 2 * Integer.BYTES),
+                    buffer.getDouble(at + 3 * Integer.BYTES), buffer.getDouble(at + 3 * Integer.BYTES + Double.BYTES)));
+        }
+
+        public List<Waypoint> waypoints() {
+            return records(field(5), field(6), WAYPOINT_BYTES, at -> new Waypoint(
+                    string(at), buffer.getDouble(at + Integer.BYTES), buffer.getDouble(at + Integer.BYTES + Double.BYTES)));
+        }
+
+        public List<Edge> edges() {
+            return records(field(7), field(8), EDGE_BYTES, at -> new Edge(
+                    buffer.getInt(at), buffer.getInt(at + Integer.BYTES), buffer.getDouble(at + 2 * Integer.BYTES)));
+        }
+
+        private Room room(int at) {
+            return new Room(string(at), buffer.getDouble(at + Integer.BYTES),
+                    buffer.getDouble(at + Integer.BYTES + Double.BYTES));
+        }
+
+        private int field(int index) {
+            return buffer.getInt(entry + index * Integer.BYTES);
+        }
+    }
+
+    private interface RecordReader<T> {
+        T read(int offset);
+    }
+
+    /** Fixed-size records as a list; each element is decoded when it is accessed. */
+    private static <T> List<T> records(int base, int count, int size, RecordReader<T> reader) {
+        return new AbstractList<>() {
+            @Override
+            public T get(int index) {
+                if (index < 0 || index >= count) throw new IndexOutOfBoundsException(index);
+                return reader.read(base + index * size);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    private int floorEntry(int index) {
+        return HEADER_BYTES + index * FLOOR_ENTRY_BYTES;
+    }
+
+    /** Decodes the pool string whose reference is stored at {@code refOffset}. */
+    private String string(int refOffset) {
+        int at = buffer.getInt(refOffset);
+        int length = Short.toUnsignedInt(buffer.getShort(at));
+        byte[] bytes = new byte[length];
+        buffer.get(at + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the floors to {@code file}, replacing it atomically so a running reader never maps a
+     * partly written store. Rooms are sorted by id; waypoint order is kept because edges refer to it.
+     * {@code sourceHash} identifies the floor plan files the floors were read from.
+     */
+    public static void write(Path file, Collection<Floor> floors, long sourceHash) throws IOException {
+        List<Floor> sorted = new ArrayList<>(floors);
+        sorted.sort(Comparator.comparing(Floor::planId));
+
+        // Lay out the sections first so every offset, including the string pool's, is known.
+        Map<String, Integer> pool = new HashMap<>();
+        List<byte[]> poolEntries = new ArrayList<>();
+        int[] poolSize = {0};
+        java.util.function.ToIntFunction<String> intern = s -> pool.computeIfAbsent(s == null ? "" : s, key -> {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) throw new IllegalArgumentException("String too long for store: " + key);
+            int offset = poolSize[0];
+            poolEntries.add(bytes);
+            poolSize[0] += Short.BYTES + bytes.length;
+            return offset;
+        });
+
+        long sectionsStart = HEADER_BYTES + (long) sorted.size() * FLOOR_ENTRY_BYTES;
+        long position = sectionsStart;
+        List<List<Room>> sortedRooms = new ArrayList<>();
+        int[][] offsets = new int[sorted.size()][4];
+        for (int i = 0; i < sorted.size(); i++) {
+            Floor floor = sorted.get(i);
+            intern.applyAsInt(floor.planId());
+            List<Room> rooms = new ArrayList<>(floor.rooms());
+            rooms.sort(Comparator.comparing(Room::id));
+            sortedRooms.add(rooms);
+            rooms.forEach(r -> intern.applyAsInt(r.id()));
+            floor.pois().forEach(p -> {
+                intern.applyAsInt(p.id());
+                intern.applyAsInt(p.displayName());
+                intern.applyAsInt(p.type());
+            });
+            floor.waypoints().forEach(w -> intern.applyAsInt(w.id()));
+
+            offsets[i][0] = checkedOffset(position);
+            position += (long) rooms.size() * ROOM_BYTES;
+            offsets[i][1] = checkedOffset(position);
+            position += (long) floor.pois().size() * POI_BYTES;
+            offsets[i][2] = checkedOffset(position);
+            position += (long) floor.waypoints().size() * WAYPOINT_BYTES;
+            offsets[i][3] = checkedOffset(position);
+            position += (long) floor.edges().size() * EDGE_BYTES;
+        }
+        int poolStart = checkedOffset(position);
+        checkedOffset(position + poolSize[0]);
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temp));
+                 DataOutputStream out = new DataOutputStream(os)) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(sorted.size());
+                out.writeInt(poolStart);
+                out.writeLong(sourceHash);
+                for (int i = 0; i < sorted.size(); i++) {
+                    Floor floor = sorted.get(i);
+                    out.writeInt(poolStart + pool.get(floor.planId()));
+                    out.writeInt(offsets[i][0]);
+                    out.writeInt(sortedRooms.get(i).size());
+                    out.writeInt(offsets[i][1]);
+                    out.writeInt(floor.pois().size());
+                    out.writeInt(offsets[i][2]);
+                    out.writeInt(floor.waypoints().size());
+                    out.writeInt(offsets[i][3]);
+                    out.writeInt(floor.edges().size());
+                }
+                for (int i = 0; i < sorted.size(); i++) {
+                    Floor floor = sorted.get(i);
+                    for (Room room : sortedRooms.get(i)) {
+                        out.writeInt(poolStart + pool.get(room.id()));
+                        out.writeDouble(room.x());
+                        out.writeDouble(room.y());
+                    }
+                    for (Poi poi : floor.pois()) {
+                        out.writeInt(poolStart + pool.get(poi.id()));
+                        out.writeInt(poolStart + pool.get(poi.displayName() == null ? "" : poi.displayName()));
+                        out.writeInt(poolStart + pool.get(poi.type() == null ? "" : poi.type()));
+                        out.writeDouble(poi.x());
+                        out.writeDouble(poi.y());
+                    }
+                    for (Waypoint waypoint : floor.waypoints()) {
+                        out.writeInt(poolStart + pool.get(waypoint.id()));
+                        out.writeDouble(waypoint.x());
+                        out.writeDouble(waypoint.y());
+                    }
+                    for (Edge edge : floor.edges()) {
+                        out.writeInt(edge.from());
+                        out.writeInt(edge.to());
+                        out.writeDouble(edge.weight());
+                    }
+                }
+                for (byte[] bytes : poolEntries) {
+                    out.writeShort(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int checkedOffset(long offset) {
+        if (offset > Integer.MAX_VALUE) throw new IllegalArgumentException("Floor plan store exceeds 2 GB");
+        return (int) offset;
+    }
+}
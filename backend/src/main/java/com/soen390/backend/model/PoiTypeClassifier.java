@@ -0,0 +1,130 @@
+package com.soen390.backend.model;
+
+import com.soen390.backend.enums.PoiType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Classifies room ids into POI types with two compiled automata.
+ *
+ * Prefix rules live in a trie and contains rules in an Aho–Corasick automaton, so a room id is
+ * scanned once per rule set no matter how many rules exist. Both keep first-match-wins
+ * semantics: every rule remembers its position in the table and the lowest matching position
+ * wins. Contains rules are only consulted when no prefix rule matches.
+ */
+final class PoiTypeClassifier {
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final Automaton prefixRules;
+    private final Automaton containsRules;
+    private final PoiType[] prefixTypes;
+    private final PoiType[] containsTypes;
+
+    /**
+     * @param prefixRules   ordered lower-case prefix → type rules
+     * @param containsRules ordered lower-case substring → type rules, used when no prefix matches
+     */
+    PoiTypeClassifier(LinkedHashMap<String, PoiType> prefixRules, LinkedHashMap<String, PoiType> containsRules) {
+        this.prefixRules = new Automaton(new ArrayList<>(prefixRules.keySet()), false);
+        this.containsRules = new Automaton(new ArrayList<>(containsRules.keySet()), true);
+        this.prefixTypes = prefixRules.values().toArray(new PoiType[0]);
+        this.containsTypes = containsRules.values().toArray(new PoiType[0]);
+    }
+
+    /** Type of the room, or null when no rule matches. */
+    PoiType classify(String roomId) {
+        String lower = roomId.toLowerCase(Locale.ROOT);
+        int rule = prefixRules.firstPrefixRule(lower);
+        if (rule != NO_MATCH) return prefixTypes[rule];
+        rule = containsRules.firstContainedRule(lower);
+        return rule != NO_MATCH ? containsTypes[rule] : null;
+    }
+
+    /**
+     * Trie over the rule patterns; with failure links it doubles as an Aho–Corasick automaton.
+     * {@code bestRule[s]} is the lowest rule index ending at state {@code s} (or, for the
+     * contains automaton, at any state on its failure chain).
+     */
+    private static final class Automaton {
+        private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+        private final int[] bestRule;
+        private final int[] failure;
+
+        private Automaton(List<String> patterns, boolean withFailureLinks) {
+            transitions.add(new HashMap<>());
+            List<Integer> terminal = new ArrayList<>(List.of(NO_MATCH));
+            for (int rule = 0; rule < patterns.size(); rule++) {
+                int state = 0;
+                for (char c : patterns.get(rule).toCharArray()) {
+                    Integer next = transitions.get(state).get(c);
+                    if (next == null) {
+                        next = transitions.size();
+                        transitions.get(state).put(c, next);
+                        transitions.add(new HashMap<>());
+                        terminal.add(NO_MATCH);
+                    }
+                    state = next;
+                }
+                terminal.set(state, Math.min(terminal.get(state), rule));
+            }
+            bestRule = terminal.stream().mapToInt(Integer::intValue).toArray();
+            failure = withFailureLinks ? buildFailureLinks() : null;
+        }
+
+        private int[] buildFailureLinks() {
+            int[] links = new int[transitions.size()];
+            Deque<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                    char c = edge.getKey();
+                    int child = edge.getValue();
+                    int fallback = links[state];
+                    while (fallback != 0 && !transitions.get(fallback).containsKey(c)) {
+                        fallback = links[fallback];
+                    }
+                    links[child] = transitions.get(fallback).getOrDefault(c, 0);
+                    bestRule[child] = Math.min(bestRule[child], bestRule[links[child]]);
+                    queue.add(child);
+                }
+            }
+            return links;
+        }
+
+        /** Lowest rule index whose pattern is a prefix of {@code text}. */
+        private int firstPrefixRule(String text) {
+            int best = NO_MATCH;
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                Integer next = transitions.get(state).get(text.charAt(i));
+                if (next == null) break;
+                state = next;
+                best = Math.min(best, bestRule[state]);
+            }
+            return best;
+        }
+
+        /** Lowest rule index whose pattern occurs anywhere in {@code text}. */
+        private int firstContainedRule(String text) {
+            int best = NO_MATCH;
+            int state = 0;
+            for (int i = 0; i < text.length() && best != 0; i++) {
+                char c = text.charAt(i);
+                while (state != 0 && !transitions.get(state).containsKey(c)) {
+                    state = failure[state];
+                }
+                state = transitions.get(state).getOrDefault(c, 0);
+                best = Math.min(best, bestRule[state]);
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.soen390.backend.object;
+
+/**
+ * Indoor link walked between two consecutive building legs of a connected route.
+ *
+ * @param type         link type from {@code connections.json} (e.g. "tunnel")
+ * @param fromBuilding building code the link leaves from
+ * @param fromId       room or POI id where the link starts
+ * @param toBuilding   building code the link arrives in
+ * @param toId         room or POI id where the link ends
+ */
+public record IndoorConnection(
+        String type,
+        String fromBuilding,
+        String fromId,
+        String toBuilding,
+        String toId,
+        String distance,
+        String duration
+) {}
@@ -1,6 +1,9 @@
 package com.soen390.backend.object;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
+import java.util.Map;
 
 public class IndoorDirectionResponse {
     private String distance;
@@ -9,6 +12,8 @@ public class IndoorDirectionResponse {
     private List<IndoorRouteStep> steps;
     private List<RoutePoint> routePoints; 
     private String stairMessage; // e.g. "You need to go up/down the stairs" or null
+    private CompactRouteGeometry routeGeometry; // set instead of routePoints for format=compact
+    private long snapshotVersion; // routing snapshot the route was computed on
 
     public IndoorDirectionResponse(
             String distance,
@@ -31,6 +36,18 @@ public class IndoorDirectionResponse {
         this.stairMessage = stairMessage;
     }
 
+    /**
+     * Version of the routing graphs used for this route; it changes whenever the graphs do, so
+     * cached routes can be keyed on it.
+     */
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public void setSnapshotVersion(long snapshotVersion) {
+        this.snapshotVersion = snapshotVersion;
+    }
+
     public String getDistance() {
         return distance;
     }
@@ -59,15 +76,36 @@ public class IndoorDirectionResponse {
         return steps;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public List<RoutePoint> getRoutePoints() {
         return routePoints;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public CompactRouteGeometry getRouteGeometry() {
+        return routeGeometry;
+    }
+
+    /**
+     * Replaces the verbose route point list with its encoded form.
+     */
+    public void useCompactGeometry(CompactRouteGeometry routeGeometry) {
+        this.routeGeometry = routeGeometry;
+        this.routePoints = null;
+    }
+
     /**
      * Groups the four building-related fields that were previously separate constructor parameters.
      */
     public record BuildingInfo(String name, String id, String startFloor, String endFloor) {}
 
+    /**
+     * Route geometry as an encoded polyline of quantized pixel coordinates.
+     * Divide decoded values by {@code precision} to get pixels; {@code labels} maps point index to label
+     * for the endpoints, floor transitions and connectors only.
+     */
+    public record CompactRouteGeometry(String encoded, int precision, Map<Integer, String> labels) {}
+
     public static class RoutePoint {
         private double x;
         private double y;
@@ -0,0 +1,14 @@
+package com.soen390.backend.object;
+
+/**
+ * One Pareto-optimal indoor route: no other alternative is shorter, has fewer turns and has
+ * fewer floor transitions all at once.
+ *
+ * @param turns        direction changes sharper than 70 degrees along the route
+ * @param floorChanges elevator or stairs rides along the route
+ */
+public record IndoorRouteAlternative(
+        int turns,
+        int floorChanges,
+        IndoorDirectionResponse route
+) {}
@@ -0,0 +1,19 @@
+package com.soen390.backend.object;
+
+/**
+ * One autocomplete match from the campus-wide indoor search index.
+ *
+ * @param id          room id, POI id or building short code to pass back to the directions API
+ * @param displayName label to show in the search box
+ * @param type        "room", "building" or the POI type (e.g. "elevator")
+ * @param buildingId  floor plan id (e.g. "Hall-8"), or the building code for building matches
+ * @param floor       floor of the match, null for building matches
+ */
+public record IndoorSearchResult(
+        String id,
+        String displayName,
+        String type,
+        String buildingId,
+        String buildingName,
+        String floor
+) {}
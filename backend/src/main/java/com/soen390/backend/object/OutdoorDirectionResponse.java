@@ -12,6 +12,7 @@ public class OutdoorDirectionResponse {
     private String polyline;
     private TransportMode transportMode;
     private List<RouteStep> steps;
+    private boolean stale;
 
 
 
@@ -28,4 +29,14 @@ public class OutdoorDirectionResponse {
     public String getPolyline() { return polyline; }
     public TransportMode getTransportMode() { return transportMode; }
     public List<RouteStep> getSteps(){ return steps; }
-}
\ No newline at end of file
+
+    /** True when Google was unavailable and this is the last response it returned for the request. */
+    public boolean isStale() { return stale; }
+
+    /** Copy of this response marked as stale; the steps are shared. */
+    public OutdoorDirectionResponse asStale() {
+        OutdoorDirectionResponse copy = new OutdoorDirectionResponse(distance, duration, polyline, transportMode, steps);
+        copy.stale = true;
+        return copy;
+    }
+}
@@ -0,0 +1,18 @@
+package com.soen390.backend.object;
+
+/**
+ * Per-request settings for the route geometry simplification stage.
+ *
+ * @param enabled     whether redundant route points are removed before serialization
+ * @param tolerancePx Douglas–Peucker tolerance in floor-plan pixels (0 = collinear merge only)
+ */
+public record RouteSimplificationOptions(boolean enabled, double tolerancePx) {
+
+    public static final double DEFAULT_TOLERANCE_PX = 2.0d;
+
+    public static final RouteSimplificationOptions NONE = new RouteSimplificationOptions(false, 0d);
+
+    public static RouteSimplificationOptions withTolerance(double tolerancePx) {
+        return new RouteSimplificationOptions(true, tolerancePx);
+    }
+}
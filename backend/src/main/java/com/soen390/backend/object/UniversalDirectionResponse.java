@@ -1,5 +1,8 @@
 package com.soen390.backend.object;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
 
 public class UniversalDirectionResponse {
     private IndoorDirectionResponse startIndoorRoute;
@@ -7,6 +10,9 @@ public class UniversalDirectionResponse {
     private IndoorDirectionResponse endIndoorRoute;
     private String nextShuttleTime;
     private String totalDuration;
+    private List<IndoorDirectionResponse> connectingIndoorRoutes = List.of();
+    private List<IndoorConnection> indoorConnections = List.of();
+    private boolean degraded;
 
     public UniversalDirectionResponse(IndoorDirectionResponse startIndoorRoute,
                                       OutdoorDirectionResponse outdoorRoute,
@@ -25,4 +31,43 @@ public class UniversalDirectionResponse {
     public IndoorDirectionResponse getEndIndoorRoute() { return endIndoorRoute; }
     public String getNextShuttleTime() { return nextShuttleTime; }
     public String getTotalDuration() { return totalDuration; }
-}
\ No newline at end of file
+
+    /** Building legs between the start and end legs of an indoor-only connected route. */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<IndoorDirectionResponse> getConnectingIndoorRoutes() { return connectingIndoorRoutes; }
+
+    /** Indoor links (e.g. tunnels) walked instead of an outdoor route. */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<IndoorConnection> getIndoorConnections() { return indoorConnections; }
+
+    /**
+     * True when the outdoor directions could not be obtained in time: the indoor legs are complete
+     * but {@code outdoorRoute} is null.
+     */
+    public boolean isDegraded() { return degraded; }
+
+    /** Route with both indoor legs and no outdoor route, for when the outdoor directions failed. */
+    public static UniversalDirectionResponse withoutOutdoorRoute(IndoorDirectionResponse startIndoorRoute,
+                                                                 IndoorDirectionResponse endIndoorRoute,
+                                                                 String nextShuttleTime,
+                                                                 String totalDuration) {
+        UniversalDirectionResponse response = new UniversalDirectionResponse(
+                startIndoorRoute, null, endIndoorRoute, nextShuttleTime, totalDuration);
+        response.degraded = true;
+        return response;
+    }
+
+    /**
+     * Route that never leaves the buildings: {@code startIndoorRoute} and {@code endIndoorRoute}
+     * are the first and last building legs and there is no outdoor route.
+     */
+    public static UniversalDirectionResponse connected(List<IndoorDirectionResponse> legs,
+                                                       List<IndoorConnection> connections,
+                                                       String totalDuration) {
+        UniversalDirectionResponse response = new UniversalDirectionResponse(
+                legs.get(0), null, legs.get(legs.size() - 1), null, totalDuration);
+        response.connectingIndoorRoutes = List.copyOf(legs.subList(1, Math.max(1, legs.size() - 1)));
+        response.indoorConnections = List.copyOf(connections);
+        return response;
+    }
+}
@@ -0,0 +1,507 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.controller.IndoorDirectionsController;
+import com.soen390.backend.model.BuildingRegistry;
+import com.soen390.backend.model.ConnectorWaitTable;
+import com.soen390.backend.object.IndoorDirectionResponse;
+import com.soen390.backend.service.strategy.AccessibilityRoutingStrategy;
+import com.soen390.backend.service.strategy.StairsAllowedStrategy;
+import com.soen390.backend.service.strategy.StairsAvoidedStrategy;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Two-level router for indoor routes that span several connected buildings.
+ *
+ * The bottom level is the per-floor walking graphs of {@link PathfindingService}. The top level
+ * is an overlay whose vertices are portals: elevators and stairs (joined across the floors of a
+ * building by their shared id) and the endpoints of inter-building links such as tunnels. Walking
+ * costs between the portals of one floor are computed once at startup, so a query only searches
+ * the origin and destination floors locally and then runs Dijkstra over the small overlay.
+ *
+ * Overlay costs are walking-equivalent pixels. Floor changes are priced when the search reaches
+ * the connector, from the {@link ConnectorWaitTable} wait at that time of day plus the ride, so
+ * busy elevators lose to stairs or to a quieter elevator during class changes.
+ *
+ * The overlay is built from one {@link RoutingSnapshot} and rebuilt on the first query after a
+ * newer snapshot is published; each query searches one snapshot from start to finish. Only floors
+ * of buildings at the end of an inter-building link are part of it.
+ */
+@Service
+public class CampusRouter {
+
+    static final double PIXELS_TO_METERS = 0.06d;
+    static final double WALKING_SPEED_MPS = 1.4d;
+    /** Floor-plan pixels walked per second, to turn connector seconds into overlay cost. */
+    static final double PX_PER_SECOND = WALKING_SPEED_MPS / PIXELS_TO_METERS;
+
+    static final String TYPE_ELEVATOR = "ELEVATOR";
+    static final String TYPE_STAIRS = "STAIRS";
+    private static final String TRANSITION_PREFIX = "TRANSITION_";
+
+    /** A portal is identified by its floor plan and its room/POI id on that floor. */
+    record PortalKey(String planId, String id) {}
+
+    private record Portal(PortalKey key, String buildingCode, String connectorType,
+                          double x, double y, PathfindingService.Waypoint anchor) {}
+
+    /**
+     * Overlay edge; {@code path} holds the floor waypoints for walking edges and is empty otherwise.
+     * Connector edges carry the number of {@code levels} crossed and are priced at query time.
+     */
+    private record OverlayEdge(PortalKey to, double weight, String kind, int levels,
+                               List<PathfindingService.Waypoint> path, BuildingRegistry.Connection connection) {
+
+        private boolean isConnector() {
+            return TYPE_ELEVATOR.equals(kind) || TYPE_STAIRS.equals(kind);
+        }
+    }
+
+    private static final String KIND_WALK = "WALK";
+    private static final String KIND_LINK = "LINK";
+
+    private static final class Overlay {
+        private final RoutingSnapshot routing;
+        private final Map<String, List<Portal>> portalsByPlan = new HashMap<>();
+        private final Map<PortalKey, Portal> portals = new HashMap<>();
+        private final Map<PortalKey, List<OverlayEdge>> edges = new HashMap<>();
+
+        private Overlay(RoutingSnapshot routing) {
+            this.routing = routing;
+        }
+
+        private Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph(
+                String planId, AccessibilityRoutingStrategy strategy) {
+            RoutingSnapshot.FloorGraphs floor = routing.floor(planId);
+            return floor != null ? floor.graph(strategy) : null;
+        }
+
+        private void addPortal(Portal portal) {
+            if (portals.putIfAbsent(portal.key(), portal) == null) {
+                portalsByPlan.computeIfAbsent(portal.key().planId(), k -> new ArrayList<>()).add(portal);
+            }
+        }
+
+        private void addEdge(PortalKey from, OverlayEdge edge) {
+            edges.computeIfAbsent(from, k -> new ArrayList<>()).add(edge);
+        }
+    }
+
+    /** Both overlays of one snapshot. */
+    private record Overlays(RoutingSnapshot routing, Overlay withStairs, Overlay withoutStairs) {}
+
+    /**
+     * Part of a campus route inside one building. Route points may cross floors through
+     * {@code TRANSITION_} markers, exactly like a single-building cross-floor route.
+     *
+     * @param buildingId building short code (e.g. "H")
+     */
+    public record BuildingLeg(
+            String buildingId,
+            String originId,
+            String originFloor,
+            String destinationId,
+            String destinationFloor,
+            List<IndoorDirectionResponse.RoutePoint> routePoints) {}
+
+    /**
+     * A route across buildings: one leg per building and the links walked between consecutive legs.
+     *
+     * @param connectorSeconds expected waiting and riding time at elevators and stairs
+     * @param snapshotVersion  version of the routing snapshot the route was computed on
+     */
+    public record CampusRoute(List<BuildingLeg> legs, List<BuildingRegistry.Connection> links,
+                              double totalMeters, double connectorSeconds, long snapshotVersion) {}
+
+    private final PathfindingService pathfindingService;
+    private final BuildingRegistry buildings;
+    private final ConnectorWaitTable waits;
+    private volatile Overlays overlays;
+
+    public CampusRouter(PathfindingService pathfindingService) {
+        this(pathfindingService, ConnectorWaitTable.getDefault());
+    }
+
+    @Autowired
+    public CampusRouter(PathfindingService pathfindingService, ConnectorWaitTable waits) {
+        this(pathfindingService, BuildingRegistry.getDefault(), waits);
+    }
+
+    CampusRouter(PathfindingService pathfindingService, BuildingRegistry buildings, ConnectorWaitTable waits) {
+        this.pathfindingService = pathfindingService;
+        this.buildings = buildings;
+        this.waits = waits;
+    }
+
+    /**
+     * Overlays for the current snapshot, built on the first campus route and rebuilt once after the
+     * floor graphs change. Building them prepares every floor of the linked buildings, so it is
+     * deferred until needed.
+     */
+    private Overlays currentOverlays() {
+        RoutingSnapshot routing = pathfindingService.snapshot();
+        Overlays current = overlays;
+        if (current != null && current.routing().version() == routing.version()) return current;
+        synchronized (this) {
+            current = overlays;
+            if (current == null || current.routing().version() < routing.version()) {
+                current = buildOverlays(routing);
+                overlays = current;
+            }
+            return current;
+        }
+    }
+
+    private Overlays buildOverlays(RoutingSnapshot routing) {
+        return new Overlays(routing,
+                buildOverlay(routing, StairsAllowedStrategy.INSTANCE),
+                buildOverlay(routing, StairsAvoidedStrategy.INSTANCE));
+    }
+
+    /**
+     * Whether the two buildings are different and joined by at least one indoor link.
+     */
+    public boolean connects(String originBuilding, String destinationBuilding) {
+        Optional<BuildingRegistry.Building> from = buildings.find(originBuilding);
+        Optional<BuildingRegistry.Building> to = buildings.find(destinationBuilding);
+        if (from.isEmpty() || to.isEmpty() || from.get().equals(to.get())) return false;
+        Overlay overlay = currentOverlays().withStairs();
+        return overlay.portals.values().stream()
+                .anyMatch(p -> p.connectorType() == null && p.buildingCode().equals(from.get().code()))
+                && overlay.portals.values().stream()
+                .anyMatch(p -> p.connectorType() == null && p.buildingCode().equals(to.get().code()));
+    }
+
+    /**
+     * Fastest indoor route between rooms of two different buildings for a walk starting at
+     * {@code departure}, or empty when either endpoint is unknown or no indoor connection exists
+     * for the given strategy.
+     */
+    public Optional<CampusRoute> route(
+            String originBuilding, String originId, String originFloor,
+            String destinationBuilding, String destinationId, String destinationFloor,
+            AccessibilityRoutingStrategy strategy, LocalDateTime departure) {
+
+        if (!connects(originBuilding, destinationBuilding)) return Optional.empty();
+
+        String originPlan = buildings.toPlanId(originBuilding, originFloor);
+        String destinationPlan = buildings.toPlanId(destinationBuilding, destinationFloor);
+        PathfindingService.Waypoint origin = resolve(originPlan, originId);
+        PathfindingService.Waypoint destination = resolve(destinationPlan, destinationId);
+        Overlays current = currentOverlays();
+        Overlay overlay = strategy.allowsStairs() ? current.withStairs() : current.withoutStairs();
+        Graph<PathfindingService.Waypoint, DefaultWeightedEdge> originGraph = overlay.graph(originPlan, strategy);
+        Graph<PathfindingService.Waypoint, DefaultWeightedEdge> destinationGraph =
+                overlay.graph(destinationPlan, strategy);
+        if (origin == null || destination == null || originGraph == null || destinationGraph == null) {
+            return Optional.empty();
+        }
+
+        PathfindingService.Waypoint originAnchor = nearestVertex(originGraph, origin.x, origin.y);
+        PathfindingService.Waypoint destinationAnchor = nearestVertex(destinationGraph, destination.x, destination.y);
+        if (originAnchor == null || destinationAnchor == null) return Optional.empty();
+
+        ShortestPathAlgorithm.SingleSourcePaths<PathfindingService.Waypoint, DefaultWeightedEdge> fromOrigin =
+                new DijkstraShortestPath<>(originGraph).getPaths(originAnchor);
+        ShortestPathAlgorithm.SingleSourcePaths<PathfindingService.Waypoint, DefaultWeightedEdge> toDestination =
+                new DijkstraShortestPath<>(destinationGraph).getPaths(destinationAnchor);
+
+        Map<PortalKey, Double> distance = new HashMap<>();
+        Map<PortalKey, PortalKey> previous = new HashMap<>();
+        Map<PortalKey, OverlayEdge> previousEdge = new HashMap<>();
+        PriorityQueue<Map.Entry<PortalKey, Double>> queue = new PriorityQueue<>(Map.Entry.comparingByValue());
+
+        double originOffset = origin.distanceTo(originAnchor);
+        for (Portal portal : overlay.portalsByPlan.getOrDefault(originPlan, List.of())) {
+            double walk = fromOrigin.getWeight(portal.anchor());
+            if (Double.isInfinite(walk)) continue;
+            double cost = originOffset + walk + portal.anchor().distanceTo(portal.x(), portal.y());
+            distance.put(portal.key(), cost);
+            queue.add(Map.entry(portal.key(), cost));
+        }
+
+        while (!queue.isEmpty()) {
+            Map.Entry<PortalKey, Double> head = queue.poll();
+            if (head.getValue() > distance.getOrDefault(head.getKey(), Double.MAX_VALUE)) continue;
+            for (OverlayEdge edge : overlay.edges.getOrDefault(head.getKey(), List.of())) {
+                double candidate = head.getValue() + cost(head.getKey(), edge, departure, head.getValue());
+                if (candidate < distance.getOrDefault(edge.to(), Double.MAX_VALUE)) {
+                    distance.put(edge.to(), candidate);
+                    previous.put(edge.to(), head.getKey());
+                    previousEdge.put(edge.to(), edge);
+                    queue.add(Map.entry(edge.to(), candidate));
+                }
+            }
+        }
+
+        Portal last = null;
+        double best = Double.MAX_VALUE;
+        double destinationOffset = destination.distanceTo(destinationAnchor);
+        for (Portal portal : overlay.portalsByPlan.getOrDefault(destinationPlan, List.of())) {
+            Double reached = distance.get(portal.key());
+            double walk = toDestination.getWeight(portal.anchor());
+            if (reached == null || Double.isInfinite(walk)) continue;
+            double total = reached + portal.anchor().distanceTo(portal.x(), portal.y()) + walk + destinationOffset;
+            if (total < best) {
+                best = total;
+                last = portal;
+            }
+        }
+        if (last == null) return Optional.empty();
+
+        List<PortalKey> portalPath = new ArrayList<>();
+        for (PortalKey key = last.key(); key != null; key = previous.get(key)) {
+            portalPath.add(key);
+        }
+        Collections.reverse(portalPath);
+
+        return Optional.of(expand(overlay, portalPath, previousEdge, distance,
+                originId, originPlan, origin, fromOrigin.getPath(overlay.portals.get(portalPath.get(0)).anchor()),
+                destinationId, destinationPlan, destination, toDestination.getPath(last.anchor())));
+    }
+
+    /** Walking cost of an edge, or the wait and ride of a connector reached {@code elapsedPx} after departure. */
+    private double cost(PortalKey from, OverlayEdge edge, LocalDateTime departure, double elapsedPx) {
+        if (!edge.isConnector()) return edge.weight();
+        LocalDateTime arrival = departure.plusSeconds(Math.round(elapsedPx / PX_PER_SECOND));
+        return waits.transitionSeconds(from.id(), TYPE_ELEVATOR.equals(edge.kind()), edge.levels(), arrival)
+                * PX_PER_SECOND;
+    }
+
+    private CampusRoute expand(
+            Overlay overlay, List<PortalKey> portalPath, Map<PortalKey, OverlayEdge> previousEdge,
+            Map<PortalKey, Double> reachedPx,
+            String originId, String originPlan, PathfindingService.Waypoint origin,
+            GraphPath<PathfindingService.Waypoint, DefaultWeightedEdge> firstWalk,
+            String destinationId, String destinationPlan, PathfindingService.Waypoint destination,
+            GraphPath<PathfindingService.Waypoint, DefaultWeightedEdge> lastWalk) {
+
+        List<BuildingLeg> legs = new ArrayList<>();
+        List<BuildingRegistry.Connection> links = new ArrayList<>();
+        double linkMeters = 0d;
+        double connectorSeconds = 0d;
+
+        List<IndoorDirectionResponse.RoutePoint> points = new ArrayList<>();
+        String legOriginId = originId;
+        String legOriginPlan = originPlan;
+        points.add(new IndoorDirectionResponse.RoutePoint(origin.x, origin.y, originId));
+        addWaypoints(points, firstWalk.getVertexList());
+
+        Portal current = overlay.portals.get(portalPath.get(0));
+        points.add(new IndoorDirectionResponse.RoutePoint(current.x(), current.y(), current.key().id()));
+
+        for (int i = 1; i < portalPath.size(); i++) {
+            Portal next = overlay.portals.get(portalPath.get(i));
+            OverlayEdge edge = previousEdge.get(next.key());
+            switch (edge.kind()) {
+                case KIND_WALK -> addWaypoints(points, edge.path());
+                case KIND_LINK -> {
+                    legs.add(new BuildingLeg(buildingCodeOf(legOriginPlan), legOriginId, floorOf(legOriginPlan),
+                            current.key().id(), floorOf(current.key().planId()), points));
+                    links.add(edge.connection());
+                    linkMeters += edge.connection().lengthMeters();
+                    points = new ArrayList<>();
+                    legOriginId = next.key().id();
+                    legOriginPlan = next.key().planId();
+                }
+                default -> {
+                    points.add(new IndoorDirectionResponse.RoutePoint(current.x(), current.y(),
+                            TRANSITION_PREFIX + edge.kind() + "_TO_" + floorOf(next.key().planId())));
+                    connectorSeconds += (reachedPx.get(next.key()) - reachedPx.get(current.key())) / PX_PER_SECOND;
+                }
+            }
+            points.add(new IndoorDirectionResponse.RoutePoint(next.x(), next.y(), next.key().id()));
+            current = next;
+        }
+
+        List<PathfindingService.Waypoint> tail = new ArrayList<>(lastWalk.getVertexList());
+        Collections.reverse(tail);
+        addWaypoints(points, tail);
+        points.add(new IndoorDirectionResponse.RoutePoint(destination.x, destination.y, destinationId));
+        legs.add(new BuildingLeg(buildingCodeOf(legOriginPlan), legOriginId, floorOf(legOriginPlan),
+                destinationId, floorOf(destinationPlan), points));
+
+        double walkedPx = 0d;
+        for (BuildingLeg leg : legs) {
+            walkedPx += walkedLength(leg.routePoints());
+        }
+        return new CampusRoute(List.copyOf(legs), List.copyOf(links), walkedPx * PIXELS_TO_METERS + linkMeters,
+                connectorSeconds, overlay.routing.version());
+    }
+
+    private String buildingCodeOf(String planId) {
+        return buildings.find(planId).map(BuildingRegistry.Building::code).orElse(planId);
+    }
+
+    private Overlay buildOverlay(RoutingSnapshot routing, AccessibilityRoutingStrategy strategy) {
+        Overlay overlay = new Overlay(routing);
+        Map<String, List<Portal>> connectorsByBuilding = new HashMap<>();
+        Set<BuildingRegistry.Building> linked = linkedBuildings();
+
+        for (String planId : routing.planIds()) {
+            // Floors of buildings without an indoor link can never be on a campus route.
+            Optional<BuildingRegistry.Building> building = buildings.find(planId);
+            if (building.isEmpty() || !linked.contains(building.get())) continue;
+            Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph = overlay.graph(planId, strategy);
+            if (graph == null) continue;
+            for (IndoorDirectionsController.PoiResponse poi : pathfindingService.getPoisForBuilding(planId)) {
+                String type = connectorType(poi, strategy);
+                if (type == null) continue;
+                Portal portal = newPortal(graph, planId, poi.getId(), building.get().code(), type, poi.getX(), poi.getY());
+                if (portal == null) continue;
+                overlay.addPortal(portal);
+                connectorsByBuilding.computeIfAbsent(building.get().code(), k -> new ArrayList<>()).add(portal);
+            }
+        }
+
+        for (BuildingRegistry.Connection connection : buildings.getConnections()) {
+            if (!strategy.allowsStairs() && !connection.accessible()) continue;
+            Portal from = linkPortal(overlay, connection.fromPlan(), connection.fromId(), strategy);
+            Portal to = linkPortal(overlay, connection.toPlan(), connection.toId(), strategy);
+            if (from == null || to == null) continue;
+            overlay.addPortal(from);
+            overlay.addPortal(to);
+            double weight = connection.lengthMeters() / PIXELS_TO_METERS;
+            overlay.addEdge(from.key(), new OverlayEdge(to.key(), weight, KIND_LINK, 0, List.of(), connection));
+            overlay.addEdge(to.key(), new OverlayEdge(from.key(), weight, KIND_LINK, 0, List.of(), connection));
+        }
+
+        overlay.portalsByPlan.forEach((planId, portals) -> addWalkingEdges(overlay, planId, portals, strategy));
+        connectorsByBuilding.values().forEach(connectors -> addVerticalEdges(overlay, connectors));
+        return overlay;
+    }
+
+    /** Buildings at either end of at least one indoor link. */
+    private Set<BuildingRegistry.Building> linkedBuildings() {
+        Set<BuildingRegistry.Building> linked = new HashSet<>();
+        for (BuildingRegistry.Connection connection : buildings.getConnections()) {
+            buildings.find(connection.fromPlan()).ifPresent(linked::add);
+            buildings.find(connection.toPlan()).ifPresent(linked::add);
+        }
+        return linked;
+    }
+
+    private static void addWalkingEdges(Overlay overlay, String planId, List<Portal> portals,
+                                        AccessibilityRoutingStrategy strategy) {
+        Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph = overlay.graph(planId, strategy);
+        for (Portal from : portals) {
+            ShortestPathAlgorithm.SingleSourcePaths<PathfindingService.Waypoint, DefaultWeightedEdge> paths =
+                    new DijkstraShortestPath<>(graph).getPaths(from.anchor());
+            for (Portal to : portals) {
+                if (to == from) continue;
+                GraphPath<PathfindingService.Waypoint, DefaultWeightedEdge> path = paths.getPath(to.anchor());
+                if (path == null) continue;
+                double weight = from.anchor().distanceTo(from.x(), from.y()) + path.getWeight()
+                        + to.anchor().distanceTo(to.x(), to.y());
+                overlay.addEdge(from.key(), new OverlayEdge(to.key(), weight, KIND_WALK, 0,
+                        List.copyOf(path.getVertexList()), null));
+            }
+        }
+    }
+
+    private static void addVerticalEdges(Overlay overlay, List<Portal> connectors) {
+        for (Portal from : connectors) {
+            for (Portal to : connectors) {
+                if (from == to || !from.key().id().equals(to.key().id())) continue;
+                int levels = Math.abs(level(floorOf(from.key().planId())) - level(floorOf(to.key().planId())));
+                overlay.addEdge(from.key(), new OverlayEdge(to.key(), 0d,
+                        from.connectorType(), Math.max(1, levels), List.of(), null));
+            }
+        }
+    }
+
+    private Portal linkPortal(Overlay overlay, String planId, String id, AccessibilityRoutingStrategy strategy) {
+        Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph = overlay.graph(planId, strategy);
+        PathfindingService.Waypoint point = resolve(planId, id);
+        Optional<BuildingRegistry.Building> building = buildings.find(planId);
+        if (graph == null || point == null || building.isEmpty()) return null;
+        return newPortal(graph, planId, id, building.get().code(), null, point.x, point.y);
+    }
+
+    private static Portal newPortal(Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph,
+                                    String planId, String id, String buildingCode, String connectorType,
+                                    double x, double y) {
+        PathfindingService.Waypoint anchor = nearestVertex(graph, x, y);
+        return anchor == null ? null
+                : new Portal(new PortalKey(planId, id), buildingCode, connectorType, x, y, anchor);
+    }
+
+    private PathfindingService.Waypoint resolve(String planId, String id) {
+        FloorIdentifierResolver.Entry entry = pathfindingService.getResolver(planId).resolve(id);
+        return entry != null ? entry.point() : null;
+    }
+
+    private static String connectorType(IndoorDirectionsController.PoiResponse poi, AccessibilityRoutingStrategy strategy) {
+        String type = poi.getType() == null ? "" : poi.getType().toLowerCase(Locale.ROOT);
+        if (type.contains("elevator")) return TYPE_ELEVATOR;
+        if (type.contains("stairs") && strategy.allowsStairs()) return TYPE_STAIRS;
+        return null;
+    }
+
+    private static PathfindingService.Waypoint nearestVertex(
+            Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph, double x, double y) {
+        PathfindingService.Waypoint nearest = null;
+        double min = Double.MAX_VALUE;
+        for (PathfindingService.Waypoint wp : graph.vertexSet()) {
+            double d = wp.distanceTo(x, y);
+            if (d < min) {
+                min = d;
+                nearest = wp;
+            }
+        }
+        return nearest;
+    }
+
+    private static void addWaypoints(List<IndoorDirectionResponse.RoutePoint> points,
+                                     List<PathfindingService.Waypoint> waypoints) {
+        for (PathfindingService.Waypoint wp : waypoints) {
+            points.add(new IndoorDirectionResponse.RoutePoint(wp.x, wp.y, wp.id));
+        }
+    }
+
+    /** Length of the walked parts of a leg; jumps across a TRANSITION_ marker are not walked. */
+    private static double walkedLength(List<IndoorDirectionResponse.RoutePoint> points) {
+        double sum = 0d;
+        for (int i = 1; i < points.size(); i++) {
+            IndoorDirectionResponse.RoutePoint a = points.get(i - 1);
+            IndoorDirectionResponse.RoutePoint b = points.get(i);
+            if (b.getLabel() != null && b.getLabel().startsWith(TRANSITION_PREFIX)) continue;
+            if (a.getLabel() != null && a.getLabel().startsWith(TRANSITION_PREFIX)) continue;
+            sum += Math.hypot(b.getX() - a.getX(), b.getY() - a.getY());
+        }
+        return sum;
+    }
+
+    static String floorOf(String planId) {
+        int dash = planId.indexOf('-');
+        return dash > 0 ? planId.substring(dash + 1) : planId;
+    }
+
+    /** Numeric level of a floor label; sub-basements ("S2") are negative. */
+    static int level(String floor) {
+        if (floor == null || floor.isEmpty()) return 0;
+        try {
+            if (floor.charAt(0) == 'S' || floor.charAt(0) == 's') return -Integer.parseInt(floor.substring(1));
+            return Integer.parseInt(floor);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.enums.Campus;
+import com.soen390.backend.enums.CampusConstants;
+import com.soen390.backend.enums.TransportMode;
+import com.soen390.backend.object.OutdoorDirectionResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Campus-to-campus shuttle legs, fetched in the background and served from memory.
+ *
+ * The shuttle always runs between the same two stops, so both directions are requested from Google
+ * when the application starts and again every {@code shuttle.leg.refresh-interval}; shuttle
+ * requests read the last fetched leg and never wait on Google for it. A failed or stale refresh
+ * keeps the previous leg; once that leg is older than {@code shuttle.leg.max-age} it is still
+ * served, but marked stale. {@code shuttle.leg.precompute=false} turns the refresh off.
+ */
+@Component
+public class CampusShuttleLegs {
+
+    private static final Logger log = LoggerFactory.getLogger(CampusShuttleLegs.class);
+
+    private record FetchedLeg(OutdoorDirectionResponse leg, Instant fetchedAt) {}
+
+    private final GoogleMapsService googleMapsService;
+    private final Clock clock;
+    private final Map<Campus, FetchedLeg> legsByDestination = new ConcurrentHashMap<>();
+
+    @Value("${shuttle.leg.precompute:true}")
+    private boolean precompute = true;
+
+    /** Age after which a leg that could not be refreshed is marked stale. */
+    @Value("${shuttle.leg.max-age:PT2H}")
+    private Duration maxAge = Duration.ofHours(2);
+
+    @Autowired
+    public CampusShuttleLegs(GoogleMapsService googleMapsService) {
+        this(googleMapsService, Clock.systemUTC());
+    }
+
+    CampusShuttleLegs(GoogleMapsService googleMapsService, Clock clock) {
+        this.googleMapsService = googleMapsService;
+        this.clock = clock;
+    }
+
+    /** Coordinates of the shuttle stop of {@code campus}, as sent to Google. */
+    static String stopCoordinates(Campus campus) {
+        CampusConstants stop = campus == Campus.LOYOLA ? CampusConstants.LOYOLA : CampusConstants.SGW;
+        return String.format("%f,%f", stop.getLatitude(), stop.getLongitude());
+    }
+
+    private static Campus otherCampus(Campus campus) {
+        return campus == Campus.LOYOLA ? Campus.SGW : Campus.LOYOLA;
+    }
+
+    /**
+     * Last fetched leg from the other campus's stop to the stop of {@code destination}, if any;
+     * marked stale when it was fetched more than {@code shuttle.leg.max-age} ago.
+     */
+    public Optional<OutdoorDirectionResponse> toward(Campus destination) {
+        FetchedLeg fetched = legsByDestination.get(destination);
+        if (fetched == null) return Optional.empty();
+        boolean expired = fetched.fetchedAt().plus(maxAge).isBefore(clock.instant());
+        return Optional.of(expired ? fetched.leg().asStale() : fetched.leg());
+    }
+
+    @Scheduled(initialDelayString = "${shuttle.leg.initial-delay:PT0S}",
+            fixedDelayString = "${shuttle.leg.refresh-interval:PT30M}")
+    public void refresh() {
+        if (!precompute) return;
+        for (Campus destination : Campus.values()) {
+            try {
+                OutdoorDirectionResponse leg = googleMapsService.getDirections(
+                        stopCoordinates(otherCampus(destination)), stopCoordinates(destination),
+                        TransportMode.TRANSIT, true);
+                if (leg != null && !leg.isStale()) {
+                    legsByDestination.put(destination, new FetchedLeg(leg, clock.instant()));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not refresh the shuttle leg to {}; keeping the previous one", destination, e);
+            }
+        }
+    }
+}
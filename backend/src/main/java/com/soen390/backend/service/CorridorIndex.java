@@ -0,0 +1,205 @@
+package com.soen390.backend.service;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Static R-tree over the walking edges (corridor segments) of one floor graph.
+ *
+ * The tree is bulk-loaded once with Sort-Tile-Recursive packing and never modified, like the graph
+ * it indexes. {@link #nearest(double, double)} projects a position onto the closest segment with a
+ * branch-and-bound descent that skips every subtree whose bounding box is farther than the best
+ * segment found so far, so snapping costs about O(log E) instead of a scan over all waypoints.
+ */
+public final class CorridorIndex {
+
+    private static final int NODE_CAPACITY = 8;
+    private static final double VERTEX_EPSILON_PX = 1e-9d;
+
+    /**
+     * Closest point of a corridor segment to a queried position.
+     *
+     * @param from     one end of the segment
+     * @param to       the other end
+     * @param x        projected position on the segment
+     * @param y        projected position on the segment
+     * @param distance distance from the queried position to the projection
+     */
+    public record Snap(PathfindingService.Waypoint from, PathfindingService.Waypoint to,
+                       double x, double y, double distance) {
+
+        /** The segment end the projection falls on, or null when it lies strictly between them. */
+        public PathfindingService.Waypoint vertex() {
+            if (from.distanceTo(x, y) <= VERTEX_EPSILON_PX) return from;
+            if (to.distanceTo(x, y) <= VERTEX_EPSILON_PX) return to;
+            return null;
+        }
+
+        /** Whether both snaps lie on the same undirected segment. */
+        public boolean sameSegment(Snap other) {
+            return other != null && ((from.equals(other.from) && to.equals(other.to))
+                    || (from.equals(other.to) && to.equals(other.from)));
+        }
+    }
+
+    /** Internal node or leaf; a leaf covers segments {@code [first, first + count)}. */
+    private record Node(double minX, double minY, double maxX, double maxY,
+                        Node[] children, int first, int count) {
+
+        double centerX() {
+            return (minX + maxX) / 2;
+        }
+
+        double centerY() {
+            return (minY + maxY) / 2;
+        }
+
+        double distanceSquared(double x, double y) {
+            double dx = Math.max(0d, Math.max(minX - x, x - maxX));
+            double dy = Math.max(0d, Math.max(minY - y, y - maxY));
+            return dx * dx + dy * dy;
+        }
+    }
+
+    public static final CorridorIndex EMPTY = new CorridorIndex(
+            new PathfindingService.Waypoint[0], new PathfindingService.Waypoint[0], null);
+
+    private final PathfindingService.Waypoint[] starts;
+    private final PathfindingService.Waypoint[] ends;
+    private final Node root;
+
+    private CorridorIndex(PathfindingService.Waypoint[] starts, PathfindingService.Waypoint[] ends, Node root) {
+        this.starts = starts;
+        this.ends = ends;
+        this.root = root;
+    }
+
+    /** Indexes every edge of {@code graph}; the graph must not change afterwards. */
+    public static CorridorIndex build(Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph) {
+        int n = graph.edgeSet().size();
+        if (n == 0) return EMPTY;
+
+        PathfindingService.Waypoint[] a = new PathfindingService.Waypoint[n];
+        PathfindingService.Waypoint[] b = new PathfindingService.Waypoint[n];
+        int i = 0;
+        for (DefaultWeightedEdge edge : graph.edgeSet()) {
+            a[i] = graph.getEdgeSource(edge);
+            b[i] = graph.getEdgeTarget(edge);
+            i++;
+        }
+
+        // Leaf level: tile the segments by their centers, then store them in tile order.
+        List<Integer> order = new ArrayList<>(n);
+        for (int s = 0; s < n; s++) order.add(s);
+        sortTiles(order, s -> (a[s].x + b[s].x) / 2, s -> (a[s].y + b[s].y) / 2);
+        PathfindingService.Waypoint[] starts = new PathfindingService.Waypoint[n];
+        PathfindingService.Waypoint[] ends = new PathfindingService.Waypoint[n];
+        for (int s = 0; s < n; s++) {
+            starts[s] = a[order.get(s)];
+            ends[s] = b[order.get(s)];
+        }
+        List<Node> level = new ArrayList<>();
+        for (int first = 0; first < n; first += NODE_CAPACITY) {
+            int count = Math.min(NODE_CAPACITY, n - first);
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int s = first; s < first + count; s++) {
+                minX = Math.min(minX, Math.min(starts[s].x, ends[s].x));
+                minY = Math.min(minY, Math.min(starts[s].y, ends[s].y));
+                maxX = Math.max(maxX, Math.max(starts[s].x, ends[s].x));
+                maxY = Math.max(maxY, Math.max(starts[s].y, ends[s].y));
+            }
+            level.add(new Node(minX, minY, maxX, maxY, null, first, count));
+        }
+
+        while (level.size() > 1) {
+            sortTiles(level, Node::centerX, Node::centerY);
+            List<Node> parents = new ArrayList<>();
+            for (int first = 0; first < level.size(); first += NODE_CAPACITY) {
+                Node[] children = level.subList(first, Math.min(level.size(), first + NODE_CAPACITY))
+                        .toArray(new Node[0]);
+                double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+                double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+                for (Node child : children) {
+                    minX = Math.min(minX, child.minX);
+                    minY = Math.min(minY, child.minY);
+                    maxX = Math.max(maxX, child.maxX);
+                    maxY = Math.max(maxY, child.maxY);
+                }
+                parents.add(new Node(minX, minY, maxX, maxY, children, 0, children.length));
+            }
+            level = parents;
+        }
+        return new CorridorIndex(starts, ends, level.get(0));
+    }
+
+    /**
+     * Sort-Tile-Recursive order: vertical slices of about sqrt(n / capacity) tiles each, sorted by
+     * x, then each slice sorted by y, so consecutive groups of {@link #NODE_CAPACITY} are compact.
+     */
+    private static <T> void sortTiles(List<T> items,
+                                      ToDoubleFunction<T> x,
+                                      ToDoubleFunction<T> y) {
+        items.sort(Comparator.comparingDouble(x));
+        int tiles = (items.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceSize = NODE_CAPACITY * (int) Math.ceil(Math.sqrt(tiles));
+        for (int from = 0; from < items.size(); from += sliceSize) {
+            items.subList(from, Math.min(items.size(), from + sliceSize)).sort(Comparator.comparingDouble(y));
+        }
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /** Projection of (x, y) onto the closest indexed segment, or null when the index is empty. */
+    public Snap nearest(double x, double y) {
+        if (root == null) return null;
+        double[] best = {Double.MAX_VALUE};
+        int[] bestSegment = {-1};
+        search(root, x, y, best, bestSegment);
+
+        int s = bestSegment[0];
+        double[] projection = project(s, x, y);
+        return new Snap(starts[s], ends[s], projection[0], projection[1], Math.sqrt(best[0]));
+    }
+
+    private void search(Node node, double x, double y, double[] best, int[] bestSegment) {
+        if (node.children == null) {
+            for (int s = node.first; s < node.first + node.count; s++) {
+                double[] p = project(s, x, y);
+                double dx = p[0] - x;
+                double dy = p[1] - y;
+                double d = dx * dx + dy * dy;
+                if (d < best[0]) {
+                    best[0] = d;
+                    bestSegment[0] = s;
+                }
+            }
+            return;
+        }
+        Node[] children = node.children.clone();
+        Arrays.sort(children, Comparator.comparingDouble(child -> child.distanceSquared(x, y)));
+        for (Node child : children) {
+            if (child.distanceSquared(x, y) >= best[0]) break;
+            search(child, x, y, best, bestSegment);
+        }
+    }
+
+    private double[] project(int s, double x, double y) {
+        PathfindingService.Waypoint a = starts[s];
+        PathfindingService.Waypoint b = ends[s];
+        double dx = b.x - a.x;
+        double dy = b.y - a.y;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0d ? 0d : ((x - a.x) * dx + (y - a.y) * dy) / lengthSquared;
+        t = Math.max(0d, Math.min(1d, t));
+        return new double[]{a.x + t * dx, a.y + t * dy};
+    }
+}
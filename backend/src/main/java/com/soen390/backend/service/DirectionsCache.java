@@ -0,0 +1,180 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.enums.TransportMode;
+import com.soen390.backend.object.OutdoorDirectionResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache of Google Directions responses keyed by origin, destination and mode.
+ *
+ * Campus traffic asks for the same few building-to-building pairs all day, so most outdoor legs
+ * can be served without calling the API. Entries expire after a per-mode TTL: walking and cycling
+ * routes barely change, transit and driving depend on the current schedule and traffic. When the
+ * cache is full the least recently used entry is evicted. Only successful responses are cached.
+ * An expired entry is kept until it is replaced or evicted, so that it can still be served as the
+ * last known response while Google is unavailable.
+ *
+ * Lookups are counted in {@code google.directions.cache} tagged by {@code result} (hit, miss,
+ * bypass or stale) and {@code mode}.
+ */
+@Component
+public class DirectionsCache {
+
+    private static final String METRIC = "google.directions.cache";
+
+    private record Key(String origin, String destination, TransportMode mode) {}
+
+    private record Entry(OutdoorDirectionResponse response, Instant expiresAt) {}
+
+    /** Lookup counters of one mode, registered once so lookups only increment them. */
+    private record Lookups(Counter hit, Counter miss, Counter bypass, Counter stale) {}
+
+    private final boolean enabled;
+    private final Map<TransportMode, Duration> ttls;
+    private final Map<Key, Entry> entries;
+    private final Map<TransportMode, Lookups> lookups = new EnumMap<>(TransportMode.class);
+    private final Counter evictions;
+    private final Clock clock;
+
+    /** Enabled cache with the default TTLs, for use outside Spring. */
+    public DirectionsCache() {
+        this(true, 500, defaultTtls(), new SimpleMeterRegistry(), Clock.systemUTC());
+    }
+
+    @Autowired
+    public DirectionsCache(@Value("${google.directions.cache.enabled:true}") boolean enabled,
+                           @Value("${google.directions.cache.max-entries:500}") int maxEntries,
+                           @Value("${google.directions.cache.ttl.walking:PT24H}") Duration walking,
+                           @Value("${google.directions.cache.ttl.bicycling:PT24H}") Duration bicycling,
+                           @Value("${google.directions.cache.ttl.driving:PT10M}") Duration driving,
+                           @Value("${google.directions.cache.ttl.transit:PT2M}") Duration transit,
+                           MeterRegistry meterRegistry) {
+        this(enabled, maxEntries, ttls(walking, bicycling, driving, transit), meterRegistry, Clock.systemUTC());
+    }
+
+    DirectionsCache(boolean enabled, int maxEntries, Map<TransportMode, Duration> ttls,
+                    MeterRegistry meterRegistry, Clock clock) {
+        this.enabled = enabled;
+        this.ttls = new EnumMap<>(ttls);
+        this.clock = clock;
+        for (TransportMode mode : TransportMode.values()) {
+            lookups.put(mode, new Lookups(lookupCounter("hit", mode, meterRegistry),
+                    lookupCounter("miss", mode, meterRegistry),
+                    lookupCounter("bypass", mode, meterRegistry),
+                    lookupCounter("stale", mode, meterRegistry)));
+        }
+        this.evictions = Counter.builder(METRIC + ".evictions")
+                .description("Directions responses evicted because the cache was full")
+                .register(meterRegistry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                boolean full = size() > maxEntries;
+                if (full) evictions.increment();
+                return full;
+            }
+        };
+        Gauge.builder(METRIC + ".size", this, DirectionsCache::size)
+                .description("Directions responses currently cached")
+                .register(meterRegistry);
+    }
+
+    private static Map<TransportMode, Duration> defaultTtls() {
+        return ttls(Duration.ofHours(24), Duration.ofHours(24), Duration.ofMinutes(10), Duration.ofMinutes(2));
+    }
+
+    private static Map<TransportMode, Duration> ttls(Duration walking, Duration bicycling,
+                                                     Duration driving, Duration transit) {
+        Map<TransportMode, Duration> ttls = new EnumMap<>(TransportMode.class);
+        ttls.put(TransportMode.WALKING, walking);
+        ttls.put(TransportMode.BICYCLING, bicycling);
+        ttls.put(TransportMode.DRIVING, driving);
+        ttls.put(TransportMode.TRANSIT, transit);
+        ttls.put(TransportMode.SHUTTLE, transit);
+        return ttls;
+    }
+
+    /**
+     * Cached response for the request, or the result of {@code fetch} when there is none or
+     * {@code bypass} is set. A fetched response replaces the cached one; exceptions from
+     * {@code fetch} propagate and leave the cache untouched.
+     */
+    public OutdoorDirectionResponse get(String origin, String destination, TransportMode mode,
+                                        boolean bypass, Supplier<OutdoorDirectionResponse> fetch) {
+        Duration ttl = ttls.getOrDefault(mode, Duration.ZERO);
+        if (!enabled || ttl.isZero() || ttl.isNegative()) return fetch.get();
+
+        Key key = new Key(origin, destination, mode);
+        if (bypass) {
+            lookups.get(mode).bypass().increment();
+        } else {
+            Instant now = clock.instant();
+            synchronized (entries) {
+                Entry entry = entries.get(key);
+                if (entry != null && now.isBefore(entry.expiresAt())) {
+                    lookups.get(mode).hit().increment();
+                    return entry.response();
+                }
+            }
+            lookups.get(mode).miss().increment();
+        }
+
+        OutdoorDirectionResponse response = fetch.get();
+        if (response != null) {
+            Entry entry = new Entry(response, clock.instant().plus(ttl));
+            synchronized (entries) {
+                entries.put(key, entry);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Last response cached for the request, even if it has expired; empty when there is none or
+     * the cache is disabled for the mode.
+     */
+    public Optional<OutdoorDirectionResponse> lastKnown(String origin, String destination, TransportMode mode) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(new Key(origin, destination, mode));
+        }
+        if (entry == null) return Optional.empty();
+        lookups.get(mode).stale().increment();
+        return Optional.of(entry.response());
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static Counter lookupCounter(String result, TransportMode mode, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC)
+                .description("Directions cache lookups")
+                .tag("result", result)
+                .tag("mode", mode.getApiValue())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,241 @@
+package com.soen390.backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soen390.backend.enums.ManeuverType;
+import com.soen390.backend.enums.TransportMode;
+import com.soen390.backend.exception.GoogleMapsDirectionEmptyException;
+import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.exception.GoogleMapsDirectionsRequestException;
+import com.soen390.backend.object.OutdoorDirectionResponse;
+import com.soen390.backend.object.RouteStep;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming mapper from a Google Directions JSON response to an {@link OutdoorDirectionResponse}.
+ *
+ * Only the fields the app uses are read: the status, and from the first route and its first leg
+ * the distance, duration, overview polyline and steps. Everything else, including alternative
+ * routes, is skipped token by token without building a tree. The parser factory is shared.
+ *
+ * Google writes {@code status} after {@code routes}, so the route is collected first and the
+ * status is checked once the whole document has been read.
+ */
+public final class DirectionsResponseParser {
+
+    private static final JsonFactory FACTORY = new ObjectMapper().getFactory();
+    private static final String PARSE_FAILURE =
+            "Failed to parse Google Maps directions response: incomplete or unexpected data format.";
+    /** Statuses caused by the request rather than by the API. */
+    private static final Set<String> REQUEST_STATUSES =
+            Set.of("NOT_FOUND", "INVALID_REQUEST", "MAX_WAYPOINTS_EXCEEDED", "MAX_ROUTE_LENGTH_EXCEEDED");
+
+    private DirectionsResponseParser() {
+    }
+
+    /** Fields of the first leg of the first route. */
+    private static final class Leg {
+        String distance = "";
+        String duration = "";
+        List<RouteStep> steps = new ArrayList<>();
+    }
+
+    /** Fields of the first route. */
+    private static final class Route {
+        String polyline = "";
+        Leg leg;
+    }
+
+    /**
+     * @throws GoogleMapsDirectionEmptyException   if Google found no route
+     * @throws GoogleMapsDirectionsRequestException if Google rejected the request itself
+     * @throws GoogleMapsDirectionsApiException  for any other non-OK status or a malformed response
+     */
+    public static OutdoorDirectionResponse parse(String json, TransportMode transportMode) {
+        if (json == null) throw new GoogleMapsDirectionsApiException(PARSE_FAILURE);
+
+        String status = "";
+        Route route = null;
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) throw new GoogleMapsDirectionsApiException(PARSE_FAILURE);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "status" -> status = text(parser);
+                    case "routes" -> route = firstElement(parser, DirectionsResponseParser::readRoute);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new GoogleMapsDirectionsApiException(PARSE_FAILURE, e);
+        }
+
+        if (status.equals("ZERO_RESULTS")) {
+            throw new GoogleMapsDirectionEmptyException("Directions not found. Please check your start and end locations.");
+        }
+        if (REQUEST_STATUSES.contains(status)) {
+            throw new GoogleMapsDirectionsRequestException("Google Maps directions request failed with status: " + status);
+        }
+        if (!status.equals("OK")) {
+            throw new GoogleMapsDirectionsApiException("Google Maps directions request failed with status: " + status);
+        }
+        if (route == null || route.leg == null) throw new GoogleMapsDirectionsApiException(PARSE_FAILURE);
+
+        return new OutdoorDirectionResponse(route.leg.distance, route.leg.duration, route.polyline,
+                transportMode, route.leg.steps);
+    }
+
+    private interface ObjectReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Reads the first object of the array at the current token and skips the rest; null when the
+     * value is not an array or the array is empty.
+     */
+    private static <T> T firstElement(JsonParser parser, ObjectReader<T> reader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        T first = null;
+        boolean read = false;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (!read && token == JsonToken.START_OBJECT) {
+                first = reader.read(parser);
+            } else {
+                parser.skipChildren();
+            }
+            read = true;
+        }
+        return first;
+    }
+
+    private static Route readRoute(JsonParser parser) throws IOException {
+        Route route = new Route();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "legs" -> route.leg = firstElement(parser, DirectionsResponseParser::readLeg);
+                case "overview_polyline" -> route.polyline = member(parser, "points");
+                default -> parser.skipChildren();
+            }
+        }
+        return route;
+    }
+
+    private static Leg readLeg(JsonParser parser) throws IOException {
+        Leg leg = new Leg();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "distance" -> leg.distance = member(parser, "text");
+                case "duration" -> leg.duration = member(parser, "text");
+                case "steps" -> readSteps(parser, leg.steps);
+                default -> parser.skipChildren();
+            }
+        }
+        return leg;
+    }
+
+    private static void readSteps(JsonParser parser, List<RouteStep> steps) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                steps.add(readStep(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static RouteStep readStep(JsonParser parser) throws IOException {
+        String instruction = "";
+        String distance = "";
+        String duration = "";
+        String polyline = "";
+        ManeuverType maneuver = ManeuverType.STRAIGHT;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "html_instructions" -> instruction = stripTags(text(parser));
+                case "distance" -> distance = member(parser, "text");
+                case "duration" -> duration = member(parser, "text");
+                case "polyline" -> polyline = member(parser, "points");
+                case "maneuver" -> {
+                    if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                        maneuver = ManeuverType.fromString(parser.getText());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new RouteStep(instruction, distance, duration, maneuver, polyline);
+    }
+
+    /** Text of one member of the object at the current token, or "" when it is absent. */
+    private static String member(JsonParser parser, String name) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return "";
+        }
+        String value = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (field.equals(name)) {
+                value = text(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    /** Scalar at the current token as text; "" for objects and arrays, which are skipped. */
+    private static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return "";
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Removes HTML tags: every {@code <} up to the next {@code >}. A {@code <} that is never closed
+     * is kept, as are the characters after it.
+     */
+    static String stripTags(String html) {
+        int open = html.indexOf('<');
+        if (open < 0) return html;
+
+        StringBuilder out = new StringBuilder(html.length());
+        int from = 0;
+        while (open >= 0) {
+            int close = html.indexOf('>', open + 1);
+            if (close < 0) break;
+            out.append(html, from, open);
+            from = close + 1;
+            open = html.indexOf('<', from);
+        }
+        return out.append(html, from, html.length()).toString();
+    }
+}
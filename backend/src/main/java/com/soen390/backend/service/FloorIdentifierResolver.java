@@ -0,0 +1,97 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.controller.IndoorDirectionsController;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-floor identifier index built once when a floor plan is loaded.
+ *
+ * Every room id, POI id and waypoint id of the floor maps to a typed {@link Entry} so callers
+ * resolve any identifier with a single hash lookup. Ids must be unique on a floor, ignoring case,
+ * so no entry can shadow another; the one exception is a room and a POI describing the same
+ * place, which resolves as the room. Any other collision fails the build of the index.
+ */
+public final class FloorIdentifierResolver {
+
+    public enum Kind { ROOM, POI, WAYPOINT }
+
+    /**
+     * A resolved identifier. For waypoints {@code point} is the graph vertex itself.
+     */
+    public record Entry(Kind kind, PathfindingService.Waypoint point) {
+        public String id() {
+            return point.id;
+        }
+    }
+
+    static final FloorIdentifierResolver EMPTY = new FloorIdentifierResolver(Map.of(), Map.of());
+
+    private final Map<String, Entry> exact;
+    private final Map<String, Entry> ignoreCase;
+
+    private FloorIdentifierResolver(Map<String, Entry> exact, Map<String, Entry> ignoreCase) {
+        this.exact = exact;
+        this.ignoreCase = ignoreCase;
+    }
+
+    static FloorIdentifierResolver build(
+            Map<String, PathfindingService.Waypoint> rooms,
+            Collection<IndoorDirectionsController.PoiResponse> pois,
+            Collection<PathfindingService.Waypoint> waypoints) {
+
+        Map<String, Entry> exact = new HashMap<>();
+        Map<String, Entry> ignoreCase = new HashMap<>();
+
+        rooms.values().forEach(room -> register(exact, ignoreCase, new Entry(Kind.ROOM, room)));
+        for (IndoorDirectionsController.PoiResponse poi : pois) {
+            if (poi == null || poi.getId() == null) continue;
+            register(exact, ignoreCase, new Entry(Kind.POI,
+                    new PathfindingService.Waypoint(poi.getX(), poi.getY(), poi.getId())));
+        }
+        waypoints.forEach(wp -> register(exact, ignoreCase, new Entry(Kind.WAYPOINT, wp)));
+
+        return new FloorIdentifierResolver(Map.copyOf(exact), Map.copyOf(ignoreCase));
+    }
+
+    private static void register(Map<String, Entry> exact, Map<String, Entry> ignoreCase, Entry entry) {
+        Entry existing = ignoreCase.putIfAbsent(entry.id().toLowerCase(Locale.ROOT), entry);
+        if (existing == null) {
+            exact.put(entry.id(), entry);
+        } else if (!samePlace(existing, entry)) {
+            throw new IllegalStateException("Identifier " + entry.id() + " (" + entry.kind()
+                    + ") collides with " + existing.id() + " (" + existing.kind() + ") on the same floor");
+        }
+    }
+
+    /** A room also listed as a POI, at the same position; floor plans do this for connectors and entrances. */
+    private static boolean samePlace(Entry room, Entry poi) {
+        return room.kind() == Kind.ROOM && poi.kind() == Kind.POI
+                && room.id().equals(poi.id())
+                && room.point().x == poi.point().x && room.point().y == poi.point().y;
+    }
+
+    /** Entry with exactly this id, or null. */
+    public Entry resolve(String id) {
+        return id == null ? null : exact.get(id);
+    }
+
+    /** Like {@link #resolve(String)}, falling back to a case-insensitive match when asked to. */
+    public Entry resolve(String id, boolean caseInsensitive) {
+        Entry entry = resolve(id);
+        if (entry != null || !caseInsensitive || id == null) return entry;
+        return ignoreCase.get(id.toLowerCase(Locale.ROOT));
+    }
+
+    public Entry resolve(String id, Kind kind) {
+        Entry entry = resolve(id);
+        return entry != null && entry.kind() == kind ? entry : null;
+    }
+
+    public int size() {
+        return exact.size();
+    }
+}
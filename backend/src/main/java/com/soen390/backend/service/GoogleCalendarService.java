@@ -3,6 +3,7 @@ package com.soen390.backend.service;
 import com.soen390.backend.object.GoogleCalendarDto;
 import com.soen390.backend.object.GoogleTokenSession;
 import com.soen390.backend.object.GoogleEventDto;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -38,7 +39,7 @@ public class GoogleCalendarService {
   private final RestTemplate restTemplate;
   private final GoogleSessionService sessionService;
 
-  public GoogleCalendarService(RestTemplate restTemplate, GoogleSessionService sessionService) {
+  public GoogleCalendarService(@Qualifier("calendarRestTemplate") RestTemplate restTemplate, GoogleSessionService sessionService) {
     this.restTemplate = restTemplate;
     this.sessionService = sessionService;
   }
@@ -1,19 +1,23 @@
 package com.soen390.backend.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.soen390.backend.config.CircuitBreaker;
+import com.soen390.backend.config.CircuitBreakers;
+import com.soen390.backend.config.OutboundHttpClients;
+import com.soen390.backend.config.SingleFlight;
 import com.soen390.backend.exception.GoogleMapsDirectionEmptyException;
+import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.exception.GoogleMapsDirectionsRequestException;
 import com.soen390.backend.object.OutdoorDirectionResponse;
-import com.soen390.backend.object.RouteStep;
-import com.soen390.backend.enums.ManeuverType;
 import com.soen390.backend.enums.TransportMode;
-import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -23,88 +27,78 @@ public class GoogleMapsService {
     private String apiKey;
 
     private final RestTemplate restTemplate;
+    private final DirectionsCache cache;
+    private final CircuitBreaker circuitBreaker;
+    private final SingleFlight<List<Object>, OutdoorDirectionResponse> inFlight;
 
     public GoogleMapsService(RestTemplate restTemplate) {
+        this(restTemplate, new DirectionsCache(), new CircuitBreakers(), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public GoogleMapsService(@Qualifier("directionsRestTemplate") RestTemplate restTemplate, DirectionsCache cache,
+                             CircuitBreakers circuitBreakers, MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.cache = cache;
+        this.circuitBreaker = circuitBreakers.get(OutboundHttpClients.Upstream.DIRECTIONS);
+        this.inFlight = new SingleFlight<>(OutboundHttpClients.Upstream.DIRECTIONS.getPropertyName(), meterRegistry);
     }
 
     public OutdoorDirectionResponse getDirections(String origin, String destination, TransportMode transportMode) {
+        return getDirections(origin, destination, transportMode, false);
+    }
 
-        String url = "https://maps.googleapis.com/maps/api/directions/json" +
-                "?origin=" + origin +
-                "&destination=" + destination +
-                "&mode=" + transportMode.getApiValue() +
-                "&key=" + apiKey;
-        String json = restTemplate.getForObject(url, String.class);
-
+    /**
+     * Directions between two places, served from the {@link DirectionsCache} while the cached
+     * response for the same request is fresh. {@code bypassCache} always calls the API and
+     * refreshes the cached response.
+     *
+     * Identical concurrent requests that miss the cache share one call to Google. That call goes
+     * through the directions circuit breaker. When the circuit is open or the
+     * call fails, the last cached response for the request is returned marked as stale; without
+     * one the request fails at once with a {@link GoogleMapsDirectionsApiException}.
+     */
+    public OutdoorDirectionResponse getDirections(String origin, String destination, TransportMode transportMode,
+                                                  boolean bypassCache) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(json);
-            String status = root.path("status").asText();
-
-            checkResponseStatus(status);
-
-            JsonNode route = root.path("routes").get(0);
-            JsonNode leg = route.path("legs").get(0);
-
-            String distance = leg.path("distance").path("text").asText();
-            String duration = leg.path("duration").path("text").asText();
-            String polyline = route.path("overview_polyline").path("points").asText();
-
-            JsonNode steps = leg.path("steps");
-
-            return new OutdoorDirectionResponse(distance, duration, polyline, transportMode, processSteps(steps));
-
-        } catch (GoogleMapsDirectionsApiException | GoogleMapsDirectionEmptyException  e) {
-            throw e;
-        } catch (NullPointerException | JsonProcessingException e) {
-            throw new GoogleMapsDirectionsApiException(
-                    "Failed to parse Google Maps directions response: incomplete or unexpected data format.",
-                    e
-            );
+            return cache.get(origin, destination, transportMode, bypassCache,
+                    () -> inFlight.run(List.of(origin, destination, transportMode),
+                            () -> circuitBreaker.call(() -> fetchDirections(origin, destination, transportMode),
+                                    GoogleMapsService::isCallerError)));
+        } catch (CircuitBreaker.OpenException e) {
+            return lastKnown(origin, destination, transportMode, new GoogleMapsDirectionsApiException(
+                    "Google Maps directions are temporarily unavailable. Please try again shortly.", e));
+        } catch (GoogleMapsDirectionsApiException e) {
+            return lastKnown(origin, destination, transportMode, e);
+        } catch (RestClientException e) {
+            return lastKnown(origin, destination, transportMode, new GoogleMapsDirectionsApiException(
+                    "Google Maps directions request failed: " + e.getMessage(), e));
         }
     }
 
-    private List<RouteStep> processSteps(JsonNode steps) {
-
-        List<RouteStep> stepList = new ArrayList<>();
-
-        for (JsonNode step : steps) {
-
-            String instruction = step.path("html_instructions").asText();
-            String cleanInstruction = instruction.replaceAll("<[^>]*>", "");
-
-            String stepDist = step.path("distance").path("text").asText();
-            String stepDur = step.path("duration").path("text").asText();
-
-            String stepPolyline = step.path("polyline").path("points").asText();
-
-            ManeuverType maneuverType = handleMissingManeuver(step);
-
-            stepList.add(new RouteStep(cleanInstruction, stepDist, stepDur, maneuverType, stepPolyline));
-        }
-        return stepList;
-
+    /** Answers about the request itself; they leave the circuit breaker's failure rate alone. */
+    private static boolean isCallerError(RuntimeException e) {
+        return e instanceof GoogleMapsDirectionEmptyException
+                || e instanceof GoogleMapsDirectionsRequestException
+                || CircuitBreaker.isClientError(e);
     }
 
-    private ManeuverType handleMissingManeuver(JsonNode step) {
-        ManeuverType maneuverType;
-        if (!step.path("maneuver").isTextual()) {
-            maneuverType = ManeuverType.STRAIGHT;
-        } else {
-            String maneuver = step.path("maneuver").asText();
-            maneuverType = ManeuverType.fromString(maneuver);
-        }
-        return maneuverType;
+    private OutdoorDirectionResponse lastKnown(String origin, String destination, TransportMode transportMode,
+                                               GoogleMapsDirectionsApiException failure) {
+        return cache.lastKnown(origin, destination, transportMode)
+                .map(OutdoorDirectionResponse::asStale)
+                .orElseThrow(() -> failure);
     }
 
-    private void checkResponseStatus(String status) {
-        if (status.equals("ZERO_RESULTS")){
-            throw new GoogleMapsDirectionEmptyException("Directions not found. Please check your start and end locations.");
-        }
-        if (!status.equals("OK")) {
-            throw new GoogleMapsDirectionsApiException("Google Maps directions request failed with status: " + status);
-        }
+    private OutdoorDirectionResponse fetchDirections(String origin, String destination, TransportMode transportMode) {
+
+        String url = "https://maps.googleapis.com/maps/api/directions/json" +
+                "?origin=" + origin +
+                "&destination=" + destination +
+                "&mode=" + transportMode.getApiValue() +
+                "&key=" + apiKey;
+        String json = restTemplate.getForObject(url, String.class);
+        return DirectionsResponseParser.parse(json, transportMode);
     }
 
 }
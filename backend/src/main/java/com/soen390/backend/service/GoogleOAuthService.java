@@ -1,6 +1,7 @@
 package com.soen390.backend.service;
 
 import com.soen390.backend.object.GoogleTokenSession;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
@@ -29,7 +30,7 @@ public class GoogleOAuthService {
   @Value("${google.oauth.redirect-uri}")
   private String redirectUri;
 
-  public GoogleOAuthService(RestTemplate restTemplate, GoogleSessionService sessionService) {
+  public GoogleOAuthService(@Qualifier("oauthRestTemplate") RestTemplate restTemplate, GoogleSessionService sessionService) {
     this.restTemplate = restTemplate;
     this.sessionService = sessionService;
   }
@@ -1,13 +1,29 @@
 package com.soen390.backend.service;
 
 import com.soen390.backend.controller.IndoorDirectionsController;
+import com.soen390.backend.model.BuildingRegistry;
+import com.soen390.backend.model.ConnectorWaitTable;
 import com.soen390.backend.model.FloorPlanData;
 import com.soen390.backend.service.strategy.AccessibilityRoutingStrategy;
+import com.soen390.backend.object.IndoorConnection;
 import com.soen390.backend.object.IndoorDirectionResponse;
+import com.soen390.backend.object.IndoorRouteAlternative;
 import com.soen390.backend.object.IndoorRouteStep;
+import com.soen390.backend.object.RouteSimplificationOptions;
 import com.soen390.backend.enums.IndoorManeuverType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 
 @Service
@@ -18,8 +34,8 @@ public class IndoorDirectionService {
     private static final String KEYWORD_STAIRS_LOWER = "stairs";
     private static final String STR_ELEVATOR = "ELEVATOR";
     private static final String STR_ELEVATOR_LOWER = "elevator";
-    private static final String STR_HELPER = "helper";
-    private static final String PREFIX_HALL = "Hall-";
+    private static final String HALL_CODE = "H";
+    private static final String PREFIX_TRANSITION = "TRANSITION_";
     private static final String MSG_STAIRS_UP = "You will need to go up the stairs to reach the main floor.";
     private static final String MSG_STAIRS_DOWN = "You will need to go down the stairs to reach the exit level.";
     private static final String MSG_STAIRS_UP_GENERIC = "You will need to go up the stairs.";
@@ -31,10 +47,58 @@ public class IndoorDirectionService {
     private static final double UTURN_THRESHOLD_DEG = 150d;
     private static final double MIN_SEGMENT_PX = 12d;
 
+    private static final BuildingRegistry BUILDINGS = BuildingRegistry.getDefault();
+    /** Connector wait profiles are in campus local time. */
+    private static final ZoneId CAMPUS_ZONE = ZoneId.of("America/Montreal");
+
+    /**
+     * Indoor route across connected buildings: one response per building, joined by the
+     * indoor links walked in between.
+     */
+    public record ConnectedIndoorRoute(
+            List<IndoorDirectionResponse> legs,
+            List<IndoorConnection> connections,
+            String distance,
+            String duration) {}
+
     private final PathfindingService pathfindingService;
+    private final CampusRouter campusRouter;
+    /** Same table as {@link CampusRouter}, so single- and cross-building routes agree on waits. */
+    private final ConnectorWaitTable waits;
+    private final Clock clock;
+    private final Counter rawRoutePoints;
+    private final Counter simplifiedRoutePoints;
+    private final DistributionSummary simplificationReduction;
 
     public IndoorDirectionService(PathfindingService pathfindingService) {
+        this(pathfindingService, new CampusRouter(pathfindingService), ConnectorWaitTable.getDefault(),
+                new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public IndoorDirectionService(PathfindingService pathfindingService, CampusRouter campusRouter,
+                                  ConnectorWaitTable waits, MeterRegistry meterRegistry) {
+        this(pathfindingService, campusRouter, waits, meterRegistry, Clock.system(CAMPUS_ZONE));
+    }
+
+    /** {@code clock} gives the departure time used for connector waits. */
+    IndoorDirectionService(PathfindingService pathfindingService, CampusRouter campusRouter,
+                           ConnectorWaitTable waits, MeterRegistry meterRegistry, Clock clock) {
         this.pathfindingService = pathfindingService;
+        this.campusRouter = campusRouter;
+        this.waits = waits;
+        this.clock = clock;
+        this.rawRoutePoints = Counter.builder("indoor.route.points")
+                .tag("stage", "raw")
+                .description("Route points produced by the path search")
+                .register(meterRegistry);
+        this.simplifiedRoutePoints = Counter.builder("indoor.route.points")
+                .tag("stage", "simplified")
+                .description("Route points left after geometry simplification")
+                .register(meterRegistry);
+        this.simplificationReduction = DistributionSummary.builder("indoor.route.simplification.reduction")
+                .description("Fraction of route points removed by geometry simplification")
+                .register(meterRegistry);
     }
 
     private String detectStairMessageFromRoute(List<IndoorDirectionResponse.RoutePoint> routePoints) {
@@ -54,35 +118,270 @@ public class IndoorDirectionService {
             String originFloor,
             String destinationFloor,
             boolean avoidStairs) {
+        return getIndoorDirections(buildingId, origin, destination, originFloor, destinationFloor,
+                avoidStairs, RouteSimplificationOptions.NONE);
+    }
+
+    public IndoorDirectionResponse getIndoorDirections(
+            String buildingId,
+            String origin,
+            String destination,
+            String originFloor,
+            String destinationFloor,
+            boolean avoidStairs,
+            RouteSimplificationOptions simplification) {
 
         AccessibilityRoutingStrategy strategy = AccessibilityRoutingStrategy.fromAvoidStairs(avoidStairs);
-        String buildingName = getBuildingName(buildingId);
-        pathfindingService.setBuilding(buildingId);
 
         String startFloor = originFloor != null ? originFloor : "1";
         String endFloor = destinationFloor != null ? destinationFloor : startFloor;
 
+        LocalDateTime departure = LocalDateTime.now(clock);
+        RoutingSnapshot routing = pathfindingService.snapshot();
         List<IndoorDirectionResponse.RoutePoint> routePoints;
 
         if (startFloor.equals(endFloor)) {
-            routePoints = calculateRoute(buildingId, origin, destination, startFloor, strategy);
+            routePoints = calculateRoute(routing, buildingId, origin, destination, startFloor, strategy);
         } else {
-            routePoints = calculateCrossFloorRoute(buildingId, origin, destination, startFloor, endFloor, strategy);
+            routePoints = calculateCrossFloorRoute(routing, buildingId, origin, destination, startFloor, endFloor,
+                    strategy, departure);
+        }
+
+        IndoorDirectionResponse response = assembleResponse(buildingId, origin, destination, startFloor, endFloor,
+                routePoints, simplification, departure);
+        response.setSnapshotVersion(routing.version());
+        return response;
+    }
+
+    /**
+     * Indoor-only route between rooms of two different buildings joined by an indoor link such
+     * as a tunnel. Empty when the buildings are not connected or either room cannot be resolved,
+     * in which case callers fall back to an outdoor route.
+     */
+    public Optional<ConnectedIndoorRoute> getConnectedIndoorDirections(
+            String startBuilding, String startRoom, String startFloor,
+            String endBuilding, String endRoom, String endFloor,
+            boolean avoidStairs) {
+
+        AccessibilityRoutingStrategy strategy = AccessibilityRoutingStrategy.fromAvoidStairs(avoidStairs);
+        LocalDateTime departure = LocalDateTime.now(clock);
+        Optional<CampusRouter.CampusRoute> route = campusRouter.route(
+                startBuilding, startRoom, startFloor, endBuilding, endRoom, endFloor, strategy, departure);
+        if (route.isEmpty()) return Optional.empty();
+
+        List<IndoorDirectionResponse> legs = new ArrayList<>();
+        LocalDateTime legDeparture = departure;
+        for (int i = 0; i < route.get().legs().size(); i++) {
+            CampusRouter.BuildingLeg leg = route.get().legs().get(i);
+            IndoorDirectionResponse response = assembleResponse(leg.buildingId(), leg.originId(), leg.destinationId(),
+                    leg.originFloor(), leg.destinationFloor(), leg.routePoints(), RouteSimplificationOptions.NONE,
+                    legDeparture);
+            response.setSnapshotVersion(route.get().snapshotVersion());
+            legs.add(response);
+            // The next leg starts after this leg's walk and the link to the next building.
+            double linkMeters = i < route.get().links().size() ? route.get().links().get(i).lengthMeters() : 0d;
+            legDeparture = arrivalAt(legDeparture, calculatePreciseDistance(leg.routePoints())
+                    + linkMeters / PIXELS_TO_METERS);
+        }
+
+        List<IndoorConnection> connections = new ArrayList<>();
+        for (BuildingRegistry.Connection link : route.get().links()) {
+            connections.add(new IndoorConnection(link.type(),
+                    BUILDINGS.find(link.fromPlan()).map(BuildingRegistry.Building::code).orElse(link.fromPlan()),
+                    link.fromId(),
+                    BUILDINGS.find(link.toPlan()).map(BuildingRegistry.Building::code).orElse(link.toPlan()),
+                    link.toId(),
+                    formatFinalDistance(link.lengthMeters()), formatFinalDuration(link.lengthMeters())));
+        }
+
+        double totalMeters = route.get().totalMeters();
+        return Optional.of(new ConnectedIndoorRoute(List.copyOf(legs), List.copyOf(connections),
+                formatFinalDistance(totalMeters),
+                formatSeconds(totalMeters / CampusRouter.WALKING_SPEED_MPS + route.get().connectorSeconds())));
+    }
+
+    /**
+     * Pareto-optimal routes over distance, turns and floor transitions, shortest first. The first
+     * alternative is the shortest route; later ones are longer but simpler. Empty when either
+     * room cannot be resolved or no route exists.
+     */
+    public List<IndoorRouteAlternative> getRouteAlternatives(
+            String buildingId,
+            String origin,
+            String destination,
+            String originFloor,
+            String destinationFloor,
+            boolean avoidStairs) {
+
+        AccessibilityRoutingStrategy strategy = AccessibilityRoutingStrategy.fromAvoidStairs(avoidStairs);
+        LocalDateTime departure = LocalDateTime.now(clock);
+        RoutingSnapshot routing = pathfindingService.snapshot();
+        String startFloor = originFloor != null ? originFloor : "1";
+        String endFloor = destinationFloor != null ? destinationFloor : startFloor;
+        String startPlanId = convertBuildingIdForPathfinding(buildingId, startFloor);
+        String endPlanId = convertBuildingIdForPathfinding(buildingId, endFloor);
+
+        PathfindingService.Waypoint originPoint = resolvePoint(startPlanId, origin);
+        PathfindingService.Waypoint destinationPoint = resolvePoint(endPlanId, destination);
+        if (originPoint == null || destinationPoint == null) return List.of();
+
+        FloorNetwork network = new FloorNetwork();
+        if (!network.addFloor(routing, startPlanId, startFloor, strategy)) return List.of();
+        if (!startFloor.equals(endFloor)) {
+            if (!network.addFloor(routing, endPlanId, endFloor, strategy)) return List.of();
+            addConnectors(network, startPlanId, startFloor, endPlanId, endFloor, strategy, originPoint, departure);
+        }
+        FloorNode source = network.attach(new FloorNode(startFloor, originPoint));
+        FloorNode target = network.attach(new FloorNode(endFloor, destinationPoint));
+        if (source == null || target == null) return List.of();
+
+        ParetoRouteSearch<FloorNode> search = new ParetoRouteSearch<>(
+                network, n -> n.point().x, n -> n.point().y, n -> CampusRouter.level(n.floor()),
+                ParetoRouteSearch.Limits.DEFAULT);
+
+        List<IndoorRouteAlternative> alternatives = new ArrayList<>();
+        for (ParetoRouteSearch.Route<FloorNode> route : search.search(source, target)) {
+            List<IndoorDirectionResponse.RoutePoint> routePoints = toRoutePoints(route.vertices(), origin, destination);
+            IndoorDirectionResponse response = assembleResponse(buildingId, origin, destination, startFloor, endFloor,
+                    routePoints, RouteSimplificationOptions.NONE, departure);
+            response.setSnapshotVersion(routing.version());
+            alternatives.add(new IndoorRouteAlternative(route.turns(), route.levelChanges(), response));
+        }
+        return alternatives;
+    }
+
+    /** Vertex of the multi-floor graph searched for alternatives; waypoint ids are only unique per floor. */
+    private record FloorNode(String floor, PathfindingService.Waypoint point) {}
+
+    /**
+     * Floors searched for alternatives. The snapshot's graphs are read in place; only the edges that
+     * attach this request's rooms and join connectors across floors are held here.
+     */
+    private static final class FloorNetwork implements ParetoRouteSearch.Network<FloorNode> {
+
+        private record Arc(FloorNode to, double weight) {}
+
+        private final Map<String, Graph<PathfindingService.Waypoint, DefaultWeightedEdge>> floors = new HashMap<>();
+        private final Map<FloorNode, List<Arc>> extraArcs = new HashMap<>();
+
+        boolean addFloor(RoutingSnapshot routing, String planId, String floor, AccessibilityRoutingStrategy strategy) {
+            RoutingSnapshot.FloorGraphs floorGraphs = routing.floor(planId);
+            Graph<PathfindingService.Waypoint, DefaultWeightedEdge> floorGraph =
+                    floorGraphs != null ? floorGraphs.graph(strategy) : null;
+            if (floorGraph == null || floorGraph.vertexSet().isEmpty()) return false;
+            floors.put(floor, floorGraph);
+            return true;
+        }
+
+        void connect(FloorNode a, FloorNode b, double weight) {
+            extraArcs.computeIfAbsent(a, k -> new ArrayList<>()).add(new Arc(b, weight));
+            extraArcs.computeIfAbsent(b, k -> new ArrayList<>()).add(new Arc(a, weight));
+        }
+
+        /** Adds a room or connector point to its floor, linked to the nearest waypoint of that floor. */
+        FloorNode attach(FloorNode node) {
+            Graph<PathfindingService.Waypoint, DefaultWeightedEdge> floorGraph = floors.get(node.floor());
+            if (floorGraph == null) return null;
+            if (floorGraph.containsVertex(node.point()) || extraArcs.containsKey(node)) return node;
+            PathfindingService.Waypoint nearest = null;
+            double min = Double.MAX_VALUE;
+            for (PathfindingService.Waypoint candidate : floorGraph.vertexSet()) {
+                double d = candidate.distanceTo(node.point());
+                if (d < min) {
+                    min = d;
+                    nearest = candidate;
+                }
+            }
+            if (nearest == null) return null;
+            connect(node, new FloorNode(node.floor(), nearest), min);
+            return node;
+        }
+
+        @Override
+        public void forEachArc(FloorNode node, ParetoRouteSearch.ArcVisitor<FloorNode> visitor) {
+            Graph<PathfindingService.Waypoint, DefaultWeightedEdge> floorGraph = floors.get(node.floor());
+            if (floorGraph != null && floorGraph.containsVertex(node.point())) {
+                for (DefaultWeightedEdge edge : floorGraph.edgesOf(node.point())) {
+                    visitor.visit(new FloorNode(node.floor(), Graphs.getOppositeVertex(floorGraph, edge, node.point())),
+                            floorGraph.getEdgeWeight(edge));
+                }
+            }
+            for (Arc arc : extraArcs.getOrDefault(node, List.of())) {
+                visitor.visit(arc.to(), arc.weight());
+            }
+        }
+    }
+
+    /**
+     * Joins connectors present on both floors (same POI id) with a level-change edge costing the
+     * connector's wait and ride, for an arrival estimated from the straight-line walk to it.
+     */
+    private void addConnectors(FloorNetwork network,
+                               String startPlanId, String startFloor, String endPlanId, String endFloor,
+                               AccessibilityRoutingStrategy strategy,
+                               PathfindingService.Waypoint originPoint, LocalDateTime departure) {
+        Map<String, IndoorDirectionsController.PoiResponse> endConnectors = new HashMap<>();
+        for (IndoorDirectionsController.PoiResponse poi : filterPois(pathfindingService.getPoisForBuilding(endPlanId), strategy)) {
+            endConnectors.put(poi.getId(), poi);
+        }
+        int levels = Math.abs(CampusRouter.level(startFloor) - CampusRouter.level(endFloor));
+        for (IndoorDirectionsController.PoiResponse start : filterPois(pathfindingService.getPoisForBuilding(startPlanId), strategy)) {
+            IndoorDirectionsController.PoiResponse end = endConnectors.get(start.getId());
+            if (end == null) continue;
+            FloorNode from = network.attach(new FloorNode(startFloor,
+                    new PathfindingService.Waypoint(start.getX(), start.getY(), start.getId())));
+            FloorNode to = network.attach(new FloorNode(endFloor,
+                    new PathfindingService.Waypoint(end.getX(), end.getY(), end.getId())));
+            if (from == null || to == null) continue;
+            boolean elevator = start.getType() != null && start.getType().toLowerCase().contains(STR_ELEVATOR_LOWER);
+            LocalDateTime arrival = arrivalAt(departure, originPoint.distanceTo(start.getX(), start.getY()));
+            network.connect(from, to,
+                    waits.transitionSeconds(start.getId(), elevator, levels, arrival) * CampusRouter.PX_PER_SECOND);
         }
+    }
+
+    private static List<IndoorDirectionResponse.RoutePoint> toRoutePoints(
+            List<FloorNode> nodes, String origin, String destination) {
+        List<IndoorDirectionResponse.RoutePoint> points = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            FloorNode node = nodes.get(i);
+            String label = i == 0 ? origin : (i == nodes.size() - 1 ? destination : node.point().id);
+            points.add(new IndoorDirectionResponse.RoutePoint(node.point().x, node.point().y, label));
+            if (i + 1 < nodes.size() && !nodes.get(i + 1).floor().equals(node.floor())) {
+                String type = node.point().id.toUpperCase(Locale.ROOT).contains(STR_ELEVATOR)
+                        ? STR_ELEVATOR : TRANSITION_TYPE_STAIRS;
+                points.add(new IndoorDirectionResponse.RoutePoint(node.point().x, node.point().y,
+                        PREFIX_TRANSITION + type + "_TO_" + nodes.get(i + 1).floor()));
+            }
+        }
+        return points;
+    }
+
+    private IndoorDirectionResponse assembleResponse(
+            String buildingId,
+            String origin,
+            String destination,
+            String startFloor,
+            String endFloor,
+            List<IndoorDirectionResponse.RoutePoint> routePoints,
+            RouteSimplificationOptions simplification,
+            LocalDateTime departure) {
 
+        String buildingName = getBuildingName(buildingId);
         double exactDistance = calculatePreciseDistance(routePoints);
         String distance = formatFinalDistance(exactDistance);
         String duration = formatFinalDuration(exactDistance);
 
         String usedTransition = detectTransitionType(routePoints);
         List<IndoorRouteStep> steps = generateRealSteps(
-                origin, destination, routePoints, startFloor, endFloor, usedTransition);
+                origin, destination, routePoints, startFloor, endFloor, usedTransition, departure);
 
         IndoorDirectionResponse.BuildingInfo buildingInfo = new IndoorDirectionResponse.BuildingInfo(
                 buildingName, buildingId, startFloor, endFloor);
 
         IndoorDirectionResponse response = new IndoorDirectionResponse(
-                distance, duration, buildingInfo, steps, routePoints);
+                distance, duration, buildingInfo, steps,
+                simplifyRoute(routePoints, origin, destination, simplification));
 
         String stairMsg = detectStairMessage(buildingId, origin, destination, startFloor);
         if (stairMsg == null) {
@@ -97,47 +396,87 @@ public class IndoorDirectionService {
         return response;
     }
 
+    /**
+     * Drops redundant corridor points once distance and steps have been computed from the full route.
+     * Endpoints, TRANSITION_ markers and the connector points on either side of them are always kept.
+     */
+    private List<IndoorDirectionResponse.RoutePoint> simplifyRoute(
+            List<IndoorDirectionResponse.RoutePoint> routePoints,
+            String origin,
+            String destination,
+            RouteSimplificationOptions simplification) {
+
+        if (simplification == null || !simplification.enabled() || routePoints.size() < 3) {
+            return routePoints;
+        }
+
+        List<IndoorDirectionResponse.RoutePoint> simplified = RouteSimplifier.simplify(
+                routePoints, simplification.tolerancePx(),
+                i -> isPinnedRoutePoint(routePoints, i, origin, destination));
+
+        rawRoutePoints.increment(routePoints.size());
+        simplifiedRoutePoints.increment(simplified.size());
+        simplificationReduction.record(1d - (double) simplified.size() / routePoints.size());
+        return simplified;
+    }
+
+    private static boolean isPinnedRoutePoint(
+            List<IndoorDirectionResponse.RoutePoint> routePoints, int index, String origin, String destination) {
+        String label = routePoints.get(index).getLabel();
+        if (label != null && (label.startsWith(PREFIX_TRANSITION) || label.equals(origin) || label.equals(destination))) {
+            return true;
+        }
+        return isTransition(routePoints, index - 1) || isTransition(routePoints, index + 1);
+    }
+
+    private static boolean isTransition(List<IndoorDirectionResponse.RoutePoint> routePoints, int index) {
+        if (index < 0 || index >= routePoints.size()) return false;
+        String label = routePoints.get(index).getLabel();
+        return label != null && label.startsWith(PREFIX_TRANSITION);
+    }
+
 // --- OPTIMIZED ROUTING METHODS ---
 
     private List<IndoorDirectionResponse.RoutePoint> calculateCrossFloorRoute(
-            String buildingId, String originRoomId, String destinationRoomId,
-            String startFloor, String endFloor, AccessibilityRoutingStrategy strategy) {
+            RoutingSnapshot routing, String buildingId, String originRoomId, String destinationRoomId,
+            String startFloor, String endFloor, AccessibilityRoutingStrategy strategy, LocalDateTime departure) {
 
         String startPlanId = convertBuildingIdForPathfinding(buildingId, startFloor);
         String endPlanId = convertBuildingIdForPathfinding(buildingId, endFloor);
 
-        PathfindingService.Waypoint helper = new PathfindingService.Waypoint(0, 0, STR_HELPER);
         PathfindingService.Waypoint origin = resolvePoint(startPlanId, originRoomId);
         PathfindingService.Waypoint dest = resolvePoint(endPlanId, destinationRoomId);
 
         if (origin == null || dest == null) return new ArrayList<>();
 
-        List<IndoorDirectionsController.PoiResponse> startConnectors = filterPois(helper.getPoisForBuilding(startPlanId), strategy);
-        List<IndoorDirectionsController.PoiResponse> endConnectors = filterPois(helper.getPoisForBuilding(endPlanId), strategy);
+        List<IndoorDirectionsController.PoiResponse> startConnectors = filterPois(pathfindingService.getPoisForBuilding(startPlanId), strategy);
+        List<IndoorDirectionsController.PoiResponse> endConnectors = filterPois(pathfindingService.getPoisForBuilding(endPlanId), strategy);
 
         if (startConnectors.isEmpty() || endConnectors.isEmpty()) return new ArrayList<>();
 
         boolean avoidStairs = !strategy.preferStairsForConnectors();
-        IndoorDirectionsController.PoiResponse[] bestConnectors = findBestTransitionConnectors(origin, dest, startConnectors, endConnectors, avoidStairs);
+        int levels = Math.abs(CampusRouter.level(startFloor) - CampusRouter.level(endFloor));
+        IndoorDirectionsController.PoiResponse[] bestConnectors = findBestTransitionConnectors(
+                origin, dest, startConnectors, endConnectors, avoidStairs, levels, departure);
         if (bestConnectors == null) return new ArrayList<>();
 
         IndoorDirectionsController.PoiResponse bestStart = bestConnectors[0];
         IndoorDirectionsController.PoiResponse bestEnd = bestConnectors[1];
 
         List<IndoorDirectionResponse.RoutePoint> leg1 = buildRoute(
-                startPlanId, new FloorPlanData.Point(origin.x, origin.y), new FloorPlanData.Point(bestStart.getX(), bestStart.getY()),
+                routing, startPlanId, new FloorPlanData.Point(origin.x, origin.y), new FloorPlanData.Point(bestStart.getX(), bestStart.getY()),
                 originRoomId, bestStart.getId(), strategy
         );
 
         List<IndoorDirectionResponse.RoutePoint> leg2 = buildRoute(
-                endPlanId, new FloorPlanData.Point(bestEnd.getX(), bestEnd.getY()), new FloorPlanData.Point(dest.x, dest.y),
+                routing, endPlanId, new FloorPlanData.Point(bestEnd.getX(), bestEnd.getY()), new FloorPlanData.Point(dest.x, dest.y),
                 bestEnd.getId(), destinationRoomId, strategy
         );
 
         List<IndoorDirectionResponse.RoutePoint> fullRoute = new ArrayList<>(leg1);
         String type = (bestStart.getType() != null && bestStart.getType().toUpperCase().contains(STR_ELEVATOR)) ? STR_ELEVATOR : TRANSITION_TYPE_STAIRS;
 
-        fullRoute.add(new IndoorDirectionResponse.RoutePoint(bestStart.getX(), bestStart.getY(), "TRANSITION_" + type + "_TO_" + endFloor));
+        fullRoute.add(new IndoorDirectionResponse.RoutePoint(bestStart.getX(), bestStart.getY(), PREFIX_TRANSITION + type + "_TO_" + endFloor));
 
         if (!leg2.isEmpty()) {
             fullRoute.addAll(leg2);
@@ -150,26 +489,36 @@ public class IndoorDirectionService {
             PathfindingService.Waypoint origin, PathfindingService.Waypoint dest,
             List<IndoorDirectionsController.PoiResponse> startConnectors,
             List<IndoorDirectionsController.PoiResponse> endConnectors,
-            boolean avoidStairs) {
+            boolean avoidStairs,
+            int levels,
+            LocalDateTime departure) {
 
         IndoorDirectionsController.PoiResponse[] best = null;
 
         if (!avoidStairs) {
-            best = getClosestConnectorPair(origin, dest, startConnectors, endConnectors, KEYWORD_STAIRS_LOWER);
+            best = getClosestConnectorPair(origin, dest, startConnectors, endConnectors, KEYWORD_STAIRS_LOWER,
+                    levels, departure);
         }
 
         if (best == null) {
-            best = getClosestConnectorPair(origin, dest, startConnectors, endConnectors, STR_ELEVATOR_LOWER);
+            best = getClosestConnectorPair(origin, dest, startConnectors, endConnectors, STR_ELEVATOR_LOWER,
+                    levels, departure);
         }
 
         return best;
     }
 
+    /**
+     * Connector pair of the given type with the lowest straight-line walk plus wait and ride, in
+     * walking-equivalent pixels, so a busy elevator loses to a quieter one further away.
+     */
     private IndoorDirectionsController.PoiResponse[] getClosestConnectorPair(
             PathfindingService.Waypoint origin, PathfindingService.Waypoint dest,
             List<IndoorDirectionsController.PoiResponse> startConnectors,
             List<IndoorDirectionsController.PoiResponse> endConnectors,
-            String type) {
+            String type,
+            int levels,
+            LocalDateTime departure) {
 
         IndoorDirectionsController.PoiResponse bestStart = null;
         IndoorDirectionsController.PoiResponse bestEnd = null;
@@ -182,8 +531,10 @@ public class IndoorDirectionService {
 
                 double d1 = Math.hypot(s.getX() - origin.x, s.getY() - origin.y);
                 double d2 = Math.hypot(dest.x - e.getX(), dest.y - e.getY());
-                if (d1 + d2 < minDistance) {
-                    minDistance = d1 + d2;
+                double connector = waits.transitionSeconds(s.getId(), STR_ELEVATOR_LOWER.equals(type), levels,
+                        arrivalAt(departure, d1)) * CampusRouter.PX_PER_SECOND;
+                if (d1 + d2 + connector < minDistance) {
+                    minDistance = d1 + d2 + connector;
                     bestStart = s;
                     bestEnd = e;
                 }
@@ -212,7 +563,7 @@ public class IndoorDirectionService {
     }
 
     private List<IndoorDirectionResponse.RoutePoint> calculateRoute(
-            String buildingId, String originRoomId,
+            RoutingSnapshot routing, String buildingId, String originRoomId,
             String destinationRoomId, String floor, AccessibilityRoutingStrategy strategy) {
 
         String planId = convertBuildingIdForPathfinding(buildingId, floor);
@@ -222,13 +573,18 @@ public class IndoorDirectionService {
 
         if (sCoord == null || eCoord == null) return new ArrayList<>();
 
-        return buildRoute(planId,
+        return buildRoute(routing, planId,
                 new FloorPlanData.Point(sCoord.x, sCoord.y),
                 new FloorPlanData.Point(eCoord.x, eCoord.y),
                 originRoomId, destinationRoomId,
                 strategy);
     }
 
+    /** Time at which a walk of {@code px} floor-plan pixels started at {@code departure} ends. */
+    private static LocalDateTime arrivalAt(LocalDateTime departure, double px) {
+        return departure.plusSeconds(Math.round(px / CampusRouter.PX_PER_SECOND));
+    }
+
     private double calculatePreciseDistance(List<IndoorDirectionResponse.RoutePoint> pts) {
         if (pts == null || pts.size() < 2) return 0d;
         double sum = 0d;
@@ -245,8 +601,11 @@ public class IndoorDirectionService {
     }
 
     private String formatFinalDuration(double exactDistance) {
-        if (exactDistance <= 0) return "0 sec";
-        double seconds = exactDistance / 1.4d;
+        return formatSeconds(exactDistance / 1.4d);
+    }
+
+    private static String formatSeconds(double seconds) {
+        if (seconds <= 0) return "0 sec";
         int m = (int) (seconds / 60);
         int s = (int) (seconds % 60);
         return m > 0 ? m + " min " + s + " sec" : s + " sec";
@@ -258,7 +617,8 @@ public class IndoorDirectionService {
             List<IndoorDirectionResponse.RoutePoint> routePoints,
             String originFloor,
             String destinationFloor,
-            String usedTransition
+            String usedTransition,
+            LocalDateTime departure
     ) {
         List<IndoorRouteStep> steps = new ArrayList<>();
         if (routePoints == null || routePoints.size() < 2) return steps;
@@ -271,7 +631,9 @@ public class IndoorDirectionService {
                     Math.min(transitionIndex + 1, routePoints.size() - 1), routePoints.size()));
 
             addMovementSteps(steps, firstLeg, originFloor, origin, false);
-            steps.add(createTransitionStep(originFloor, destinationFloor, usedTransition));
+            String connectorId = transitionIndex > 0 ? routePoints.get(transitionIndex - 1).getLabel() : null;
+            LocalDateTime arrival = arrivalAt(departure, calculatePreciseDistance(firstLeg));
+            steps.add(createTransitionStep(originFloor, destinationFloor, usedTransition, connectorId, arrival));
             addMovementSteps(steps, secondLeg, destinationFloor, destination, true);
         } else {
             addMovementSteps(steps, routePoints, originFloor, origin, false);
@@ -384,7 +746,9 @@ public class IndoorDirectionService {
     private IndoorRouteStep createTransitionStep(
             String originFloor,
             String destinationFloor,
-            String usedTransition
+            String usedTransition,
+            String connectorId,
+            LocalDateTime arrival
     ) {
         boolean goingUp = parseFloorNumber(destinationFloor) > parseFloorNumber(originFloor);
         boolean useElevator = STR_ELEVATOR.equals(usedTransition);
@@ -411,10 +775,11 @@ public class IndoorDirectionService {
                     : "Take the stairs down to floor " + destinationFloor;
         }
 
+        int levels = Math.abs(CampusRouter.level(destinationFloor) - CampusRouter.level(originFloor));
         return new IndoorRouteStep(
                 instruction,
                 "0 m",
-                "30 sec",
+                formatSeconds(waits.transitionSeconds(connectorId, useElevator, levels, arrival)),
                 maneuver,
                 originFloor,
                 null,
@@ -447,7 +812,7 @@ public class IndoorDirectionService {
         if (routePoints == null) return -1;
         for (int i = 0; i < routePoints.size(); i++) {
             IndoorDirectionResponse.RoutePoint point = routePoints.get(i);
-            if (point.getLabel() != null && point.getLabel().startsWith("TRANSITION_")) {
+            if (point.getLabel() != null && point.getLabel().startsWith(PREFIX_TRANSITION)) {
                 return i;
             }
         }
@@ -506,7 +871,7 @@ public class IndoorDirectionService {
     }
 
     private String detectHallSecondFloorStairs(String buildingId, String floor, String lo, String ld) {
-        boolean isHall = "H".equals(buildingId) || (buildingId != null && buildingId.startsWith(PREFIX_HALL));
+        boolean isHall = BUILDINGS.find(buildingId).map(b -> HALL_CODE.equals(b.code())).orElse(false);
         boolean isSecondFloor = "2".equals(floor) || (buildingId != null && buildingId.endsWith("-2"));
         if (!isHall || !isSecondFloor) return null;
         if (isHallEntrance(lo) && !isHallEntrance(ld)) return MSG_STAIRS_UP;
@@ -525,36 +890,12 @@ public class IndoorDirectionService {
         return MSG_STAIRS_INVOLVED;
     }
 
-    private String getBuildingName(String buildingId) {
-        if ("H".equals(buildingId) || (buildingId != null && buildingId.startsWith(PREFIX_HALL)))
-            return "Hall Building";
-        if (buildingId != null && buildingId.startsWith("VL-")) return "Vanier Library Building";
-        if (buildingId != null && buildingId.startsWith("LB-")) return "Webster Library Building";
-        if (buildingId != null && buildingId.startsWith("MB-")) return "John Molson School of Business";
-        if (buildingId != null && buildingId.startsWith("CC-")) return "Central Building";
-        if (buildingId != null && buildingId.startsWith("VE-") || "VE".equals(buildingId)) return "Engineering/Visual Arts Building";
-        return "Building " + buildingId;
+    public String getBuildingName(String buildingId) {
+        return BUILDINGS.displayName(buildingId);
     }
 
     private String convertBuildingIdForPathfinding(String buildingId, String floor) {
-        if (buildingId == null || floor == null) return buildingId;
-        if ("H".equals(buildingId) || PREFIX_HALL.equals(buildingId)) {
-            return PREFIX_HALL + floor;
-        }
-        if (buildingId.startsWith(PREFIX_HALL)
-                || buildingId.startsWith("VL-")
-                || buildingId.startsWith("LB-")
-                || buildingId.startsWith("MB-")
-                || buildingId.startsWith("CC-")
-                || buildingId.startsWith("VE-")) {
-            return buildingId;
-        }
-        if ("VL".equals(buildingId)) return "VL-" + floor;
-        if ("LB".equals(buildingId)) return "LB-" + floor;
-        if ("MB".equals(buildingId)) return "MB-" + floor;
-        if ("CC".equals(buildingId)) return "CC-" + floor;
-        if ("VE".equals(buildingId)) return "VE-" + floor;
-        return buildingId;
+        return BUILDINGS.toPlanId(buildingId, floor);
     }
 
     public List<String> getAvailableRooms(String bId, String f) {
@@ -569,35 +910,73 @@ public class IndoorDirectionService {
 
     public List<IndoorDirectionsController.RoomPointResponse> getRoomPoints(String bId, String f) {
         String pId = convertBuildingIdForPathfinding(bId, f);
-        PathfindingService.Waypoint helper = new PathfindingService.Waypoint(0, 0, STR_HELPER);
-        Map<String, PathfindingService.Waypoint> coords = helper.getRoomCoordinateMap(pId);
+        Map<String, PathfindingService.Waypoint> coords = pathfindingService.getRoomCoordinates(pId);
         List<IndoorDirectionsController.RoomPointResponse> response = new ArrayList<>();
-        if(coords != null) {
-            for (Map.Entry<String, PathfindingService.Waypoint> entry : coords.entrySet()) {
-                response.add(new IndoorDirectionsController.RoomPointResponse(entry.getValue().x, entry.getValue().y, entry.getKey()));
-            }
+        for (Map.Entry<String, PathfindingService.Waypoint> entry : coords.entrySet()) {
+            response.add(new IndoorDirectionsController.RoomPointResponse(entry.getValue().x, entry.getValue().y, entry.getKey()));
         }
         return response;
     }
 
     public List<IndoorDirectionsController.PoiResponse> getPointsOfInterest(String bId, String f) {
         String pId = convertBuildingIdForPathfinding(bId, f);
-        return new PathfindingService.Waypoint(0,0,STR_HELPER).getPoisForBuilding(pId);
+        return pathfindingService.getPoisForBuilding(pId);
     }
 
     private List<IndoorDirectionResponse.RoutePoint> buildRoute(
-            String pathfindingBuildingId,
+            RoutingSnapshot routing, String pathfindingBuildingId,
+            FloorPlanData.Point originPoint, FloorPlanData.Point destPoint,
+            String originId, String destId, AccessibilityRoutingStrategy strategy) {
+
+        PathfindingService.SnappedPath snapped = pathfindingService.findPathBetweenPositions(
+                routing, pathfindingBuildingId,
+                originPoint.getX(), originPoint.getY(), destPoint.getX(), destPoint.getY(), strategy);
+        if (snapped == null) {
+            return buildRouteFromNearestWaypoints(routing, pathfindingBuildingId, originPoint, destPoint,
+                    originId, destId, strategy);
+        }
+
+        List<IndoorDirectionResponse.RoutePoint> routePoints = new ArrayList<>();
+        routePoints.add(new IndoorDirectionResponse.RoutePoint(originPoint.getX(), originPoint.getY(), originId));
+        addSnapPoint(routePoints, snapped.start());
+        for (PathfindingService.Waypoint wp : snapped.waypoints()) {
+            addDistinctPoint(routePoints, new IndoorDirectionResponse.RoutePoint(wp.x, wp.y, wp.id));
+        }
+        addSnapPoint(routePoints, snapped.end());
+        routePoints.add(new IndoorDirectionResponse.RoutePoint(destPoint.getX(), destPoint.getY(), destId));
+        return routePoints;
+    }
+
+    /** Adds the snapped corridor position; positions between two waypoints have no id of their own. */
+    private static void addSnapPoint(List<IndoorDirectionResponse.RoutePoint> routePoints, CorridorIndex.Snap snap) {
+        PathfindingService.Waypoint vertex = snap.vertex();
+        addDistinctPoint(routePoints, vertex != null
+                ? new IndoorDirectionResponse.RoutePoint(vertex.x, vertex.y, vertex.id)
+                : new IndoorDirectionResponse.RoutePoint(snap.x(), snap.y(), null));
+    }
+
+    private static void addDistinctPoint(List<IndoorDirectionResponse.RoutePoint> routePoints,
+                                         IndoorDirectionResponse.RoutePoint point) {
+        IndoorDirectionResponse.RoutePoint last = routePoints.get(routePoints.size() - 1);
+        if (routePoints.size() > 1 && last.getX() == point.getX() && last.getY() == point.getY()) return;
+        routePoints.add(point);
+    }
+
+    /** Route through the waypoints nearest to both points, for floors without corridor segments. */
+    private List<IndoorDirectionResponse.RoutePoint> buildRouteFromNearestWaypoints(
+            RoutingSnapshot routing, String pathfindingBuildingId,
             FloorPlanData.Point originPoint, FloorPlanData.Point destPoint,
             String originId, String destId, AccessibilityRoutingStrategy strategy) {
 
-        pathfindingService.setBuilding(pathfindingBuildingId);
-        PathfindingService.Waypoint startWp = pathfindingService.findNearestWaypoint(originPoint.getX(), originPoint.getY());
-        PathfindingService.Waypoint endWp = pathfindingService.findNearestWaypoint(destPoint.getX(), destPoint.getY());
+        PathfindingService.Waypoint startWp = pathfindingService.findNearestWaypoint(
+                routing, pathfindingBuildingId, strategy, originPoint.getX(), originPoint.getY());
+        PathfindingService.Waypoint endWp = pathfindingService.findNearestWaypoint(
+                routing, pathfindingBuildingId, strategy, destPoint.getX(), destPoint.getY());
 
         if (startWp == null || endWp == null) return new ArrayList<>();
 
         List<PathfindingService.Waypoint> waypointPath =
-                pathfindingService.findPathThroughWaypoints(startWp, endWp, strategy);
+                pathfindingService.findPathThroughWaypoints(routing, pathfindingBuildingId, startWp, endWp, strategy);
 
         if (waypointPath.isEmpty()) return new ArrayList<>();
 
@@ -614,24 +993,12 @@ public class IndoorDirectionService {
         try { return Integer.parseInt(floor.replaceAll("[^0-9-]", "")); } catch (Exception e) { return 0; }
     }
 
+    /**
+     * Resolves a room, POI or waypoint id through the floor's identifier index. Ids match exactly.
+     */
     private PathfindingService.Waypoint resolvePoint(String planId, String id) {
-        if (id == null) return null;
-
-        PathfindingService.Waypoint helper = new PathfindingService.Waypoint(0, 0, STR_HELPER);
-
-        // 1) Try rooms
-        PathfindingService.Waypoint w = helper.getRoomCoordinate(planId, id);
-        if (w != null) return w;
-
-        // 2) Try POIs
-        List<IndoorDirectionsController.PoiResponse> pois = helper.getPoisForBuilding(planId);
-        for (IndoorDirectionsController.PoiResponse p : pois) {
-            if (p != null && p.getId() != null && p.getId().equals(id)) {
-                return new PathfindingService.Waypoint(p.getX(), p.getY(), p.getId());
-            }
-        }
-
-        return null;
+        FloorIdentifierResolver.Entry entry = pathfindingService.getResolver(planId).resolve(id);
+        return entry != null ? entry.point() : null;
     }
 
     private String detectTransitionType(List<IndoorDirectionResponse.RoutePoint> routePoints) {
@@ -0,0 +1,155 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.controller.IndoorDirectionsController;
+import com.soen390.backend.model.BuildingRegistry;
+import com.soen390.backend.object.IndoorSearchResult;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Campus-wide type-ahead index over room ids, POI display names and building aliases.
+ *
+ * Every loaded floor plan is indexed at startup. With a mapped floor plan store the rooms and POIs
+ * are read straight from the store, so indexing does not decode every floor onto the heap.
+ * {@link #reindexFloor(String)} replaces the entries of a single floor, so a changed floor plan
+ * never forces a full rebuild; it runs whenever {@link PathfindingService} replaces a floor.
+ */
+@Service
+public class IndoorSearchService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private static final String TYPE_ROOM = "room";
+    private static final String TYPE_BUILDING = "building";
+    private static final String TOKEN_SEPARATORS = "[-_/ .]+";
+
+    private record IndexedKey(String key, IndoorSearchResult result) {}
+
+    private final PathfindingService pathfindingService;
+    private final IndoorDirectionService indoorDirectionService;
+
+    private final PrefixIndex<IndoorSearchResult> index = new PrefixIndex<>();
+    private final Map<String, Set<IndexedKey>> keysByFloor = new HashMap<>();
+    private final Map<String, Set<IndexedKey>> keysByBuilding = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public IndoorSearchService(PathfindingService pathfindingService, IndoorDirectionService indoorDirectionService) {
+        this.pathfindingService = pathfindingService;
+        this.indoorDirectionService = indoorDirectionService;
+        for (String planId : pathfindingService.getFloorPlanIds()) {
+            reindexFloor(planId);
+        }
+        pathfindingService.addFloorListener(this::reindexFloor);
+    }
+
+    public List<IndoorSearchResult> search(String query, int limit) {
+        if (query == null || query.isBlank()) return List.of();
+        String prefix = query.trim().toLowerCase(Locale.ROOT);
+        int cappedLimit = Math.clamp(limit, 1, MAX_LIMIT);
+
+        lock.readLock().lock();
+        try {
+            return index.search(prefix, cappedLimit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the entries of one floor plan and indexes its current rooms and POIs again,
+     * together with the aliases of the building it belongs to.
+     */
+    public void reindexFloor(String planId) {
+        Set<IndexedKey> floorKeys = buildFloorKeys(planId);
+        String buildingCode = buildingCodeOf(planId);
+
+        lock.writeLock().lock();
+        try {
+            replace(keysByFloor, planId, floorKeys);
+            if (!keysByBuilding.containsKey(buildingCode) && !floorKeys.isEmpty()) {
+                replace(keysByBuilding, buildingCode, buildBuildingKeys(planId, buildingCode));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(Map<String, Set<IndexedKey>> owner, String ownerKey,
+                         Set<IndexedKey> keys) {
+        Set<IndexedKey> previous = owner.remove(ownerKey);
+        if (previous != null) {
+            previous.forEach(k -> index.remove(k.key(), k.result()));
+        }
+        if (!keys.isEmpty()) {
+            keys.forEach(k -> index.put(k.key(), k.result()));
+            owner.put(ownerKey, keys);
+        }
+    }
+
+    private Set<IndexedKey> buildFloorKeys(String planId) {
+        Map<String, IndoorDirectionsController.PoiResponse> poisById = new HashMap<>();
+        for (IndoorDirectionsController.PoiResponse poi : pathfindingService.getPoisForBuilding(planId)) {
+            if (poi != null && poi.getId() != null) poisById.put(poi.getId(), poi);
+        }
+
+        Set<String> ids = pathfindingService.getRoomIds(planId);
+        ids.addAll(poisById.keySet());
+
+        String floor = floorOf(planId);
+        String buildingName = indoorDirectionService.getBuildingName(planId);
+        Set<IndexedKey> keys = new LinkedHashSet<>();
+        for (String id : ids) {
+            IndoorDirectionsController.PoiResponse poi = poisById.get(id);
+            String displayName = poi != null ? poi.getDisplayName() : id;
+            String type = poi != null ? poi.getType() : TYPE_ROOM;
+            IndoorSearchResult result = new IndoorSearchResult(id, displayName, type, planId, buildingName, floor);
+            addKeys(keys, id, result);
+            addKeys(keys, displayName, result);
+        }
+        return keys;
+    }
+
+    private Set<IndexedKey> buildBuildingKeys(String planId, String buildingCode) {
+        BuildingRegistry.Building building = BuildingRegistry.getDefault().find(planId).orElse(null);
+        String buildingName = indoorDirectionService.getBuildingName(planId);
+        String shortCode = building != null ? building.code() : buildingCode;
+        IndoorSearchResult result = new IndoorSearchResult(
+                shortCode, buildingName, TYPE_BUILDING, shortCode, buildingName, null);
+
+        Set<IndexedKey> keys = new LinkedHashSet<>();
+        addKeys(keys, buildingCode, result);
+        addKeys(keys, shortCode, result);
+        addKeys(keys, buildingName, result);
+        return keys;
+    }
+
+    /** Indexes the whole label plus every token after the first, so "843" finds "H8-843". */
+    private static void addKeys(Set<IndexedKey> keys, String label, IndoorSearchResult result) {
+        if (label == null || label.isBlank()) return;
+        String lower = label.toLowerCase(Locale.ROOT);
+        keys.add(new IndexedKey(lower, result));
+        String[] tokens = lower.split(TOKEN_SEPARATORS);
+        for (int i = 1; i < tokens.length; i++) {
+            if (!tokens[i].isEmpty()) keys.add(new IndexedKey(tokens[i], result));
+        }
+    }
+
+    private static String buildingCodeOf(String planId) {
+        int dash = planId.indexOf('-');
+        return dash > 0 ? planId.substring(0, dash) : planId;
+    }
+
+    private static String floorOf(String planId) {
+        int dash = planId.indexOf('-');
+        return dash > 0 ? planId.substring(dash + 1) : null;
+    }
+}
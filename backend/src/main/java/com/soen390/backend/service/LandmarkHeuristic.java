@@ -0,0 +1,178 @@
+package com.soen390.backend.service;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.alg.shortestpath.AStarShortestPath;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.EdgeReversedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ALT (A*, landmarks, triangle inequality) lower bound for one graph.
+ *
+ * Shortest distances from every landmark to every vertex (and back, for directed graphs) are
+ * kept in dense {@code double} tables indexed by vertex, so the bound for a pair of vertices is
+ * {@code max over landmarks L of |d(L, t) - d(L, u)|}. Unlike straight-line distance it follows
+ * the walls of the floor, so it stays tighter around corridors that double back.
+ *
+ * It is only built for the per-floor walking graphs. Routes across floors and buildings go
+ * through {@link CampusRouter}'s overlay, which is small and searched with plain Dijkstra.
+ *
+ * Preferred landmarks (entrances, connector shafts) are taken first; the rest are picked by
+ * farthest-point selection, which spreads them to the edges of the graph.
+ */
+final class LandmarkHeuristic<V> implements AStarAdmissibleHeuristic<V> {
+
+    private final Map<V, Integer> index;
+    private final List<V> landmarks;
+    /** fromLandmark[l][v] = d(landmark l, v). */
+    private final double[][] fromLandmark;
+    /** toLandmark[l][v] = d(v, landmark l); the same arrays as fromLandmark on undirected graphs. */
+    private final double[][] toLandmark;
+    private final boolean directed;
+
+    private LandmarkHeuristic(Map<V, Integer> index, List<V> landmarks, boolean directed,
+                              double[][] fromLandmark, double[][] toLandmark) {
+        this.index = index;
+        this.directed = directed;
+        this.landmarks = List.copyOf(landmarks);
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Selects up to {@code count} landmarks, preferring the given vertices, and computes their tables.
+     */
+    static <V, E> LandmarkHeuristic<V> build(Graph<V, E> graph, int count, Collection<V> preferred) {
+        Map<V, Integer> index = new HashMap<>();
+        List<V> vertices = new ArrayList<>(graph.vertexSet());
+        for (int i = 0; i < vertices.size(); i++) {
+            index.put(vertices.get(i), i);
+        }
+
+        int limit = Math.min(Math.max(0, count), vertices.size());
+        Set<V> chosen = new LinkedHashSet<>();
+        for (V v : preferred) {
+            if (chosen.size() >= limit) break;
+            if (index.containsKey(v)) chosen.add(v);
+        }
+
+        boolean directed = graph.getType().isDirected();
+        Graph<V, E> reversed = directed ? new EdgeReversedGraph<>(graph) : null;
+        List<double[]> from = new ArrayList<>();
+        List<double[]> to = new ArrayList<>();
+        for (V landmark : chosen) {
+            from.add(distances(graph, landmark, index));
+            to.add(directed ? distances(reversed, landmark, index) : from.get(from.size() - 1));
+        }
+
+        // Farthest-point selection: the next landmark is the vertex whose nearest landmark is farthest.
+        // Without preferred landmarks, seed with the vertex farthest from an arbitrary one.
+        double[] nearest = new double[vertices.size()];
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        for (double[] table : from) {
+            for (int v = 0; v < nearest.length; v++) nearest[v] = Math.min(nearest[v], table[v]);
+        }
+        if (chosen.isEmpty() && limit > 0) {
+            double[] seed = distances(graph, vertices.get(0), index);
+            System.arraycopy(seed, 0, nearest, 0, nearest.length);
+        }
+        while (chosen.size() < limit) {
+            int best = -1;
+            for (int v = 0; v < nearest.length; v++) {
+                if (chosen.contains(vertices.get(v))) continue;
+                if (best < 0 || nearest[v] > nearest[best]) best = v;
+            }
+            if (best < 0) break;
+            V landmark = vertices.get(best);
+            chosen.add(landmark);
+            double[] table = distances(graph, landmark, index);
+            from.add(table);
+            to.add(directed ? distances(reversed, landmark, index) : table);
+            for (int v = 0; v < nearest.length; v++) nearest[v] = Math.min(nearest[v], table[v]);
+        }
+
+        return new LandmarkHeuristic<>(index, new ArrayList<>(chosen), directed,
+                from.toArray(new double[0][]), to.toArray(new double[0][]));
+    }
+
+    /**
+     * A* search using this bound. Each query gets its own {@link AStarShortestPath}, which keeps
+     * per-search state in fields, so the returned algorithm can be shared between threads.
+     * Multi-endpoint queries run one A* search bounded by the nearest target.
+     */
+    <E> MultiEndpointShortestPath<V, E> search(Graph<V, E> graph) {
+        return new MultiEndpointShortestPath<>() {
+            @Override
+            public GraphPath<V, E> getPath(V source, V sink) {
+                return new AStarShortestPath<>(graph, LandmarkHeuristic.this).getPath(source, sink);
+            }
+
+            @Override
+            public double getPathWeight(V source, V sink) {
+                GraphPath<V, E> path = getPath(source, sink);
+                return path == null ? Double.POSITIVE_INFINITY : path.getWeight();
+            }
+
+            @Override
+            public SingleSourcePaths<V, E> getPaths(V source) {
+                return new DijkstraShortestPath<>(graph).getPaths(source);
+            }
+
+            @Override
+            public GraphPath<V, E> getPathBetween(Map<V, Double> sources, Map<V, Double> targets) {
+                return MultiEndpointShortestPath.search(graph, LandmarkHeuristic.this, sources, targets);
+            }
+        };
+    }
+
+    @Override
+    public double getCostEstimate(V source, V target) {
+        Integer u = index.get(source);
+        Integer t = index.get(target);
+        if (u == null || t == null) return 0d;
+        double bound = 0d;
+        for (int l = 0; l < fromLandmark.length; l++) {
+            double forward = fromLandmark[l][t] - fromLandmark[l][u];
+            double backward = toLandmark[l][u] - toLandmark[l][t];
+            // Unreachable landmarks give no information; skip them rather than return infinity.
+            if (Double.isFinite(forward)) bound = Math.max(bound, forward);
+            if (Double.isFinite(backward)) bound = Math.max(bound, backward);
+        }
+        return bound;
+    }
+
+    List<V> getLandmarks() {
+        return landmarks;
+    }
+
+    /** Approximate size of the distance tables, excluding the shared vertex index. */
+    long tableBytes() {
+        long cells = 0;
+        for (double[] table : fromLandmark) cells += table.length;
+        if (directed) {
+            for (double[] table : toLandmark) cells += table.length;
+        }
+        return cells * Double.BYTES;
+    }
+
+    private static <V, E> double[] distances(Graph<V, E> graph, V source, Map<V, Integer> index) {
+        double[] table = new double[index.size()];
+        Arrays.fill(table, Double.POSITIVE_INFINITY);
+        ShortestPathAlgorithm.SingleSourcePaths<V, E> paths = new DijkstraShortestPath<>(graph).getPaths(source);
+        for (Map.Entry<V, Integer> entry : index.entrySet()) {
+            table[entry.getValue()] = paths.getWeight(entry.getKey());
+        }
+        return table;
+    }
+}
@@ -0,0 +1,100 @@
+package com.soen390.backend.service;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.Graphs;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.graph.GraphWalk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Point-to-point search that can also start from several sources and stop at several targets.
+ *
+ * Each source carries the cost already walked to reach it and each target the cost still to walk
+ * after it, so a position snapped between two corridor waypoints is searched from both ends of its
+ * segment at once, as if from a virtual vertex on the segment.
+ */
+public interface MultiEndpointShortestPath<V, E> extends ShortestPathAlgorithm<V, E> {
+
+    /**
+     * Path minimizing source cost + path weight + target cost, or null when no target is reachable
+     * from any source. The returned path's weight excludes the two endpoint costs.
+     */
+    GraphPath<V, E> getPathBetween(Map<V, Double> sources, Map<V, Double> targets);
+
+    /**
+     * One A* search seeded with every source at its cost, guided by the lowest bound to any target
+     * plus that target's cost; with a zero {@code heuristic} it is a multi-source Dijkstra. The
+     * heuristic must be consistent. The search stops once no queued vertex can beat the best target.
+     */
+    static <V, E> GraphPath<V, E> search(Graph<V, E> graph, AStarAdmissibleHeuristic<V> heuristic,
+                                         Map<V, Double> sources, Map<V, Double> targets) {
+        record Queued<V>(V vertex, double cost, double estimate) {}
+
+        Map<V, Double> costs = new HashMap<>();
+        Map<V, E> reachedBy = new HashMap<>();
+        Set<V> settled = new HashSet<>();
+        PriorityQueue<Queued<V>> queue = new PriorityQueue<>(Comparator.comparingDouble(Queued::estimate));
+        for (Map.Entry<V, Double> source : sources.entrySet()) {
+            V vertex = source.getKey();
+            double cost = source.getValue();
+            if (!graph.containsVertex(vertex) || cost >= costs.getOrDefault(vertex, Double.POSITIVE_INFINITY)) continue;
+            costs.put(vertex, cost);
+            queue.add(new Queued<>(vertex, cost, cost + bound(heuristic, vertex, targets)));
+        }
+
+        V bestTarget = null;
+        double best = Double.POSITIVE_INFINITY;
+        while (!queue.isEmpty()) {
+            Queued<V> current = queue.poll();
+            if (current.estimate() >= best) break;
+            if (!settled.add(current.vertex())) continue;
+            Double remaining = targets.get(current.vertex());
+            if (remaining != null && current.cost() + remaining < best) {
+                best = current.cost() + remaining;
+                bestTarget = current.vertex();
+            }
+            for (E edge : graph.outgoingEdgesOf(current.vertex())) {
+                V next = Graphs.getOppositeVertex(graph, edge, current.vertex());
+                double cost = current.cost() + graph.getEdgeWeight(edge);
+                if (settled.contains(next) || cost >= costs.getOrDefault(next, Double.POSITIVE_INFINITY)) continue;
+                costs.put(next, cost);
+                reachedBy.put(next, edge);
+                queue.add(new Queued<>(next, cost, cost + bound(heuristic, next, targets)));
+            }
+        }
+        if (bestTarget == null) return null;
+
+        List<V> vertices = new ArrayList<>();
+        List<E> edges = new ArrayList<>();
+        V vertex = bestTarget;
+        vertices.add(vertex);
+        for (E edge = reachedBy.get(vertex); edge != null; edge = reachedBy.get(vertex)) {
+            edges.add(edge);
+            vertex = Graphs.getOppositeVertex(graph, edge, vertex);
+            vertices.add(vertex);
+        }
+        Collections.reverse(vertices);
+        Collections.reverse(edges);
+        double weight = costs.get(bestTarget) - sources.get(vertex);
+        return new GraphWalk<>(graph, vertex, bestTarget, vertices, edges, weight);
+    }
+
+    private static <V> double bound(AStarAdmissibleHeuristic<V> heuristic, V vertex, Map<V, Double> targets) {
+        double bound = Double.POSITIVE_INFINITY;
+        for (Map.Entry<V, Double> target : targets.entrySet()) {
+            bound = Math.min(bound, heuristic.getCostEstimate(vertex, target.getKey()) + target.getValue());
+        }
+        return bound;
+    }
+}
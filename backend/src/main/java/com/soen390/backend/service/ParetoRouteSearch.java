@@ -0,0 +1,250 @@
+package com.soen390.backend.service;
+
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded multi-criteria label-setting search over distance, number of turns and number of
+ * floor transitions.
+ *
+ * Labels are expanded in order of distance plus the exact remaining distance to the target, so
+ * target labels arrive shortest first and every later one is kept only if it has fewer turns or
+ * fewer transitions. A label is pruned when it is dominated at its vertex or at the target, when it
+ * is longer than {@link Limits#maxDetour()} times the shortest route, or when its vertex already
+ * holds {@link Limits#maxLabelsPerVertex()} labels. The search stops after
+ * {@link Limits#maxLabels()} settled labels, which bounds latency on any graph; if no route has
+ * reached the target by then, the plain shortest path is returned on its own.
+ *
+ * The search walks a {@link Network} whose arcs are produced on demand, so callers can combine
+ * prepared graphs with a few extra edges without copying them. The network must be undirected:
+ * the remaining-distance bound comes from one Dijkstra run from the target, which stops once
+ * every vertex within the detour limit is settled.
+ */
+final class ParetoRouteSearch<V> {
+
+    /** Turns sharper than this (degrees), on one floor, count as a turn; same as the step builder. */
+    static final double TURN_THRESHOLD_DEG = 70d;
+
+    /**
+     * @param maxLabels          settled labels after which the search stops
+     * @param maxLabelsPerVertex labels kept per vertex
+     * @param maxDetour          longest route returned, as a multiple of the shortest one
+     */
+    record Limits(int maxLabels, int maxLabelsPerVertex, double maxDetour) {
+        static final Limits DEFAULT = new Limits(20_000, 6, 1.5d);
+    }
+
+    /** Receives the arcs of one vertex. */
+    @FunctionalInterface
+    interface ArcVisitor<V> {
+        void visit(V next, double weight);
+    }
+
+    /** Undirected weighted adjacency, read one vertex at a time. */
+    @FunctionalInterface
+    interface Network<V> {
+        /** Calls {@code visitor} once per arc of {@code vertex}; vertices not in the network have none. */
+        void forEachArc(V vertex, ArcVisitor<V> visitor);
+
+        /** Network over the edges of an undirected JGraphT graph. */
+        static <V, E> Network<V> of(Graph<V, E> graph) {
+            return (vertex, visitor) -> {
+                if (!graph.containsVertex(vertex)) return;
+                for (E edge : graph.edgesOf(vertex)) {
+                    visitor.visit(Graphs.getOppositeVertex(graph, edge, vertex), graph.getEdgeWeight(edge));
+                }
+            };
+        }
+    }
+
+    /** Exact remaining distances to the target, with the next vertex of a shortest path toward it. */
+    private record ToTarget<V>(Map<V, Double> distance, Map<V, V> next) {
+        double weight(V vertex) {
+            return distance.getOrDefault(vertex, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    private record Queued<V>(V vertex, double distance) {}
+
+    /** One Pareto-optimal route. */
+    record Route<V>(List<V> vertices, double distance, int turns, int levelChanges) {}
+
+    private record Label<V>(V vertex, Label<V> parent, double distance, int turns, int levelChanges, double key) {
+        V previous() {
+            return parent != null ? parent.vertex() : null;
+        }
+    }
+
+    private final Network<V> network;
+    private final ToDoubleFunction<V> x;
+    private final ToDoubleFunction<V> y;
+    private final ToIntFunction<V> level;
+    private final Limits limits;
+
+    ParetoRouteSearch(Network<V> network, ToDoubleFunction<V> x, ToDoubleFunction<V> y,
+                      ToIntFunction<V> level, Limits limits) {
+        this.network = network;
+        this.x = x;
+        this.y = y;
+        this.level = level;
+        this.limits = limits;
+    }
+
+    /**
+     * Pareto-optimal routes from source to target, shortest first; empty when unreachable.
+     */
+    List<Route<V>> search(V source, V target) {
+        ToTarget<V> toTarget = distancesTo(target, source);
+        double shortest = toTarget.weight(source);
+        if (Double.isInfinite(shortest)) return List.of();
+        double maxDistance = shortest * limits.maxDetour() + 1e-9;
+
+        PriorityQueue<Label<V>> queue = new PriorityQueue<>(Comparator
+                .comparingDouble((Label<V> l) -> l.key())
+                .thenComparingInt(Label::turns)
+                .thenComparingInt(Label::levelChanges));
+        Map<V, List<Label<V>>> bags = new HashMap<>();
+        List<Label<V>> results = new ArrayList<>();
+
+        queue.add(new Label<>(source, null, 0d, 0, 0, shortest));
+        int settled = 0;
+        while (!queue.isEmpty() && settled < limits.maxLabels()) {
+            Label<V> label = queue.poll();
+            if (dominatedAtTarget(results, label.key(), label.turns(), label.levelChanges())) continue;
+            if (label.vertex().equals(target)) {
+                results.add(label);
+                continue;
+            }
+            List<Label<V>> bag = bags.computeIfAbsent(label.vertex(), k -> new ArrayList<>());
+            if (bag.size() >= limits.maxLabelsPerVertex() || dominatedInBag(bag, label)) continue;
+            bag.add(label);
+            settled++;
+
+            V previous = label.previous();
+            network.forEachArc(label.vertex(), (next, weight) -> {
+                if (next.equals(previous)) return;
+                double distance = label.distance() + weight;
+                double key = distance + toTarget.weight(next);
+                if (key > maxDistance) return;
+                int turns = label.turns() + (isTurn(previous, label.vertex(), next) ? 1 : 0);
+                int levelChanges = label.levelChanges()
+                        + (level.applyAsInt(next) != level.applyAsInt(label.vertex()) ? 1 : 0);
+                if (dominatedAtTarget(results, key, turns, levelChanges)) return;
+                queue.add(new Label<>(next, label, distance, turns, levelChanges, key));
+            });
+        }
+
+        List<Route<V>> routes = new ArrayList<>();
+        if (results.isEmpty()) {
+            // The label cap cut the search off before any label reached the target.
+            List<V> vertices = new ArrayList<>();
+            for (V v = source; v != null; v = toTarget.next().get(v)) {
+                vertices.add(v);
+            }
+            routes.add(measure(vertices, shortest));
+            return routes;
+        }
+        for (Label<V> result : results) {
+            List<V> vertices = new ArrayList<>();
+            for (Label<V> l = result; l != null; l = l.parent()) {
+                vertices.add(l.vertex());
+            }
+            Collections.reverse(vertices);
+            routes.add(new Route<>(List.copyOf(vertices), result.distance(), result.turns(), result.levelChanges()));
+        }
+        return routes;
+    }
+
+    /**
+     * Dijkstra from the target. Once the source is settled it only continues while vertices are
+     * within the detour limit; the rest stay unsettled, which prunes them like unreachable ones.
+     */
+    private ToTarget<V> distancesTo(V target, V source) {
+        Map<V, Double> settled = new HashMap<>();
+        Map<V, Double> tentative = new HashMap<>();
+        Map<V, V> next = new HashMap<>();
+        PriorityQueue<Queued<V>> queue = new PriorityQueue<>(Comparator.comparingDouble(Queued::distance));
+        tentative.put(target, 0d);
+        queue.add(new Queued<>(target, 0d));
+        double limit = Double.POSITIVE_INFINITY;
+        while (!queue.isEmpty()) {
+            Queued<V> current = queue.poll();
+            if (current.distance() > limit) break;
+            if (settled.containsKey(current.vertex())) continue;
+            settled.put(current.vertex(), current.distance());
+            if (current.vertex().equals(source)) limit = current.distance() * limits.maxDetour() + 1e-9;
+            network.forEachArc(current.vertex(), (neighbour, weight) -> {
+                double distance = current.distance() + weight;
+                if (settled.containsKey(neighbour)
+                        || distance >= tentative.getOrDefault(neighbour, Double.POSITIVE_INFINITY)) return;
+                tentative.put(neighbour, distance);
+                next.put(neighbour, current.vertex());
+                queue.add(new Queued<>(neighbour, distance));
+            });
+        }
+        return new ToTarget<>(settled, next);
+    }
+
+    /**
+     * A target label dominates anything that cannot reach the target shorter, with fewer turns
+     * or with fewer transitions; turns and transitions never decrease along a route.
+     */
+    private static <V> boolean dominatedAtTarget(List<Label<V>> results, double lowerBound, int turns, int levelChanges) {
+        for (Label<V> r : results) {
+            if (r.distance() <= lowerBound && r.turns() <= turns && r.levelChanges() <= levelChanges) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Labels arriving from different neighbours may turn differently on the next edge, so a label
+     * from another direction only dominates if it is at least one turn ahead.
+     */
+    private static <V> boolean dominatedInBag(List<Label<V>> bag, Label<V> label) {
+        for (Label<V> other : bag) {
+            int allowance = Objects.equals(other.previous(), label.previous()) ? 0 : 1;
+            if (other.distance() <= label.distance()
+                    && other.levelChanges() <= label.levelChanges()
+                    && other.turns() + allowance <= label.turns()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Route<V> measure(List<V> vertices, double distance) {
+        int turns = 0;
+        int levelChanges = 0;
+        for (int i = 1; i < vertices.size(); i++) {
+            if (level.applyAsInt(vertices.get(i)) != level.applyAsInt(vertices.get(i - 1))) levelChanges++;
+            if (i + 1 < vertices.size() && isTurn(vertices.get(i - 1), vertices.get(i), vertices.get(i + 1))) turns++;
+        }
+        return new Route<>(List.copyOf(vertices), distance, turns, levelChanges);
+    }
+
+    private boolean isTurn(V previous, V current, V next) {
+        if (previous == null) return false;
+        int l = level.applyAsInt(current);
+        if (level.applyAsInt(previous) != l || level.applyAsInt(next) != l) return false;
+        double ax = x.applyAsDouble(current) - x.applyAsDouble(previous);
+        double ay = y.applyAsDouble(current) - y.applyAsDouble(previous);
+        double bx = x.applyAsDouble(next) - x.applyAsDouble(current);
+        double by = y.applyAsDouble(next) - y.applyAsDouble(current);
+        double lenA = Math.hypot(ax, ay);
+        double lenB = Math.hypot(bx, by);
+        if (lenA < 0.001d || lenB < 0.001d) return false;
+        double cos = Math.max(-1d, Math.min(1d, (ax * bx + ay * by) / (lenA * lenB)));
+        return Math.toDegrees(Math.acos(cos)) >= TURN_THRESHOLD_DEG;
+    }
+}
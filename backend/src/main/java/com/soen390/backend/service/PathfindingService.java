@@ -1,70 +1,90 @@
 package com.soen390.backend.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.soen390.backend.controller.IndoorDirectionsController;
+import com.soen390.backend.model.BuildingRegistry;
+import com.soen390.backend.model.FloorPlanRepository;
+import com.soen390.backend.model.MappedFloorPlanStore;
 import com.soen390.backend.service.strategy.AccessibilityRoutingStrategy;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
+import org.jgrapht.Graphs;
 import org.jgrapht.alg.connectivity.ConnectivityInspector;
-import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.AsUnmodifiableGraph;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.SimpleWeightedGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Indoor pathfinding service using JGraphT.
  *
  * Each floor is modeled as a weighted graph where:
- * - Vertices = pre-defined waypoints loaded from JSON floor plan files
+ * - Vertices = pre-defined waypoints loaded from JSON floor plan files, or from a
+ *              {@link MappedFloorPlanStore} when one is configured
  * - Edges    = valid walkable connections constrained to corridor-like movement
  * - Weights  = Euclidean distance between waypoints
  *
+ * The prepared graphs are published as an immutable {@link RoutingSnapshot}. Readers get the
+ * current one with a single volatile read; {@link #replaceFloor} builds and publishes the next
+ * version without blocking them.
  */
 @Service
 public class PathfindingService {
 
     private static final Logger log = LoggerFactory.getLogger(PathfindingService.class);
-    private static final ObjectMapper MAPPER = new ObjectMapper();
-    private static final Map<String, List<Waypoint>> WAYPOINTS = new HashMap<>();
-    private static final Map<String, BuildingConfig> CONFIGS = new HashMap<>();
-    private static final Map<String, Map<String, Waypoint>> ROOM_COORDINATES = new HashMap<>();
-    private static final Map<String, List<IndoorDirectionsController.PoiResponse>> POI_CACHE = new HashMap<>();
-    private final Map<String, Graph<Waypoint, DefaultWeightedEdge>> graphsNoStairs = new HashMap<>();
-
-    private static final String[] FLOOR_PLAN_IDS = {
-            "Hall-8", "Hall-9", "Hall-2", "Hall-1",
-            "VL-1", "VL-2", "VE-1","VE-2",
-            "LB-2", "LB-3", "LB-4", "LB-5",
-            "MB-S2", "MB-1", "CC-1"
-    };
-
-    static {
-        for (String buildingId : FLOOR_PLAN_IDS)
-            loadBuildingFromJson(buildingId); // Fix: Removed useless curly braces
-    }
 
     /**
-     * Load waypoints and pathfinding config from /floorplans/{buildingId}.json
+     * Everything routing needs from one floor plan. Floors read from the mapped store carry their
+     * precomputed walking edges; floors parsed from JSON carry the config the edges are built from.
      */
-    private static void loadBuildingFromJson(String buildingId) {
-        String path = "floorplans/" + buildingId + ".json";
-        try (InputStream is = PathfindingService.class.getClassLoader().getResourceAsStream(path)) {
-            if (is == null) {
-                log.warn("No floor plan JSON found at {}", path);
-                return;
+    private record FloorData(
+            List<Waypoint> waypoints,
+            Map<String, Waypoint> rooms,
+            List<IndoorDirectionsController.PoiResponse> pois,
+            FloorIdentifierResolver resolver,
+            BuildingConfig config,
+            List<MappedFloorPlanStore.Edge> edges
+    ) {}
+
+    /** Floors parsed from the JSON files, loaded on first use so a store-backed service never parses them. */
+    private static final class JsonFloors {
+        static final Map<String, FloorData> FLOORS = load();
+
+        private static Map<String, FloorData> load() {
+            Map<String, FloorData> floors = new HashMap<>();
+            for (String buildingId : BuildingRegistry.getDefault().getFloorPlanIds()) {
+                FloorData floor = loadBuildingFromJson(buildingId);
+                if (floor != null) floors.put(buildingId, floor);
             }
-            JsonNode root = MAPPER.readTree(is);
+            return Collections.unmodifiableMap(floors);
+        }
+    }
 
+    /**
+     * Load waypoints and pathfinding config from the shared parse of /floorplans/{buildingId}.json
+     */
+    private static FloorData loadBuildingFromJson(String buildingId) {
+        JsonNode root = FloorPlanRepository.getShared().document(buildingId).orElse(null);
+        if (root == null) return null;
+        try {
 
+            Map<String, Waypoint> roomMap = new HashMap<>();
             JsonNode roomsNode = root.get("rooms");
             if (roomsNode != null && roomsNode.isObject()) {
-                Map<String, Waypoint> roomMap = new HashMap<>();
                 roomsNode.fields().forEachRemaining(entry ->
                     roomMap.put(entry.getKey(), new Waypoint(
                             entry.getValue().get("x").asDouble(),
@@ -72,13 +92,12 @@ public class PathfindingService {
                             entry.getKey()
                     ))
                 );
-                ROOM_COORDINATES.put(buildingId, roomMap);
             }
 
 
+            List<IndoorDirectionsController.PoiResponse> pois = new ArrayList<>();
             JsonNode poisNode = root.get("pois");
             if (poisNode != null && poisNode.isArray()) {
-                List<IndoorDirectionsController.PoiResponse> pois = new ArrayList<>();
                 for (JsonNode p : poisNode) {
                     pois.add(new IndoorDirectionsController.PoiResponse(
                             p.get("x").asDouble(),
@@ -88,35 +107,67 @@ public class PathfindingService {
                             p.get("type").asText()
                     ));
                 }
-                POI_CACHE.put(buildingId, pois);
             }
 
             // Load waypoints
+            List<Waypoint> waypoints = new ArrayList<>();
             JsonNode waypointsNode = root.get("waypoints");
             if (waypointsNode != null && waypointsNode.isArray()) {
-                List<Waypoint> waypoints = new ArrayList<>();
                 for (JsonNode wp : waypointsNode) {
                     double x = wp.get("x").asDouble();
                     double y = wp.get("y").asDouble();
                     String id = wp.get("id").asText();
                     waypoints.add(new Waypoint(x, y, id));
                 }
-                WAYPOINTS.put(buildingId, waypoints);
                 log.info("Loaded {} waypoints for {}", waypoints.size(), buildingId);
             }
 
             // Load pathfinding config
+            BuildingConfig config = null;
             JsonNode configNode = root.get("pathfindingConfig");
             if (configNode != null) {
                 double searchRadius = configNode.get("searchRadius").asDouble();
                 double alignThreshold = configNode.get("alignThreshold").asDouble();
                 int maxNeighbors = configNode.get("maxNeighbors").asInt();
                 boolean strictAlignment = configNode.get("strictAlignment").asBoolean();
-                CONFIGS.put(buildingId, new BuildingConfig(searchRadius, alignThreshold, maxNeighbors, strictAlignment));
+                config = new BuildingConfig(searchRadius, alignThreshold, maxNeighbors, strictAlignment);
             }
+
+            return new FloorData(waypoints, roomMap, pois,
+                    FloorIdentifierResolver.build(roomMap, pois, waypoints), config, null);
+        } catch (IllegalStateException e) {
+            // Colliding ids would make lookups ambiguous; refuse to start rather than skip the floor.
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to load floor plan data from {}", path, e);
+            log.error("Failed to build pathfinding data for {}", buildingId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Decodes one floor of the mapped store onto the heap; called on first use and again after the
+     * floor was evicted from the decoded-floor cache.
+     */
+    private static FloorData loadBuildingFromStore(MappedFloorPlanStore store, String buildingId) {
+        MappedFloorPlanStore.FloorView view = store.floor(buildingId).orElse(null);
+        if (view == null) return null;
+
+        Map<String, Waypoint> roomMap = new HashMap<>();
+        for (MappedFloorPlanStore.Room room : view.rooms()) {
+            roomMap.put(room.id(), new Waypoint(room.x(), room.y(), room.id()));
         }
+        List<IndoorDirectionsController.PoiResponse> pois = new ArrayList<>();
+        for (MappedFloorPlanStore.Poi poi : view.pois()) {
+            pois.add(new IndoorDirectionsController.PoiResponse(
+                    poi.x(), poi.y(), poi.id(), poi.displayName(), poi.type()));
+        }
+        List<Waypoint> waypoints = new ArrayList<>();
+        for (MappedFloorPlanStore.Waypoint wp : view.waypoints()) {
+            waypoints.add(new Waypoint(wp.x(), wp.y(), wp.id()));
+        }
+        log.debug("Paged in {} waypoints for {} from the floor plan store", waypoints.size(), sanitize(buildingId));
+        return new FloorData(waypoints, roomMap, pois,
+                FloorIdentifierResolver.build(roomMap, pois, waypoints), null, List.copyOf(view.edges()));
     }
 
     private record BuildingConfig(
@@ -125,9 +176,8 @@ public class PathfindingService {
             int maxNeighbors,
             boolean strictAlignment
     ) {
-        static BuildingConfig forBuilding(String buildingId) {
-            BuildingConfig config = CONFIGS.get(buildingId);
-            if (config != null) return config;
+        static BuildingConfig forFloor(FloorData floor) {
+            if (floor != null && floor.config() != null) return floor.config();
 
             return new BuildingConfig(150.0, 20.0, 0, false);
         }
@@ -149,23 +199,387 @@ public class PathfindingService {
         }
     }
 
-    private String currentBuildingId = "";
-    private final Map<String, Graph<Waypoint, DefaultWeightedEdge>> graphs = new HashMap<>();
+    /**
+     * Store floors kept decoded and prepared on the heap by default; older ones are decoded and
+     * prepared again when needed.
+     */
+    public static final int DEFAULT_CACHED_FLOORS = 32;
+
+    private final AtomicReference<RoutingSnapshot> snapshot;
+    private final ShortestPathEngine engine;
+    private final int landmarks;
+    /** Mapped floor plan store the floors are read from, or null to parse the JSON floor plans. */
+    private final MappedFloorPlanStore store;
+    /** Recently used store floors, in access order and capped at the configured size. */
+    private final Map<String, FloorData> storeFloors;
+    /** Prepared graphs of recently routed store floors, capped like {@link #storeFloors}. */
+    private final Map<String, RoutingSnapshot.FloorGraphs> preparedFloors;
+    /** One lock per store floor, so a floor evicted while in demand is prepared again only once. */
+    private final Map<String, Object> prepareLocks;
+    /** Floor data published through {@link #replaceFloor(String, Graph, Map, List)}; wins over the loaded plans. */
+    private final Map<String, FloorData> replacedFloors = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> floorListeners = new CopyOnWriteArrayList<>();
+    private final Set<String> planIds;
+    private static final List<String> LANDMARK_POI_TYPES = List.of("elevator", "stairs", "entrance", "exit");
 
     public PathfindingService() {
-        for (String id : WAYPOINTS.keySet()) {
-            Graph<Waypoint, DefaultWeightedEdge> g = buildGraph(id);
-            graphs.put(id, g);
-            graphsNoStairs.put(id, buildNoStairsGraph(g));
+        this(ShortestPathEngine.DIJKSTRA);
+    }
+
+    public PathfindingService(ShortestPathEngine engine) {
+        this(engine, ShortestPathEngine.DEFAULT_LANDMARKS);
+    }
+
+    public PathfindingService(String engine, int landmarks) {
+        this(ShortestPathEngine.fromProperty(engine), landmarks);
+    }
+
+    @Autowired
+    public PathfindingService(@Value("${indoor.routing.engine:dijkstra}") String engine,
+                              @Value("${indoor.routing.alt.landmarks:8}") int landmarks,
+                              @Value("${indoor.floorplans.store:}") String storePath,
+                              @Value("${indoor.floorplans.store.cached-floors:32}") int cachedFloors) {
+        this(ShortestPathEngine.fromProperty(engine), landmarks, openStore(storePath), cachedFloors);
+    }
+
+    public PathfindingService(ShortestPathEngine engine, int landmarks) {
+        this(engine, landmarks, null);
+    }
+
+    /**
+     * With a {@code store}, floors are read from it and their graphs prepared the first time they
+     * are routed on; without one, every JSON floor plan is loaded and prepared up front.
+     */
+    public PathfindingService(ShortestPathEngine engine, int landmarks, MappedFloorPlanStore store) {
+        this(engine, landmarks, store, DEFAULT_CACHED_FLOORS);
+    }
+
+    /**
+     * As {@link #PathfindingService(ShortestPathEngine, int, MappedFloorPlanStore)}, keeping at most
+     * {@code cachedFloors} store floors decoded, and at most as many prepared, on the heap at a time.
+     */
+    public PathfindingService(ShortestPathEngine engine, int landmarks, MappedFloorPlanStore store, int cachedFloors) {
+        this.engine = engine;
+        this.landmarks = landmarks;
+        this.store = store;
+        int capacity = Math.max(1, cachedFloors);
+        this.storeFloors = leastRecentlyUsed(capacity);
+        this.preparedFloors = leastRecentlyUsed(capacity);
+        if (store != null) {
+            this.planIds = Collections.unmodifiableSet(new LinkedHashSet<>(store.planIds()));
+            Map<String, Object> locks = new HashMap<>();
+            planIds.forEach(id -> locks.put(id, new Object()));
+            this.prepareLocks = Map.copyOf(locks);
+            this.snapshot = new AtomicReference<>(RoutingSnapshot.lazy(1L, planIds,
+                    this::preparedStoreFloor, this::isStoreFloorPrepared));
+            log.info("Mapped {} floor plans from {} ({} bytes); graphs are prepared on first use",
+                    planIds.size(), store.getFile(), store.sizeBytes());
+            return;
+        }
+        this.prepareLocks = Map.of();
+        this.planIds = JsonFloors.FLOORS.keySet();
+        long start = System.nanoTime();
+        Map<String, RoutingSnapshot.FloorGraphs> floors = new HashMap<>();
+        for (String id : planIds) {
+            floors.put(id, prepareFloor(id, buildGraph(id)));
+        }
+        this.snapshot = new AtomicReference<>(new RoutingSnapshot(1L, floors));
+        log.info("Prepared {} floor graphs with the {} engine in {} ms", floors.size(),
+                engine.getPropertyValue(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static <V> Map<String, V> leastRecentlyUsed(int capacity) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Maps the store configured by {@code indoor.floorplans.store}, compiling it from the JSON floor
+     * plans first when the file does not exist yet or was compiled from different floor plans or by
+     * an older format. Returns null, and so falls back to the JSON floor plans, when no store is
+     * configured or the file cannot be used.
+     */
+    static MappedFloorPlanStore openStore(String storePath) {
+        if (storePath == null || storePath.isBlank()) return null;
+        Path file = Path.of(storePath.trim());
+        try {
+            if (!Files.exists(file) || !MappedFloorPlanStore.isCompiledFrom(file, sourceHash())) {
+                log.info("Compiling floor plan store {} from the JSON floor plans", sanitize(storePath));
+                new PathfindingService(ShortestPathEngine.DIJKSTRA).exportStore(file);
+            }
+            return MappedFloorPlanStore.open(file);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Cannot use floor plan store {}; loading the JSON floor plans instead", sanitize(storePath), e);
+            return null;
+        }
+    }
+
+    /** Hash of the JSON floor plan files a store is compiled from. */
+    private static long sourceHash() {
+        return FloorPlanRepository.getShared().sourceHash(BuildingRegistry.getDefault().getFloorPlanIds());
+    }
+
+    /**
+     * Writes every floor of this service, with the walking edges of its current graphs, to a
+     * {@link MappedFloorPlanStore} file stamped with the hash of the JSON floor plans, so
+     * {@link #openStore} recompiles it after they change.
+     */
+    public void exportStore(Path file) throws IOException {
+        RoutingSnapshot routing = snapshot();
+        List<MappedFloorPlanStore.Floor> floors = new ArrayList<>();
+        for (String planId : planIds) {
+            FloorData floor = floorData(planId);
+            RoutingSnapshot.FloorGraphs graphs = routing.floor(planId);
+            if (floor == null || graphs == null) continue;
+
+            Map<Waypoint, Integer> index = new HashMap<>();
+            List<MappedFloorPlanStore.Waypoint> waypoints = new ArrayList<>();
+            for (Waypoint wp : floor.waypoints()) {
+                index.put(wp, waypoints.size());
+                waypoints.add(new MappedFloorPlanStore.Waypoint(wp.id, wp.x, wp.y));
+            }
+            List<MappedFloorPlanStore.Edge> edges = new ArrayList<>();
+            Graph<Waypoint, DefaultWeightedEdge> graph = graphs.withStairs();
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                Integer from = index.get(graph.getEdgeSource(e));
+                Integer to = index.get(graph.getEdgeTarget(e));
+                if (from != null && to != null) {
+                    edges.add(new MappedFloorPlanStore.Edge(from, to, graph.getEdgeWeight(e)));
+                }
+            }
+            floors.add(new MappedFloorPlanStore.Floor(planId,
+                    floor.rooms().values().stream()
+                            .map(r -> new MappedFloorPlanStore.Room(r.id, r.x, r.y)).toList(),
+                    floor.pois().stream()
+                            .map(p -> new MappedFloorPlanStore.Poi(p.getId(), p.getDisplayName(), p.getType(),
+                                    p.getX(), p.getY())).toList(),
+                    waypoints, edges));
+        }
+        MappedFloorPlanStore.write(file, floors, sourceHash());
+        log.info("Wrote {} floor plans to store {}", floors.size(), file);
+    }
+
+    /**
+     * Data of one floor plan, or null for unknown plans. Store floors are decoded on first use and
+     * kept in a bounded cache of recently used floors.
+     */
+    private FloorData floorData(String planId) {
+        if (planId == null) return null;
+        FloorData replaced = replacedFloors.get(planId);
+        if (replaced != null) return replaced;
+        if (store == null) return JsonFloors.FLOORS.get(planId);
+        if (!planIds.contains(planId)) return null;
+        FloorData cached = cachedStoreFloor(planId);
+        if (cached != null) return cached;
+        FloorData decoded = loadBuildingFromStore(store, planId);
+        if (decoded == null) return null;
+        synchronized (storeFloors) {
+            FloorData raced = storeFloors.putIfAbsent(planId, decoded);
+            return raced != null ? raced : decoded;
+        }
+    }
+
+    /** Store floor if it is currently decoded, without decoding it otherwise. */
+    private FloorData cachedStoreFloor(String planId) {
+        synchronized (storeFloors) {
+            return storeFloors.get(planId);
+        }
+    }
+
+    /**
+     * Prepared graphs of a store floor, from the bounded cache of recently routed floors or
+     * prepared again after eviction.
+     */
+    private RoutingSnapshot.FloorGraphs preparedStoreFloor(String planId) {
+        RoutingSnapshot.FloorGraphs cached = cachedPreparedFloor(planId);
+        if (cached != null) return cached;
+        synchronized (prepareLocks.get(planId)) {
+            cached = cachedPreparedFloor(planId);
+            if (cached != null) return cached;
+            RoutingSnapshot.FloorGraphs prepared = prepareFloor(planId, buildGraph(planId));
+            synchronized (preparedFloors) {
+                preparedFloors.put(planId, prepared);
+            }
+            return prepared;
+        }
+    }
+
+    private RoutingSnapshot.FloorGraphs cachedPreparedFloor(String planId) {
+        synchronized (preparedFloors) {
+            return preparedFloors.get(planId);
+        }
+    }
+
+    private boolean isStoreFloorPrepared(String planId) {
+        synchronized (preparedFloors) {
+            return preparedFloors.containsKey(planId);
+        }
+    }
+
+    /** Number of store floors whose graphs are currently prepared on the heap. */
+    int preparedFloorCount() {
+        synchronized (preparedFloors) {
+            return preparedFloors.size();
+        }
+    }
+
+    /** Whether the floor is only available in the mapped store, so listing it need not decode it. */
+    private boolean isMappedOnly(String planId) {
+        return store != null && planIds.contains(planId) && !replacedFloors.containsKey(planId)
+                && cachedStoreFloor(planId) == null;
+    }
+
+    /** Number of store floors currently decoded on the heap. */
+    int decodedFloorCount() {
+        synchronized (storeFloors) {
+            return storeFloors.size();
+        }
+    }
+
+    /**
+     * Builds the no-stairs variant and the prepared searches for a floor graph the caller no longer
+     * modifies. Only read-only views of the graphs are handed out.
+     */
+    private RoutingSnapshot.FloorGraphs prepareFloor(String planId, Graph<Waypoint, DefaultWeightedEdge> graph) {
+        Graph<Waypoint, DefaultWeightedEdge> noStairs = buildNoStairsGraph(graph);
+        return new RoutingSnapshot.FloorGraphs(
+                new AsUnmodifiableGraph<>(graph),
+                new AsUnmodifiableGraph<>(noStairs),
+                engine.prepare(graph, landmarks, landmarkHints(planId, graph)),
+                engine.prepare(noStairs, landmarks, landmarkHints(planId, noStairs)),
+                CorridorIndex.build(graph),
+                CorridorIndex.build(noStairs));
+    }
+
+    /** Current routing graphs; fetch once per request and reuse for every search of that request. */
+    public RoutingSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Publishes a new snapshot in which {@code planId} uses a copy of {@code graph} (for example
+     * the current graph with a corridor closed or a weight changed). Preprocessing runs before
+     * publication, so readers keep using the previous version until the new one is complete.
+     * Concurrent writers to different floors do not lose each other's changes.
+     *
+     * @return the snapshot that includes this change
+     */
+    public RoutingSnapshot replaceFloor(String planId, Graph<Waypoint, DefaultWeightedEdge> graph) {
+        RoutingSnapshot published = publishFloor(planId, graph);
+        notifyFloorListeners(planId);
+        return published;
+    }
+
+    /**
+     * As {@link #replaceFloor(String, Graph)}, also replacing the rooms and POIs of the floor, for
+     * example after its floor plan was edited. The graph's vertices become the floor's waypoints.
+     */
+    public RoutingSnapshot replaceFloor(String planId, Graph<Waypoint, DefaultWeightedEdge> graph,
+                                        Map<String, Waypoint> rooms,
+                                        List<IndoorDirectionsController.PoiResponse> pois) {
+        List<Waypoint> waypoints = new ArrayList<>(graph.vertexSet());
+        FloorData floor = new FloorData(waypoints, new HashMap<>(rooms), new ArrayList<>(pois),
+                FloorIdentifierResolver.build(rooms, pois, waypoints), null, null);
+        replacedFloors.put(planId, floor);
+        RoutingSnapshot published = publishFloor(planId, graph);
+        notifyFloorListeners(planId);
+        return published;
+    }
+
+    /**
+     * Registers a listener called with the plan id every time a floor is replaced, after the
+     * snapshot that includes the change is published.
+     */
+    public void addFloorListener(Consumer<String> listener) {
+        floorListeners.add(listener);
+    }
+
+    private RoutingSnapshot publishFloor(String planId, Graph<Waypoint, DefaultWeightedEdge> graph) {
+        SimpleWeightedGraph<Waypoint, DefaultWeightedEdge> copy = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addGraph(copy, graph);
+        RoutingSnapshot.FloorGraphs prepared = prepareFloor(planId, copy);
+        RoutingSnapshot published = snapshot.updateAndGet(current -> current.withFloor(planId, prepared));
+        log.info("Published routing snapshot {} with a new graph for {}", published.version(), sanitize(planId));
+        return published;
+    }
+
+    private void notifyFloorListeners(String planId) {
+        for (Consumer<String> listener : floorListeners) {
+            try {
+                listener.accept(planId);
+            } catch (RuntimeException e) {
+                log.error("Floor listener failed for {}", sanitize(planId), e);
+            }
         }
     }
 
-    public void setBuilding(String buildingId) {
-        this.currentBuildingId = buildingId;
+    /**
+     * Graph vertices closest to the floor's entrances, connector shafts and inter-building links,
+     * which make good ALT landmarks because most long routes pass through them.
+     */
+    private List<Waypoint> landmarkHints(String planId, Graph<Waypoint, DefaultWeightedEdge> graph) {
+        if (graph.vertexSet().isEmpty()) return List.of();
+        List<double[]> anchors = new ArrayList<>();
+        for (IndoorDirectionsController.PoiResponse poi : getPoisForBuilding(planId)) {
+            String type = poi.getType() == null ? "" : poi.getType().toLowerCase(Locale.ROOT);
+            if (LANDMARK_POI_TYPES.stream().anyMatch(type::contains)) {
+                anchors.add(new double[]{poi.getX(), poi.getY()});
+            }
+        }
+        BuildingRegistry registry = BuildingRegistry.getDefault();
+        List<String> ids = new ArrayList<>();
+        registry.find(planId)
+                .filter(b -> planId.equals(b.planId(b.entranceFloor())))
+                .ifPresent(b -> ids.add(b.entranceId()));
+        for (BuildingRegistry.Connection connection : registry.getConnections()) {
+            if (planId.equals(connection.fromPlan())) ids.add(connection.fromId());
+            if (planId.equals(connection.toPlan())) ids.add(connection.toId());
+        }
+        for (String id : ids) {
+            FloorIdentifierResolver.Entry entry = getResolver(planId).resolve(id);
+            if (entry != null) anchors.add(new double[]{entry.point().x, entry.point().y});
+        }
+
+        Set<Waypoint> hints = new LinkedHashSet<>();
+        for (double[] anchor : anchors) {
+            Waypoint nearest = null;
+            double min = Double.MAX_VALUE;
+            for (Waypoint wp : graph.vertexSet()) {
+                double d = wp.distanceTo(anchor[0], anchor[1]);
+                if (d < min) {
+                    min = d;
+                    nearest = wp;
+                }
+            }
+            hints.add(nearest);
+        }
+        return new ArrayList<>(hints);
     }
 
-    public Waypoint findNearestWaypoint(double x, double y) {
-        List<Waypoint> wps = WAYPOINTS.getOrDefault(currentBuildingId, List.of());
+    public ShortestPathEngine getEngine() {
+        return engine;
+    }
+
+    /** Waypoint of floor plan {@code planId} closest to the given position, or null for unknown plans. */
+    public Waypoint findNearestWaypoint(String planId, double x, double y) {
+        return nearest(waypointsOf(planId), x, y);
+    }
+
+    /**
+     * Vertex of the snapshot's graph of {@code planId} for {@code strategy} closest to the given
+     * position, so a search on that graph can start from it; null for unknown plans.
+     */
+    public Waypoint findNearestWaypoint(RoutingSnapshot routing, String planId, AccessibilityRoutingStrategy strategy,
+                                        double x, double y) {
+        RoutingSnapshot.FloorGraphs floor = routing.floor(planId);
+        return floor != null ? nearest(floor.graph(strategy).vertexSet(), x, y) : null;
+    }
+
+    private static Waypoint nearest(Collection<Waypoint> wps, double x, double y) {
         Waypoint nearest = null;
         double minDist = Double.MAX_VALUE;
         for (Waypoint wp : wps) {
@@ -183,29 +597,34 @@ public class PathfindingService {
         return input.replaceAll("[\\r\\n\\t]", "_");
     }
 
-    public List<Waypoint> findPathThroughWaypoints(Waypoint start, Waypoint end) {
-        return findPathThroughWaypoints(start, end, false);
+    public List<Waypoint> findPathThroughWaypoints(String planId, Waypoint start, Waypoint end) {
+        return findPathThroughWaypoints(planId, start, end, false);
     }
 
-    public List<Waypoint> findPathThroughWaypoints(Waypoint start, Waypoint end, boolean avoidStairs) {
-        return findPathThroughWaypoints(start, end, AccessibilityRoutingStrategy.fromAvoidStairs(avoidStairs));
+    public List<Waypoint> findPathThroughWaypoints(String planId, Waypoint start, Waypoint end, boolean avoidStairs) {
+        return findPathThroughWaypoints(snapshot(), planId, start, end,
+                AccessibilityRoutingStrategy.fromAvoidStairs(avoidStairs));
     }
 
-    public List<Waypoint> findPathThroughWaypoints(Waypoint start, Waypoint end, AccessibilityRoutingStrategy strategy) {
+    /**
+     * Shortest waypoint path on one floor of the given snapshot; empty when either waypoint is not
+     * on that floor or no path exists.
+     */
+    public List<Waypoint> findPathThroughWaypoints(RoutingSnapshot routing, String planId,
+                                                   Waypoint start, Waypoint end, AccessibilityRoutingStrategy strategy) {
         if (start == null || end == null) return Collections.emptyList();
 
-        Graph<Waypoint, DefaultWeightedEdge> graph =
-                strategy.allowsStairs() ? graphs.get(currentBuildingId) : graphsNoStairs.get(currentBuildingId);
+        RoutingSnapshot.FloorGraphs floor = routing.floor(planId);
+        Graph<Waypoint, DefaultWeightedEdge> graph = floor != null ? floor.graph(strategy) : null;
 
         if (graph == null || !graph.containsVertex(start) || !graph.containsVertex(end)) {
             if (log.isErrorEnabled()) {
-                log.error("Graph missing or vertices not found for {}", sanitize(currentBuildingId));
+                log.error("Graph missing or vertices not found for {}", sanitize(planId));
             }
             return Collections.emptyList();
         }
 
-        GraphPath<Waypoint, DefaultWeightedEdge> path =
-                new DijkstraShortestPath<>(graph).getPath(start, end);
+        GraphPath<Waypoint, DefaultWeightedEdge> path = floor.search(strategy).getPath(start, end);
 
         if (path == null) {
             if (log.isErrorEnabled()) {
@@ -217,30 +636,140 @@ public class PathfindingService {
         return path.getVertexList();
     }
 
-    public List<Waypoint> getAllWaypoints() {
-        return new ArrayList<>(WAYPOINTS.getOrDefault(currentBuildingId, List.of()));
+    /**
+     * Walking path between two free positions on one floor of the given snapshot. Each position is
+     * projected onto its nearest corridor segment, and the search starts from that point on the
+     * segment rather than from the nearest waypoint, which may lie behind the walker. One
+     * multi-endpoint search covers both ends of each segment. Null when the floor is unknown or has
+     * no corridors; no path found yields null as well.
+     */
+    public SnappedPath findPathBetweenPositions(RoutingSnapshot routing, String planId,
+                                                double fromX, double fromY, double toX, double toY,
+                                                AccessibilityRoutingStrategy strategy) {
+        RoutingSnapshot.FloorGraphs floor = routing.floor(planId);
+        if (floor == null) return null;
+        CorridorIndex corridors = floor.corridors(strategy);
+        CorridorIndex.Snap start = corridors.nearest(fromX, fromY);
+        CorridorIndex.Snap end = corridors.nearest(toX, toY);
+        if (start == null || end == null) return null;
+
+        // Straight along a single corridor segment; the graph cannot do better.
+        if (start.sameSegment(end)) return new SnappedPath(start, List.of(), end);
+
+        GraphPath<Waypoint, DefaultWeightedEdge> path =
+                floor.search(strategy).getPathBetween(snapEnds(start), snapEnds(end));
+        return path == null ? null : new SnappedPath(start, path.getVertexList(), end);
+    }
+
+    /**
+     * Graph vertices a search may start or stop at for a snap, with the walk between them and the
+     * snapped point: the vertex it is on, else both segment ends.
+     */
+    private static Map<Waypoint, Double> snapEnds(CorridorIndex.Snap snap) {
+        Waypoint vertex = snap.vertex();
+        if (vertex != null) return Map.of(vertex, 0d);
+        return Map.of(snap.from(), snap.from().distanceTo(snap.x(), snap.y()),
+                snap.to(), snap.to().distanceTo(snap.x(), snap.y()));
+    }
+
+    /**
+     * Path between two snapped positions: walk from {@code start} onto the first waypoint, through
+     * {@code waypoints}, then from the last one to {@code end}. Empty waypoints means both positions
+     * are on the same corridor segment.
+     */
+    public record SnappedPath(CorridorIndex.Snap start, List<Waypoint> waypoints, CorridorIndex.Snap end) {}
+
+    /**
+     * Read-only view of a floor's walking graph for the given strategy in the current snapshot,
+     * or null for unknown plans.
+     */
+    public Graph<Waypoint, DefaultWeightedEdge> getGraph(String buildingId, AccessibilityRoutingStrategy strategy) {
+        RoutingSnapshot.FloorGraphs floor = snapshot().floor(buildingId);
+        return floor != null ? floor.graph(strategy) : null;
+    }
+
+    /**
+     * Ids of every floor plan that loaded successfully, or that the mapped store contains.
+     */
+    public Set<String> getFloorPlanIds() {
+        return planIds;
     }
 
     public List<Waypoint> getWaypointsForBuilding(String buildingId) {
-        return new ArrayList<>(WAYPOINTS.getOrDefault(buildingId, List.of()));
+        return new ArrayList<>(waypointsOf(buildingId));
     }
 
-    public Waypoint findWaypointById(String waypointId) {
-        List<Waypoint> wps = WAYPOINTS.getOrDefault(currentBuildingId, List.of());
-        for (Waypoint wp : wps) {
-            if (wp.id.equals(waypointId)) return wp;
+    private List<Waypoint> waypointsOf(String buildingId) {
+        FloorData floor = floorData(buildingId);
+        return floor != null ? floor.waypoints() : List.of();
+    }
+
+    /** Waypoint {@code waypointId} of floor plan {@code planId}; rooms and POIs with that id are not returned. */
+    public Waypoint findWaypointById(String planId, String waypointId) {
+        FloorIdentifierResolver.Entry entry =
+                getResolver(planId).resolve(waypointId, FloorIdentifierResolver.Kind.WAYPOINT);
+        return entry != null ? entry.point() : null;
+    }
+
+    /**
+     * Identifier index (rooms, POIs and waypoints) for a floor plan; empty for unknown plans.
+     */
+    public FloorIdentifierResolver getResolver(String buildingId) {
+        FloorData floor = floorData(buildingId);
+        return floor != null ? floor.resolver() : FloorIdentifierResolver.EMPTY;
+    }
+
+    /**
+     * Ids of the rooms of a floor plan. Store floors that are not decoded are read straight from the
+     * mapped file, so indexing every floor does not decode them all onto the heap.
+     */
+    public Set<String> getRoomIds(String buildingId) {
+        if (isMappedOnly(buildingId)) {
+            return store.floor(buildingId)
+                    .map(view -> view.rooms().stream().map(MappedFloorPlanStore.Room::id)
+                            .collect(Collectors.toCollection(LinkedHashSet::new)))
+                    .orElseGet(LinkedHashSet::new);
         }
-        return null;
+        return new LinkedHashSet<>(getRoomCoordinates(buildingId).keySet());
+    }
+
+    public Map<String, Waypoint> getRoomCoordinates(String buildingId) {
+        FloorData floor = floorData(buildingId);
+        return floor != null ? Collections.unmodifiableMap(floor.rooms()) : Collections.emptyMap();
+    }
+
+    /** POIs of a floor plan; like {@link #getRoomIds}, store floors are not decoded to list them. */
+    public List<IndoorDirectionsController.PoiResponse> getPoisForBuilding(String buildingId) {
+        if (isMappedOnly(buildingId)) {
+            return store.floor(buildingId)
+                    .map(view -> view.pois().stream()
+                            .map(p -> new IndoorDirectionsController.PoiResponse(
+                                    p.x(), p.y(), p.id(), p.displayName(), p.type()))
+                            .toList())
+                    .orElseGet(List::of);
+        }
+        FloorData floor = floorData(buildingId);
+        return floor != null ? Collections.unmodifiableList(floor.pois()) : Collections.emptyList();
     }
 
     private Graph<Waypoint, DefaultWeightedEdge> buildGraph(String buildingId) {
         SimpleWeightedGraph<Waypoint, DefaultWeightedEdge> graph =
                 new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
-        List<Waypoint> waypoints = WAYPOINTS.getOrDefault(buildingId, List.of());
-        BuildingConfig config = BuildingConfig.forBuilding(buildingId);
+        FloorData floor = floorData(buildingId);
+        List<Waypoint> waypoints = floor != null ? floor.waypoints() : List.of();
+        BuildingConfig config = BuildingConfig.forFloor(floor);
 
         waypoints.forEach(graph::addVertex);
 
+        if (floor != null && floor.edges() != null) {
+            // Edges precomputed when the store was compiled; no candidate search needed.
+            for (MappedFloorPlanStore.Edge e : floor.edges()) {
+                DefaultWeightedEdge edge = graph.addEdge(waypoints.get(e.from()), waypoints.get(e.to()));
+                if (edge != null) graph.setEdgeWeight(edge, e.weight());
+            }
+            return graph;
+        }
+
         for (Waypoint wp : waypoints) {
             addEdgesFor(graph, wp, waypoints, config);
         }
@@ -431,18 +960,6 @@ public class PathfindingService {
             this.id = id;
         }
 
-        public Waypoint getRoomCoordinate(String buildingId, String roomId) {
-            return ROOM_COORDINATES.getOrDefault(buildingId, Collections.emptyMap()).get(roomId);
-        }
-
-        public Map<String, Waypoint> getRoomCoordinateMap(String buildingId) {
-            return ROOM_COORDINATES.getOrDefault(buildingId, Collections.emptyMap());
-        }
-
-        public List<IndoorDirectionsController.PoiResponse> getPoisForBuilding(String buildingId) {
-            return POI_CACHE.getOrDefault(buildingId, Collections.emptyList());
-        }
-
         public double distanceTo(Waypoint other) {
             return distanceTo(other.x, other.y);
         }
@@ -1,29 +1,68 @@
 package com.soen390.backend.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.soen390.backend.config.CircuitBreaker;
+import com.soen390.backend.config.CircuitBreakers;
+import com.soen390.backend.config.OutboundHttpClients;
+import com.soen390.backend.config.SingleFlight;
 import com.soen390.backend.enums.PlaceType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
+/**
+ * Nearby and text search against the Google Places API.
+ *
+ * Identical concurrent searches (same endpoint and request body) share one call, which goes
+ * through the places circuit breaker. The last response of each distinct search is kept
+ * (up to {@value #LAST_KNOWN_ENTRIES} searches, least recently used first out); while the circuit
+ * is open or when a call fails, that response is returned with a top-level {@code "stale": true}.
+ */
 @Service
 public class PlacesOfInterestService {
 
+    private static final int LAST_KNOWN_ENTRIES = 200;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     @Value("${google.api.key}")
     private String apiKey;
 
     private RestClient restClient;
+    private final CircuitBreaker circuitBreaker;
+    private final SingleFlight<Object, String> inFlight;
+    private final Map<Object, String> lastKnown = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, String> eldest) {
+            return size() > LAST_KNOWN_ENTRIES;
+        }
+    };
 
-    @Autowired
     public PlacesOfInterestService() {
-        this.restClient = RestClient.create();
+        this(RestClient.create());
     }
 
     public PlacesOfInterestService(RestClient restClient) {
+        this(restClient, new CircuitBreakers(), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public PlacesOfInterestService(@Qualifier("placesRestClient") RestClient restClient,
+                                   CircuitBreakers circuitBreakers, MeterRegistry meterRegistry) {
         this.restClient = restClient;
+        this.circuitBreaker = circuitBreakers.get(OutboundHttpClients.Upstream.PLACES);
+        this.inFlight = new SingleFlight<>(OutboundHttpClients.Upstream.PLACES.getPropertyName(), meterRegistry);
     }
 
     public String getNearbyPlaces(int maxResultCount, double radius, double lat, double lng, PlaceType placeType) {
@@ -40,21 +79,14 @@ public class PlacesOfInterestService {
                         )
                 )
         );
-        String rawJson;
-        try {
-            rawJson = restClient.post()
-                    .uri("https://places.googleapis.com/v1/places:searchNearby")
-                    .header("X-Goog-Api-Key", apiKey)
-                    .header("X-Goog-FieldMask", "places.displayName,places.formattedAddress,places.location,places.rating,places.currentOpeningHours,places.nationalPhoneNumber")
-                    .body(body)
-                    .retrieve()
-                    .body(String.class);
-
-        } catch (Exception e) {
-            throw new IllegalStateException("Google Places API returned an empty response", e);
-        }
-
-        return rawJson;
+        return withFallback(List.of("searchNearby", body), "Google Places API returned an empty response",
+                () -> restClient.post()
+                        .uri("https://places.googleapis.com/v1/places:searchNearby")
+                        .header("X-Goog-Api-Key", apiKey)
+                        .header("X-Goog-FieldMask", "places.displayName,places.formattedAddress,places.location,places.rating,places.currentOpeningHours,places.nationalPhoneNumber")
+                        .body(body)
+                        .retrieve()
+                        .body(String.class));
     }
 
     public String searchPlacesByText(String query, double lat, double lng) {
@@ -71,22 +103,51 @@ public class PlacesOfInterestService {
                 )
         );
 
-        String rawJson;
-        try {
-            rawJson = restClient.post()
-                    .uri("https://places.googleapis.com/v1/places:searchText")
-                    .header("X-Goog-Api-Key", apiKey)
-                    .header("X-Goog-FieldMask",
-                            "places.displayName,places.formattedAddress,places.location")
-                    .body(body)
-                    .retrieve()
-                    .body(String.class);
+        return withFallback(List.of("searchText", body), "Google Places Text Search returned an empty response",
+                () -> restClient.post()
+                        .uri("https://places.googleapis.com/v1/places:searchText")
+                        .header("X-Goog-Api-Key", apiKey)
+                        .header("X-Goog-FieldMask",
+                                "places.displayName,places.formattedAddress,places.location")
+                        .body(body)
+                        .retrieve()
+                        .body(String.class));
+    }
 
+    /**
+     * Runs {@code call} through the circuit breaker, shared with any identical call in flight, and
+     * remembers its response under {@code key}; on failure or an open circuit, returns the
+     * remembered response marked as stale or throws. 4xx responses to a bad request do not count
+     * as upstream failures.
+     */
+    private String withFallback(Object key, String failureMessage, Supplier<String> call) {
+        try {
+            String rawJson = inFlight.run(key, () -> circuitBreaker.call(call, CircuitBreaker::isClientError));
+            if (rawJson != null) {
+                synchronized (lastKnown) {
+                    lastKnown.put(key, rawJson);
+                }
+            }
+            return rawJson;
         } catch (Exception e) {
-            throw new IllegalStateException("Google Places Text Search returned an empty response", e);
+            String previous;
+            synchronized (lastKnown) {
+                previous = lastKnown.get(key);
+            }
+            if (previous == null) throw new IllegalStateException(failureMessage, e);
+            return markStale(previous);
         }
+    }
 
-        return rawJson;
+    private static String markStale(String rawJson) {
+        try {
+            JsonNode node = MAPPER.readTree(rawJson);
+            if (!(node instanceof ObjectNode object)) return rawJson;
+            object.put("stale", true);
+            return MAPPER.writeValueAsString(object);
+        } catch (JsonProcessingException e) {
+            return rawJson;
+        }
     }
 
 }
@@ -0,0 +1,75 @@
+package com.soen390.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Character trie mapping lower-cased keys to values, used for type-ahead lookups.
+ *
+ * Queries walk down to the node of the typed prefix and then visit the subtree
+ * breadth-first, so exact matches come first and shorter completions rank above
+ * longer ones. Completions of the same length come back in key order. Not thread-safe;
+ * callers guard mutations.
+ */
+final class PrefixIndex<V> {
+
+    private static final class Node<V> {
+        private final Map<Character, Node<V>> children = new TreeMap<>();
+        private final Set<V> values = new LinkedHashSet<>();
+    }
+
+    private final Node<V> root = new Node<>();
+
+    void put(String key, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+        }
+        node.values.add(value);
+    }
+
+    void remove(String key, V value) {
+        removeFrom(root, key, 0, value);
+    }
+
+    /** Returns true when {@code node} became empty and can be unlinked from its parent. */
+    private boolean removeFrom(Node<V> node, String key, int depth, V value) {
+        if (depth == key.length()) {
+            node.values.remove(value);
+        } else {
+            Node<V> child = node.children.get(key.charAt(depth));
+            if (child != null && removeFrom(child, key, depth + 1, value)) {
+                node.children.remove(key.charAt(depth));
+            }
+        }
+        return node.values.isEmpty() && node.children.isEmpty();
+    }
+
+    /** Up to {@code limit} distinct values whose key starts with {@code prefix}. */
+    List<V> search(String prefix, int limit) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null || limit <= 0) return List.of();
+
+        Set<V> found = new LinkedHashSet<>();
+        Deque<Node<V>> queue = new ArrayDeque<>();
+        queue.add(node);
+        while (!queue.isEmpty() && found.size() < limit) {
+            Node<V> current = queue.poll();
+            for (V value : current.values) {
+                found.add(value);
+                if (found.size() == limit) break;
+            }
+            queue.addAll(current.children.values());
+        }
+        return new ArrayList<>(found);
+    }
+}
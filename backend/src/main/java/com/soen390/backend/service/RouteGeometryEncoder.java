@@ -0,0 +1,107 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.object.IndoorDirectionResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes indoor route geometry in the encoded-polyline format used by Google Maps.
+ *
+ * Coordinates are quantized to {@code 1 / precision} of a floor-plan pixel, delta-encoded
+ * against the previous point and written as zig-zag 5-bit chunks offset into printable
+ * ASCII. Labels do not fit that format, so they travel in a sparse map keyed by point index.
+ * Only the labels clients act on are kept: the two endpoints, {@code TRANSITION_} markers and
+ * the connector points next to them. Corridor waypoint ids are dropped.
+ */
+public final class RouteGeometryEncoder {
+
+    /** Quantization factor: one encoded unit is a tenth of a pixel. */
+    public static final int DEFAULT_PRECISION = 10;
+
+    private static final int CHUNK_BITS = 5;
+    private static final int CHUNK_MASK = 0x1f;
+    private static final int CONTINUATION = 0x20;
+    private static final int ASCII_OFFSET = 63;
+    private static final String PREFIX_TRANSITION = "TRANSITION_";
+
+    private RouteGeometryEncoder() {
+    }
+
+    public static IndoorDirectionResponse.CompactRouteGeometry encode(
+            List<IndoorDirectionResponse.RoutePoint> points, int precision) {
+
+        StringBuilder encoded = new StringBuilder(points.size() * 6);
+        Map<Integer, String> labels = new LinkedHashMap<>();
+        long previousX = 0;
+        long previousY = 0;
+        for (int i = 0; i < points.size(); i++) {
+            IndoorDirectionResponse.RoutePoint point = points.get(i);
+            long x = Math.round(point.getX() * precision);
+            long y = Math.round(point.getY() * precision);
+            appendValue(encoded, x - previousX);
+            appendValue(encoded, y - previousY);
+            previousX = x;
+            previousY = y;
+            if (point.getLabel() != null && isKeptLabel(points, i)) {
+                labels.put(i, point.getLabel());
+            }
+        }
+        return new IndoorDirectionResponse.CompactRouteGeometry(encoded.toString(), precision, labels);
+    }
+
+    public static List<IndoorDirectionResponse.RoutePoint> decode(
+            IndoorDirectionResponse.CompactRouteGeometry geometry) {
+
+        String encoded = geometry.encoded();
+        double precision = geometry.precision();
+        List<IndoorDirectionResponse.RoutePoint> points = new ArrayList<>();
+        int[] cursor = {0};
+        long x = 0;
+        long y = 0;
+        while (cursor[0] < encoded.length()) {
+            x += readValue(encoded, cursor);
+            y += readValue(encoded, cursor);
+            points.add(new IndoorDirectionResponse.RoutePoint(
+                    x / precision, y / precision, geometry.labels().get(points.size())));
+        }
+        return points;
+    }
+
+    private static boolean isKeptLabel(List<IndoorDirectionResponse.RoutePoint> points, int index) {
+        return index == 0 || index == points.size() - 1
+                || isTransition(points, index) || isTransition(points, index - 1) || isTransition(points, index + 1);
+    }
+
+    private static boolean isTransition(List<IndoorDirectionResponse.RoutePoint> points, int index) {
+        if (index < 0 || index >= points.size()) return false;
+        String label = points.get(index).getLabel();
+        return label != null && label.startsWith(PREFIX_TRANSITION);
+    }
+
+    private static void appendValue(StringBuilder out, long value) {
+        long zigZag = value < 0 ? ~(value << 1) : value << 1;
+        while (zigZag >= CONTINUATION) {
+            out.append((char) ((CONTINUATION | (zigZag & CHUNK_MASK)) + ASCII_OFFSET));
+            zigZag >>>= CHUNK_BITS;
+        }
+        out.append((char) (zigZag + ASCII_OFFSET));
+    }
+
+    private static long readValue(String encoded, int[] cursor) {
+        long result = 0;
+        int shift = 0;
+        int chunk;
+        do {
+            if (cursor[0] >= encoded.length()) {
+                throw new IllegalArgumentException("Truncated encoded route geometry.");
+            }
+            chunk = encoded.charAt(cursor[0]++) - ASCII_OFFSET;
+            result |= (long) (chunk & CHUNK_MASK) << shift;
+            shift += CHUNK_BITS;
+        } while (chunk >= CONTINUATION);
+        return (result & 1) != 0 ? ~(result >>> 1) : result >>> 1;
+    }
+}
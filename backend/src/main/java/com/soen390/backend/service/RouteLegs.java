@@ -0,0 +1,113 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.exception.RouteTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The independent legs of one route, run concurrently under one shared deadline.
+ *
+ * Legs block on Google, so each gets its own virtual thread. A leg's exception is rethrown as is,
+ * and a leg missing the deadline raises {@link RouteTimeoutException}. Closing cancels the legs that
+ * have not started; running ones are not interrupted, since their Google call may be shared with
+ * other requests, and finish in the background.
+ */
+final class RouteLegs implements AutoCloseable {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final String description;
+    private final Duration timeout;
+    private final long deadline;
+    private final List<Future<?>> started = new ArrayList<>();
+
+    /**
+     * @param description what the legs compute, used in the timeout message
+     * @param timeout     time allowed for all legs together, counted from now
+     */
+    RouteLegs(String description, Duration timeout) {
+        this.description = description;
+        this.timeout = timeout;
+        this.deadline = System.nanoTime() + timeout.toNanos();
+    }
+
+    <T> Future<T> submit(Callable<T> leg) {
+        Future<T> future = EXECUTOR.submit(leg);
+        started.add(future);
+        return future;
+    }
+
+    /** Result of {@code leg}, waiting until the deadline at most. */
+    <T> T await(Future<T> leg) {
+        try {
+            return leg.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        } catch (TimeoutException e) {
+            throw timedOut(e);
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+    }
+
+    /**
+     * Runs {@code legs} and returns their results in order. The first failure is rethrown as soon
+     * as it happens, without waiting for slower legs.
+     */
+    <T> List<T> all(List<Callable<T>> legs) {
+        CompletionService<T> completion = new ExecutorCompletionService<>(EXECUTOR);
+        List<Future<T>> futures = new ArrayList<>(legs.size());
+        for (Callable<T> leg : legs) {
+            Future<T> future = completion.submit(leg);
+            started.add(future);
+            futures.add(future);
+        }
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Future<T> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) throw timedOut(null);
+                done.get();
+            }
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+        return futures.stream().map(Future::resultNow).toList();
+    }
+
+    @Override
+    public void close() {
+        for (Future<?> future : started) {
+            future.cancel(false);
+        }
+    }
+
+    private RouteTimeoutException timedOut(TimeoutException cause) {
+        return new RouteTimeoutException(
+                description + " took longer than " + timeout.toSeconds() + " seconds.", cause);
+    }
+
+    private static RuntimeException rethrow(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) return cause;
+        if (e.getCause() instanceof Error cause) throw cause;
+        return new IllegalStateException(e.getCause());
+    }
+
+    private IllegalStateException interrupted(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new IllegalStateException("Interrupted while computing " + description.toLowerCase(Locale.ROOT) + ".", e);
+    }
+}
@@ -0,0 +1,131 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.object.IndoorDirectionResponse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Removes redundant geometry from an indoor route before it is serialized.
+ *
+ * The route is cut into spans at every pinned point (the first and last points are
+ * always pinned). Each span goes through a collinear merge, which drops corridor
+ * points lying on the straight line between their neighbours, and then through
+ * Douglas–Peucker with a tolerance in floor-plan pixels.
+ */
+public final class RouteSimplifier {
+
+    private static final double COLLINEAR_EPSILON_PX = 1e-6d;
+
+    private RouteSimplifier() {
+    }
+
+    public static List<IndoorDirectionResponse.RoutePoint> simplify(
+            List<IndoorDirectionResponse.RoutePoint> points,
+            double tolerancePx,
+            IntPredicate pinned) {
+
+        if (points == null || points.size() < 3) return points;
+
+        int n = points.size();
+        boolean[] keep = new boolean[n];
+        int spanStart = 0;
+        for (int i = 1; i < n; i++) {
+            if (i == n - 1 || pinned.test(i)) {
+                simplifySpan(points, spanStart, i, tolerancePx, keep);
+                spanStart = i;
+            }
+        }
+
+        List<IndoorDirectionResponse.RoutePoint> result = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) result.add(points.get(i));
+        }
+        return result;
+    }
+
+    private static void simplifySpan(
+            List<IndoorDirectionResponse.RoutePoint> points,
+            int from, int to, double tolerancePx, boolean[] keep) {
+
+        keep[from] = true;
+        keep[to] = true;
+        if (to - from < 2) return;
+
+        int[] merged = collinearMerge(points, from, to);
+        if (tolerancePx <= 0d) {
+            for (int idx : merged) keep[idx] = true;
+            return;
+        }
+        douglasPeucker(points, merged, tolerancePx, keep);
+    }
+
+    /** Returns the indices of the span that are not collinear with their kept neighbours. */
+    private static int[] collinearMerge(List<IndoorDirectionResponse.RoutePoint> points, int from, int to) {
+        int[] kept = new int[to - from + 1];
+        int size = 0;
+        kept[size++] = from;
+        for (int i = from + 1; i < to; i++) {
+            IndoorDirectionResponse.RoutePoint prev = points.get(kept[size - 1]);
+            if (segmentDistance(points.get(i), prev, points.get(i + 1)) > COLLINEAR_EPSILON_PX) {
+                kept[size++] = i;
+            }
+        }
+        kept[size++] = to;
+        return Arrays.copyOf(kept, size);
+    }
+
+    private static void douglasPeucker(
+            List<IndoorDirectionResponse.RoutePoint> points,
+            int[] indices, double tolerancePx, boolean[] keep) {
+
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{0, indices.length - 1});
+
+        while (!stack.isEmpty()) {
+            int[] range = stack.pop();
+            int lo = range[0];
+            int hi = range[1];
+            if (hi - lo < 2) continue;
+
+            IndoorDirectionResponse.RoutePoint a = points.get(indices[lo]);
+            IndoorDirectionResponse.RoutePoint b = points.get(indices[hi]);
+            int farthest = -1;
+            double maxDist = tolerancePx;
+            for (int k = lo + 1; k < hi; k++) {
+                double d = segmentDistance(points.get(indices[k]), a, b);
+                if (d > maxDist) {
+                    maxDist = d;
+                    farthest = k;
+                }
+            }
+
+            if (farthest >= 0) {
+                keep[indices[farthest]] = true;
+                stack.push(new int[]{lo, farthest});
+                stack.push(new int[]{farthest, hi});
+            }
+        }
+    }
+
+    /** Distance from {@code p} to the segment {@code a}-{@code b} (not the infinite line, so U-turns survive). */
+    static double segmentDistance(
+            IndoorDirectionResponse.RoutePoint p,
+            IndoorDirectionResponse.RoutePoint a,
+            IndoorDirectionResponse.RoutePoint b) {
+
+        double dx = b.getX() - a.getX();
+        double dy = b.getY() - a.getY();
+        double lenSq = dx * dx + dy * dy;
+        double t = lenSq == 0d ? 0d
+                : ((p.getX() - a.getX()) * dx + (p.getY() - a.getY()) * dy) / lenSq;
+        t = Math.max(0d, Math.min(1d, t));
+        double px = a.getX() + t * dx - p.getX();
+        double py = a.getY() + t * dy - p.getY();
+        return Math.sqrt(px * px + py * py);
+    }
+}
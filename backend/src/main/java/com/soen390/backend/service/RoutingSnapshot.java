@@ -0,0 +1,137 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.service.strategy.AccessibilityRoutingStrategy;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, versioned set of the prepared floor walking graphs.
+ *
+ * Readers take the current snapshot once per request from {@link PathfindingService#snapshot()}
+ * and use it throughout, so a route never mixes graphs from two versions. Writers never touch a
+ * published snapshot: {@link #withFloor(String, FloorGraphs)} returns the next version, which
+ * shares every unchanged {@link FloorGraphs} with this one.
+ *
+ * A snapshot may also defer a floor's preparation to its first {@link #floor(String)} lookup, so
+ * floors that are never routed on are never loaded; that does not change the version. Deferred
+ * floors are not held by the snapshot: the function that prepares them decides how long they stay
+ * on the heap and prepares them again after evicting them.
+ */
+public final class RoutingSnapshot {
+
+    /**
+     * Read-only graphs of one floor plan, the searches prepared on them and their corridor indexes.
+     */
+    public record FloorGraphs(
+            Graph<PathfindingService.Waypoint, DefaultWeightedEdge> withStairs,
+            Graph<PathfindingService.Waypoint, DefaultWeightedEdge> withoutStairs,
+            MultiEndpointShortestPath<PathfindingService.Waypoint, DefaultWeightedEdge> search,
+            MultiEndpointShortestPath<PathfindingService.Waypoint, DefaultWeightedEdge> searchWithoutStairs,
+            CorridorIndex corridors,
+            CorridorIndex corridorsWithoutStairs) {
+
+        public Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph(AccessibilityRoutingStrategy strategy) {
+            return strategy.allowsStairs() ? withStairs : withoutStairs;
+        }
+
+        public MultiEndpointShortestPath<PathfindingService.Waypoint, DefaultWeightedEdge> search(
+                AccessibilityRoutingStrategy strategy) {
+            return strategy.allowsStairs() ? search : searchWithoutStairs;
+        }
+
+        public CorridorIndex corridors(AccessibilityRoutingStrategy strategy) {
+            return strategy.allowsStairs() ? corridors : corridorsWithoutStairs;
+        }
+    }
+
+    /** One floor's graphs, either prepared up front or looked up on every use. */
+    private static final class Slot {
+        private final String planId;
+        private final Function<String, FloorGraphs> prepare;
+        private final Predicate<String> prepared;
+        private final FloorGraphs graphs;
+
+        Slot(FloorGraphs graphs) {
+            this.planId = null;
+            this.prepare = null;
+            this.prepared = null;
+            this.graphs = graphs;
+        }
+
+        Slot(String planId, Function<String, FloorGraphs> prepare, Predicate<String> prepared) {
+            this.planId = planId;
+            this.prepare = prepare;
+            this.prepared = prepared;
+            this.graphs = null;
+        }
+
+        FloorGraphs get() {
+            return graphs != null ? graphs : prepare.apply(planId);
+        }
+
+        boolean isPrepared() {
+            return graphs != null || prepared.test(planId);
+        }
+    }
+
+    private final long version;
+    private final Map<String, Slot> floors;
+
+    RoutingSnapshot(long version, Map<String, FloorGraphs> floors) {
+        Map<String, Slot> slots = new HashMap<>();
+        floors.forEach((planId, graphs) -> slots.put(planId, new Slot(graphs)));
+        this.version = version;
+        this.floors = Map.copyOf(slots);
+    }
+
+    private RoutingSnapshot(Map<String, Slot> floors, long version) {
+        this.version = version;
+        this.floors = Map.copyOf(floors);
+    }
+
+    /**
+     * Snapshot whose floors are looked up through {@code prepare} every time, which prepares a floor
+     * on first use and again after it was evicted; {@code prepared} tells whether it is resident.
+     */
+    static RoutingSnapshot lazy(long version, Collection<String> planIds, Function<String, FloorGraphs> prepare,
+                                Predicate<String> prepared) {
+        Map<String, Slot> slots = new HashMap<>();
+        planIds.forEach(planId -> slots.put(planId, new Slot(planId, prepare, prepared)));
+        return new RoutingSnapshot(slots, version);
+    }
+
+    /** Increases by one with every published change; responses carry it so caches can key on it. */
+    public long version() {
+        return version;
+    }
+
+    /** Graphs of a floor plan, or null for unknown plans. */
+    public FloorGraphs floor(String planId) {
+        Slot slot = planId == null ? null : floors.get(planId);
+        return slot != null ? slot.get() : null;
+    }
+
+    /** Whether the graphs of a floor have been prepared; looking them up would prepare them. */
+    boolean isPrepared(String planId) {
+        Slot slot = planId == null ? null : floors.get(planId);
+        return slot != null && slot.isPrepared();
+    }
+
+    public Set<String> planIds() {
+        return floors.keySet();
+    }
+
+    /** Next version with one floor added or replaced; every other floor is shared. */
+    RoutingSnapshot withFloor(String planId, FloorGraphs graphs) {
+        Map<String, Slot> next = new HashMap<>(floors);
+        next.put(planId, new Slot(graphs));
+        return new RoutingSnapshot(next, version + 1);
+    }
+}
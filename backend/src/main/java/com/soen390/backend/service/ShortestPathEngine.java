@@ -0,0 +1,180 @@
+package com.soen390.backend.service;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.ManyToManyShortestPathsAlgorithm;
+import org.jgrapht.alg.shortestpath.CHManyToManyShortestPaths;
+import org.jgrapht.alg.shortestpath.ContractionHierarchyBidirectionalDijkstra;
+import org.jgrapht.alg.shortestpath.ContractionHierarchyPrecomputation;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.GraphWalk;
+import org.jgrapht.util.ConcurrencyUtil;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Point-to-point search engines for the floor walking graphs, selected with the
+ * {@code indoor.routing.engine} property ({@code indoor.routing.alt.landmarks} sets the ALT
+ * landmark count).
+ *
+ * {@link #prepare(Graph, int, Collection)} runs any preprocessing once, when the graph is loaded;
+ * the returned algorithm is then queried for every route. All engines return the same shortest
+ * paths, unpacked to the original graph's vertices, and also answer
+ * {@link MultiEndpointShortestPath multi-endpoint} queries. The engine only applies to single-floor
+ * searches; the cross-building overlay of {@link CampusRouter} always uses Dijkstra.
+ */
+public enum ShortestPathEngine {
+
+    /** Plain Dijkstra; no preprocessing. Multi-endpoint queries run one multi-source search. */
+    DIJKSTRA("dijkstra") {
+        @Override
+        public <V, E> MultiEndpointShortestPath<V, E> prepare(Graph<V, E> graph, int landmarks,
+                                                              Collection<V> preferredLandmarks) {
+            return new Dijkstra<>(graph);
+        }
+    },
+
+    /**
+     * Contraction hierarchy built at load time, queried with a bidirectional Dijkstra that only
+     * relaxes upward edges. Shortcut edges are unpacked, so paths are exact. Multi-endpoint queries
+     * run one upward search per source and per target over the hierarchy.
+     */
+    CONTRACTION_HIERARCHY("ch") {
+        @Override
+        public <V, E> MultiEndpointShortestPath<V, E> prepare(Graph<V, E> graph, int landmarks,
+                                                          Collection<V> preferredLandmarks) {
+            ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(PRECOMPUTATION_THREADS);
+            try {
+                ContractionHierarchyPrecomputation.ContractionHierarchy<V, E> hierarchy =
+                        new ContractionHierarchyPrecomputation<>(graph, executor).computeContractionHierarchy();
+                return new ContractionHierarchySearch<>(hierarchy);
+            } finally {
+                executor.shutdown();
+            }
+        }
+    },
+
+    /**
+     * A* with the ALT landmark bound. Distances to and from {@code landmarks} vertices are computed
+     * at load time; the preferred ones (entrances, connector shafts) are used first. Multi-endpoint
+     * queries run one A* search toward the nearest target.
+     */
+    ALT("alt") {
+        @Override
+        public <V, E> MultiEndpointShortestPath<V, E> prepare(Graph<V, E> graph, int landmarks,
+                                                          Collection<V> preferredLandmarks) {
+            return LandmarkHeuristic.build(graph, landmarks, preferredLandmarks).search(graph);
+        }
+    };
+
+    /** Landmark count used when none is configured. */
+    public static final int DEFAULT_LANDMARKS = 8;
+
+    private static final int PRECOMPUTATION_THREADS =
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private final String propertyValue;
+
+    ShortestPathEngine(String propertyValue) {
+        this.propertyValue = propertyValue;
+    }
+
+    public String getPropertyValue() {
+        return propertyValue;
+    }
+
+    /**
+     * Runs this engine's preprocessing on a graph that will not change afterwards. The landmark
+     * arguments are only used by {@link #ALT}.
+     */
+    public abstract <V, E> MultiEndpointShortestPath<V, E> prepare(Graph<V, E> graph, int landmarks,
+                                                                   Collection<V> preferredLandmarks);
+
+    public <V, E> MultiEndpointShortestPath<V, E> prepare(Graph<V, E> graph) {
+        return prepare(graph, DEFAULT_LANDMARKS, List.of());
+    }
+
+    /**
+     * Engine for a property value ("dijkstra", "ch" or the constant name), case-insensitive.
+     *
+     * @throws IllegalArgumentException for unknown values
+     */
+    public static ShortestPathEngine fromProperty(String value) {
+        String normalized = value == null ? "" : value.trim();
+        for (ShortestPathEngine engine : values()) {
+            if (engine.propertyValue.equalsIgnoreCase(normalized) || engine.name().equalsIgnoreCase(normalized)) {
+                return engine;
+            }
+        }
+        throw new IllegalArgumentException("Unknown indoor routing engine '" + value + "'; expected one of "
+                + Arrays.stream(values()).map(ShortestPathEngine::getPropertyValue).toList());
+    }
+
+    private static final class Dijkstra<V, E> implements MultiEndpointShortestPath<V, E> {
+
+        private final Graph<V, E> graph;
+        private final DijkstraShortestPath<V, E> dijkstra;
+
+        Dijkstra(Graph<V, E> graph) {
+            this.graph = graph;
+            this.dijkstra = new DijkstraShortestPath<>(graph);
+        }
+
+        @Override
+        public GraphPath<V, E> getPath(V source, V sink) {
+            return dijkstra.getPath(source, sink);
+        }
+
+        @Override
+        public double getPathWeight(V source, V sink) {
+            return dijkstra.getPathWeight(source, sink);
+        }
+
+        @Override
+        public SingleSourcePaths<V, E> getPaths(V source) {
+            return dijkstra.getPaths(source);
+        }
+
+        @Override
+        public GraphPath<V, E> getPathBetween(Map<V, Double> sources, Map<V, Double> targets) {
+            return MultiEndpointShortestPath.search(graph, (v, t) -> 0d, sources, targets);
+        }
+    }
+
+    private static final class ContractionHierarchySearch<V, E> extends ContractionHierarchyBidirectionalDijkstra<V, E>
+            implements MultiEndpointShortestPath<V, E> {
+
+        private final ContractionHierarchyPrecomputation.ContractionHierarchy<V, E> hierarchy;
+
+        ContractionHierarchySearch(ContractionHierarchyPrecomputation.ContractionHierarchy<V, E> hierarchy) {
+            super(hierarchy);
+            this.hierarchy = hierarchy;
+        }
+
+        @Override
+        public GraphPath<V, E> getPathBetween(Map<V, Double> sources, Map<V, Double> targets) {
+            ManyToManyShortestPathsAlgorithm.ManyToManyShortestPaths<V, E> paths =
+                    new CHManyToManyShortestPaths<>(hierarchy).getManyToManyPaths(sources.keySet(), targets.keySet());
+            GraphPath<V, E> best = null;
+            double bestTotal = Double.POSITIVE_INFINITY;
+            for (Map.Entry<V, Double> source : sources.entrySet()) {
+                for (Map.Entry<V, Double> target : targets.entrySet()) {
+                    GraphPath<V, E> path = source.getKey().equals(target.getKey())
+                            ? GraphWalk.singletonWalk(hierarchy.getGraph(), source.getKey(), 0d)
+                            : paths.getPath(source.getKey(), target.getKey());
+                    if (path == null) continue;
+                    double total = source.getValue() + path.getWeight() + target.getValue();
+                    if (total < bestTotal) {
+                        bestTotal = total;
+                        best = path;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+}
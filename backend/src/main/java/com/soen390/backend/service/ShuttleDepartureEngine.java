@@ -0,0 +1,147 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.object.ShuttleSchedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Shuttle departures compiled into sorted minute-of-day tables, one per campus and day type.
+ *
+ * The schedules are parsed once; queries are a binary search over an {@code int[]} and allocate
+ * nothing, except the {@code HH:mm} string of {@link #format(int)}. Monday to Thursday use the
+ * {@code weekday} tables, Friday the {@code friday} tables, and there is no service on weekends.
+ * Times are minutes since midnight; {@link #NONE} means no departure.
+ */
+public final class ShuttleDepartureEngine {
+
+    public static final int NONE = -1;
+
+    private static final int WEEKDAY = 0;
+    private static final int FRIDAY = 1;
+    private static final int[] EMPTY = new int[0];
+
+    /** Campus codes as they appear in the schedules, e.g. "SGW" and "LOY". */
+    private final List<String> campuses;
+    /** Departures by campus index, then day type. */
+    private final int[][][] tables;
+
+    private ShuttleDepartureEngine(List<String> campuses, int[][][] tables) {
+        this.campuses = campuses;
+        this.tables = tables;
+    }
+
+    /** Compiles {@code weekday} and {@code friday} schedules; other day types are ignored. */
+    public static ShuttleDepartureEngine compile(List<ShuttleSchedule> schedules) {
+        List<String> campuses = new ArrayList<>();
+        for (ShuttleSchedule schedule : schedules) {
+            String campus = schedule.getCampus().toUpperCase(Locale.ROOT);
+            if (!campuses.contains(campus)) campuses.add(campus);
+        }
+
+        int[][][] tables = new int[campuses.size()][2][];
+        for (int[][] byDay : tables) Arrays.fill(byDay, EMPTY);
+        for (ShuttleSchedule schedule : schedules) {
+            int dayType = switch (schedule.getDayType().toLowerCase(Locale.ROOT)) {
+                case "weekday" -> WEEKDAY;
+                case "friday" -> FRIDAY;
+                default -> NONE;
+            };
+            if (dayType == NONE) continue;
+            int[] minutes = schedule.getDepartureTimes().stream()
+                    .mapToInt(time -> LocalTime.parse(time).toSecondOfDay() / 60)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            tables[campuses.indexOf(schedule.getCampus().toUpperCase(Locale.ROOT))][dayType] = minutes;
+        }
+        return new ShuttleDepartureEngine(List.copyOf(campuses), tables);
+    }
+
+    /** Campus codes in the order used by {@link #nextFromEveryCampus}. */
+    public List<String> campuses() {
+        return campuses;
+    }
+
+    /** First departure from {@code campus} strictly after {@code minuteOfDay}, or {@link #NONE}. */
+    public int next(String campus, DayOfWeek day, int minuteOfDay) {
+        int[] table = table(campus, day);
+        int i = firstAfter(table, minuteOfDay);
+        return i < table.length ? table[i] : NONE;
+    }
+
+    /**
+     * Fills {@code out} with the next departures from {@code campus} after {@code minuteOfDay}, in
+     * order, and returns how many there are (at most {@code out.length}).
+     */
+    public int next(String campus, DayOfWeek day, int minuteOfDay, int[] out) {
+        int[] table = table(campus, day);
+        int from = firstAfter(table, minuteOfDay);
+        int count = Math.min(out.length, table.length - from);
+        System.arraycopy(table, from, out, 0, count);
+        return count;
+    }
+
+    /**
+     * Next departure from every campus at once: {@code out[i]} is the next departure from
+     * {@code campuses().get(i)} after {@code minuteOfDay}, or {@link #NONE}.
+     */
+    public void nextFromEveryCampus(DayOfWeek day, int minuteOfDay, int[] out) {
+        int dayType = dayType(day);
+        for (int c = 0; c < tables.length; c++) {
+            int[] table = dayType == NONE ? EMPTY : tables[c][dayType];
+            int i = firstAfter(table, minuteOfDay);
+            out[c] = i < table.length ? table[i] : NONE;
+        }
+    }
+
+    public static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /** {@code HH:mm} of a minute of the day. */
+    public static String format(int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        return new String(new char[]{
+                (char) ('0' + hour / 10), (char) ('0' + hour % 10), ':',
+                (char) ('0' + minute / 10), (char) ('0' + minute % 10)});
+    }
+
+    private int[] table(String campus, DayOfWeek day) {
+        int dayType = dayType(day);
+        int c = campus == null ? NONE : indexOf(campus);
+        return dayType == NONE || c == NONE ? EMPTY : tables[c][dayType];
+    }
+
+    private int indexOf(String campus) {
+        for (int c = 0; c < campuses.size(); c++) {
+            if (campuses.get(c).equalsIgnoreCase(campus)) return c;
+        }
+        return NONE;
+    }
+
+    private static int dayType(DayOfWeek day) {
+        return switch (day) {
+            case FRIDAY -> FRIDAY;
+            case SATURDAY, SUNDAY -> NONE;
+            default -> WEEKDAY;
+        };
+    }
+
+    /** Index of the first element greater than {@code minute}, or {@code table.length}. */
+    private static int firstAfter(int[] table, int minute) {
+        int low = 0;
+        int high = table.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (table[mid] <= minute) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
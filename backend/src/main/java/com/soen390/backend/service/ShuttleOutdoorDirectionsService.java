@@ -2,38 +2,70 @@ package com.soen390.backend.service;
 
 import com.soen390.backend.enums.*;
 import com.soen390.backend.object.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.DayOfWeek;
-import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @Service
 public class ShuttleOutdoorDirectionsService {
     static final String MINUTES = " mins";
+
     private final GoogleMapsService googleMapsService;
+    private final CampusShuttleLegs campusShuttleLegs;
+    private final ShuttleScheduleService shuttleScheduleService;
+
+    private static final ZoneId CAMPUS_ZONE = ZoneId.of("America/Montreal");
+
+    /** Campus time; the departure day and minute both come from it. */
+    private final Clock clock;
+
+    /** Time allowed for all three legs together. */
+    @Value("${shuttle.directions.deadline:PT8S}")
+    private Duration legsDeadline = Duration.ofSeconds(8);
+
+    @Autowired
+    ShuttleOutdoorDirectionsService(GoogleMapsService googleMapsService, CampusShuttleLegs campusShuttleLegs,
+                                    ShuttleScheduleService shuttleScheduleService) {
+        this(googleMapsService, campusShuttleLegs, shuttleScheduleService, Clock.system(CAMPUS_ZONE));
+    }
 
-    ShuttleOutdoorDirectionsService(GoogleMapsService googleMapsService) {
+    ShuttleOutdoorDirectionsService(GoogleMapsService googleMapsService, CampusShuttleLegs campusShuttleLegs,
+                                    ShuttleScheduleService shuttleScheduleService, Clock clock) {
         this.googleMapsService = googleMapsService;
+        this.campusShuttleLegs = campusShuttleLegs;
+        this.shuttleScheduleService = shuttleScheduleService;
+        this.clock = clock;
     }
 
     public OutdoorDirectionResponse getShuttleOutdoorDirections(String origin, String destination, Campus destinationCampus) {
-        String loyolaCoords = String.format("%f,%f", CampusConstants.LOYOLA.getLatitude(), CampusConstants.LOYOLA.getLongitude());
-        String sgwCoords = String.format("%f,%f", CampusConstants.SGW.getLatitude(), CampusConstants.SGW.getLongitude());
-
-        String destShuttleCoords = (destinationCampus == Campus.LOYOLA) ? loyolaCoords : sgwCoords;
-        String originShuttleCoords = (destinationCampus == Campus.LOYOLA) ? sgwCoords : loyolaCoords;
-
-        OutdoorDirectionResponse walkToBus = googleMapsService.getDirections(origin, originShuttleCoords, TransportMode.WALKING);
-        OutdoorDirectionResponse shuttleLeg = googleMapsService.getDirections(originShuttleCoords, destShuttleCoords, TransportMode.TRANSIT);
-        OutdoorDirectionResponse walkToDest = googleMapsService.getDirections(destShuttleCoords, destination, TransportMode.WALKING);
+        String destShuttleCoords = CampusShuttleLegs.stopCoordinates(destinationCampus);
+        String originShuttleCoords = CampusShuttleLegs.stopCoordinates(
+                destinationCampus == Campus.LOYOLA ? Campus.SGW : Campus.LOYOLA);
+
+        // The stop-to-stop leg is precomputed; it is only requested here until the first refresh succeeds.
+        Callable<OutdoorDirectionResponse> campusLeg = campusShuttleLegs.toward(destinationCampus)
+                .<Callable<OutdoorDirectionResponse>>map(leg -> () -> leg)
+                .orElse(() -> googleMapsService.getDirections(originShuttleCoords, destShuttleCoords, TransportMode.TRANSIT));
+        List<OutdoorDirectionResponse> legs = fetchLegs(List.of(
+                () -> googleMapsService.getDirections(origin, originShuttleCoords, TransportMode.WALKING),
+                campusLeg,
+                () -> googleMapsService.getDirections(destShuttleCoords, destination, TransportMode.WALKING)));
+        OutdoorDirectionResponse walkToBus = legs.get(0);
+        OutdoorDirectionResponse shuttleLeg = legs.get(1);
+        OutdoorDirectionResponse walkToDest = legs.get(2);
 
 
         int walkMins = (int) extractDouble(walkToBus.getDuration());
-        LocalTime arrivalAtStop = LocalTime.now(java.time.ZoneId.of("America/Montreal")).plusMinutes(walkMins);
+        ZonedDateTime arrivalAtStop = ZonedDateTime.now(clock).plusMinutes(walkMins);
 
         String departureLocation = (destinationCampus == Campus.LOYOLA) ? "SGW" : "LOY";
         String nextDeparture = findNextDeparture(arrivalAtStop, departureLocation);
@@ -43,7 +75,7 @@ public class ShuttleOutdoorDirectionsService {
 
         if (nextDeparture != null) {
             LocalTime departureTime = LocalTime.parse(nextDeparture);
-            waitTime = (int) java.time.Duration.between(arrivalAtStop, departureTime).toMinutes();
+            waitTime = (int) Duration.between(arrivalAtStop.toLocalTime(), departureTime).toMinutes();
             shuttleInstruction += " (Scheduled at " + nextDeparture + ")";
         } else {
 
@@ -74,33 +106,29 @@ public class ShuttleOutdoorDirectionsService {
         double totalMins = extractDouble(walkToBus.getDuration()) + waitTime + extractDouble(shuttleLeg.getDuration()) + extractDouble(walkToDest.getDuration());
         String totalDuration = (int) totalMins + MINUTES;
 
-        return new OutdoorDirectionResponse(totalDistance, totalDuration,
+        OutdoorDirectionResponse combined = new OutdoorDirectionResponse(totalDistance, totalDuration,
                 walkToBus.getPolyline() + shuttleLeg.getPolyline() + walkToDest.getPolyline(),
                 TransportMode.SHUTTLE, allSteps);
+        boolean stale = walkToBus.isStale() || shuttleLeg.isStale() || walkToDest.isStale();
+        return stale ? combined.asStale() : combined;
     }
 
-    private String findNextDeparture(LocalTime arrivalTime, String location) {
-        DayOfWeek day = LocalDate.now().getDayOfWeek();
-        List<String> schedule;
-        // the switch case does not need break because it uses the modern arrow form (case ... ->)
-        switch (day) {
-            case DayOfWeek.FRIDAY ->
-                schedule = location.equals("SGW") ? ShuttleConstants.SGW_FRIDAY : ShuttleConstants.LOY_FRIDAY;
-
-            case DayOfWeek.SATURDAY, DayOfWeek.SUNDAY -> {
-                return null;
-            }
-            default ->
-                schedule = location.equals("SGW") ? ShuttleConstants.SGW_WEEKDAY : ShuttleConstants.LOY_WEEKDAY;
-
+    /**
+     * Runs the independent leg requests concurrently and returns their responses in order, so the
+     * wait is that of the slowest leg rather than the sum. The first failure is rethrown at once,
+     * and the deadline passing raises {@link com.soen390.backend.exception.RouteTimeoutException}.
+     */
+    private List<OutdoorDirectionResponse> fetchLegs(List<Callable<OutdoorDirectionResponse>> legs) {
+        try (RouteLegs running = new RouteLegs("Shuttle directions", legsDeadline)) {
+            return running.all(legs);
         }
+    }
 
-        return schedule.stream()
-                .map(LocalTime::parse)
-                .filter(time -> time.isAfter(arrivalTime))
-                .map(time -> time.format(DateTimeFormatter.ofPattern("HH:mm")))
-                .findFirst()
-                .orElse(null);
+    /** Next departure from {@code location} after {@code arrivalTime}, on the campus day of that arrival. */
+    private String findNextDeparture(ZonedDateTime arrivalTime, String location) {
+        int next = shuttleScheduleService.getDepartureEngine()
+                .next(location, arrivalTime.getDayOfWeek(), ShuttleDepartureEngine.minuteOfDay(arrivalTime.toLocalTime()));
+        return next == ShuttleDepartureEngine.NONE ? null : ShuttleDepartureEngine.format(next);
     }
 
     private String sumMetricStrings(String s1, String s2, String s3, String unit) {
@@ -12,16 +12,23 @@ public class ShuttleScheduleService {
 
     private final List<ShuttleSchedule> schedules;
     private final long version;
+    private final ShuttleDepartureEngine departureEngine;
 
     public ShuttleScheduleService() {
         this.version = 1L;
         this.schedules = buildSchedules();
+        this.departureEngine = ShuttleDepartureEngine.compile(schedules);
     }
 
     public List<ShuttleSchedule> getSchedules() {
         return schedules;
     }
 
+    /** The schedules compiled once for next-departure queries. */
+    public ShuttleDepartureEngine getDepartureEngine() {
+        return departureEngine;
+    }
+
     public long getVersion() {
         return version;
     }
@@ -2,106 +2,140 @@ package com.soen390.backend.service;
 
 import com.soen390.backend.enums.BuildingLocation;
 import com.soen390.backend.enums.TransportMode;
+import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.exception.IndoorResourceNotFoundException;
+import com.soen390.backend.exception.RouteTimeoutException;
+import com.soen390.backend.model.BuildingRegistry;
 import com.soen390.backend.object.IndoorDirectionResponse;
 import com.soen390.backend.object.OutdoorDirectionResponse;
-import com.soen390.backend.object.ShuttleSchedule;
 import com.soen390.backend.object.UniversalDirectionResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 @Service
 public class UniversalRoutingService {
 
+    private static final BuildingRegistry BUILDINGS = BuildingRegistry.getDefault();
+
     private final IndoorDirectionService indoorDirectionService;
     private final GoogleMapsService googleMapsService;
     private final ShuttleScheduleService shuttleScheduleService;
 
+    private static final ZoneId CAMPUS_ZONE = ZoneId.of("America/Montreal");
+
+    /** Campus time, for the next shuttle departure. */
+    private final Clock clock;
+
+    /** Time allowed for all legs of a route together. */
+    @Value("${universal.route.deadline:PT6S}")
+    private Duration routeDeadline = Duration.ofSeconds(6);
+
+    @Autowired
     public UniversalRoutingService(IndoorDirectionService indoorDirectionService,
                                    GoogleMapsService googleMapsService,
                                    ShuttleScheduleService shuttleScheduleService) {
+        this(indoorDirectionService, googleMapsService, shuttleScheduleService, Clock.system(CAMPUS_ZONE));
+    }
+
+    UniversalRoutingService(IndoorDirectionService indoorDirectionService, GoogleMapsService googleMapsService,
+                            ShuttleScheduleService shuttleScheduleService, Clock clock) {
         this.indoorDirectionService = indoorDirectionService;
         this.googleMapsService = googleMapsService;
         this.shuttleScheduleService = shuttleScheduleService;
+        this.clock = clock;
     }
 
-    private String getBuildingEntranceId(String buildingId) {
-        if (buildingId == null) return "main-entrance";
-
-
-        if (buildingId.startsWith("H")) return "H1-Maisonneuve-Entry";
-        if (buildingId.startsWith("CC")) return "CC-Entrance-Exit";
-        if (buildingId.startsWith("LB")) return "LB2-Emergency-Exit-1";
-
-        if (buildingId.startsWith("VE")) return "VE1-Entrance/exit";
-        if (buildingId.startsWith("VL")) return "VL-101";
-        if (buildingId.startsWith("MB")) return "MB1-Main-Entrance";
-
-        return "main-entrance";
-    }
-
-    private String getBuildingEntranceFloor(String buildingId) {
-        if (buildingId == null) return "1";
-
-        if (buildingId.startsWith("LB")) return "2";
-
-        return "1";
+    /**
+     * Indoor-mapped building whose entrance the indoor legs start or end at. Buildings without a
+     * floor plan (such as HB and HU) have no entrance waypoint to route to, so they are rejected.
+     */
+    private static BuildingRegistry.Building indoorBuilding(String buildingId) {
+        return BUILDINGS.find(buildingId)
+                .filter(building -> building.entranceId() != null && building.entranceFloor() != null)
+                .orElseThrow(() -> new IndoorResourceNotFoundException(
+                        "No indoor map with an entrance is available for building " + buildingId + "."));
     }
 
+    /**
+     * Route from a room in one building to a room in another. The two indoor legs, the outdoor leg
+     * and the shuttle lookup do not depend on each other and run concurrently under one deadline.
+     * Legs still running when the call returns are not interrupted, since the outdoor leg's Google
+     * call may be shared with other requests; they finish in the background.
+     *
+     * A building without an indoor map is rejected with {@link IndoorResourceNotFoundException}.
+     * An indoor leg failure is rethrown, and an indoor leg missing the deadline raises
+     * {@link RouteTimeoutException}. When the outdoor directions time out or Google is
+     * unavailable, the indoor legs are still returned in a response marked degraded.
+     */
     public UniversalDirectionResponse getCompleteRoute(
             String startBuilding, String startRoom, String startFloor,
             String endBuilding, String endRoom, String endFloor,
             boolean avoidStairs) {
 
+        Optional<IndoorDirectionService.ConnectedIndoorRoute> connected =
+                indoorDirectionService.getConnectedIndoorDirections(
+                        startBuilding, startRoom, startFloor, endBuilding, endRoom, endFloor, avoidStairs);
+        if (connected.isPresent()) {
+            return UniversalDirectionResponse.connected(connected.get().legs(), connected.get().connections(),
+                    "Approx " + connected.get().duration() + " indoors.");
+        }
+
         BuildingLocation originLoc = BuildingLocation.fromId(startBuilding);
         BuildingLocation destLoc = BuildingLocation.fromId(endBuilding);
 
-        String startExitId = getBuildingEntranceId(startBuilding);
-        String endEntranceId = getBuildingEntranceId(endBuilding);
-
-        String startGroundFloor = getBuildingEntranceFloor(startBuilding);
-        String endGroundFloor = getBuildingEntranceFloor(endBuilding);
+        BuildingRegistry.Building origin = indoorBuilding(startBuilding);
+        BuildingRegistry.Building destination = indoorBuilding(endBuilding);
+        String startExitId = origin.entranceId();
+        String endEntranceId = destination.entranceId();
 
-        IndoorDirectionResponse leg1 = indoorDirectionService.getIndoorDirections(
-                startBuilding, startRoom, startExitId, startFloor, startGroundFloor, avoidStairs);
+        String startGroundFloor = origin.entranceFloor();
+        String endGroundFloor = destination.entranceFloor();
 
         boolean sameCampus = originLoc.campus.equals(destLoc.campus);
         TransportMode mode = sameCampus ? TransportMode.WALKING : TransportMode.TRANSIT;
 
-        OutdoorDirectionResponse leg2 = googleMapsService.getDirections(
-                originLoc.getDirectionsTarget(), destLoc.getDirectionsTarget(), mode);
-
-        String nextShuttle = null;
-        if (!sameCampus) {
-            nextShuttle = getNextShuttleTime(originLoc.campus);
+        try (RouteLegs legs = new RouteLegs("Route", routeDeadline)) {
+            Future<IndoorDirectionResponse> leg1 = legs.submit(() -> indoorDirectionService.getIndoorDirections(
+                    startBuilding, startRoom, startExitId, startFloor, startGroundFloor, avoidStairs));
+            Future<OutdoorDirectionResponse> leg2 = legs.submit(() -> googleMapsService.getDirections(
+                    originLoc.getDirectionsTarget(), destLoc.getDirectionsTarget(), mode));
+            Future<String> nextShuttle = sameCampus
+                    ? CompletableFuture.completedFuture(null)
+                    : legs.submit(() -> getNextShuttleTime(originLoc.campus));
+            Future<IndoorDirectionResponse> leg3 = legs.submit(() -> indoorDirectionService.getIndoorDirections(
+                    endBuilding, endEntranceId, endRoom, endGroundFloor, endFloor, avoidStairs));
+
+            IndoorDirectionResponse start = legs.await(leg1);
+            IndoorDirectionResponse end = legs.await(leg3);
+            String shuttle = legs.await(nextShuttle);
+
+            OutdoorDirectionResponse outdoor;
+            try {
+                outdoor = legs.await(leg2);
+            } catch (RouteTimeoutException | GoogleMapsDirectionsApiException e) {
+                return UniversalDirectionResponse.withoutOutdoorRoute(start, end, shuttle,
+                        "Outdoor directions are temporarily unavailable; indoor walking time only.");
+            }
+            return new UniversalDirectionResponse(start, outdoor, end, shuttle,
+                    calculateTotalDuration(outdoor.getDuration()));
         }
-
-        IndoorDirectionResponse leg3 = indoorDirectionService.getIndoorDirections(
-                endBuilding, endEntranceId, endRoom, endGroundFloor, endFloor, avoidStairs);
-
-        String totalDuration = calculateTotalDuration(leg2.getDuration());
-
-        return new UniversalDirectionResponse(leg1, leg2, leg3, nextShuttle, totalDuration);
     }
 
     private String getNextShuttleTime(String fromCampus) {
-        LocalTime now = LocalTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
-
-        List<ShuttleSchedule> schedules = shuttleScheduleService.getSchedules();
-        for (ShuttleSchedule schedule : schedules) {
-            if (schedule.getCampus().equalsIgnoreCase(fromCampus) && schedule.getDayType().equalsIgnoreCase("weekday")) {
-                for (String timeStr : schedule.getDepartureTimes()) {
-                    LocalTime shuttleTime = LocalTime.parse(timeStr, formatter);
-                    if (shuttleTime.isAfter(now)) {
-                        return timeStr;
-                    }
-                }
-            }
-        }
-        return "No more shuttles today";
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        int next = shuttleScheduleService.getDepartureEngine()
+                .next(fromCampus, now.getDayOfWeek(), ShuttleDepartureEngine.minuteOfDay(now.toLocalTime()));
+        return next == ShuttleDepartureEngine.NONE ? "No more shuttles today" : ShuttleDepartureEngine.format(next);
     }
 
     private String calculateTotalDuration(String dur2) {
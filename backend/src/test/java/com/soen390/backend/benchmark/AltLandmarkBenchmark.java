@@ -0,0 +1,82 @@
+package com.soen390.backend.benchmark;
+
+import com.soen390.backend.service.PathfindingService;
+import com.soen390.backend.service.ShortestPathEngine;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speed side of the ALT landmark trade-off on the synthetic campus: query time per landmark count.
+ * The memory side is printed in setup; the distance tables take
+ * {@code landmarks x vertices x 8} bytes on the undirected walking graphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AltLandmarkBenchmark {
+
+    private static final int QUERIES = 512;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int landmarks;
+
+    private ShortestPathAlgorithm<PathfindingService.Waypoint, DefaultWeightedEdge> search;
+    private PathfindingService.Waypoint[] sources;
+    private PathfindingService.Waypoint[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph =
+                RoutingEngineBenchmark.syntheticCampus(6, 40, 40, 8);
+        search = ShortestPathEngine.ALT.prepare(graph, landmarks, List.of());
+        System.out.printf("ALT tables: %d landmarks x %d vertices = %d KB%n", landmarks,
+                graph.vertexSet().size(), (long) landmarks * graph.vertexSet().size() * Double.BYTES / 1024);
+
+        List<PathfindingService.Waypoint> vertices = new ArrayList<>(graph.vertexSet());
+        Random random = new Random(42);
+        sources = new PathfindingService.Waypoint[QUERIES];
+        targets = new PathfindingService.Waypoint[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = vertices.get(random.nextInt(vertices.size()));
+            targets[i] = vertices.get(random.nextInt(vertices.size()));
+        }
+    }
+
+    @Benchmark
+    public GraphPath<PathfindingService.Waypoint, DefaultWeightedEdge> query() {
+        int i = next++ & (QUERIES - 1);
+        return search.getPath(sources[i], targets[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AltLandmarkBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
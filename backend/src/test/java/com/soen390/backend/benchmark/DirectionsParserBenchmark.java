@@ -0,0 +1,116 @@
+package com.soen390.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soen390.backend.enums.ManeuverType;
+import com.soen390.backend.enums.TransportMode;
+import com.soen390.backend.object.OutdoorDirectionResponse;
+import com.soen390.backend.object.RouteStep;
+import com.soen390.backend.service.DirectionsResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a Google Directions response: the streaming {@link DirectionsResponseParser}
+ * against the previous approach, a new {@code ObjectMapper} and a full {@code readTree} per call
+ * plus a regex tag strip per step.
+ *
+ * The inputs are the Directions responses under {@code src/test/resources/google}: a walking route,
+ * and a transit route with alternatives and nested transit details, most of which the app ignores.
+ *
+ * Not part of the unit test run; start it with {@link #main(String[])} from the IDE, or with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main DirectionsParserBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectionsParserBenchmark {
+
+    @Param({"walking", "transit"})
+    public String response;
+
+    private String json;
+    private TransportMode mode;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        json = load(response);
+        mode = TransportMode.valueOf(response.toUpperCase());
+    }
+
+    @Benchmark
+    public OutdoorDirectionResponse streaming() {
+        return DirectionsResponseParser.parse(json, mode);
+    }
+
+    @Benchmark
+    public OutdoorDirectionResponse tree() throws IOException {
+        return parseWithTree(json, mode);
+    }
+
+    /** Reads {@code google/directions-<name>.json} from the test classpath. */
+    public static String load(String name) {
+        String resource = "google/directions-" + name + ".json";
+        try (InputStream is = DirectionsParserBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            if (is == null) throw new IllegalStateException("Missing test resource " + resource);
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The tree-based mapping the streaming parser replaced, kept as the baseline; OK responses only. */
+    public static OutdoorDirectionResponse parseWithTree(String json, TransportMode mode) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(json);
+        JsonNode route = root.path("routes").get(0);
+        JsonNode leg = route.path("legs").get(0);
+
+        List<RouteStep> steps = new ArrayList<>();
+        for (JsonNode step : leg.path("steps")) {
+            ManeuverType maneuver = step.path("maneuver").isTextual()
+                    ? ManeuverType.fromString(step.path("maneuver").asText())
+                    : ManeuverType.STRAIGHT;
+            steps.add(new RouteStep(
+                    step.path("html_instructions").asText().replaceAll("<[^>]*>", ""),
+                    step.path("distance").path("text").asText(),
+                    step.path("duration").path("text").asText(),
+                    maneuver,
+                    step.path("polyline").path("points").asText()));
+        }
+        return new OutdoorDirectionResponse(
+                leg.path("distance").path("text").asText(),
+                leg.path("duration").path("text").asText(),
+                route.path("overview_polyline").path("points").asText(),
+                mode, steps);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DirectionsParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
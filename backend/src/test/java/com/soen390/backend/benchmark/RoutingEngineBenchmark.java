@@ -0,0 +1,134 @@
+package com.soen390.backend.benchmark;
+
+import com.soen390.backend.service.PathfindingService;
+import com.soen390.backend.service.ShortestPathEngine;
+import com.soen390.backend.service.strategy.StairsAllowedStrategy;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-to-point query cost of the indoor routing engines.
+ *
+ * "real" queries random waypoint pairs on the largest shipped floor plan; "synthetic" queries a
+ * generated campus of stacked corridor grids joined by connector shafts, which is closer to the
+ * size of a merged multi-building graph. Preprocessing is done in setup and is not measured.
+ *
+ * Not part of the unit test run; start it with {@link #main(String[])} from the IDE, or with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main RoutingEngineBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingEngineBenchmark {
+
+    private static final int QUERIES = 512;
+
+    @Param({"dijkstra", "ch", "alt"})
+    public String engine;
+
+    @Param({"real", "synthetic"})
+    public String campus;
+
+    private ShortestPathAlgorithm<PathfindingService.Waypoint, DefaultWeightedEdge> search;
+    private PathfindingService.Waypoint[] sources;
+    private PathfindingService.Waypoint[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph =
+                "real".equals(campus) ? largestFloor() : syntheticCampus(6, 40, 40, 8);
+        search = ShortestPathEngine.fromProperty(engine).prepare(graph);
+
+        List<PathfindingService.Waypoint> vertices = new ArrayList<>(graph.vertexSet());
+        Random random = new Random(42);
+        sources = new PathfindingService.Waypoint[QUERIES];
+        targets = new PathfindingService.Waypoint[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = vertices.get(random.nextInt(vertices.size()));
+            targets[i] = vertices.get(random.nextInt(vertices.size()));
+        }
+    }
+
+    @Benchmark
+    public GraphPath<PathfindingService.Waypoint, DefaultWeightedEdge> query() {
+        int i = next++ & (QUERIES - 1);
+        return search.getPath(sources[i], targets[i]);
+    }
+
+    private static Graph<PathfindingService.Waypoint, DefaultWeightedEdge> largestFloor() {
+        PathfindingService pathfinding = new PathfindingService();
+        Graph<PathfindingService.Waypoint, DefaultWeightedEdge> largest = null;
+        for (String planId : pathfinding.getFloorPlanIds()) {
+            Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph =
+                    pathfinding.getGraph(planId, StairsAllowedStrategy.INSTANCE);
+            if (graph != null && (largest == null || graph.vertexSet().size() > largest.vertexSet().size())) {
+                largest = graph;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * {@code floors} grids of {@code width x height} waypoints spaced 20 px apart, with 4-neighbour
+     * corridors and a vertical shaft every {@code shaftSpacing} cells in both directions.
+     */
+    public static Graph<PathfindingService.Waypoint, DefaultWeightedEdge> syntheticCampus(
+            int floors, int width, int height, int shaftSpacing) {
+        SimpleWeightedGraph<PathfindingService.Waypoint, DefaultWeightedEdge> graph =
+                new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Random random = new Random(7);
+        PathfindingService.Waypoint[][][] grid = new PathfindingService.Waypoint[floors][width][height];
+        for (int f = 0; f < floors; f++) {
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    grid[f][x][y] = new PathfindingService.Waypoint(x * 20d, y * 20d, f + "-" + x + "-" + y);
+                    graph.addVertex(grid[f][x][y]);
+                    if (x > 0) connect(graph, grid[f][x - 1][y], grid[f][x][y], 20d + random.nextDouble() * 10d);
+                    if (y > 0) connect(graph, grid[f][x][y - 1], grid[f][x][y], 20d + random.nextDouble() * 10d);
+                    if (f > 0 && x % shaftSpacing == 0 && y % shaftSpacing == 0) {
+                        connect(graph, grid[f - 1][x][y], grid[f][x][y], 100d);
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+
+    private static void connect(Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph,
+                                PathfindingService.Waypoint a, PathfindingService.Waypoint b, double weight) {
+        graph.setEdgeWeight(graph.addEdge(a, b), weight);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoutingEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.soen390.backend.benchmark;
+
+import com.soen390.backend.object.ShuttleConstants;
+import com.soen390.backend.service.ShuttleDepartureEngine;
+import com.soen390.backend.service.ShuttleScheduleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a next-shuttle lookup: the compiled {@link ShuttleDepartureEngine} against the previous
+ * approach, parsing the {@link ShuttleConstants} strings with {@code LocalTime.parse} and a stream
+ * on every request. Also measures the next departure from both campuses at once.
+ *
+ * Not part of the unit test run; start it with {@link #main(String[])} from the IDE, or with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main ShuttleDepartureBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShuttleDepartureBenchmark {
+
+    /** Early in the day scans few departures; late in the day scans most of them. */
+    @Param({"09:20", "18:00"})
+    public String time;
+
+    private LocalTime arrival;
+    private int minute;
+    private ShuttleDepartureEngine engine;
+    private int[] bothCampuses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        arrival = LocalTime.parse(time);
+        minute = ShuttleDepartureEngine.minuteOfDay(arrival);
+        engine = new ShuttleScheduleService().getDepartureEngine();
+        bothCampuses = new int[engine.campuses().size()];
+    }
+
+    @Benchmark
+    public String engine() {
+        return ShuttleDepartureEngine.format(engine.next("SGW", DayOfWeek.MONDAY, minute));
+    }
+
+    @Benchmark
+    public String parseAndStream() {
+        return ShuttleConstants.SGW_WEEKDAY.stream()
+                .map(LocalTime::parse)
+                .filter(departure -> departure.isAfter(arrival))
+                .map(departure -> departure.format(DateTimeFormatter.ofPattern("HH:mm")))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    public int[] engineBothCampuses() {
+        engine.nextFromEveryCampus(DayOfWeek.MONDAY, minute, bothCampuses);
+        return bothCampuses;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ShuttleDepartureBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
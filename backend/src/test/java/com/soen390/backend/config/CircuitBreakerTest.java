@@ -0,0 +1,196 @@
+package com.soen390.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-10-19T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private CircuitBreaker breaker(CircuitBreaker.Settings settings) {
+        return new CircuitBreaker("directions", settings, registry, clock);
+    }
+
+    private static CircuitBreaker.Settings settings(int windowSize, int minimumCalls) {
+        return new CircuitBreaker.Settings(windowSize, minimumCalls, 50, Duration.ofSeconds(3), 80,
+                Duration.ofSeconds(30), 2);
+    }
+
+    private String succeed() {
+        calls.incrementAndGet();
+        return "ok";
+    }
+
+    private String fail() {
+        calls.incrementAndGet();
+        throw new IllegalStateException("upstream down");
+    }
+
+    @Test
+    void opensAtTheFailureRateThenRejectsWithoutCalling() {
+        CircuitBreaker breaker = breaker(settings(4, 4));
+
+        breaker.call(this::succeed);
+        breaker.call(this::succeed);
+        assertThrows(IllegalStateException.class, () -> breaker.call(this::fail));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertThrows(IllegalStateException.class, () -> breaker.call(this::fail));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertThrows(CircuitBreaker.OpenException.class, () -> breaker.call(this::succeed));
+        assertEquals(4, calls.get());
+        assertEquals(1d, registry.get("google.circuit.calls").tag("outcome", "rejected").counter().count());
+        assertEquals(1d, registry.get("google.circuit.state").tag("upstream", "directions").gauge().value());
+    }
+
+    @Test
+    void opensOnSlowCallsEvenWhenTheyAllSucceed() {
+        CircuitBreaker breaker = breaker(settings(5, 5));
+
+        for (int i = 0; i < 4; i++) {
+            breaker.call(() -> {
+                clock.advance(Duration.ofSeconds(4));
+                return succeed();
+            });
+        }
+        breaker.call(this::succeed);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(4d, registry.get("google.circuit.calls").tag("outcome", "slow").counter().count());
+    }
+
+    @Test
+    void halfOpenTrialsCloseOrReopenTheCircuit() {
+        CircuitBreaker breaker = breaker(settings(2, 2));
+        assertThrows(IllegalStateException.class, () -> breaker.call(this::fail));
+        assertThrows(IllegalStateException.class, () -> breaker.call(this::fail));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertThrows(IllegalStateException.class, () -> breaker.call(this::fail));
+        breaker.call(this::succeed);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        clock.advance(Duration.ofSeconds(30));
+        breaker.call(this::succeed);
+        breaker.call(this::succeed);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void ignoredExceptionsCountAsSuccesses() {
+        CircuitBreaker breaker = breaker(settings(2, 2));
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class,
+                    () -> breaker.call(this::fail, IllegalStateException.class::isInstance));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void cancelledCallsAreNotRecorded_butSocketTimeoutsAre() {
+        CircuitBreaker breaker = breaker(settings(2, 2));
+
+        assertThrows(CancellationException.class, () -> breaker.call(() -> {
+            throw new CancellationException("caller gave up");
+        }));
+        assertThrows(ResourceAccessException.class, () -> breaker.call(() -> {
+            throw new ResourceAccessException("I/O error", new InterruptedIOException("interrupted"));
+        }));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(2d, registry.get("google.circuit.calls").tag("outcome", "cancelled").counter().count());
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ResourceAccessException.class, () -> breaker.call(() -> {
+                throw new ResourceAccessException("Read timed out", new SocketTimeoutException("Read timed out"));
+            }));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void cancelledHalfOpenTrial_freesItsSlot() {
+        CircuitBreaker breaker = breaker(settings(2, 2));
+        assertThrows(IllegalStateException.class, () -> breaker.call(this::fail));
+        assertThrows(IllegalStateException.class, () -> breaker.call(this::fail));
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThrows(CancellationException.class, () -> breaker.call(() -> {
+            throw new CancellationException("caller gave up");
+        }));
+        assertThrows(CancellationException.class, () -> breaker.call(() -> {
+            throw new CancellationException("caller gave up");
+        }));
+        breaker.call(this::succeed);
+        breaker.call(this::succeed);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void isClientError_acceptsRejectedRequestsButNotThrottling() {
+        assertTrue(CircuitBreaker.isClientError(
+                HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null)));
+        assertTrue(CircuitBreaker.isClientError(
+                HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null)));
+        assertFalse(CircuitBreaker.isClientError(
+                HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null)));
+        assertFalse(CircuitBreaker.isClientError(
+                HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null)));
+        assertFalse(CircuitBreaker.isClientError(new IllegalStateException("upstream down")));
+    }
+
+    @Test
+    void settings_clampSampleSizesToTheWindow() {
+        CircuitBreaker.Settings settings = new CircuitBreaker.Settings(5, 10, 50, Duration.ofSeconds(1), 80,
+                Duration.ofSeconds(1), 8);
+
+        assertEquals(5, settings.minimumCalls());
+        assertEquals(5, settings.halfOpenCalls());
+        assertThrows(IllegalArgumentException.class, () -> settings(0, 1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.soen390.backend.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundHttpClientsTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment();
+    private OutboundHttpClients clients;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            byte[] body = "{\"status\":\"OK\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        clients = new OutboundHttpClients(environment, registry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        clients.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void requestFactory_reusesPooledConnections() {
+        RestTemplate rest = new RestTemplate(clients.requestFactory(OutboundHttpClients.Upstream.DIRECTIONS));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("{\"status\":\"OK\"}", rest.getForObject(baseUrl + "/ok", String.class));
+        }
+
+        assertEquals(3, registry.get("outbound.http.requests").tag("upstream", "directions").counter().count());
+        assertEquals(1, registry.get("outbound.http.connections.opened").tag("upstream", "directions").counter().count());
+        assertNotNull(registry.find("httpcomponents.httpclient.pool.total.max").tag("httpclient", "directions").gauge());
+    }
+
+    @Test
+    void requestFactory_abortsResponsesSlowerThanTheUpstreamTimeout() {
+        environment.setProperty("outbound.http.places.response-timeout", "200ms");
+        RestTemplate rest = new RestTemplate(clients.requestFactory(OutboundHttpClients.Upstream.PLACES));
+
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> rest.getForObject(baseUrl + "/slow", String.class));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 900);
+    }
+
+    @Test
+    void settings_fallBackToUpstreamDefaults() {
+        environment.setProperty("outbound.http.oauth.max-connections", "3");
+
+        OutboundHttpClients.Settings oauth = clients.settings(OutboundHttpClients.Upstream.OAUTH);
+        OutboundHttpClients.Settings calendar = clients.settings(OutboundHttpClients.Upstream.CALENDAR);
+
+        assertEquals(3, oauth.maxConnections());
+        assertEquals(10, calendar.maxConnections());
+        assertEquals(Duration.ofSeconds(10), calendar.responseTimeout());
+        assertEquals(calendar.connectTimeout(), calendar.poolTimeout());
+    }
+}
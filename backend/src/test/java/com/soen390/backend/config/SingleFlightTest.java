@@ -0,0 +1,128 @@
+package com.soen390.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> flight = new SingleFlight<>("directions", registry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double count(String result) {
+        return registry.get("google.singleflight.calls").tag("result", result).counter().count();
+    }
+
+    /** Starts {@code callers} identical calls that block until every follower has joined the first. */
+    private List<Future<String>> startBlockedCalls(int callers, CountDownLatch release, RuntimeException failure)
+            throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> flight.run("SGW->LOY", () -> {
+                calls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failure != null) throw failure;
+                return "route";
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("shared") < callers - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return results;
+    }
+
+    @Test
+    void concurrentIdenticalCalls_shareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = startBlockedCalls(6, release, null);
+
+        release.countDown();
+        for (Future<String> result : results) {
+            assertEquals("route", result.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(1d, count("executed"));
+        assertEquals(5d, count("shared"));
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void failure_isRethrownToEveryWaitingCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("upstream down");
+        List<Future<String>> results = startBlockedCalls(3, release, failure);
+
+        release.countDown();
+        for (Future<String> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void interruptedCaller_abandonsItsWaitButNotTheSharedCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger upstreamInterrupted = new AtomicInteger();
+        Future<String> leader = executor.submit(() -> flight.run("SGW->LOY", () -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                upstreamInterrupted.incrementAndGet();
+            }
+            return "route";
+        }));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Future<String> follower = executor.submit(() -> flight.run("SGW->LOY", () -> "own"));
+        while (count("shared") < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        leader.cancel(true);
+        release.countDown();
+
+        assertEquals("route", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(0, upstreamInterrupted.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void sequentialCalls_andDifferentKeys_areNotCoalesced() {
+        flight.run("SGW->LOY", () -> "first");
+        String second = flight.run("SGW->LOY", () -> "second");
+        flight.run("LOY->SGW", () -> "other");
+
+        assertEquals("second", second);
+        assertEquals(3d, count("executed"));
+        assertEquals(0d, count("shared"));
+    }
+}
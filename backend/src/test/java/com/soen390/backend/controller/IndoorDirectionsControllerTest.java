@@ -1,7 +1,11 @@
 package com.soen390.backend.controller;
 
 import com.soen390.backend.object.IndoorDirectionResponse;
+import com.soen390.backend.object.IndoorRouteAlternative;
+import com.soen390.backend.object.IndoorSearchResult;
+import com.soen390.backend.object.RouteSimplificationOptions;
 import com.soen390.backend.service.IndoorDirectionService;
+import com.soen390.backend.service.IndoorSearchService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -25,6 +29,9 @@ class IndoorDirectionsControllerTest {
     @MockitoBean
     private IndoorDirectionService indoorDirectionService;
 
+    @MockitoBean
+    private IndoorSearchService indoorSearchService;
+
     @Test
     void getIndoorDirections_returnsOkWithRoute() throws Exception {
         IndoorDirectionResponse mockResponse = new IndoorDirectionResponse(
@@ -38,7 +45,8 @@ class IndoorDirectionsControllerTest {
                 ));
 
         when(indoorDirectionService.getIndoorDirections(
-                eq("Hall-8"), eq("H8-843"), eq("H8-807"), eq("8"), eq("8"), eq(false)))
+                eq("Hall-8"), eq("H8-843"), eq("H8-807"), eq("8"), eq("8"), eq(false),
+                eq(RouteSimplificationOptions.NONE)))
                 .thenReturn(mockResponse);
 
         mockMvc.perform(get("/api/directions/indoor")
@@ -165,7 +173,8 @@ class IndoorDirectionsControllerTest {
                 List.of(), List.of());
 
         when(indoorDirectionService.getIndoorDirections(
-                eq("Hall-8"), eq("H8-843"), eq("H8-999"), eq("8"), eq("8"), eq(false)))
+                eq("Hall-8"), eq("H8-843"), eq("H8-999"), eq("8"), eq("8"), eq(false),
+                eq(RouteSimplificationOptions.NONE)))
                 .thenReturn(emptyRouteResponse);
 
         mockMvc.perform(get("/api/directions/indoor")
@@ -178,6 +187,90 @@ class IndoorDirectionsControllerTest {
                 .andExpect(jsonPath("$.error", containsString("No route found")));
     }
 
+    @Test
+    void getIndoorDirections_simplifyFlag_passesToleranceToService() throws Exception {
+        IndoorDirectionResponse mockResponse = new IndoorDirectionResponse(
+                "—", "—",
+                new IndoorDirectionResponse.BuildingInfo("Hall Building", "Hall-8", "8", "8"),
+                List.of(),
+                List.of(
+                        new IndoorDirectionResponse.RoutePoint(100, 200, "H8-843"),
+                        new IndoorDirectionResponse.RoutePoint(200, 300, "H8-807")
+                ));
+
+        when(indoorDirectionService.getIndoorDirections(
+                eq("Hall-8"), eq("H8-843"), eq("H8-807"), eq("8"), eq("8"), eq(false),
+                eq(RouteSimplificationOptions.withTolerance(5.0))))
+                .thenReturn(mockResponse);
+
+        mockMvc.perform(get("/api/directions/indoor")
+                        .param("buildingId", "Hall-8")
+                        .param("origin", "H8-843")
+                        .param("destination", "H8-807")
+                        .param("originFloor", "8")
+                        .param("destinationFloor", "8")
+                        .param("simplify", "true")
+                        .param("simplifyTolerance", "5.0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints", hasSize(2)));
+    }
+
+    @Test
+    void getIndoorDirections_compactFormat_returnsEncodedGeometry() throws Exception {
+        IndoorDirectionResponse mockResponse = new IndoorDirectionResponse(
+                "—", "—",
+                new IndoorDirectionResponse.BuildingInfo("Hall Building", "Hall-8", "8", "8"),
+                List.of(),
+                List.of(
+                        new IndoorDirectionResponse.RoutePoint(100, 200, "H8-843"),
+                        new IndoorDirectionResponse.RoutePoint(150, 250),
+                        new IndoorDirectionResponse.RoutePoint(200, 300, "H8-807")
+                ));
+
+        when(indoorDirectionService.getIndoorDirections(
+                eq("Hall-8"), eq("H8-843"), eq("H8-807"), eq("8"), eq("8"), eq(false),
+                eq(RouteSimplificationOptions.NONE)))
+                .thenReturn(mockResponse);
+
+        mockMvc.perform(get("/api/directions/indoor")
+                        .param("buildingId", "Hall-8")
+                        .param("origin", "H8-843")
+                        .param("destination", "H8-807")
+                        .param("originFloor", "8")
+                        .param("destinationFloor", "8")
+                        .param("format", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints").doesNotExist())
+                .andExpect(jsonPath("$.routeGeometry.precision", is(10)))
+                .andExpect(jsonPath("$.routeGeometry.encoded", not(emptyString())))
+                .andExpect(jsonPath("$.routeGeometry.labels['0']", is("H8-843")))
+                .andExpect(jsonPath("$.routeGeometry.labels['2']", is("H8-807")))
+                .andExpect(jsonPath("$.routeGeometry.labels['1']").doesNotExist());
+    }
+
+    @Test
+    void getIndoorDirections_unknownFormat_returns400() throws Exception {
+        mockMvc.perform(get("/api/directions/indoor")
+                        .param("buildingId", "Hall-8")
+                        .param("origin", "H8-843")
+                        .param("destination", "H8-807")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("format")));
+    }
+
+    @Test
+    void getIndoorDirections_negativeSimplifyTolerance_returns400() throws Exception {
+        mockMvc.perform(get("/api/directions/indoor")
+                        .param("buildingId", "Hall-8")
+                        .param("origin", "H8-843")
+                        .param("destination", "H8-807")
+                        .param("simplify", "true")
+                        .param("simplifyTolerance", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("simplifyTolerance")));
+    }
+
     @Test
     void getAvailableRooms_emptyResult_returns404() throws Exception {
         when(indoorDirectionService.getAvailableRooms("H", "99"))
@@ -213,4 +306,69 @@ class IndoorDirectionsControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error", containsString("No room points found")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void search_returnsMatchesFromIndex() throws Exception {
+        when(indoorSearchService.search("h8-8", 5)).thenReturn(List.of(
+                new IndoorSearchResult("H8-843", "H8-843", "room", "Hall-8", "Hall Building", "8")));
+
+        mockMvc.perform(get("/api/directions/indoor/search")
+                        .param("q", "h8-8")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is("H8-843")))
+                .andExpect(jsonPath("$[0].floor", is("8")));
+    }
+
+    @Test
+    void search_blankQuery_returns400() throws Exception {
+        mockMvc.perform(get("/api/directions/indoor/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void search_limitOutOfRange_returns400() throws Exception {
+        mockMvc.perform(get("/api/directions/indoor/search")
+                        .param("q", "H8")
+                        .param("limit", "500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("limit")));
+    }
+
+    @Test
+    void getRouteAlternatives_returnsParetoSet() throws Exception {
+        IndoorDirectionResponse route = new IndoorDirectionResponse(
+                "10 m", "7 sec",
+                new IndoorDirectionResponse.BuildingInfo("Hall Building", "Hall-8", "8", "8"),
+                List.of(),
+                List.of(new IndoorDirectionResponse.RoutePoint(100, 200, "H8-843"),
+                        new IndoorDirectionResponse.RoutePoint(200, 300, "H8-807")));
+        when(indoorDirectionService.getRouteAlternatives("Hall-8", "H8-843", "H8-807", "8", "8", false))
+                .thenReturn(List.of(new IndoorRouteAlternative(3, 0, route), new IndoorRouteAlternative(1, 0, route)));
+
+        mockMvc.perform(get("/api/directions/indoor/alternatives")
+                        .param("buildingId", "Hall-8")
+                        .param("origin", "H8-843")
+                        .param("destination", "H8-807")
+                        .param("originFloor", "8")
+                        .param("destinationFloor", "8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].turns", is(3)))
+                .andExpect(jsonPath("$[1].floorChanges", is(0)))
+                .andExpect(jsonPath("$[1].route.distance", is("10 m")));
+    }
+
+    @Test
+    void getRouteAlternatives_noRoute_returns404() throws Exception {
+        when(indoorDirectionService.getRouteAlternatives("Hall-8", "H8-843", "H8-999", null, null, false))
+                .thenReturn(List.of());
+
+        mockMvc.perform(get("/api/directions/indoor/alternatives")
+                        .param("buildingId", "Hall-8")
+                        .param("origin", "H8-843")
+                        .param("destination", "H8-999"))
+                .andExpect(status().isNotFound());
+    }
+}
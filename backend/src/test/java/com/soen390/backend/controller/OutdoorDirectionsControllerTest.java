@@ -50,7 +50,7 @@ class OutdoorDirectionsControllerTest {
                 mockSteps
         );
 
-        when(googleMapsService.getDirections(any(), any(), any())).thenReturn(mockResponse);
+        when(googleMapsService.getDirections(any(), any(), any(), eq(false))).thenReturn(mockResponse);
 
         mockMvc.perform(get("/api/directions/outdoor")
                         .param("origin", "Concordia")
@@ -63,7 +63,7 @@ class OutdoorDirectionsControllerTest {
 
     @Test
     void getDirectionsShouldReturn404WhenDirectionsNotFound() throws Exception {
-        when(googleMapsService.getDirections(any(), any(), any()))
+        when(googleMapsService.getDirections(any(), any(), any(), eq(false)))
                 .thenThrow(new GoogleMapsDirectionEmptyException("Directions not found. Please check your start and end locations."));
 
         mockMvc.perform(get("/api/directions/outdoor")
@@ -77,7 +77,7 @@ class OutdoorDirectionsControllerTest {
 
     @Test
     void getDirectionsShouldReturn502OnApiError() throws Exception {
-        when(googleMapsService.getDirections(any(), any(), any()))
+        when(googleMapsService.getDirections(any(), any(), any(), eq(false)))
                 .thenThrow(new GoogleMapsDirectionsApiException("Unexpected error from Google Maps API."));
 
         mockMvc.perform(get("/api/directions/outdoor")
@@ -104,7 +104,8 @@ class OutdoorDirectionsControllerTest {
         when(googleMapsService.getDirections(
                 eq("1450 Guy St, Montreal, QC"),
                 eq("Concordia University, Henry F. Hall (H) Building, 1455 Blvd. De Maisonneuve Ouest, Montreal, Quebec H3G 1M8"),
-                eq(TransportMode.WALKING)
+                eq(TransportMode.WALKING),
+                eq(false)
         )).thenReturn(mockResponse);
 
         mockMvc.perform(get("/api/directions/outdoor")
@@ -133,7 +134,8 @@ class OutdoorDirectionsControllerTest {
         when(googleMapsService.getDirections(
                 eq("45.458899,-73.639073"),
                 eq("45.45793,-73.63957"),
-                eq(TransportMode.WALKING)
+                eq(TransportMode.WALKING),
+                eq(false)
         )).thenReturn(mockResponse);
 
         mockMvc.perform(get("/api/directions/outdoor")
@@ -147,4 +149,19 @@ class OutdoorDirectionsControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @Test
+    void getDirectionsShouldPassBypassCacheToTheService() throws Exception {
+        OutdoorDirectionResponse mockResponse = new OutdoorDirectionResponse(
+                "1.2 km", "15 mins", "dummy polyline", TransportMode.TRANSIT, new ArrayList<>());
+        when(googleMapsService.getDirections(any(), any(), eq(TransportMode.TRANSIT), eq(true)))
+                .thenReturn(mockResponse);
+
+        mockMvc.perform(get("/api/directions/outdoor")
+                        .param("origin", "45.495,-73.579")
+                        .param("destination", "45.497,-73.579")
+                        .param("transportMode", "transit")
+                        .param("bypassCache", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.distance").value("1.2 km"));
+    }
 }
@@ -4,6 +4,7 @@ import com.soen390.backend.enums.Campus;
 import com.soen390.backend.enums.TransportMode;
 import com.soen390.backend.exception.GoogleMapsDirectionEmptyException;
 import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.exception.RouteTimeoutException;
 import com.soen390.backend.object.OutdoorDirectionResponse;
 import com.soen390.backend.service.GoogleMapsService;
 import com.soen390.backend.service.ShuttleOutdoorDirectionsService;
@@ -90,6 +91,19 @@ class ShuttleControllerTest {
                 .andExpect(jsonPath("$.error").value("Google Maps API failed"));
     }
 
+    @Test
+    void testGetDirectionsWithShuttle_GatewayTimeout() throws Exception {
+        when(shuttleOutdoorDirectionsService.getShuttleOutdoorDirections(anyString(), anyString(), any(Campus.class)))
+                .thenThrow(new RouteTimeoutException("Shuttle directions took longer than 8 seconds.", null));
+
+        mockMvc.perform(get(BASE_URL)
+                        .param("origin", "SGW_Start")
+                        .param("destination", "LOY_End")
+                        .param("destinationShuttle", "LOYOLA"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.error").value("Shuttle directions took longer than 8 seconds."));
+    }
+
     @Test
     void testGetDirectionsWithShuttle_MissingParams() throws Exception {
         mockMvc.perform(get(BASE_URL)
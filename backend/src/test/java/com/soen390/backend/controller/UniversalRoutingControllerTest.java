@@ -2,6 +2,8 @@ package com.soen390.backend.controller;
 
 import com.soen390.backend.exception.GoogleMapsDirectionEmptyException;
 import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.exception.IndoorResourceNotFoundException;
+import com.soen390.backend.exception.RouteTimeoutException;
 import com.soen390.backend.object.UniversalDirectionResponse;
 import com.soen390.backend.service.UniversalRoutingService;
 import org.junit.jupiter.api.Test;
@@ -63,6 +65,23 @@ class UniversalRoutingControllerTest {
                 .andExpect(jsonPath("$.error").value("No route found"));
     }
 
+    @Test
+    void getUniversalRoute_buildingWithoutIndoorMap_returns404() throws Exception {
+        when(universalRoutingService.getCompleteRoute(
+                anyString(), anyString(), anyString(), anyString(), anyString(), anyString(), anyBoolean()))
+                .thenThrow(new IndoorResourceNotFoundException("No indoor map with an entrance is available for building HB."));
+
+        mockMvc.perform(get("/api/directions/universal")
+                        .param("startBuilding", "HB")
+                        .param("startRoom", "HB-131")
+                        .param("startFloor", "1")
+                        .param("endBuilding", "VL")
+                        .param("endRoom", "VL-1")
+                        .param("endFloor", "1"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("No indoor map with an entrance is available for building HB."));
+    }
+
     @Test
     void getUniversalRoute_handlesApiException_returns502() throws Exception {
         when(universalRoutingService.getCompleteRoute(
@@ -80,6 +99,23 @@ class UniversalRoutingControllerTest {
                 .andExpect(jsonPath("$.error").value("API Down"));
     }
 
+    @Test
+    void getUniversalRoute_routeTimeout_returns504() throws Exception {
+        when(universalRoutingService.getCompleteRoute(
+                anyString(), anyString(), anyString(), anyString(), anyString(), anyString(), anyBoolean()))
+                .thenThrow(new RouteTimeoutException("Route took longer than 6 seconds to compute.", null));
+
+        mockMvc.perform(get("/api/directions/universal")
+                        .param("startBuilding", "H")
+                        .param("startRoom", "H-1")
+                        .param("startFloor", "1")
+                        .param("endBuilding", "VL")
+                        .param("endRoom", "VL-1")
+                        .param("endFloor", "1"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.error").value("Route took longer than 6 seconds to compute."));
+    }
+
     @Test
     void getUniversalRoute_handlesGenericException_returns500() throws Exception {
         when(universalRoutingService.getCompleteRoute(
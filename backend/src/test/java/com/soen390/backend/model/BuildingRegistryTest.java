@@ -0,0 +1,62 @@
+package com.soen390.backend.model;
+
+import com.soen390.backend.enums.BuildingLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildingRegistryTest {
+
+    private final BuildingRegistry registry = BuildingRegistry.getDefault();
+
+    @Test
+    void find_resolvesShortCodeAliasAndPlanIdToSameBuilding() {
+        BuildingRegistry.Building hall = registry.find("H").orElseThrow();
+
+        assertSame(hall, registry.find("Hall").orElseThrow());
+        assertSame(hall, registry.find("Hall-8").orElseThrow());
+        assertSame(hall, registry.find("Hall-").orElseThrow());
+        assertEquals("Hall Building", hall.name());
+        assertEquals("SGW", hall.campus());
+        assertEquals(BuildingLocation.H, hall.location());
+    }
+
+    @Test
+    void find_unknownOrNullId_isEmpty() {
+        assertTrue(registry.find("XX-1").isEmpty());
+        assertTrue(registry.find("H-8").isEmpty());
+        assertTrue(registry.find(null).isEmpty());
+    }
+
+    @Test
+    void toPlanId_appendsFloorToBareCodesOnly() {
+        assertEquals("Hall-8", registry.toPlanId("H", "8"));
+        assertEquals("Hall-8", registry.toPlanId("Hall-", "8"));
+        assertEquals("MB-S2", registry.toPlanId("MB", "S2"));
+        assertEquals("VL-1", registry.toPlanId("VL-1", "2"));
+        assertEquals("XX", registry.toPlanId("XX", "1"));
+        assertEquals("LB", registry.toPlanId("LB", null));
+    }
+
+    @Test
+    void displayName_fallsBackForUnknownBuildings() {
+        assertEquals("Webster Library Building", registry.displayName("LB-3"));
+        assertEquals("Building XX-1", registry.displayName("XX-1"));
+    }
+
+    @Test
+    void entrances_comeFromMetadata() {
+        BuildingRegistry.Building library = registry.find("LB").orElseThrow();
+
+        assertEquals("LB2-Emergency-Exit-1", library.entranceId());
+        assertEquals("2", library.entranceFloor());
+    }
+
+    @Test
+    void floorPlanIds_coverEveryDeclaredFloor() {
+        assertEquals(15, registry.getFloorPlanIds().size());
+        assertTrue(registry.getFloorPlanIds().containsAll(List.of("Hall-1", "MB-S2", "CC-1", "VE-2")));
+    }
+}
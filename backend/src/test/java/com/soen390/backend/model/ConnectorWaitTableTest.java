@@ -0,0 +1,70 @@
+package com.soen390.backend.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectorWaitTableTest {
+
+    private static final LocalDateTime MONDAY_0840 = LocalDateTime.of(2026, 10, 19, 8, 40);
+    private static final LocalDateTime MONDAY_0850 = LocalDateTime.of(2026, 10, 19, 8, 50);
+    private static final LocalDateTime SUNDAY_NOON = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    private final ConnectorWaitTable table = ConnectorWaitTable.getDefault();
+
+    @Test
+    void waitSeconds_hallElevatorIsBusiestBeforeClassChange() {
+        int peak = table.waitSeconds("Hall-Elevator-Main", true, MONDAY_0840);
+        int afterChange = table.waitSeconds("Hall-Elevator-Main", true, MONDAY_0850);
+        int weekend = table.waitSeconds("Hall-Elevator-Main", true, SUNDAY_NOON);
+
+        assertTrue(peak > afterChange);
+        assertTrue(afterChange > weekend);
+        assertEquals(30, weekend);
+    }
+
+    @Test
+    void waitSeconds_unlistedConnectorsUseTypeDefaults() {
+        assertEquals(30, table.waitSeconds("CC-Elevator", true, MONDAY_0840));
+        assertEquals(0, table.waitSeconds("Hall-Stairs-Main", false, MONDAY_0840));
+        assertEquals(30, table.waitSeconds(null, true, MONDAY_0840));
+    }
+
+    @Test
+    void rideSeconds_chargesAtLeastOneFloor() {
+        assertEquals(table.rideSeconds(true, 1), table.rideSeconds(true, 0));
+        assertEquals(7 * table.rideSeconds(true, 1), table.rideSeconds(true, 7));
+        assertTrue(table.rideSeconds(false, 1) > table.rideSeconds(true, 1));
+        assertEquals(table.waitSeconds("MB-Elevator-Main", true, MONDAY_0840) + table.rideSeconds(true, 3),
+                table.transitionSeconds("MB-Elevator-Main", true, 3, MONDAY_0840));
+    }
+
+    @Test
+    void waitSeconds_laterArrivalNeverLeavesEarlier() throws Exception {
+        ConnectorWaitTable steep = ConnectorWaitTable.parse(new ObjectMapper().readTree("""
+                {"slotMinutes": 15,
+                 "connectors": [{"id": "E", "profiles": [{"days": ["MONDAY"],
+                   "slots": [{"from": "09:00", "to": "09:15", "waitSeconds": 600}]}]}]}
+                """));
+
+        // A 600 s wait at 09:14 would end after the default 30 s wait from 09:15; waiting out the slot is faster.
+        assertEquals(60 + 30, steep.waitSeconds("E", true, LocalDateTime.of(2026, 10, 19, 9, 14)));
+        assertEquals(600, steep.waitSeconds("E", true, LocalDateTime.of(2026, 10, 19, 9, 0)));
+
+        for (int second = 0; second < 3600; second += 7) {
+            LocalDateTime arrival = LocalDateTime.of(2026, 10, 19, 8, 45).plusSeconds(second);
+            long departure = second + steep.waitSeconds("E", true, arrival);
+            long laterDeparture = second + 7 + steep.waitSeconds("E", true, arrival.plusSeconds(7));
+            assertTrue(laterDeparture >= departure, arrival::toString);
+        }
+    }
+
+    @Test
+    void parse_rejectsSlotLengthsThatDoNotDivideADay() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> ConnectorWaitTable.parse(new ObjectMapper().readTree("{\"slotMinutes\": 7}")));
+    }
+}
@@ -113,6 +113,26 @@ class FloorPlanDataTest {
         assertEquals("DOES-NOT-EXIST", result);
     }
 
+    @Test
+    void resolveToClosestEntrances_resolvesBatchAgainstOneReference() {
+        FloorPlanData data = new FloorPlanData("LB-2", "2");
+        FloorPlanData.Point room2 = data.getRoomPoints().get("LB-261-2");
+
+        Map<String, String> closest = data.resolveToClosestEntrances(
+                List.of("LB-261", "DOES-NOT-EXIST"), room2.getX(), room2.getY());
+
+        assertEquals(List.of("LB-261", "DOES-NOT-EXIST"), List.copyOf(closest.keySet()));
+        assertEquals("LB-261-2", closest.get("LB-261"));
+        assertEquals("DOES-NOT-EXIST", closest.get("DOES-NOT-EXIST"));
+    }
+
+    @Test
+    void getBaseRoomId_matchesEntranceGroupsForEveryRoom() {
+        FloorPlanData data = new FloorPlanData("LB-2", "2");
+        data.getRoomEntranceGroups().forEach((base, entrances) ->
+                entrances.forEach(entrance -> assertEquals(base, data.getBaseRoomId(entrance))));
+    }
+
     @Test
     void getPointsOfInterest_detectsBathroomsAndElevators() {
         FloorPlanData data = new FloorPlanData("LB-2", "2");
@@ -0,0 +1,60 @@
+package com.soen390.backend.model;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloorPlanRepositoryTest {
+
+    @Test
+    void document_isParsedOnceAndShared() {
+        FloorPlanRepository repository = new FloorPlanRepository("floorplans/");
+
+        assertSame(repository.document("LB-2").orElseThrow(), repository.document("LB-2").orElseThrow());
+        assertEquals(1, repository.getLoadStats().size());
+    }
+
+    @Test
+    void document_unknownPlan_isEmptyAndHasNoStats() {
+        FloorPlanRepository repository = new FloorPlanRepository("floorplans/");
+
+        assertTrue(repository.document("Unknown-99").isEmpty());
+        assertTrue(repository.getLoadStats().isEmpty());
+    }
+
+    @Test
+    void get_returnsCachedImmutableView() {
+        FloorPlanRepository repository = new FloorPlanRepository("floorplans/");
+        FloorPlanData data = repository.get("MB-S2");
+
+        assertSame(data, repository.get("MB-S2"));
+        assertEquals("S2", data.getFloor());
+        assertFalse(data.getRoomPoints().isEmpty());
+        assertFalse(data.getPointsOfInterest().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> data.getRoomPoints().clear());
+        assertThrows(UnsupportedOperationException.class, () -> data.getPointsOfInterest().clear());
+        data.getRoomEntranceGroups().values().forEach(entrances ->
+                assertThrows(UnsupportedOperationException.class, () -> entrances.add("x")));
+    }
+
+    @Test
+    void loadStats_areRecordedPerPlanAndPublishedAsGauges() {
+        FloorPlanRepository repository = new FloorPlanRepository("floorplans/");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        repository.document("Hall-8");
+        repository.bindTo(registry);
+        repository.document("LB-3");
+
+        FloorPlanRepository.LoadStats hall = repository.getLoadStats().get("Hall-8");
+        assertEquals("H", hall.building());
+        assertTrue(hall.bytes() > 0);
+        assertTrue(hall.rooms() > 0);
+        for (String plan : List.of("Hall-8", "LB-3")) {
+            assertNotNull(registry.find("floorplan.rooms").tag("plan", plan).gauge(), plan);
+            assertNotNull(registry.find("floorplan.load.time").tag("plan", plan).timeGauge(), plan);
+        }
+    }
+}
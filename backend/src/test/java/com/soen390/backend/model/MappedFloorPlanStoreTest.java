@@ -0,0 +1,88 @@
+package com.soen390.backend.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFloorPlanStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static MappedFloorPlanStore.Floor floor(String planId) {
+        return new MappedFloorPlanStore.Floor(planId,
+                List.of(new MappedFloorPlanStore.Room(planId + "-20", 20, 2),
+                        new MappedFloorPlanStore.Room(planId + "-10", 10, 1),
+                        new MappedFloorPlanStore.Room("é-" + planId, 30, 3)),
+                List.of(new MappedFloorPlanStore.Poi(planId + "-Elevator", "Elevator", "elevator", 5, 6)),
+                List.of(new MappedFloorPlanStore.Waypoint("wp-a", 0, 0),
+                        new MappedFloorPlanStore.Waypoint("wp-b", 3, 4)),
+                List.of(new MappedFloorPlanStore.Edge(0, 1, 5.0)));
+    }
+
+    @Test
+    void write_thenOpen_roundTripsEveryRecord() throws Exception {
+        Path file = dir.resolve("floors.bin");
+        MappedFloorPlanStore.write(file, List.of(floor("VL-2"), floor("H-8")), 42L);
+
+        MappedFloorPlanStore store = MappedFloorPlanStore.open(file);
+
+        assertEquals(2, store.floorCount());
+        assertEquals(List.of("H-8", "VL-2"), store.planIds());
+        assertEquals(Files.size(file), store.sizeBytes());
+        assertEquals(42L, store.sourceHash());
+        MappedFloorPlanStore.FloorView view = store.floor("VL-2").orElseThrow();
+        assertEquals(3, view.roomCount());
+        assertEquals(List.of("VL-2-10", "VL-2-20", "é-VL-2"),
+                view.rooms().stream().map(MappedFloorPlanStore.Room::id).toList());
+        assertEquals(List.of(new MappedFloorPlanStore.Poi("VL-2-Elevator", "Elevator", "elevator", 5, 6)), view.pois());
+        assertEquals(floor("VL-2").waypoints(), view.waypoints());
+        assertEquals(floor("VL-2").edges(), view.edges());
+    }
+
+    @Test
+    void lookups_binarySearchFloorsAndRooms() throws Exception {
+        Path file = dir.resolve("floors.bin");
+        List<MappedFloorPlanStore.Floor> floors = new java.util.ArrayList<>();
+        for (int i = 0; i < 300; i++) floors.add(floor("F-" + i));
+        MappedFloorPlanStore.write(file, floors, 42L);
+
+        MappedFloorPlanStore store = MappedFloorPlanStore.open(file);
+
+        MappedFloorPlanStore.FloorView view = store.floor("F-217").orElseThrow();
+        assertEquals(new MappedFloorPlanStore.Room("F-217-20", 20, 2), view.findRoom("F-217-20").orElseThrow());
+        assertTrue(view.findRoom("F-218-20").isEmpty());
+        assertTrue(store.floor("F-300").isEmpty());
+        assertTrue(store.floor(null).isEmpty());
+    }
+
+    @Test
+    void isCompiledFrom_comparesTheSourceHashInTheHeader() throws Exception {
+        Path file = dir.resolve("floors.bin");
+        MappedFloorPlanStore.write(file, List.of(floor("H-8")), 42L);
+
+        assertTrue(MappedFloorPlanStore.isCompiledFrom(file, 42L));
+        assertFalse(MappedFloorPlanStore.isCompiledFrom(file, 43L));
+    }
+
+    @Test
+    void isCompiledFrom_rejectsFilesThatAreNotStores() throws Exception {
+        Path file = dir.resolve("floors.json");
+        Files.writeString(file, "{\"rooms\": {}}");
+
+        assertThrows(IllegalArgumentException.class, () -> MappedFloorPlanStore.isCompiledFrom(file, 42L));
+    }
+
+    @Test
+    void open_rejectsFilesThatAreNotStores() throws Exception {
+        Path file = dir.resolve("floors.json");
+        Files.writeString(file, "{\"rooms\": {}}");
+
+        assertThrows(IllegalArgumentException.class, () -> MappedFloorPlanStore.open(file));
+    }
+}
@@ -0,0 +1,89 @@
+package com.soen390.backend.model;
+
+import com.soen390.backend.enums.PoiType;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoiTypeClassifierTest {
+
+    private static LinkedHashMap<String, PoiType> prefixRules() {
+        LinkedHashMap<String, PoiType> rules = new LinkedHashMap<>();
+        rules.put("bathroom-men", PoiType.BATHROOM_MEN);
+        rules.put("bathroom", PoiType.BATHROOM_WOMEN);
+        rules.put("stairs-up", PoiType.STAIRS_UP);
+        rules.put("stairs", PoiType.STAIRS);
+        return rules;
+    }
+
+    private static LinkedHashMap<String, PoiType> containsRules() {
+        LinkedHashMap<String, PoiType> rules = new LinkedHashMap<>();
+        rules.put("emergency-exit", PoiType.EMERGENCY_EXIT);
+        rules.put("bathroom-women", PoiType.BATHROOM_WOMEN);
+        rules.put("bathroom", PoiType.BATHROOM_MEN);
+        rules.put("elevator", PoiType.ELEVATOR);
+        return rules;
+    }
+
+    private final PoiTypeClassifier classifier = new PoiTypeClassifier(prefixRules(), containsRules());
+
+    @Test
+    void classify_prefixRulesUseTableOrder() {
+        assertEquals(PoiType.BATHROOM_MEN, classifier.classify("Bathroom-Men-2"));
+        assertEquals(PoiType.BATHROOM_WOMEN, classifier.classify("bathroom-women-1"));
+        assertEquals(PoiType.STAIRS_UP, classifier.classify("stairs-up-3"));
+        assertEquals(PoiType.STAIRS, classifier.classify("stairs-down"));
+    }
+
+    @Test
+    void classify_containsRulesApplyOnlyWithoutPrefixMatch() {
+        assertEquals(PoiType.ELEVATOR, classifier.classify("H8-Elevator-Main"));
+        assertEquals(PoiType.BATHROOM_WOMEN, classifier.classify("LB2-bathroom-women"));
+        assertEquals(PoiType.EMERGENCY_EXIT, classifier.classify("LB2-elevator-emergency-exit"));
+        assertNull(classifier.classify("H8-843"));
+    }
+
+    @Test
+    void classify_followsFailureLinksAcrossPartialMatches() {
+        assertEquals(PoiType.ELEVATOR, classifier.classify("eleelevator"));
+        assertEquals(PoiType.BATHROOM_MEN, classifier.classify("xbathrobathroom"));
+    }
+
+    @Test
+    void classify_matchesNaiveRuleScanOnRandomIds() {
+        Random random = new Random(42);
+        String[] fragments = {"bath", "room", "-men", "-women", "stairs", "-up", "ele", "vator",
+                "emergency", "-exit", "x", "-", "H8"};
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder id = new StringBuilder();
+            int parts = 1 + random.nextInt(6);
+            for (int p = 0; p < parts; p++) id.append(fragments[random.nextInt(fragments.length)]);
+            String roomId = id.toString();
+            assertEquals(naive(roomId), classifier.classify(roomId), roomId);
+        }
+    }
+
+    @Test
+    void floorPlanData_storesClassifiedTypePerRoom() {
+        FloorPlanData data = FloorPlanRepository.getShared().get("LB-2");
+
+        data.getPointsOfInterest().forEach(poi ->
+                assertEquals(poi.type, data.getRoomType(poi.id).getValue(), poi.id));
+        assertNull(data.getRoomType("LB-204"));
+    }
+
+    private static PoiType naive(String roomId) {
+        String lower = roomId.toLowerCase();
+        for (Map.Entry<String, PoiType> rule : prefixRules().entrySet()) {
+            if (lower.startsWith(rule.getKey())) return rule.getValue();
+        }
+        for (Map.Entry<String, PoiType> rule : containsRules().entrySet()) {
+            if (lower.contains(rule.getKey())) return rule.getValue();
+        }
+        return null;
+    }
+}
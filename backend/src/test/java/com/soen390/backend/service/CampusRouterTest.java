@@ -0,0 +1,162 @@
+package com.soen390.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soen390.backend.model.BuildingRegistry;
+import com.soen390.backend.model.ConnectorWaitTable;
+import com.soen390.backend.model.MappedFloorPlanStore;
+import com.soen390.backend.object.IndoorDirectionResponse;
+import com.soen390.backend.service.strategy.StairsAllowedStrategy;
+import com.soen390.backend.service.strategy.StairsAvoidedStrategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CampusRouterTest {
+
+    /** Sunday noon: no profile applies, every connector uses its default wait. */
+    private static final LocalDateTime OFF_PEAK = LocalDateTime.of(2026, 10, 18, 12, 0);
+    /** Monday, five minutes before the 08:45 class change. */
+    private static final LocalDateTime PEAK = LocalDateTime.of(2026, 10, 19, 8, 40);
+
+    private static PathfindingService pathfindingService;
+    private static CampusRouter router;
+
+    @BeforeAll
+    static void setUp() {
+        pathfindingService = new PathfindingService();
+        router = new CampusRouter(pathfindingService);
+    }
+
+    @Test
+    void route_hallToMbThroughTunnel_splitsIntoBuildingLegs() {
+        Optional<CampusRouter.CampusRoute> route = router.route(
+                "H", "H8-843", "8", "MB", "MB-S2-245", "S2", StairsAllowedStrategy.INSTANCE, OFF_PEAK);
+
+        assertTrue(route.isPresent());
+        List<CampusRouter.BuildingLeg> legs = route.get().legs();
+        assertEquals(2, legs.size());
+        assertEquals(1, route.get().links().size());
+        assertEquals("tunnel", route.get().links().get(0).type());
+
+        CampusRouter.BuildingLeg hall = legs.get(0);
+        assertEquals("H", hall.buildingId());
+        assertEquals("H8-843", hall.originId());
+        assertEquals("8", hall.originFloor());
+        assertEquals("H1-Metro-Entry", hall.destinationId());
+        assertEquals("1", hall.destinationFloor());
+        assertTrue(hall.routePoints().stream()
+                .anyMatch(p -> "TRANSITION_ELEVATOR_TO_1".equals(p.getLabel())));
+
+        CampusRouter.BuildingLeg mb = legs.get(1);
+        assertEquals("MB", mb.buildingId());
+        assertEquals("MB-S2-Entrance-Exit", mb.originId());
+        assertEquals("MB-S2-245", mb.destinationId());
+        List<IndoorDirectionResponse.RoutePoint> points = mb.routePoints();
+        assertEquals("MB-S2-245", points.get(points.size() - 1).getLabel());
+
+        assertTrue(route.get().totalMeters() > route.get().links().get(0).lengthMeters());
+    }
+
+    @Test
+    void route_avoidingStairs_neverUsesStairTransitions() {
+        Optional<CampusRouter.CampusRoute> route = router.route(
+                "H", "H8-843", "8", "MB", "MB-S2-245", "S2", StairsAvoidedStrategy.INSTANCE, OFF_PEAK);
+
+        assertTrue(route.isPresent());
+        assertTrue(route.get().legs().stream()
+                .flatMap(leg -> leg.routePoints().stream())
+                .noneMatch(p -> p.getLabel() != null && p.getLabel().startsWith("TRANSITION_STAIRS")));
+    }
+
+    @Test
+    void route_unconnectedOrSameBuilding_isEmpty() {
+        assertTrue(router.route("H", "H8-843", "8", "VL", "VL-101", "1",
+                StairsAllowedStrategy.INSTANCE, OFF_PEAK).isEmpty());
+        assertTrue(router.route("H", "H8-843", "8", "H", "H8-807", "8",
+                StairsAllowedStrategy.INSTANCE, OFF_PEAK).isEmpty());
+        assertTrue(router.route("H", "NOPE", "8", "MB", "MB-S2-245", "S2",
+                StairsAllowedStrategy.INSTANCE, OFF_PEAK).isEmpty());
+    }
+
+    @Test
+    void route_atPeak_addsElevatorWaitToConnectorTime() throws Exception {
+        CampusRouter.CampusRoute offPeak = router.route(
+                "H", "H8-843", "8", "MB", "MB-S2-245", "S2", StairsAvoidedStrategy.INSTANCE, OFF_PEAK).orElseThrow();
+        CampusRouter.CampusRoute peak = router.route(
+                "H", "H8-843", "8", "MB", "MB-S2-245", "S2", StairsAvoidedStrategy.INSTANCE, PEAK).orElseThrow();
+
+        // Default 30 s wait plus 4 s per floor for the seven floors from 8 to 1.
+        assertEquals(58d, offPeak.connectorSeconds(), 1d);
+        assertTrue(peak.connectorSeconds() > offPeak.connectorSeconds() + 60d);
+    }
+
+    @Test
+    void route_busyStairs_switchesToElevator() throws Exception {
+        Optional<CampusRouter.CampusRoute> quiet = router.route(
+                "H", "H2-217", "2", "MB", "MB-S2-245", "S2", StairsAllowedStrategy.INSTANCE, OFF_PEAK);
+        assertTrue(quiet.isPresent());
+        assertTrue(usesTransition(quiet.get(), "TRANSITION_STAIRS"));
+
+        ConnectorWaitTable busyStairs = ConnectorWaitTable.parse(new ObjectMapper().readTree("""
+                {"connectors": [{"id": "Hall-Stairs-Main", "profiles": [{
+                  "days": ["SUNDAY"], "slots": [{"from": "00:00", "to": "00:00", "waitSeconds": 900}]}]}]}
+                """));
+        CampusRouter crowded = new CampusRouter(pathfindingService, BuildingRegistry.getDefault(), busyStairs);
+        Optional<CampusRouter.CampusRoute> busy = crowded.route(
+                "H", "H2-217", "2", "MB", "MB-S2-245", "S2", StairsAllowedStrategy.INSTANCE, OFF_PEAK);
+        assertTrue(busy.isPresent());
+        assertTrue(usesTransition(busy.get(), "TRANSITION_ELEVATOR"));
+    }
+
+    @Test
+    void route_afterFloorReplaced_usesNewSnapshot() {
+        PathfindingService pathfinding = new PathfindingService();
+        CampusRouter fresh = new CampusRouter(pathfinding);
+        long first = fresh.route("H", "H8-843", "8", "MB", "MB-S2-245", "S2",
+                StairsAllowedStrategy.INSTANCE, OFF_PEAK).orElseThrow().snapshotVersion();
+
+        pathfinding.replaceFloor("Hall-1", pathfinding.snapshot().floor("Hall-1").withStairs());
+        CampusRouter.CampusRoute second = fresh.route("H", "H8-843", "8", "MB", "MB-S2-245", "S2",
+                StairsAllowedStrategy.INSTANCE, OFF_PEAK).orElseThrow();
+
+        assertEquals(first + 1, second.snapshotVersion());
+        assertEquals(2, second.legs().size());
+    }
+
+    private static boolean usesTransition(CampusRouter.CampusRoute route, String prefix) {
+        return route.legs().stream()
+                .flatMap(leg -> leg.routePoints().stream())
+                .anyMatch(p -> p.getLabel() != null && p.getLabel().startsWith(prefix));
+    }
+
+    @Test
+    void route_onStoreBackedFloors_preparesOnlyLinkedBuildings(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("floors.bin");
+        pathfindingService.exportStore(file);
+        PathfindingService mapped = new PathfindingService(ShortestPathEngine.DIJKSTRA, 0, MappedFloorPlanStore.open(file));
+        CampusRouter storeRouter = new CampusRouter(mapped);
+
+        assertTrue(storeRouter.route("H", "H8-843", "8", "MB", "MB-S2-245", "S2",
+                StairsAllowedStrategy.INSTANCE, OFF_PEAK).isPresent());
+
+        RoutingSnapshot routing = mapped.snapshot();
+        assertTrue(routing.isPrepared("Hall-8"));
+        assertTrue(routing.isPrepared("MB-S2"));
+        assertFalse(routing.isPrepared("VL-1"));
+        assertFalse(routing.isPrepared("LB-2"));
+    }
+
+    @Test
+    void level_parsesSubBasementsAsNegative() {
+        assertEquals(-2, CampusRouter.level("S2"));
+        assertEquals(8, CampusRouter.level("8"));
+        assertEquals(0, CampusRouter.level("M"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.enums.Campus;
+import com.soen390.backend.enums.TransportMode;
+import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.object.OutdoorDirectionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CampusShuttleLegsTest {
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-10-19T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final GoogleMapsService googleMapsService = mock(GoogleMapsService.class);
+    private final MutableClock clock = new MutableClock();
+    private CampusShuttleLegs legs;
+
+    private static OutdoorDirectionResponse leg(String distance) {
+        return new OutdoorDirectionResponse(distance, "20 mins", "poly", TransportMode.TRANSIT, List.of());
+    }
+
+    @BeforeEach
+    void setUp() {
+        legs = new CampusShuttleLegs(googleMapsService, clock);
+    }
+
+    @Test
+    void refresh_fetchesBothDirectionsBypassingTheCache() {
+        String sgw = CampusShuttleLegs.stopCoordinates(Campus.SGW);
+        String loyola = CampusShuttleLegs.stopCoordinates(Campus.LOYOLA);
+        when(googleMapsService.getDirections(sgw, loyola, TransportMode.TRANSIT, true)).thenReturn(leg("7 km"));
+        when(googleMapsService.getDirections(loyola, sgw, TransportMode.TRANSIT, true)).thenReturn(leg("8 km"));
+
+        assertTrue(legs.toward(Campus.LOYOLA).isEmpty());
+        legs.refresh();
+
+        assertEquals("7 km", legs.toward(Campus.LOYOLA).orElseThrow().getDistance());
+        assertEquals("8 km", legs.toward(Campus.SGW).orElseThrow().getDistance());
+    }
+
+    @Test
+    void refresh_keepsThePreviousLegWhenGoogleFailsOrAnswersStale() {
+        when(googleMapsService.getDirections(anyString(), anyString(), eq(TransportMode.TRANSIT), anyBoolean()))
+                .thenReturn(leg("7 km"), leg("8 km"))
+                .thenThrow(new GoogleMapsDirectionsApiException("Google Maps directions request failed with status: UNKNOWN_ERROR"))
+                .thenReturn(leg("9 km").asStale());
+        legs.refresh();
+
+        legs.refresh();
+
+        assertEquals("7 km", legs.toward(Campus.LOYOLA).orElseThrow().getDistance());
+        assertEquals("8 km", legs.toward(Campus.SGW).orElseThrow().getDistance());
+    }
+
+    @Test
+    void toward_marksALegStaleOnceItOutlivesTheMaximumAge() {
+        when(googleMapsService.getDirections(anyString(), anyString(), eq(TransportMode.TRANSIT), anyBoolean()))
+                .thenReturn(leg("7 km"), leg("8 km"))
+                .thenThrow(new GoogleMapsDirectionsApiException("Google Maps directions request failed with status: UNKNOWN_ERROR"));
+        legs.refresh();
+
+        clock.advance(Duration.ofHours(2));
+        legs.refresh();
+        assertFalse(legs.toward(Campus.LOYOLA).orElseThrow().isStale());
+
+        clock.advance(Duration.ofMinutes(1));
+        OutdoorDirectionResponse old = legs.toward(Campus.LOYOLA).orElseThrow();
+        assertTrue(old.isStale());
+        assertEquals("7 km", old.getDistance());
+    }
+
+    @Test
+    void refresh_doesNothingWhenPrecomputingIsOff() {
+        ReflectionTestUtils.setField(legs, "precompute", false);
+
+        legs.refresh();
+
+        verify(googleMapsService, never()).getDirections(any(), any(), any(), anyBoolean());
+        assertTrue(legs.toward(Campus.SGW).isEmpty());
+    }
+}
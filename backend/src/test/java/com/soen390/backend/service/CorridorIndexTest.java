@@ -0,0 +1,72 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.service.PathfindingService.Waypoint;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorridorIndexTest {
+
+    @Test
+    void nearest_matchesBruteForceOverRandomSegments() {
+        Random random = new Random(7);
+        SimpleWeightedGraph<Waypoint, DefaultWeightedEdge> graph = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Waypoint[] points = new Waypoint[400];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Waypoint(random.nextDouble() * 2000, random.nextDouble() * 2000, "wp-" + i);
+            graph.addVertex(points[i]);
+        }
+        for (int i = 1; i < points.length; i++) {
+            graph.addEdge(points[i], points[random.nextInt(i)]);
+        }
+        CorridorIndex index = CorridorIndex.build(graph);
+        assertEquals(points.length - 1, index.size());
+
+        for (int q = 0; q < 500; q++) {
+            double x = random.nextDouble() * 2200 - 100;
+            double y = random.nextDouble() * 2200 - 100;
+            double expected = Double.MAX_VALUE;
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                expected = Math.min(expected, segmentDistance(graph.getEdgeSource(e), graph.getEdgeTarget(e), x, y));
+            }
+            CorridorIndex.Snap snap = index.nearest(x, y);
+            assertEquals(expected, snap.distance(), 1e-6);
+            assertEquals(expected, Math.hypot(snap.x() - x, snap.y() - y), 1e-6);
+        }
+    }
+
+    @Test
+    void nearest_projectsOntoSegmentInterior() {
+        SimpleWeightedGraph<Waypoint, DefaultWeightedEdge> graph = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Waypoint a = new Waypoint(0, 0, "a");
+        Waypoint b = new Waypoint(100, 0, "b");
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addEdge(a, b);
+
+        CorridorIndex.Snap mid = CorridorIndex.build(graph).nearest(40, 12);
+        CorridorIndex.Snap end = CorridorIndex.build(graph).nearest(130, 5);
+
+        assertEquals(40, mid.x(), 1e-9);
+        assertEquals(0, mid.y(), 1e-9);
+        assertNull(mid.vertex());
+        assertEquals(b, end.vertex());
+        assertTrue(mid.sameSegment(end));
+    }
+
+    @Test
+    void nearest_emptyGraphHasNoSnap() {
+        assertNull(CorridorIndex.build(new SimpleWeightedGraph<>(DefaultWeightedEdge.class)).nearest(1, 1));
+    }
+
+    private static double segmentDistance(Waypoint a, Waypoint b, double x, double y) {
+        double dx = b.x - a.x;
+        double dy = b.y - a.y;
+        double t = Math.max(0, Math.min(1, ((x - a.x) * dx + (y - a.y) * dy) / (dx * dx + dy * dy)));
+        return Math.hypot(a.x + t * dx - x, a.y + t * dy - y);
+    }
+}
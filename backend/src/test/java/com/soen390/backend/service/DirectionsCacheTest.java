@@ -0,0 +1,147 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.enums.TransportMode;
+import com.soen390.backend.object.OutdoorDirectionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectionsCacheTest {
+
+    /** Clock the test moves forward by hand. */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-10-19T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private DirectionsCache cache(boolean enabled, int maxEntries) {
+        return new DirectionsCache(enabled, maxEntries, Map.of(
+                TransportMode.WALKING, Duration.ofHours(24),
+                TransportMode.TRANSIT, Duration.ofMinutes(2)), registry, clock);
+    }
+
+    private OutdoorDirectionResponse fetch(DirectionsCache cache, String origin, TransportMode mode, boolean bypass) {
+        return cache.get(origin, "H", mode, bypass, () -> {
+            fetches.incrementAndGet();
+            return new OutdoorDirectionResponse("1 km", "12 mins", "abc", mode, List.of());
+        });
+    }
+
+    private double count(String result) {
+        return registry.get("google.directions.cache").tag("result", result).counters().stream()
+                .mapToDouble(c -> c.count()).sum();
+    }
+
+    @Test
+    void lookupCounters_areRegisteredForEveryModeUpFront() {
+        cache(true, 10);
+
+        for (String result : List.of("hit", "miss", "bypass", "stale")) {
+            assertEquals(TransportMode.values().length,
+                    registry.get("google.directions.cache").tag("result", result).counters().size());
+            assertEquals(0, count(result));
+        }
+    }
+
+    @Test
+    void get_servesRepeatedRequestsUntilModeTtlExpires() {
+        DirectionsCache cache = cache(true, 10);
+
+        OutdoorDirectionResponse first = fetch(cache, "MB", TransportMode.WALKING, false);
+        fetch(cache, "MB", TransportMode.TRANSIT, false);
+        clock.advance(Duration.ofMinutes(5));
+
+        assertSame(first, fetch(cache, "MB", TransportMode.WALKING, false));
+        fetch(cache, "MB", TransportMode.TRANSIT, false);
+
+        assertEquals(3, fetches.get());
+        assertEquals(1, count("hit"));
+        assertEquals(3, count("miss"));
+    }
+
+    @Test
+    void get_bypassFetchesAndRefreshesTheEntry() {
+        DirectionsCache cache = cache(true, 10);
+        OutdoorDirectionResponse first = fetch(cache, "MB", TransportMode.WALKING, false);
+
+        OutdoorDirectionResponse fresh = fetch(cache, "MB", TransportMode.WALKING, true);
+
+        assertNotSame(first, fresh);
+        assertSame(fresh, fetch(cache, "MB", TransportMode.WALKING, false));
+        assertEquals(2, fetches.get());
+        assertEquals(1, count("bypass"));
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedWhenFull() {
+        DirectionsCache cache = cache(true, 2);
+        fetch(cache, "A", TransportMode.WALKING, false);
+        fetch(cache, "B", TransportMode.WALKING, false);
+        fetch(cache, "A", TransportMode.WALKING, false);
+        fetch(cache, "C", TransportMode.WALKING, false);
+
+        fetch(cache, "A", TransportMode.WALKING, false);
+        fetch(cache, "B", TransportMode.WALKING, false);
+
+        assertEquals(2, cache.size());
+        assertEquals(4, fetches.get());
+        assertTrue(registry.get("google.directions.cache.evictions").counter().count() >= 1);
+    }
+
+    @Test
+    void get_disabledOrUnlistedModeAlwaysFetches() {
+        DirectionsCache disabled = cache(false, 10);
+        fetch(disabled, "MB", TransportMode.WALKING, false);
+        fetch(disabled, "MB", TransportMode.WALKING, false);
+        DirectionsCache enabled = cache(true, 10);
+        fetch(enabled, "MB", TransportMode.DRIVING, false);
+        fetch(enabled, "MB", TransportMode.DRIVING, false);
+
+        assertEquals(4, fetches.get());
+        assertEquals(0, disabled.size());
+        assertEquals(0, enabled.size());
+    }
+
+    @Test
+    void get_failedFetchIsNotCached() {
+        DirectionsCache cache = cache(true, 10);
+
+        assertThrows(IllegalStateException.class, () -> cache.get("MB", "H", TransportMode.WALKING, false, () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+
+        assertEquals(0, cache.size());
+    }
+}
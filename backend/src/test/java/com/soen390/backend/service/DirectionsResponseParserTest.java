@@ -0,0 +1,74 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.benchmark.DirectionsParserBenchmark;
+import com.soen390.backend.enums.ManeuverType;
+import com.soen390.backend.enums.TransportMode;
+import com.soen390.backend.exception.GoogleMapsDirectionEmptyException;
+import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.object.OutdoorDirectionResponse;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectionsResponseParserTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"walking", "transit"})
+    void parse_matchesTreeMappingOnRecordedResponses(String name) throws Exception {
+        String json = DirectionsParserBenchmark.load(name);
+        TransportMode mode = TransportMode.valueOf(name.toUpperCase());
+
+        OutdoorDirectionResponse expected = DirectionsParserBenchmark.parseWithTree(json, mode);
+        OutdoorDirectionResponse actual = DirectionsResponseParser.parse(json, mode);
+
+        assertEquals(expected.getDistance(), actual.getDistance());
+        assertEquals(expected.getDuration(), actual.getDuration());
+        assertEquals(expected.getPolyline(), actual.getPolyline());
+        assertEquals(mode, actual.getTransportMode());
+        assertEquals(expected.getSteps(), actual.getSteps());
+        assertFalse(actual.getSteps().isEmpty());
+    }
+
+    @Test
+    void parse_readsStatusWrittenAfterRoutesAndDefaultsMissingFields() {
+        OutdoorDirectionResponse response = DirectionsResponseParser.parse("""
+                {"routes": [{"legs": [{"steps": [{"html_instructions": "Turn <b>left</b>", "maneuver": 3},
+                                                 {"maneuver": "turn-right", "distance": null}]}]}],
+                 "status": "OK"}
+                """, TransportMode.WALKING);
+
+        assertEquals("", response.getDistance());
+        assertEquals("", response.getPolyline());
+        assertEquals("Turn left", response.getSteps().get(0).instruction());
+        assertEquals(ManeuverType.STRAIGHT, response.getSteps().get(0).maneuverType());
+        assertEquals(ManeuverType.fromString("turn-right"), response.getSteps().get(1).maneuverType());
+        assertEquals("", response.getSteps().get(1).distance());
+    }
+
+    @Test
+    void parse_mapsStatusesAndMalformedInputToExceptions() {
+        assertThrows(GoogleMapsDirectionEmptyException.class,
+                () -> DirectionsResponseParser.parse("{\"routes\": [], \"status\": \"ZERO_RESULTS\"}", TransportMode.WALKING));
+        assertThrows(GoogleMapsDirectionsApiException.class,
+                () -> DirectionsResponseParser.parse("{\"status\": \"REQUEST_DENIED\"}", TransportMode.WALKING));
+        assertThrows(GoogleMapsDirectionsApiException.class,
+                () -> DirectionsResponseParser.parse("{\"routes\": [], \"status\": \"OK\"}", TransportMode.WALKING));
+        assertThrows(GoogleMapsDirectionsApiException.class,
+                () -> DirectionsResponseParser.parse("{\"routes\": [{\"legs\": [", TransportMode.WALKING));
+        assertThrows(GoogleMapsDirectionsApiException.class,
+                () -> DirectionsResponseParser.parse(null, TransportMode.WALKING));
+    }
+
+    @Test
+    void stripTags_matchesRegexReplacement() {
+        String[] inputs = {
+                "plain", "Turn <b>left</b> onto <b>Rue Guy</b>", "<div style=\"x\">a</div>b",
+                "a < b", "x <<y> z", "<>", "unclosed <b", "a > b <i>c</i>", ""
+        };
+        for (String input : inputs) {
+            assertEquals(input.replaceAll("<[^>]*>", ""), DirectionsResponseParser.stripTags(input), input);
+        }
+    }
+}
@@ -1,16 +1,35 @@
 package com.soen390.backend.service;
 
+import com.soen390.backend.config.CircuitBreaker;
+import com.soen390.backend.config.CircuitBreakers;
+import com.soen390.backend.config.OutboundHttpClients;
 import com.soen390.backend.exception.GoogleMapsDirectionEmptyException;
 import com.soen390.backend.object.OutdoorDirectionResponse;
 import com.soen390.backend.enums.TransportMode;
 import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.exception.GoogleMapsDirectionsRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -175,6 +194,15 @@ class GoogleMapsServiceTest {
             """;
     }
 
+    public String getMockJsonInvalidRequest() {
+        return """
+            {
+                "routes": [],
+                "status": "INVALID_REQUEST"
+            }
+            """;
+    }
+
     public String getEmptyMockJson(){
         return """
                 """;
@@ -233,4 +261,109 @@ class GoogleMapsServiceTest {
         assertThrows(Exception.class, () -> googleMapsService.getDirections(origin, destination, TransportMode.WALKING));
     }
 
+    @Test
+    void testRepeatedDirectionsAreServedFromCache() {
+        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(getMockJsonResponseSuccess());
+
+        OutdoorDirectionResponse first = googleMapsService.getDirections(origin, destination, TransportMode.WALKING);
+        OutdoorDirectionResponse second = googleMapsService.getDirections(origin, destination, TransportMode.WALKING);
+        googleMapsService.getDirections(origin, destination, TransportMode.WALKING, true);
+
+        assertSame(first, second);
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void testFailedDirectionsAreNotCached() {
+        when(restTemplate.getForObject(anyString(), eq(String.class)))
+                .thenReturn(getMockJsonZeroResults())
+                .thenReturn(getMockJsonResponseSuccess());
+
+        assertThrows(GoogleMapsDirectionEmptyException.class,
+                () -> googleMapsService.getDirections(origin, destination, TransportMode.WALKING));
+        assertNotNull(googleMapsService.getDirections(origin, destination, TransportMode.WALKING));
+    }
+
+    @Test
+    void testOpenCircuitServesLastKnownResponseAsStaleOrFailsFast() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("google.circuit.directions.window-size", "2")
+                .withProperty("google.circuit.directions.minimum-calls", "2");
+        googleMapsService = new GoogleMapsService(restTemplate, new DirectionsCache(),
+                new CircuitBreakers(environment, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        when(restTemplate.getForObject(anyString(), eq(String.class)))
+                .thenReturn(getMockJsonResponseSuccess())
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        OutdoorDirectionResponse fresh = googleMapsService.getDirections(origin, destination, TransportMode.WALKING);
+        OutdoorDirectionResponse afterFailure =
+                googleMapsService.getDirections(origin, destination, TransportMode.WALKING, true);
+        OutdoorDirectionResponse whileOpen =
+                googleMapsService.getDirections(origin, destination, TransportMode.WALKING, true);
+
+        assertFalse(fresh.isStale());
+        assertTrue(afterFailure.isStale());
+        assertTrue(whileOpen.isStale());
+        assertEquals(fresh.getPolyline(), whileOpen.getPolyline());
+        assertThrows(GoogleMapsDirectionsApiException.class,
+                () -> googleMapsService.getDirections("elsewhere", destination, TransportMode.WALKING));
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void testInvalidRequestsLeaveTheCircuitClosed() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("google.circuit.directions.window-size", "2")
+                .withProperty("google.circuit.directions.minimum-calls", "2");
+        CircuitBreakers circuitBreakers = new CircuitBreakers(environment, new SimpleMeterRegistry());
+        googleMapsService = new GoogleMapsService(restTemplate, new DirectionsCache(), circuitBreakers,
+                new SimpleMeterRegistry());
+        when(restTemplate.getForObject(anyString(), eq(String.class)))
+                .thenReturn(getMockJsonInvalidRequest(), getMockJsonInvalidRequest(), getMockJsonInvalidRequest())
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null))
+                .thenReturn(getMockJsonResponseSuccess());
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(GoogleMapsDirectionsRequestException.class,
+                    () -> googleMapsService.getDirections(origin, destination, TransportMode.WALKING));
+        }
+        assertThrows(GoogleMapsDirectionsApiException.class,
+                () -> googleMapsService.getDirections(origin, destination, TransportMode.WALKING));
+
+        assertEquals(CircuitBreaker.State.CLOSED,
+                circuitBreakers.get(OutboundHttpClients.Upstream.DIRECTIONS).state());
+        assertNotNull(googleMapsService.getDirections(origin, destination, TransportMode.WALKING));
+        verify(restTemplate, times(5)).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsShareOneGoogleCall() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        googleMapsService = new GoogleMapsService(restTemplate, new DirectionsCache(), new CircuitBreakers(), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.getForObject(anyString(), eq(String.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return getMockJsonResponseSuccess();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<OutdoorDirectionResponse>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> googleMapsService.getDirections(origin, destination, TransportMode.TRANSIT)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (registry.get("google.singleflight.calls").tag("result", "shared").counter().count() < 3
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<OutdoorDirectionResponse> result : results) {
+                assertEquals("26 m", result.get(5, TimeUnit.SECONDS).getDistance());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
+    }
 }
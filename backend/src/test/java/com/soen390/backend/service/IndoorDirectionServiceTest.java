@@ -1,12 +1,21 @@
 package com.soen390.backend.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.soen390.backend.enums.IndoorManeuverType;
+import com.soen390.backend.model.ConnectorWaitTable;
 import com.soen390.backend.object.IndoorDirectionResponse;
+import com.soen390.backend.object.IndoorRouteAlternative;
 import com.soen390.backend.object.IndoorRouteStep;
+import com.soen390.backend.object.RouteSimplificationOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,6 +42,23 @@ class IndoorDirectionServiceTest {
         assertFalse(response.getRoutePoints().isEmpty());
     }
 
+    @Test
+    void compactGeometry_labelsAreSparse() {
+        IndoorDirectionResponse response = directionService.getIndoorDirections(
+                "H", "H8-843", "H9-903", "8", "9", false);
+        List<IndoorDirectionResponse.RoutePoint> points = response.getRoutePoints();
+
+        IndoorDirectionResponse.CompactRouteGeometry geometry =
+                RouteGeometryEncoder.encode(points, RouteGeometryEncoder.DEFAULT_PRECISION);
+
+        assertTrue(points.size() >= 10, "expected a long cross-floor route, got " + points.size());
+        assertTrue(geometry.labels().size() * 2 < points.size(),
+                geometry.labels().size() + " labels for " + points.size() + " points");
+        assertEquals("H8-843", geometry.labels().get(0));
+        assertEquals("H9-903", geometry.labels().get(points.size() - 1));
+        assertTrue(geometry.labels().values().stream().anyMatch(l -> l.startsWith("TRANSITION_")));
+    }
+
     @Test
     void getIndoorDirections_returnsComputedDistanceDuration() {
         IndoorDirectionResponse response = directionService.getIndoorDirections(
@@ -1340,4 +1366,160 @@ class IndoorDirectionServiceTest {
         assertNotNull(r);
     }
 
+    @Test
+    void simplification_reducesPointsAndKeepsEndpointsAndDistance() {
+        IndoorDirectionResponse full = directionService.getIndoorDirections(
+                "Hall-8", "H8-843", "H8-807", "8", "8", false);
+        IndoorDirectionResponse simplified = directionService.getIndoorDirections(
+                "Hall-8", "H8-843", "H8-807", "8", "8", false,
+                RouteSimplificationOptions.withTolerance(RouteSimplificationOptions.DEFAULT_TOLERANCE_PX));
+
+        List<IndoorDirectionResponse.RoutePoint> points = simplified.getRoutePoints();
+        assertTrue(points.size() <= full.getRoutePoints().size());
+        assertEquals("H8-843", points.get(0).getLabel());
+        assertEquals("H8-807", points.get(points.size() - 1).getLabel());
+        assertEquals(full.getDistance(), simplified.getDistance());
+        assertEquals(full.getSteps().size(), simplified.getSteps().size());
+    }
+
+    @Test
+    void simplification_keepsTransitionMarkerOnCrossFloorRoute() {
+        IndoorDirectionResponse r = directionService.getIndoorDirections(
+                "LB", "LB-204", "LB-385-1", "2", "3", false,
+                RouteSimplificationOptions.withTolerance(50));
+
+        assertFalse(r.getRoutePoints().isEmpty());
+        assertTrue(r.getRoutePoints().stream()
+                .anyMatch(p -> p.getLabel() != null && p.getLabel().startsWith("TRANSITION_")));
+    }
+
+    @Test
+    void getConnectedIndoorDirections_hallToMb_returnsOneResponsePerBuilding() {
+        Optional<IndoorDirectionService.ConnectedIndoorRoute> route = directionService.getConnectedIndoorDirections(
+                "H", "H8-843", "8", "MB", "MB-S2-245", "S2", false);
+
+        assertTrue(route.isPresent());
+        assertEquals(2, route.get().legs().size());
+        IndoorDirectionResponse hall = route.get().legs().get(0);
+        assertEquals("Hall Building", hall.getBuildingName());
+        assertEquals("8", hall.getStartFloor());
+        assertEquals("1", hall.getEndFloor());
+        assertTrue(hall.getSteps().stream()
+                .anyMatch(step -> step.maneuverType() == IndoorManeuverType.ELEVATOR_DOWN));
+        assertEquals("MB", route.get().legs().get(1).getBuildingId());
+        assertEquals("260 m", route.get().connections().get(0).distance());
+        assertNotNull(route.get().duration());
+    }
+
+    @Test
+    void getConnectedIndoorDirections_unconnectedBuildings_isEmpty() {
+        assertTrue(directionService.getConnectedIndoorDirections(
+                "H", "H8-843", "8", "VL", "VL-101", "1", false).isEmpty());
+    }
+
+    @Test
+    void getRouteAlternatives_sameFloor_startsWithShortestAndIsParetoOptimal() {
+        List<IndoorRouteAlternative> alternatives = directionService.getRouteAlternatives(
+                "Hall-8", "H8-843", "H8-807", "8", "8", false);
+
+        assertFalse(alternatives.isEmpty());
+        for (int i = 0; i < alternatives.size(); i++) {
+            IndoorRouteAlternative alternative = alternatives.get(i);
+            assertEquals(0, alternative.floorChanges());
+            List<IndoorDirectionResponse.RoutePoint> points = alternative.route().getRoutePoints();
+            assertEquals("H8-843", points.get(0).getLabel());
+            assertEquals("H8-807", points.get(points.size() - 1).getLabel());
+            if (i > 0) {
+                assertTrue(alternative.turns() < alternatives.get(i - 1).turns());
+            }
+        }
+    }
+
+    @Test
+    void getRouteAlternatives_crossFloor_insertsTransitionMarker() {
+        List<IndoorRouteAlternative> alternatives = directionService.getRouteAlternatives(
+                "H", "H8-843", "H1-118", "8", "1", false);
+
+        assertFalse(alternatives.isEmpty());
+        IndoorRouteAlternative shortest = alternatives.get(0);
+        assertEquals(1, shortest.floorChanges());
+        assertTrue(shortest.route().getRoutePoints().stream()
+                .anyMatch(p -> "TRANSITION_ELEVATOR_TO_1".equals(p.getLabel())));
+        assertEquals("8", shortest.route().getStartFloor());
+        assertEquals("1", shortest.route().getEndFloor());
+    }
+
+    @Test
+    void getRouteAlternatives_unknownRoom_isEmpty() {
+        assertTrue(directionService.getRouteAlternatives("Hall-8", "NOPE", "H8-807", "8", "8", false).isEmpty());
+    }
+
+    @Test
+    void getIndoorDirections_elevatorStepDuration_followsTimeOfDay() {
+        IndoorRouteStep offPeak = elevatorStep(LocalDateTime.of(2026, 10, 18, 12, 0));
+        IndoorRouteStep peak = elevatorStep(LocalDateTime.of(2026, 10, 19, 8, 40));
+
+        // Default 30 s wait plus 4 s per floor for the seven floors from 8 to 1.
+        assertEquals("58 sec", offPeak.duration());
+        assertTrue(peak.duration().contains("min"), peak.duration());
+    }
+
+    @Test
+    void getIndoorDirections_usesTheInjectedWaitTable() throws Exception {
+        ConnectorWaitTable slowElevator = ConnectorWaitTable.parse(new ObjectMapper().readTree("""
+                {"connectors": [{"id": "Hall-Elevator-Main", "profiles": [{
+                  "days": ["SUNDAY"], "slots": [{"from": "00:00", "to": "00:00", "waitSeconds": 600}]}]}]}
+                """));
+        ZoneId zone = ZoneId.of("America/Montreal");
+        Clock sundayNoon = Clock.fixed(LocalDateTime.of(2026, 10, 18, 12, 0).atZone(zone).toInstant(), zone);
+        IndoorDirectionService service = new IndoorDirectionService(pathfindingService,
+                new CampusRouter(pathfindingService, slowElevator), slowElevator, new SimpleMeterRegistry(), sundayNoon);
+
+        IndoorRouteStep step = service.getIndoorDirections("H", "H8-843", "H1-118", "8", "1", true).getSteps().stream()
+                .filter(s -> s.maneuverType() == IndoorManeuverType.ELEVATOR_DOWN)
+                .findFirst()
+                .orElseThrow();
+
+        // 600 s wait plus 4 s per floor for the seven floors from 8 to 1.
+        assertEquals("10 min 28 sec", step.duration());
+    }
+
+    @Test
+    void getRouteAlternatives_atPeak_stillReachesDestination() {
+        List<IndoorRouteAlternative> alternatives = serviceAt(LocalDateTime.of(2026, 10, 19, 8, 40))
+                .getRouteAlternatives("H", "H8-843", "H1-118", "8", "1", true);
+
+        assertFalse(alternatives.isEmpty());
+        assertEquals(1, alternatives.get(0).floorChanges());
+    }
+
+    private IndoorRouteStep elevatorStep(LocalDateTime departure) {
+        IndoorDirectionResponse response = serviceAt(departure)
+                .getIndoorDirections("H", "H8-843", "H1-118", "8", "1", true);
+        return response.getSteps().stream()
+                .filter(step -> step.maneuverType() == IndoorManeuverType.ELEVATOR_DOWN)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private IndoorDirectionService serviceAt(LocalDateTime departure) {
+        ZoneId zone = ZoneId.of("America/Montreal");
+        Clock clock = Clock.fixed(departure.atZone(zone).toInstant(), zone);
+        return new IndoorDirectionService(pathfindingService, new CampusRouter(pathfindingService),
+                ConnectorWaitTable.getDefault(), new SimpleMeterRegistry(), clock);
+    }
+
+    @Test
+    void getIndoorDirections_carriesSnapshotVersion() {
+        long before = directionService.getIndoorDirections("Hall-8", "H8-843", "H8-807", "8", "8", false)
+                .getSnapshotVersion();
+        assertEquals(pathfindingService.snapshot().version(), before);
+
+        pathfindingService.replaceFloor("Hall-8", pathfindingService.snapshot().floor("Hall-8").withStairs());
+        IndoorDirectionResponse after = directionService.getIndoorDirections(
+                "Hall-8", "H8-843", "H8-807", "8", "8", false);
+
+        assertEquals(before + 1, after.getSnapshotVersion());
+        assertFalse(after.getRoutePoints().isEmpty());
+    }
 }
@@ -0,0 +1,101 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.object.IndoorSearchResult;
+import com.soen390.backend.service.PathfindingService.Waypoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndoorSearchServiceTest {
+
+    private PathfindingService pathfindingService;
+    private IndoorSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        pathfindingService = new PathfindingService();
+        searchService = new IndoorSearchService(pathfindingService, new IndoorDirectionService(pathfindingService));
+    }
+
+    @Test
+    void search_roomIdPrefix_returnsRoomWithBuildingAndFloor() {
+        List<IndoorSearchResult> results = searchService.search("H8-84", 10);
+
+        IndoorSearchResult match = results.stream()
+                .filter(r -> r.id().equals("H8-843")).findFirst().orElseThrow();
+        assertEquals("Hall-8", match.buildingId());
+        assertEquals("8", match.floor());
+        assertEquals("Hall Building", match.buildingName());
+        assertEquals("room", match.type());
+    }
+
+    @Test
+    void search_isCaseInsensitiveAndMatchesTrailingToken() {
+        assertTrue(searchService.search("843", 10).stream().anyMatch(r -> r.id().equals("H8-843")));
+        assertTrue(searchService.search("h8-843", 10).stream().anyMatch(r -> r.id().equals("H8-843")));
+    }
+
+    @Test
+    void search_poiDisplayName_returnsTypedPoi() {
+        List<IndoorSearchResult> results = searchService.search("hall-elevator", 50);
+
+        assertFalse(results.isEmpty());
+        assertTrue(results.stream().anyMatch(r -> "elevator".equals(r.type()) && r.buildingId().startsWith("Hall-")));
+    }
+
+    @Test
+    void search_buildingAlias_returnsBuilding() {
+        List<IndoorSearchResult> results = searchService.search("webster", 5);
+
+        assertEquals(1, results.size());
+        assertEquals("LB", results.get(0).id());
+        assertEquals("building", results.get(0).type());
+        assertNull(results.get(0).floor());
+    }
+
+    @Test
+    void search_respectsLimitAndRanksExactMatchFirst() {
+        List<IndoorSearchResult> results = searchService.search("lb", 3);
+
+        assertEquals(3, results.size());
+        assertEquals("building", results.get(0).type());
+    }
+
+    @Test
+    void search_unknownPrefixOrBlankQuery_returnsEmpty() {
+        assertTrue(searchService.search("zzz-nothing", 10).isEmpty());
+        assertTrue(searchService.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void reindexFloor_isIdempotent() {
+        int before = searchService.search("H8-", 50).size();
+        searchService.reindexFloor("Hall-8");
+        assertEquals(before, searchService.search("H8-", 50).size());
+    }
+
+    @Test
+    void replacedFloor_isReindexedWithItsNewRooms() {
+        assertTrue(searchService.search("H8-843", 10).stream().anyMatch(r -> r.id().equals("H8-843")));
+
+        pathfindingService.replaceFloor("Hall-8", pathfindingService.snapshot().floor("Hall-8").withStairs(),
+                Map.of("H8-999", new Waypoint(100, 100, "H8-999")), List.of());
+
+        assertTrue(searchService.search("H8-843", 10).isEmpty());
+        List<IndoorSearchResult> results = searchService.search("H8-999", 10);
+        assertEquals(1, results.size());
+        assertEquals("Hall-8", results.get(0).buildingId());
+    }
+
+    @Test
+    void prefixIndex_returnsCompletionsOfTheSameLengthInKeyOrder() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        List.of("ac", "ab", "b", "aa", "a").forEach(k -> index.put(k, k));
+
+        assertEquals(List.of("a", "aa", "ab", "ac"), index.search("a", 10));
+    }
+}
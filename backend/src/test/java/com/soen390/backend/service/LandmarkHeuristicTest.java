@@ -0,0 +1,61 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.benchmark.RoutingEngineBenchmark;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LandmarkHeuristicTest {
+
+    private final Graph<PathfindingService.Waypoint, DefaultWeightedEdge> campus =
+            RoutingEngineBenchmark.syntheticCampus(3, 10, 10, 5);
+
+    @Test
+    void build_takesPreferredLandmarksFirstThenFillsUpToCount() {
+        List<PathfindingService.Waypoint> vertices = new ArrayList<>(campus.vertexSet());
+        PathfindingService.Waypoint shaft = vertices.get(17);
+
+        LandmarkHeuristic<PathfindingService.Waypoint> heuristic = LandmarkHeuristic.build(campus, 4, List.of(shaft));
+
+        assertEquals(4, heuristic.getLandmarks().size());
+        assertEquals(shaft, heuristic.getLandmarks().get(0));
+        assertEquals(4L * campus.vertexSet().size() * Double.BYTES, heuristic.tableBytes());
+    }
+
+    @Test
+    void getCostEstimate_neverExceedsTrueDistanceAndIsExactAtLandmarks() {
+        LandmarkHeuristic<PathfindingService.Waypoint> heuristic = LandmarkHeuristic.build(campus, 6, List.of());
+        ShortestPathAlgorithm<PathfindingService.Waypoint, DefaultWeightedEdge> dijkstra =
+                new DijkstraShortestPath<>(campus);
+
+        List<PathfindingService.Waypoint> vertices = new ArrayList<>(campus.vertexSet());
+        Random random = new Random(3);
+        for (int i = 0; i < 300; i++) {
+            PathfindingService.Waypoint u = vertices.get(random.nextInt(vertices.size()));
+            PathfindingService.Waypoint t = vertices.get(random.nextInt(vertices.size()));
+            assertTrue(heuristic.getCostEstimate(u, t) <= dijkstra.getPathWeight(u, t) + 1e-9);
+        }
+
+        PathfindingService.Waypoint landmark = heuristic.getLandmarks().get(0);
+        PathfindingService.Waypoint other = vertices.get(5);
+        assertEquals(dijkstra.getPathWeight(other, landmark), heuristic.getCostEstimate(other, landmark), 1e-9);
+    }
+
+    @Test
+    void build_withZeroLandmarks_degradesToDijkstra() {
+        LandmarkHeuristic<PathfindingService.Waypoint> heuristic = LandmarkHeuristic.build(campus, 0, List.of());
+        List<PathfindingService.Waypoint> vertices = new ArrayList<>(campus.vertexSet());
+
+        assertTrue(heuristic.getLandmarks().isEmpty());
+        assertEquals(0d, heuristic.getCostEstimate(vertices.get(0), vertices.get(1)));
+        assertNotNull(heuristic.search(campus).getPath(vertices.get(0), vertices.get(vertices.size() - 1)));
+    }
+}
@@ -0,0 +1,147 @@
+package com.soen390.backend.service;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParetoRouteSearchTest {
+
+    private record Node(String id, double x, double y, int level) {}
+
+    private static ParetoRouteSearch<Node> search(Graph<Node, DefaultWeightedEdge> graph,
+                                                  ParetoRouteSearch.Limits limits) {
+        return new ParetoRouteSearch<>(ParetoRouteSearch.Network.of(graph), Node::x, Node::y, Node::level, limits);
+    }
+
+    private static void connect(Graph<Node, DefaultWeightedEdge> graph, Node a, Node b) {
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.setEdgeWeight(graph.addEdge(a, b), Math.hypot(a.x() - b.x(), a.y() - b.y()));
+    }
+
+    /**
+     * A staircase of short zig-zags from s to t (shortest, four turns) and a detour along the
+     * edge of the square (longer, one turn).
+     */
+    private static Graph<Node, DefaultWeightedEdge> zigZagVersusEdge() {
+        Graph<Node, DefaultWeightedEdge> graph = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Node s = new Node("s", 0, 0, 0);
+        Node a = new Node("a", 10, 0, 0);
+        Node b = new Node("b", 10, 10, 0);
+        Node c = new Node("c", 20, 10, 0);
+        Node d = new Node("d", 20, 20, 0);
+        Node t = new Node("t", 30, 20, 0);
+        connect(graph, s, a);
+        connect(graph, a, b);
+        connect(graph, b, c);
+        connect(graph, c, d);
+        connect(graph, d, t);
+        Node corner = new Node("corner", 0, 21, 0);
+        connect(graph, s, corner);
+        connect(graph, corner, t);
+        return graph;
+    }
+
+    @Test
+    void search_returnsShortestAndSimplerRoute() {
+        Graph<Node, DefaultWeightedEdge> graph = zigZagVersusEdge();
+        Node s = new Node("s", 0, 0, 0);
+        Node t = new Node("t", 30, 20, 0);
+
+        List<ParetoRouteSearch.Route<Node>> routes = search(graph, ParetoRouteSearch.Limits.DEFAULT).search(s, t);
+
+        assertEquals(2, routes.size());
+        assertEquals(50d, routes.get(0).distance(), 1e-9);
+        assertEquals(4, routes.get(0).turns());
+        assertEquals(1, routes.get(1).turns());
+        assertTrue(routes.get(1).distance() > routes.get(0).distance());
+        assertEquals(List.of("s", "corner", "t"), routes.get(1).vertices().stream().map(Node::id).toList());
+    }
+
+    @Test
+    void search_detourLimitDropsLongAlternatives() {
+        Graph<Node, DefaultWeightedEdge> graph = zigZagVersusEdge();
+
+        List<ParetoRouteSearch.Route<Node>> routes = search(graph, new ParetoRouteSearch.Limits(1000, 6, 1.0d))
+                .search(new Node("s", 0, 0, 0), new Node("t", 30, 20, 0));
+
+        assertEquals(1, routes.size());
+        assertEquals(4, routes.get(0).turns());
+    }
+
+    @Test
+    void search_tradesDistanceForFewerFloorTransitions() {
+        Graph<Node, DefaultWeightedEdge> graph = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Node s = new Node("s", 0, 0, 1);
+        Node t = new Node("t", 100, 0, 1);
+        // Shortcut through the floor below: two transitions.
+        Node down = new Node("down", 0, 0, 0);
+        Node up = new Node("up", 100, 0, 0);
+        connect(graph, s, down);
+        graph.setEdgeWeight(graph.getEdge(s, down), 5);
+        connect(graph, down, up);
+        connect(graph, up, t);
+        graph.setEdgeWeight(graph.getEdge(up, t), 5);
+        graph.setEdgeWeight(graph.getEdge(down, up), 80);
+        // Same-floor corridor: longer, no transitions.
+        Node mid = new Node("mid", 50, 0, 1);
+        connect(graph, s, mid);
+        connect(graph, mid, t);
+
+        List<ParetoRouteSearch.Route<Node>> routes = search(graph, ParetoRouteSearch.Limits.DEFAULT).search(s, t);
+
+        assertEquals(2, routes.size());
+        assertEquals(2, routes.get(0).levelChanges());
+        assertEquals(90d, routes.get(0).distance(), 1e-9);
+        assertEquals(0, routes.get(1).levelChanges());
+        assertEquals(100d, routes.get(1).distance(), 1e-9);
+    }
+
+    @Test
+    void search_labelCapStillReturnsShortestRouteFirst() {
+        Graph<Node, DefaultWeightedEdge> graph = zigZagVersusEdge();
+
+        List<ParetoRouteSearch.Route<Node>> routes = search(graph, new ParetoRouteSearch.Limits(5, 1, 2d))
+                .search(new Node("s", 0, 0, 0), new Node("t", 30, 20, 0));
+
+        assertFalse(routes.isEmpty());
+        assertEquals(50d, routes.get(0).distance(), 1e-9);
+    }
+
+    @Test
+    void search_unreachableOrUnknownTarget_isEmpty() {
+        Graph<Node, DefaultWeightedEdge> graph = zigZagVersusEdge();
+        Node island = new Node("island", 99, 99, 0);
+        graph.addVertex(island);
+
+        assertTrue(search(graph, ParetoRouteSearch.Limits.DEFAULT).search(new Node("s", 0, 0, 0), island).isEmpty());
+        assertTrue(search(graph, ParetoRouteSearch.Limits.DEFAULT)
+                .search(new Node("s", 0, 0, 0), new Node("nowhere", 0, 0, 0)).isEmpty());
+    }
+
+    @Test
+    void search_readsOnlyTheNeighbourhoodOfAnUnboundedNetwork() {
+        // An endless corridor: arcs are produced on demand and there is no graph to copy.
+        Set<Integer> expanded = new HashSet<>();
+        ParetoRouteSearch.Network<Integer> corridor = (i, visitor) -> {
+            expanded.add(i);
+            visitor.visit(i - 1, 1d);
+            visitor.visit(i + 1, 1d);
+        };
+
+        List<ParetoRouteSearch.Route<Integer>> routes = new ParetoRouteSearch<>(corridor,
+                i -> i, i -> 0d, i -> 0, ParetoRouteSearch.Limits.DEFAULT).search(0, 5);
+
+        assertEquals(1, routes.size());
+        assertEquals(IntStream.rangeClosed(0, 5).boxed().toList(), routes.get(0).vertices());
+        assertTrue(expanded.size() < 20);
+    }
+}
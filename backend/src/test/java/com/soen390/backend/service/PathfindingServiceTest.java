@@ -1,13 +1,25 @@
 package com.soen390.backend.service;
 
+import com.soen390.backend.controller.IndoorDirectionsController.PoiResponse;
+import com.soen390.backend.model.MappedFloorPlanStore;
 import com.soen390.backend.service.PathfindingService.Waypoint;
 import com.soen390.backend.service.strategy.AccessibilityRoutingStrategy;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,46 +55,41 @@ class PathfindingServiceTest {
 
     @Test
     void findNearestWaypoint_returnsClosestForHall8() {
-        service.setBuilding("Hall-8");
         List<Waypoint> wps = service.getWaypointsForBuilding("Hall-8");
         Waypoint first = wps.get(0);
 
-        Waypoint nearest = service.findNearestWaypoint(first.x, first.y);
+        Waypoint nearest = service.findNearestWaypoint("Hall-8", first.x, first.y);
         assertNotNull(nearest);
         assertEquals(first.id, nearest.id);
     }
 
     @Test
     void findNearestWaypoint_returnsNullForEmptyBuilding() {
-        service.setBuilding("Unknown-99");
-        Waypoint nearest = service.findNearestWaypoint(100, 100);
+        Waypoint nearest = service.findNearestWaypoint("Unknown-99", 100, 100);
         assertNull(nearest);
     }
 
     @Test
     void findWaypointById_findsExistingWaypoint() {
-        service.setBuilding("Hall-8");
-        Waypoint wp = service.findWaypointById("point-allowed-hallway1");
+        Waypoint wp = service.findWaypointById("Hall-8", "point-allowed-hallway1");
         assertNotNull(wp);
         assertEquals("point-allowed-hallway1", wp.id);
     }
 
     @Test
     void findWaypointById_returnsNullForNonExistent() {
-        service.setBuilding("Hall-8");
-        Waypoint wp = service.findWaypointById("does-not-exist");
+        Waypoint wp = service.findWaypointById("Hall-8", "does-not-exist");
         assertNull(wp);
     }
 
     @Test
     void findPath_hall8_returnsNonEmptyPath() {
-        service.setBuilding("Hall-8");
         List<Waypoint> wps = service.getWaypointsForBuilding("Hall-8");
 
         Waypoint start = wps.get(0);
         Waypoint end = wps.get(wps.size() - 1);
 
-        List<Waypoint> path = service.findPathThroughWaypoints(start, end, false);
+        List<Waypoint> path = service.findPathThroughWaypoints("Hall-8", start, end, false);
         assertNotNull(path);
         assertFalse(path.isEmpty());
         assertEquals(start.id, path.get(0).id);
@@ -91,11 +98,10 @@ class PathfindingServiceTest {
 
     @Test
     void findPath_sameStartAndEnd_returnsSinglePoint() {
-        service.setBuilding("Hall-8");
         List<Waypoint> wps = service.getWaypointsForBuilding("Hall-8");
         Waypoint wp = wps.get(0);
 
-        List<Waypoint> path = service.findPathThroughWaypoints(wp, wp, false);
+        List<Waypoint> path = service.findPathThroughWaypoints("Hall-8", wp, wp, false);
         assertNotNull(path);
         assertEquals(1, path.size());
         assertEquals(wp.id, path.get(0).id);
@@ -103,15 +109,13 @@ class PathfindingServiceTest {
 
     @Test
     void findPath_returnsEmptyForNullInput() {
-        service.setBuilding("Hall-8");
-        assertTrue(service.findPathThroughWaypoints(null, null, false).isEmpty());
+        assertTrue(service.findPathThroughWaypoints("Hall-8", null, null, false).isEmpty());
     }
 
     @Test
     void findPath_returnsEmptyWhenGraphMissing() {
-        service.setBuilding("Unknown-99");
         Waypoint fake = new Waypoint(0, 0, "fake");
-        assertTrue(service.findPathThroughWaypoints(fake, fake, false).isEmpty());
+        assertTrue(service.findPathThroughWaypoints("Unknown-99", fake, fake, false).isEmpty());
     }
 
     @ParameterizedTest
@@ -122,14 +126,13 @@ class PathfindingServiceTest {
             "MB-S2"
     })
     void graphIsConnected_pathExistsBetweenFirstAndLast(String buildingId) {
-        service.setBuilding(buildingId);
         List<Waypoint> wps = service.getWaypointsForBuilding(buildingId);
         if (wps.size() < 2) return;
 
         Waypoint start = wps.get(0);
         Waypoint end = wps.get(wps.size() - 1);
 
-        List<Waypoint> path = service.findPathThroughWaypoints(start, end, false);
+        List<Waypoint> path = service.findPathThroughWaypoints(buildingId, start, end, false);
         assertNotNull(path,
                 buildingId + " graph should be connected — path must exist");
         assertTrue(path.size() >= 2);
@@ -174,21 +177,41 @@ class PathfindingServiceTest {
     }
 
     @Test
-    void getAllWaypoints_returnsListForCurrentBuilding() {
-        service.setBuilding("Hall-8");
-        List<Waypoint> all = service.getAllWaypoints();
-        assertNotNull(all);
-        assertFalse(all.isEmpty());
+    void findNearestWaypoint_onSnapshot_skipsStairsWhenAvoidingThem() {
+        RoutingSnapshot routing = service.snapshot();
+        Waypoint stairs = service.getWaypointsForBuilding("Hall-1").stream()
+                .filter(wp -> wp.id.toLowerCase().contains("stairs"))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(stairs, service.findNearestWaypoint(routing, "Hall-1",
+                AccessibilityRoutingStrategy.fromAvoidStairs(false), stairs.x, stairs.y));
+        Waypoint accessible = service.findNearestWaypoint(routing, "Hall-1",
+                AccessibilityRoutingStrategy.fromAvoidStairs(true), stairs.x, stairs.y);
+        assertNotNull(accessible);
+        assertNotEquals(stairs, accessible);
+        assertNull(service.findNearestWaypoint(routing, "Unknown-99",
+                AccessibilityRoutingStrategy.fromAvoidStairs(false), 0, 0));
+    }
+
+    @Test
+    void queriesOnDifferentFloors_doNotShareState() {
+        Waypoint hall8 = service.getWaypointsForBuilding("Hall-8").get(0);
+        Waypoint hall9 = service.getWaypointsForBuilding("Hall-9").get(0);
+
+        assertEquals(hall8, service.findNearestWaypoint("Hall-8", hall8.x, hall8.y));
+        assertEquals(hall9, service.findNearestWaypoint("Hall-9", hall9.x, hall9.y));
+        assertNotNull(service.findWaypointById("Hall-8", hall8.id));
+        assertNull(service.findWaypointById("Hall-9", hall8.id));
     }
 
     @Test
     void findPath_lb2_returnsConnectedPath() {
-        service.setBuilding("LB-2");
         List<Waypoint> wps = service.getWaypointsForBuilding("LB-2");
         Waypoint start = wps.get(0);
         Waypoint end = wps.get(wps.size() / 2);
 
-        List<Waypoint> path = service.findPathThroughWaypoints(start, end, false);
+        List<Waypoint> path = service.findPathThroughWaypoints("LB-2", start, end, false);
         assertNotNull(path);
         assertFalse(path.isEmpty());
         assertEquals(start.id, path.get(0).id);
@@ -197,62 +220,309 @@ class PathfindingServiceTest {
 
     @Test
     void findPath_withAccessibilityStrategy_avoidStairs_returnsPath() {
-        // Covers 3-arg overload with AccessibilityRoutingStrategy
-        service.setBuilding("Hall-8");
+        // Covers the snapshot overload with AccessibilityRoutingStrategy
         List<Waypoint> wps = service.getWaypointsForBuilding("Hall-8");
         Waypoint start = wps.get(0);
         Waypoint end = wps.get(wps.size() - 1);
         AccessibilityRoutingStrategy strategy = AccessibilityRoutingStrategy.fromAvoidStairs(true);
 
-        List<Waypoint> path = service.findPathThroughWaypoints(start, end, strategy);
+        List<Waypoint> path = service.findPathThroughWaypoints(service.snapshot(), "Hall-8", start, end, strategy);
         assertNotNull(path);
         assertFalse(path.isEmpty());
     }
 
     @Test
     void findPath_twoArgOverload_delegatesToThreeArg() {
-        // Covers 2-arg findPathThroughWaypoints overload
-        service.setBuilding("Hall-8");
+        // Covers the planId-only findPathThroughWaypoints overload
         List<Waypoint> wps = service.getWaypointsForBuilding("Hall-8");
         Waypoint start = wps.get(0);
         Waypoint end = wps.get(wps.size() - 1);
 
-        List<Waypoint> path = service.findPathThroughWaypoints(start, end);
+        List<Waypoint> path = service.findPathThroughWaypoints("Hall-8", start, end);
         assertNotNull(path);
         assertFalse(path.isEmpty());
     }
 
     @Test
     void findPath_nullStart_returnsEmpty() {
-        service.setBuilding("Hall-8");
         List<Waypoint> wps = service.getWaypointsForBuilding("Hall-8");
         Waypoint end = wps.get(wps.size() - 1);
 
-        List<Waypoint> path = service.findPathThroughWaypoints(null, end);
+        List<Waypoint> path = service.findPathThroughWaypoints("Hall-8", null, end);
         assertNotNull(path);
         assertTrue(path.isEmpty());
     }
 
     @Test
     void findPath_nullEnd_returnsEmpty() {
-        service.setBuilding("Hall-8");
         List<Waypoint> wps = service.getWaypointsForBuilding("Hall-8");
         Waypoint start = wps.get(0);
 
-        List<Waypoint> path = service.findPathThroughWaypoints(start, null);
+        List<Waypoint> path = service.findPathThroughWaypoints("Hall-8", start, null);
         assertNotNull(path);
         assertTrue(path.isEmpty());
     }
 
     @Test
     void findPath_avoidStairsTrue_usesNoStairsGraph() {
-        service.setBuilding("Hall-8");
         List<Waypoint> wps = service.getWaypointsForBuilding("Hall-8");
         Waypoint start = wps.get(0);
         Waypoint end = wps.get(wps.size() - 1);
 
-        List<Waypoint> path = service.findPathThroughWaypoints(start, end, true);
+        List<Waypoint> path = service.findPathThroughWaypoints("Hall-8", start, end, true);
         assertNotNull(path);
         assertFalse(path.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void resolver_mapsRoomsPoisAndWaypointsToTypedEntries() {
+        FloorIdentifierResolver resolver = service.getResolver("LB-2");
+
+        assertEquals(FloorIdentifierResolver.Kind.ROOM, resolver.resolve("LB-204").kind());
+        assertEquals(FloorIdentifierResolver.Kind.ROOM, resolver.resolve("LB-Elevator-Main").kind());
+        assertEquals(FloorIdentifierResolver.Kind.WAYPOINT, resolver.resolve("LB2-AllowedPath1").kind());
+        assertNull(resolver.resolve("does-not-exist"));
+    }
+
+    @Test
+    void resolver_poiOnlyIdResolvesAsPoi() {
+        FloorIdentifierResolver resolver = FloorIdentifierResolver.build(
+                Map.of("R-1", new Waypoint(1, 1, "R-1")),
+                List.of(new PoiResponse(
+                        5, 5, "Elevator-A", "Elevator", "elevator")),
+                List.of(new Waypoint(9, 9, "wp-1")));
+
+        FloorIdentifierResolver.Entry entry = resolver.resolve("Elevator-A");
+        assertNotNull(entry);
+        assertEquals(FloorIdentifierResolver.Kind.POI, entry.kind());
+        assertEquals(5, entry.point().x);
+        assertNull(resolver.resolve("Elevator-A", FloorIdentifierResolver.Kind.WAYPOINT));
+        assertEquals(3, resolver.size());
+    }
+
+    @Test
+    void resolver_roomAlsoListedAsPoiResolvesAsRoom() {
+        FloorIdentifierResolver resolver = FloorIdentifierResolver.build(
+                Map.of("Elevator-A", new Waypoint(5, 5, "Elevator-A")),
+                List.of(new PoiResponse(5, 5, "Elevator-A", "Elevator", "elevator")),
+                List.of(new Waypoint(9, 9, "wp-1")));
+
+        assertEquals(FloorIdentifierResolver.Kind.ROOM, resolver.resolve("Elevator-A").kind());
+        assertEquals(2, resolver.size());
+    }
+
+    @Test
+    void resolver_failsFastWhenAnIdShadowsAWaypoint() {
+        Map<String, Waypoint> rooms = Map.of("wp-1", new Waypoint(1, 1, "wp-1"));
+        List<Waypoint> waypoints = List.of(new Waypoint(9, 9, "wp-1"));
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> FloorIdentifierResolver.build(rooms, List.of(), waypoints));
+        assertTrue(thrown.getMessage().contains("wp-1"));
+    }
+
+    @Test
+    void resolver_failsFastOnIdsThatDifferOnlyInCase() {
+        Map<String, Waypoint> rooms = Map.of("H-801", new Waypoint(1, 1, "H-801"));
+        List<PoiResponse> pois = List.of(new PoiResponse(5, 5, "h-801", "Room", "room"));
+
+        assertThrows(IllegalStateException.class, () -> FloorIdentifierResolver.build(rooms, pois, List.of()));
+    }
+
+    @Test
+    void resolver_caseInsensitiveMatchIsOptional() {
+        FloorIdentifierResolver resolver = service.getResolver("Hall-8");
+
+        assertNull(resolver.resolve("h8-843", false));
+        FloorIdentifierResolver.Entry entry = resolver.resolve("h8-843", true);
+        assertNotNull(entry);
+        assertEquals("H8-843", entry.id());
+    }
+
+    @Test
+    void resolver_waypointEntryIsGraphVertex() {
+        Waypoint fromList = service.getWaypointsForBuilding("Hall-8").get(0);
+        assertSame(fromList, service.findWaypointById("Hall-8", fromList.id));
+    }
+
+    @Test
+    void resolver_unknownPlanIsEmpty() {
+        assertEquals(0, service.getResolver("Unknown-99").size());
+    }
+
+    @Test
+    void snapshot_graphsAreReadOnly() {
+        Graph<Waypoint, DefaultWeightedEdge> graph = service.snapshot().floor("Hall-8").withStairs();
+        Waypoint any = graph.vertexSet().iterator().next();
+
+        assertThrows(UnsupportedOperationException.class, () -> graph.removeVertex(any));
+        assertNull(service.snapshot().floor("Unknown-99"));
+    }
+
+    @Test
+    void replaceFloor_publishesNextVersionAndSharesUnchangedFloors() {
+        RoutingSnapshot before = service.snapshot();
+        List<Waypoint> wps = service.getWaypointsForBuilding("Hall-8");
+        Waypoint start = wps.get(0);
+        Waypoint end = wps.get(wps.size() - 1);
+        List<Waypoint> original = service.findPathThroughWaypoints(before, "Hall-8", start, end,
+                AccessibilityRoutingStrategy.fromAvoidStairs(false));
+
+        // Close the corridor segment the current route starts with.
+        SimpleWeightedGraph<Waypoint, DefaultWeightedEdge> closed = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addGraph(closed, before.floor("Hall-8").withStairs());
+        closed.removeEdge(original.get(0), original.get(1));
+        RoutingSnapshot after = service.replaceFloor("Hall-8", closed);
+
+        assertEquals(before.version() + 1, after.version());
+        assertSame(after, service.snapshot());
+        assertSame(before.floor("Hall-9"), after.floor("Hall-9"));
+        assertNotSame(before.floor("Hall-8"), after.floor("Hall-8"));
+        assertTrue(before.floor("Hall-8").withStairs().containsEdge(original.get(0), original.get(1)));
+
+        List<Waypoint> rerouted = service.findPathThroughWaypoints("Hall-8", start, end, false);
+        assertTrue(rerouted.isEmpty() || !rerouted.get(1).equals(original.get(1)));
+        assertEquals(original, service.findPathThroughWaypoints(before, "Hall-8", start, end,
+                AccessibilityRoutingStrategy.fromAvoidStairs(false)));
+    }
+
+    @Test
+    void replaceFloor_concurrentWritersToDifferentFloorsKeepBothChanges() throws Exception {
+        long before = service.snapshot().version();
+        List<String> plans = List.of("Hall-8", "Hall-9", "LB-2", "LB-3");
+        ExecutorService pool = Executors.newFixedThreadPool(plans.size());
+        try {
+            List<Future<RoutingSnapshot>> writes = plans.stream()
+                    .map(plan -> pool.submit(() -> service.replaceFloor(plan, service.snapshot().floor(plan).withStairs())))
+                    .toList();
+            for (Future<RoutingSnapshot> write : writes) write.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        RoutingSnapshot after = service.snapshot();
+        assertEquals(before + plans.size(), after.version());
+        for (String plan : plans) {
+            assertEquals(service.getGraph(plan, AccessibilityRoutingStrategy.fromAvoidStairs(false)).vertexSet().size(),
+                    service.getWaypointsForBuilding(plan).size());
+        }
+    }
+
+    @Test
+    void storeBackedService_routesLikeJsonAndPreparesFloorsOnFirstUse(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("floors.bin");
+        service.exportStore(file);
+        MappedFloorPlanStore store = MappedFloorPlanStore.open(file);
+        PathfindingService mapped = new PathfindingService(ShortestPathEngine.DIJKSTRA, 0, store);
+
+        assertEquals(service.getFloorPlanIds(), mapped.getFloorPlanIds());
+        assertEquals(service.getRoomCoordinates("Hall-8").keySet(), mapped.getRoomCoordinates("Hall-8").keySet());
+        assertEquals(service.getPoisForBuilding("Hall-8").size(), mapped.getPoisForBuilding("Hall-8").size());
+
+        Graph<Waypoint, DefaultWeightedEdge> expected = service.getGraph("Hall-8", AccessibilityRoutingStrategy.fromAvoidStairs(false));
+        Graph<Waypoint, DefaultWeightedEdge> actual = mapped.getGraph("Hall-8", AccessibilityRoutingStrategy.fromAvoidStairs(false));
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(expected.edgeSet().size(), actual.edgeSet().size());
+
+        List<Waypoint> wps = service.getWaypointsForBuilding("Hall-8");
+        Waypoint from = wps.get(0);
+        Waypoint to = wps.get(wps.size() - 1);
+        assertEquals(service.findPathThroughWaypoints("Hall-8", from, to), mapped.findPathThroughWaypoints("Hall-8", from, to));
+        assertEquals(1L, mapped.snapshot().version());
+    }
+
+    @Test
+    void storeBackedService_keepsOnlyTheConfiguredNumberOfFloorsDecoded(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("floors.bin");
+        service.exportStore(file);
+        PathfindingService mapped = new PathfindingService(ShortestPathEngine.DIJKSTRA, 0,
+                MappedFloorPlanStore.open(file), 2);
+
+        for (String plan : List.of("Hall-1", "Hall-2", "Hall-8", "Hall-9")) {
+            assertNotSame(FloorIdentifierResolver.EMPTY, mapped.getResolver(plan));
+        }
+
+        assertEquals(2, mapped.decodedFloorCount());
+        List<Waypoint> wps = service.getWaypointsForBuilding("Hall-1");
+        assertEquals(service.findPathThroughWaypoints("Hall-1", wps.get(0), wps.get(wps.size() - 1)),
+                mapped.findPathThroughWaypoints("Hall-1", wps.get(0), wps.get(wps.size() - 1)));
+    }
+
+    @Test
+    void storeBackedService_keepsOnlyTheConfiguredNumberOfFloorsPrepared(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("floors.bin");
+        service.exportStore(file);
+        PathfindingService mapped = new PathfindingService(ShortestPathEngine.DIJKSTRA, 0,
+                MappedFloorPlanStore.open(file), 2);
+
+        List<String> plans = List.of("Hall-1", "Hall-2", "Hall-8", "Hall-9", "LB-2");
+        for (String plan : plans) {
+            List<Waypoint> wps = service.getWaypointsForBuilding(plan);
+            assertFalse(mapped.findPathThroughWaypoints(plan, wps.get(0), wps.get(wps.size() - 1)).isEmpty());
+            assertTrue(mapped.preparedFloorCount() <= 2);
+        }
+
+        RoutingSnapshot routing = mapped.snapshot();
+        assertFalse(routing.isPrepared("Hall-1"));
+        assertTrue(routing.isPrepared("LB-2"));
+        // An evicted floor is prepared again and routes as before.
+        List<Waypoint> wps = service.getWaypointsForBuilding("Hall-1");
+        assertEquals(service.findPathThroughWaypoints("Hall-1", wps.get(0), wps.get(wps.size() - 1)),
+                mapped.findPathThroughWaypoints("Hall-1", wps.get(0), wps.get(wps.size() - 1)));
+        assertEquals(2, mapped.preparedFloorCount());
+    }
+
+    @Test
+    void storeBackedService_listsRoomsAndPoisWithoutDecodingFloors(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("floors.bin");
+        service.exportStore(file);
+        PathfindingService mapped = new PathfindingService(ShortestPathEngine.DIJKSTRA, 0, MappedFloorPlanStore.open(file));
+
+        for (String plan : mapped.getFloorPlanIds()) {
+            assertEquals(service.getRoomCoordinates(plan).keySet(), mapped.getRoomIds(plan));
+            assertEquals(service.getPoisForBuilding(plan).size(), mapped.getPoisForBuilding(plan).size());
+        }
+
+        assertEquals(0, mapped.decodedFloorCount());
+    }
+
+    @Test
+    void openStore_recompilesAStoreCompiledFromOtherFloorPlans(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("floors.bin");
+        MappedFloorPlanStore.write(file, List.of(), 42L);
+
+        MappedFloorPlanStore store = PathfindingService.openStore(file.toString());
+
+        assertNotNull(store);
+        assertNotEquals(42L, store.sourceHash());
+        assertEquals(service.getFloorPlanIds().size(), store.floorCount());
+        assertTrue(MappedFloorPlanStore.isCompiledFrom(file, store.sourceHash()));
+    }
+
+    @Test
+    void openStore_blankPathMeansJsonFloorPlans() {
+        assertNull(PathfindingService.openStore(""));
+        assertNull(PathfindingService.openStore(null));
+    }
+
+    @Test
+    void findPathBetweenPositions_startsFromTheCorridorNotTheWaypointBehind() {
+        AccessibilityRoutingStrategy strategy = AccessibilityRoutingStrategy.fromAvoidStairs(false);
+        Graph<Waypoint, DefaultWeightedEdge> graph = service.getGraph("Hall-8", strategy);
+        DefaultWeightedEdge longest = graph.edgeSet().stream()
+                .max(java.util.Comparator.comparingDouble(graph::getEdgeWeight)).orElseThrow();
+        Waypoint behind = graph.getEdgeSource(longest);
+        Waypoint ahead = graph.getEdgeTarget(longest);
+        double x = behind.x + 0.6 * (ahead.x - behind.x);
+        double y = behind.y + 0.6 * (ahead.y - behind.y);
+
+        PathfindingService.SnappedPath path = service.findPathBetweenPositions(
+                service.snapshot(), "Hall-8", x, y, ahead.x, ahead.y, strategy);
+
+        assertNotNull(path);
+        assertNull(path.start().vertex());
+        assertEquals(0, path.start().distance(), 1e-6);
+        assertFalse(path.waypoints().contains(behind));
+        assertNull(service.findPathBetweenPositions(service.snapshot(), "Unknown-99", 0, 0, 1, 1, strategy));
+    }
+}
@@ -1,9 +1,14 @@
 package com.soen390.backend.service;
 
+import com.soen390.backend.config.CircuitBreaker;
+import com.soen390.backend.config.CircuitBreakers;
+import com.soen390.backend.config.OutboundHttpClients;
 import com.soen390.backend.enums.PlaceType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestClient;
@@ -99,4 +104,45 @@ class PlacesOfInterestServiceTest {
         assertNull(result);
         mockServer.verify();
     }
+
+    @Test
+    void searchPlacesByText_BadRequestsLeaveTheCircuitClosed() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("google.circuit.places.window-size", "2")
+                .withProperty("google.circuit.places.minimum-calls", "2");
+        CircuitBreakers circuitBreakers = new CircuitBreakers(environment, new SimpleMeterRegistry());
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        PlacesOfInterestService service = new PlacesOfInterestService(builder.build(), circuitBreakers,
+                new SimpleMeterRegistry());
+        for (int i = 0; i < 3; i++) {
+            server.expect(requestTo("https://places.googleapis.com/v1/places:searchText"))
+                    .andRespond(withBadRequest());
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> service.searchPlacesByText("", 45.5, -73.5));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.get(OutboundHttpClients.Upstream.PLACES).state());
+        server.verify();
+    }
+
+    @Test
+    void searchPlacesByText_ServesLastKnownResponseAsStale_WhenGoogleFails() {
+        mockServer.expect(requestTo("https://places.googleapis.com/v1/places:searchText"))
+                .andRespond(withSuccess("{\"places\": [{\"formattedAddress\": \"123 Test St\"}]}",
+                        MediaType.APPLICATION_JSON));
+        mockServer.expect(requestTo("https://places.googleapis.com/v1/places:searchText"))
+                .andRespond(withServerError());
+        mockServer.expect(requestTo("https://places.googleapis.com/v1/places:searchText"))
+                .andRespond(withServerError());
+
+        placesService.searchPlacesByText("pizza", 45.5, -73.5);
+        String stale = placesService.searchPlacesByText("pizza", 45.5, -73.5);
+
+        assertEquals("{\"places\":[{\"formattedAddress\":\"123 Test St\"}],\"stale\":true}", stale);
+        assertThrows(IllegalStateException.class, () -> placesService.searchPlacesByText("sushi", 45.5, -73.5));
+        mockServer.verify();
+    }
 }
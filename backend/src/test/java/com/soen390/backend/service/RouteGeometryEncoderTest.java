@@ -0,0 +1,79 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.object.IndoorDirectionResponse.CompactRouteGeometry;
+import com.soen390.backend.object.IndoorDirectionResponse.RoutePoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteGeometryEncoderTest {
+
+    @Test
+    void encode_matchesReferencePolylineAlgorithm() {
+        List<RoutePoint> route = List.of(
+                new RoutePoint(38.5, -120.2),
+                new RoutePoint(40.7, -120.95),
+                new RoutePoint(43.252, -126.453));
+
+        CompactRouteGeometry geometry = RouteGeometryEncoder.encode(route, 100_000);
+
+        assertEquals("_p~iF~ps|U_ulLnnqC_mqNvxq`@", geometry.encoded());
+        assertTrue(geometry.labels().isEmpty());
+    }
+
+    @Test
+    void encode_keepsLabelsInSparseIndex() {
+        List<RoutePoint> route = List.of(
+                new RoutePoint(100, 200, "H8-843"),
+                new RoutePoint(150, 250),
+                new RoutePoint(150, 300, "TRANSITION_elevator_TO_9"));
+
+        CompactRouteGeometry geometry = RouteGeometryEncoder.encode(route, RouteGeometryEncoder.DEFAULT_PRECISION);
+
+        assertEquals(Map.of(0, "H8-843", 2, "TRANSITION_elevator_TO_9"), geometry.labels());
+    }
+
+    @Test
+    void encode_dropsCorridorWaypointLabels() {
+        List<RoutePoint> route = List.of(
+                new RoutePoint(100, 200, "H8-843"),
+                new RoutePoint(120, 200, "H8-Path-1"),
+                new RoutePoint(140, 200, "Hall-Elevator-Main"),
+                new RoutePoint(140, 200, "TRANSITION_ELEVATOR_TO_9"),
+                new RoutePoint(140, 200, "Hall-Elevator-Main"),
+                new RoutePoint(160, 200, "H9-Path-4"),
+                new RoutePoint(180, 200, "H9-903"));
+
+        CompactRouteGeometry geometry = RouteGeometryEncoder.encode(route, RouteGeometryEncoder.DEFAULT_PRECISION);
+
+        assertEquals(Map.of(0, "H8-843", 2, "Hall-Elevator-Main", 3, "TRANSITION_ELEVATOR_TO_9",
+                4, "Hall-Elevator-Main", 6, "H9-903"), geometry.labels());
+    }
+
+    @Test
+    void decode_roundTripsWithinQuantization() {
+        List<RoutePoint> route = List.of(
+                new RoutePoint(812.34, 95.06, "A"),
+                new RoutePoint(700.0, 95.06),
+                new RoutePoint(12.5, 1400.91, "B"));
+
+        List<RoutePoint> decoded = RouteGeometryEncoder.decode(
+                RouteGeometryEncoder.encode(route, RouteGeometryEncoder.DEFAULT_PRECISION));
+
+        assertEquals(route.size(), decoded.size());
+        for (int i = 0; i < route.size(); i++) {
+            assertEquals(route.get(i).getX(), decoded.get(i).getX(), 0.05);
+            assertEquals(route.get(i).getY(), decoded.get(i).getY(), 0.05);
+            assertEquals(route.get(i).getLabel(), decoded.get(i).getLabel());
+        }
+    }
+
+    @Test
+    void decode_truncatedInput_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RouteGeometryEncoder.decode(new CompactRouteGeometry("_p~iF~", 100_000, Map.of())));
+    }
+}
@@ -0,0 +1,67 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.object.IndoorDirectionResponse.RoutePoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteSimplifierTest {
+
+    @Test
+    void simplify_mergesCollinearCorridorPoints() {
+        List<RoutePoint> route = List.of(
+                new RoutePoint(0, 0, "A"),
+                new RoutePoint(10, 0, "wp1"),
+                new RoutePoint(20, 0, "wp2"),
+                new RoutePoint(30, 0, "wp3"),
+                new RoutePoint(30, 10, "B"));
+
+        List<RoutePoint> result = RouteSimplifier.simplify(route, 0, i -> false);
+
+        assertEquals(List.of("A", "wp3", "B"), result.stream().map(RoutePoint::getLabel).toList());
+    }
+
+    @Test
+    void simplify_dropsPointsWithinTolerance() {
+        List<RoutePoint> route = List.of(
+                new RoutePoint(0, 0, "A"),
+                new RoutePoint(10, 1, "wp1"),
+                new RoutePoint(20, -1, "wp2"),
+                new RoutePoint(30, 0, "B"));
+
+        assertEquals(2, RouteSimplifier.simplify(route, 2.0, i -> false).size());
+        assertEquals(4, RouteSimplifier.simplify(route, 0.5, i -> false).size());
+    }
+
+    @Test
+    void simplify_keepsPinnedPoints() {
+        List<RoutePoint> route = List.of(
+                new RoutePoint(0, 0, "A"),
+                new RoutePoint(10, 0, "TRANSITION_ELEVATOR_TO_2"),
+                new RoutePoint(20, 0, "wp2"),
+                new RoutePoint(30, 0, "B"));
+
+        List<RoutePoint> result = RouteSimplifier.simplify(route, 5.0, i -> i == 1);
+
+        assertEquals(List.of("A", "TRANSITION_ELEVATOR_TO_2", "B"),
+                result.stream().map(RoutePoint::getLabel).toList());
+    }
+
+    @Test
+    void simplify_keepsUTurns() {
+        List<RoutePoint> route = List.of(
+                new RoutePoint(0, 0, "A"),
+                new RoutePoint(50, 0, "wp1"),
+                new RoutePoint(20, 0, "B"));
+
+        assertEquals(3, RouteSimplifier.simplify(route, 1.0, i -> false).size());
+    }
+
+    @Test
+    void simplify_shortRouteReturnedUnchanged() {
+        List<RoutePoint> route = List.of(new RoutePoint(0, 0, "A"), new RoutePoint(1, 1, "B"));
+        assertSame(route, RouteSimplifier.simplify(route, 1.0, i -> false));
+    }
+}
@@ -0,0 +1,164 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.benchmark.RoutingEngineBenchmark;
+import com.soen390.backend.service.strategy.StairsAllowedStrategy;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestPathEngineTest {
+
+    @Test
+    void fromProperty_acceptsShortAndConstantNames() {
+        assertEquals(ShortestPathEngine.DIJKSTRA, ShortestPathEngine.fromProperty("dijkstra"));
+        assertEquals(ShortestPathEngine.CONTRACTION_HIERARCHY, ShortestPathEngine.fromProperty(" CH "));
+        assertEquals(ShortestPathEngine.CONTRACTION_HIERARCHY,
+                ShortestPathEngine.fromProperty("contraction_hierarchy"));
+        assertThrows(IllegalArgumentException.class, () -> ShortestPathEngine.fromProperty("bellman-ford"));
+    }
+
+    @Test
+    void contractionHierarchy_matchesDijkstraOnSyntheticCampus() {
+        assertSameShortestPaths(RoutingEngineBenchmark.syntheticCampus(3, 12, 12, 4), 200,
+                ShortestPathEngine.CONTRACTION_HIERARCHY);
+    }
+
+    @Test
+    void contractionHierarchy_matchesDijkstraOnEveryFloorPlan() {
+        assertSameShortestPathsOnEveryFloorPlan(ShortestPathEngine.CONTRACTION_HIERARCHY);
+    }
+
+    @Test
+    void alt_matchesDijkstraOnSyntheticCampus() {
+        assertSameShortestPaths(RoutingEngineBenchmark.syntheticCampus(3, 12, 12, 4), 200, ShortestPathEngine.ALT);
+    }
+
+    @Test
+    void alt_matchesDijkstraOnEveryFloorPlan() {
+        assertSameShortestPathsOnEveryFloorPlan(ShortestPathEngine.ALT);
+    }
+
+    @Test
+    void pathfindingService_withAlt_findsRoutesOnEveryFloor() {
+        PathfindingService alt = new PathfindingService("alt", 4);
+        assertEquals(ShortestPathEngine.ALT, alt.getEngine());
+        for (String planId : alt.getFloorPlanIds()) {
+            List<PathfindingService.Waypoint> waypoints = alt.getWaypointsForBuilding(planId);
+            if (waypoints.size() < 2) continue;
+            List<PathfindingService.Waypoint> path =
+                    alt.findPathThroughWaypoints(planId, waypoints.get(0), waypoints.get(0), false);
+            assertEquals(List.of(waypoints.get(0)), path);
+        }
+    }
+
+    @Test
+    void everyEngine_multiEndpointQueryMatchesTheBestOfItsPairs() {
+        Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph = RoutingEngineBenchmark.syntheticCampus(2, 10, 10, 4);
+        List<PathfindingService.Waypoint> vertices = new ArrayList<>(graph.vertexSet());
+        ShortestPathAlgorithm<PathfindingService.Waypoint, DefaultWeightedEdge> baseline =
+                ShortestPathEngine.DIJKSTRA.prepare(graph);
+        for (ShortestPathEngine engine : ShortestPathEngine.values()) {
+            MultiEndpointShortestPath<PathfindingService.Waypoint, DefaultWeightedEdge> search = engine.prepare(graph);
+            Random random = new Random(5);
+            for (int i = 0; i < 50; i++) {
+                Map<PathfindingService.Waypoint, Double> sources = randomEnds(vertices, random);
+                Map<PathfindingService.Waypoint, Double> targets = randomEnds(vertices, random);
+
+                double expected = Double.POSITIVE_INFINITY;
+                for (Map.Entry<PathfindingService.Waypoint, Double> s : sources.entrySet()) {
+                    for (Map.Entry<PathfindingService.Waypoint, Double> t : targets.entrySet()) {
+                        expected = Math.min(expected, s.getValue() + baseline.getPathWeight(s.getKey(), t.getKey()) + t.getValue());
+                    }
+                }
+                GraphPath<PathfindingService.Waypoint, DefaultWeightedEdge> path = search.getPathBetween(sources, targets);
+                assertNotNull(path, engine::name);
+                PathfindingService.Waypoint first = path.getVertexList().get(0);
+                PathfindingService.Waypoint last = path.getVertexList().get(path.getVertexList().size() - 1);
+                assertEquals(expected, sources.get(first) + path.getWeight() + targets.get(last), 1e-6, engine::name);
+            }
+        }
+    }
+
+    private static Map<PathfindingService.Waypoint, Double> randomEnds(List<PathfindingService.Waypoint> vertices,
+                                                                       Random random) {
+        PathfindingService.Waypoint a = vertices.get(random.nextInt(vertices.size()));
+        PathfindingService.Waypoint b = vertices.get(random.nextInt(vertices.size()));
+        return a.equals(b) ? Map.of(a, 0d) : Map.of(a, random.nextDouble() * 50, b, random.nextDouble() * 50);
+    }
+
+    private static void assertSameShortestPathsOnEveryFloorPlan(ShortestPathEngine engine) {
+        PathfindingService pathfinding = new PathfindingService();
+        for (String planId : pathfinding.getFloorPlanIds()) {
+            Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph =
+                    pathfinding.getGraph(planId, StairsAllowedStrategy.INSTANCE);
+            if (graph != null && !graph.vertexSet().isEmpty()) {
+                assertSameShortestPaths(graph, 25, engine);
+            }
+        }
+    }
+
+    @Test
+    void pathfindingService_withContractionHierarchy_returnsSameRoute() {
+        PathfindingService dijkstra = new PathfindingService(ShortestPathEngine.DIJKSTRA);
+        PathfindingService ch = new PathfindingService("ch", ShortestPathEngine.DEFAULT_LANDMARKS);
+        assertEquals(ShortestPathEngine.CONTRACTION_HIERARCHY, ch.getEngine());
+
+        List<PathfindingService.Waypoint> waypoints = dijkstra.getWaypointsForBuilding("Hall-8");
+        PathfindingService.Waypoint start = waypoints.get(0);
+        PathfindingService.Waypoint end = waypoints.get(waypoints.size() - 1);
+
+        assertEquals(length(dijkstra.findPathThroughWaypoints("Hall-8", start, end, false)),
+                length(ch.findPathThroughWaypoints("Hall-8", start, end, false)), 1e-6);
+    }
+
+    private static void assertSameShortestPaths(Graph<PathfindingService.Waypoint, DefaultWeightedEdge> graph,
+                                                int queries, ShortestPathEngine engine) {
+        ShortestPathAlgorithm<PathfindingService.Waypoint, DefaultWeightedEdge> baseline =
+                ShortestPathEngine.DIJKSTRA.prepare(graph);
+        ShortestPathAlgorithm<PathfindingService.Waypoint, DefaultWeightedEdge> candidate = engine.prepare(graph);
+
+        List<PathfindingService.Waypoint> vertices = new ArrayList<>(graph.vertexSet());
+        Random random = new Random(11);
+        for (int i = 0; i < queries; i++) {
+            PathfindingService.Waypoint s = vertices.get(random.nextInt(vertices.size()));
+            PathfindingService.Waypoint t = vertices.get(random.nextInt(vertices.size()));
+            GraphPath<PathfindingService.Waypoint, DefaultWeightedEdge> expected = baseline.getPath(s, t);
+            GraphPath<PathfindingService.Waypoint, DefaultWeightedEdge> actual = candidate.getPath(s, t);
+            if (expected == null) {
+                assertNull(actual, () -> s + " -> " + t);
+                continue;
+            }
+            assertNotNull(actual, () -> s + " -> " + t);
+            assertEquals(expected.getWeight(), actual.getWeight(), 1e-6);
+
+            // The unpacked path must be a walk over original edges from s to t.
+            List<PathfindingService.Waypoint> walk = actual.getVertexList();
+            assertEquals(s, walk.get(0));
+            assertEquals(t, walk.get(walk.size() - 1));
+            double sum = 0d;
+            for (int k = 1; k < walk.size(); k++) {
+                DefaultWeightedEdge edge = graph.getEdge(walk.get(k - 1), walk.get(k));
+                assertNotNull(edge, "unpacked path uses a shortcut");
+                sum += graph.getEdgeWeight(edge);
+            }
+            assertEquals(expected.getWeight(), sum, 1e-6);
+        }
+    }
+
+    private static double length(List<PathfindingService.Waypoint> path) {
+        double sum = 0d;
+        for (int i = 1; i < path.size(); i++) {
+            sum += path.get(i - 1).distanceTo(path.get(i));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,68 @@
+package com.soen390.backend.service;
+
+import com.soen390.backend.object.ShuttleSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShuttleDepartureEngineTest {
+
+    private final ShuttleDepartureEngine engine = ShuttleDepartureEngine.compile(List.of(
+            new ShuttleSchedule("SGW", "weekday", List.of("09:30", "09:45", "18:30")),
+            new ShuttleSchedule("LOY", "weekday", List.of("09:15", "09:30")),
+            new ShuttleSchedule("SGW", "friday", List.of("09:45", "18:15"))));
+
+    private static int at(String time) {
+        return ShuttleDepartureEngine.minuteOfDay(LocalTime.parse(time));
+    }
+
+    @Test
+    void next_isTheFirstDepartureStrictlyAfterTheGivenMinute() {
+        assertEquals("09:45", ShuttleDepartureEngine.format(engine.next("SGW", DayOfWeek.MONDAY, at("09:30"))));
+        assertEquals("09:30", ShuttleDepartureEngine.format(engine.next("sgw", DayOfWeek.THURSDAY, at("00:00"))));
+        assertEquals(ShuttleDepartureEngine.NONE, engine.next("SGW", DayOfWeek.MONDAY, at("18:30")));
+        assertEquals(ShuttleDepartureEngine.NONE, engine.next("MB", DayOfWeek.MONDAY, at("09:00")));
+    }
+
+    @Test
+    void next_usesTheFridayTablesAndHasNoServiceOnWeekends() {
+        assertEquals("18:15", ShuttleDepartureEngine.format(engine.next("SGW", DayOfWeek.FRIDAY, at("10:00"))));
+        assertEquals(ShuttleDepartureEngine.NONE, engine.next("LOY", DayOfWeek.FRIDAY, at("00:00")));
+        assertEquals(ShuttleDepartureEngine.NONE, engine.next("SGW", DayOfWeek.SATURDAY, at("00:00")));
+        assertEquals(ShuttleDepartureEngine.NONE, engine.next("SGW", DayOfWeek.SUNDAY, at("00:00")));
+    }
+
+    @Test
+    void nextN_fillsTheCallersBufferInOrder() {
+        int[] out = new int[2];
+
+        assertEquals(2, engine.next("SGW", DayOfWeek.MONDAY, at("09:00"), out));
+        assertArrayEquals(new int[]{at("09:30"), at("09:45")}, out);
+        assertEquals(1, engine.next("SGW", DayOfWeek.MONDAY, at("10:00"), out));
+        assertEquals(at("18:30"), out[0]);
+    }
+
+    @Test
+    void nextFromEveryCampus_answersAllCampusesInOnePass() {
+        int[] out = new int[engine.campuses().size()];
+
+        engine.nextFromEveryCampus(DayOfWeek.TUESDAY, at("09:20"), out);
+
+        assertEquals(List.of("SGW", "LOY"), engine.campuses());
+        assertArrayEquals(new int[]{at("09:30"), at("09:30")}, out);
+        engine.nextFromEveryCampus(DayOfWeek.SUNDAY, at("09:20"), out);
+        assertArrayEquals(new int[]{ShuttleDepartureEngine.NONE, ShuttleDepartureEngine.NONE}, out);
+    }
+
+    @Test
+    void defaultSchedules_compileFromTheShuttleConstants() {
+        ShuttleDepartureEngine defaults = new ShuttleScheduleService().getDepartureEngine();
+
+        assertEquals("09:30", ShuttleDepartureEngine.format(defaults.next("SGW", DayOfWeek.MONDAY, at("09:15"))));
+        assertEquals(ShuttleDepartureEngine.NONE, defaults.next("LOY", DayOfWeek.MONDAY, at("23:59")));
+    }
+}
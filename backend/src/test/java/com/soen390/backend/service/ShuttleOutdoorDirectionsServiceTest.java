@@ -1,16 +1,27 @@
 package com.soen390.backend.service;
 
 import com.soen390.backend.enums.*;
+import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.exception.RouteTimeoutException;
 import com.soen390.backend.object.*;
 import org.junit.jupiter.api.*;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -18,10 +29,17 @@ import static org.mockito.Mockito.*;
 
 class ShuttleOutdoorDirectionsServiceTest {
 
+    private static final ZoneId CAMPUS_ZONE = ZoneId.of("America/Montreal");
+
     @Mock
     private GoogleMapsService googleMapsService;
 
-    @InjectMocks
+    @Mock
+    private CampusShuttleLegs campusShuttleLegs;
+
+    @Spy
+    private ShuttleScheduleService shuttleScheduleService = new ShuttleScheduleService();
+
     private ShuttleOutdoorDirectionsService shuttleService;
 
     private AutoCloseable closeable;
@@ -29,6 +47,8 @@ class ShuttleOutdoorDirectionsServiceTest {
     @BeforeEach
     void setUp() {
         closeable = MockitoAnnotations.openMocks(this);
+        shuttleService = new ShuttleOutdoorDirectionsService(googleMapsService, campusShuttleLegs,
+                shuttleScheduleService, Clock.system(CAMPUS_ZONE));
     }
 
     @AfterEach
@@ -36,38 +56,48 @@ class ShuttleOutdoorDirectionsServiceTest {
         closeable.close();
     }
 
+    /** Pins the campus clock to {@code time} on {@code date} in Montreal. */
+    private void useCampusTime(LocalDate date, LocalTime time) {
+        useClock(Clock.fixed(date.atTime(time).atZone(CAMPUS_ZONE).toInstant(), CAMPUS_ZONE));
+    }
+
+    private void useClock(Clock clock) {
+        shuttleService = new ShuttleOutdoorDirectionsService(googleMapsService, campusShuttleLegs,
+                shuttleScheduleService, clock);
+    }
+
+    /** Legs are requested concurrently, so each stub matches its own leg rather than a call order. */
+    private void stubLegs(String origin, String destination, OutdoorDirectionResponse walkToStop,
+                          OutdoorDirectionResponse shuttleLeg, OutdoorDirectionResponse walkFromStop) {
+        when(googleMapsService.getDirections(eq(origin), anyString(), eq(TransportMode.WALKING))).thenReturn(walkToStop);
+        when(googleMapsService.getDirections(anyString(), anyString(), eq(TransportMode.TRANSIT))).thenReturn(shuttleLeg);
+        when(googleMapsService.getDirections(anyString(), eq(destination), eq(TransportMode.WALKING))).thenReturn(walkFromStop);
+    }
+
     @Test
     void testGetShuttleOutdoorDirections_AlwaysSuccess() {
         LocalDate monday = LocalDate.of(2026, 2, 23);
         LocalTime tenAM = LocalTime.of(10, 0);
 
-        try (MockedStatic<LocalDate> mockedDate = mockStatic(LocalDate.class, CALLS_REAL_METHODS);
-             MockedStatic<LocalTime> mockedTime = mockStatic(LocalTime.class, CALLS_REAL_METHODS)) {
-
-            mockedDate.when(LocalDate::now).thenReturn(monday);
-            mockedTime.when(() -> LocalTime.now(java.time.ZoneId.of("America/Montreal"))).thenReturn(tenAM);
-
-            OutdoorDirectionResponse walk1 = new OutdoorDirectionResponse(
-                    "1.0 km", "5 mins", "p1", TransportMode.WALKING, new ArrayList<>());
-            OutdoorDirectionResponse shuttle = new OutdoorDirectionResponse(
-                    "5.0 km", "10 mins", "p2", TransportMode.TRANSIT, new ArrayList<>());
-            OutdoorDirectionResponse walk2 = new OutdoorDirectionResponse(
-                    "0.5 km", "5 mins", "p3", TransportMode.WALKING, new ArrayList<>());
-
-            when(googleMapsService.getDirections(anyString(), anyString(), any(TransportMode.class)))
-                    .thenReturn(walk1)
-                    .thenReturn(shuttle)
-                    .thenReturn(walk2);
-
-            OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
-                    "SGW_Start", "LOY_End", Campus.LOYOLA);
-
-            assertNotNull(result);
-            assertEquals(TransportMode.SHUTTLE, result.getTransportMode());
-            assertEquals("6.50 km", result.getDistance());
-            // Walk(5) + Wait(10 mins to next shuttle after 10:05) + Shuttle(10) + Walk(5) = 30 mins
-            assertEquals("30 mins", result.getDuration());
-        }
+        useCampusTime(monday, tenAM);
+
+        OutdoorDirectionResponse walk1 = new OutdoorDirectionResponse(
+                "1.0 km", "5 mins", "p1", TransportMode.WALKING, new ArrayList<>());
+        OutdoorDirectionResponse shuttle = new OutdoorDirectionResponse(
+                "5.0 km", "10 mins", "p2", TransportMode.TRANSIT, new ArrayList<>());
+        OutdoorDirectionResponse walk2 = new OutdoorDirectionResponse(
+                "0.5 km", "5 mins", "p3", TransportMode.WALKING, new ArrayList<>());
+
+        stubLegs("SGW_Start", "LOY_End", walk1, shuttle, walk2);
+
+        OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
+                "SGW_Start", "LOY_End", Campus.LOYOLA);
+
+        assertNotNull(result);
+        assertEquals(TransportMode.SHUTTLE, result.getTransportMode());
+        assertEquals("6.50 km", result.getDistance());
+        // Walk(5) + Wait(10 mins to next shuttle after 10:05) + Shuttle(10) + Walk(5) = 30 mins
+        assertEquals("30 mins", result.getDuration());
     }
 
     @Test
@@ -75,22 +105,17 @@ class ShuttleOutdoorDirectionsServiceTest {
         LocalDate sunday = LocalDate.of(2026, 2, 22);
         LocalTime tenAM = LocalTime.of(10, 0);
 
-        try (MockedStatic<LocalDate> mockedDate = mockStatic(LocalDate.class, CALLS_REAL_METHODS);
-             MockedStatic<LocalTime> mockedTime = mockStatic(LocalTime.class, CALLS_REAL_METHODS)) {
+        useCampusTime(sunday, tenAM);
 
-            mockedDate.when(LocalDate::now).thenReturn(sunday);
-            mockedTime.when(() -> LocalTime.now(java.time.ZoneId.of("America/Montreal"))).thenReturn(tenAM);
+        OutdoorDirectionResponse dummy = new OutdoorDirectionResponse(
+                "1 km", "5 mins", "p", TransportMode.WALKING, new ArrayList<>());
+        when(googleMapsService.getDirections(anyString(), anyString(), any(TransportMode.class)))
+                .thenReturn(dummy);
 
-            OutdoorDirectionResponse dummy = new OutdoorDirectionResponse(
-                    "1 km", "5 mins", "p", TransportMode.WALKING, new ArrayList<>());
-            when(googleMapsService.getDirections(anyString(), anyString(), any(TransportMode.class)))
-                    .thenReturn(dummy);
+        OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
+                "A", "B", Campus.LOYOLA);
 
-            OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
-                    "A", "B", Campus.LOYOLA);
-
-            assertNull(result, "Should be null because shuttle doesn't run on Sundays");
-        }
+        assertNull(result, "Should be null because shuttle doesn't run on Sundays");
     }
 
     @Test
@@ -98,31 +123,23 @@ class ShuttleOutdoorDirectionsServiceTest {
         LocalDate monday = LocalDate.of(2026, 2, 23);
         LocalTime tenAM = LocalTime.of(10, 0);
 
-        try (MockedStatic<LocalDate> mockedDate = mockStatic(LocalDate.class, CALLS_REAL_METHODS);
-             MockedStatic<LocalTime> mockedTime = mockStatic(LocalTime.class, CALLS_REAL_METHODS)) {
-
-            mockedDate.when(LocalDate::now).thenReturn(monday);
-            mockedTime.when(() -> LocalTime.now(java.time.ZoneId.of("America/Montreal"))).thenReturn(tenAM);
+        useCampusTime(monday, tenAM);
 
-            OutdoorDirectionResponse walk1 = new OutdoorDirectionResponse(
-                    "1.0 km", "5 mins", "p1", TransportMode.WALKING, new ArrayList<>());
-            OutdoorDirectionResponse shuttle = new OutdoorDirectionResponse(
-                    "5.0 km", "10 mins", "p2", TransportMode.TRANSIT, new ArrayList<>());
-            OutdoorDirectionResponse walk2 = new OutdoorDirectionResponse(
-                    "0.5 km", "5 mins", "p3", TransportMode.WALKING, new ArrayList<>());
+        OutdoorDirectionResponse walk1 = new OutdoorDirectionResponse(
+                "1.0 km", "5 mins", "p1", TransportMode.WALKING, new ArrayList<>());
+        OutdoorDirectionResponse shuttle = new OutdoorDirectionResponse(
+                "5.0 km", "10 mins", "p2", TransportMode.TRANSIT, new ArrayList<>());
+        OutdoorDirectionResponse walk2 = new OutdoorDirectionResponse(
+                "0.5 km", "5 mins", "p3", TransportMode.WALKING, new ArrayList<>());
 
-            when(googleMapsService.getDirections(anyString(), anyString(), any(TransportMode.class)))
-                    .thenReturn(walk1)
-                    .thenReturn(shuttle)
-                    .thenReturn(walk2);
+        stubLegs("LOY_Start", "SGW_End", walk1, shuttle, walk2);
 
-            OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
-                    "LOY_Start", "SGW_End", Campus.SGW);
+        OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
+                "LOY_Start", "SGW_End", Campus.SGW);
 
-            assertNotNull(result);
-            assertEquals(TransportMode.SHUTTLE, result.getTransportMode());
-            assertEquals("6.50 km", result.getDistance());
-        }
+        assertNotNull(result);
+        assertEquals(TransportMode.SHUTTLE, result.getTransportMode());
+        assertEquals("6.50 km", result.getDistance());
     }
 
     @Test
@@ -130,22 +147,17 @@ class ShuttleOutdoorDirectionsServiceTest {
         LocalDate monday = LocalDate.of(2026, 2, 23);
         LocalTime lateNight = LocalTime.of(23, 0); // After last shuttle
 
-        try (MockedStatic<LocalDate> mockedDate = mockStatic(LocalDate.class, CALLS_REAL_METHODS);
-             MockedStatic<LocalTime> mockedTime = mockStatic(LocalTime.class, CALLS_REAL_METHODS)) {
-
-            mockedDate.when(LocalDate::now).thenReturn(monday);
-            mockedTime.when(() -> LocalTime.now(java.time.ZoneId.of("America/Montreal"))).thenReturn(lateNight);
+        useCampusTime(monday, lateNight);
 
-            OutdoorDirectionResponse dummy = new OutdoorDirectionResponse(
-                    "1 km", "5 mins", "p", TransportMode.WALKING, new ArrayList<>());
-            when(googleMapsService.getDirections(anyString(), anyString(), any(TransportMode.class)))
-                    .thenReturn(dummy);
+        OutdoorDirectionResponse dummy = new OutdoorDirectionResponse(
+                "1 km", "5 mins", "p", TransportMode.WALKING, new ArrayList<>());
+        when(googleMapsService.getDirections(anyString(), anyString(), any(TransportMode.class)))
+                .thenReturn(dummy);
 
-            OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
-                    "SGW_Start", "LOY_End", Campus.LOYOLA);
+        OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
+                "SGW_Start", "LOY_End", Campus.LOYOLA);
 
-            assertNull(result, "Should be null when no more shuttles are scheduled");
-        }
+        assertNull(result, "Should be null when no more shuttles are scheduled");
     }
 
     @Test
@@ -153,29 +165,127 @@ class ShuttleOutdoorDirectionsServiceTest {
         LocalDate friday = LocalDate.of(2026, 2, 27);
         LocalTime tenAM = LocalTime.of(10, 0);
 
-        try (MockedStatic<LocalDate> mockedDate = mockStatic(LocalDate.class, CALLS_REAL_METHODS);
-             MockedStatic<LocalTime> mockedTime = mockStatic(LocalTime.class, CALLS_REAL_METHODS)) {
+        useCampusTime(friday, tenAM);
+
+        OutdoorDirectionResponse walk1 = new OutdoorDirectionResponse(
+                "1.0 km", "5 mins", "p1", TransportMode.WALKING, new ArrayList<>());
+        OutdoorDirectionResponse shuttle = new OutdoorDirectionResponse(
+                "5.0 km", "10 mins", "p2", TransportMode.TRANSIT, new ArrayList<>());
+        OutdoorDirectionResponse walk2 = new OutdoorDirectionResponse(
+                "0.5 km", "5 mins", "p3", TransportMode.WALKING, new ArrayList<>());
+
+        stubLegs("SGW_Start", "LOY_End", walk1, shuttle, walk2);
+
+        OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
+                "SGW_Start", "LOY_End", Campus.LOYOLA);
+
+        assertNotNull(result, "Friday shuttle should still run");
+        assertEquals(TransportMode.SHUTTLE, result.getTransportMode());
+    }
 
-            mockedDate.when(LocalDate::now).thenReturn(friday);
-            mockedTime.when(() -> LocalTime.now(java.time.ZoneId.of("America/Montreal"))).thenReturn(tenAM);
+    @Test
+    void testGetShuttleOutdoorDirections_RequestsLegsConcurrently() {
+        LocalDate monday = LocalDate.of(2026, 2, 23);
+        LocalTime tenAM = LocalTime.of(10, 0);
+
+        useCampusTime(monday, tenAM);
+
+        // Each leg only answers once all three are in flight, which never happens if they run one by one.
+        CountDownLatch allInFlight = new CountDownLatch(3);
+        when(googleMapsService.getDirections(anyString(), anyString(), any(TransportMode.class)))
+                .thenAnswer(invocation -> {
+                    allInFlight.countDown();
+                    allInFlight.await();
+                    return new OutdoorDirectionResponse("1.0 km", "5 mins", "p",
+                            invocation.getArgument(2), new ArrayList<>());
+                });
+
+        OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
+                "SGW_Start", "LOY_End", Campus.LOYOLA);
+
+        assertNotNull(result);
+        assertEquals("3.00 km", result.getDistance());
+    }
+
+    @Test
+    void testGetShuttleOutdoorDirections_lateThursdayInMontreal_usesThursdayEvenWhenUtcIsFriday() {
+        // 20:30 on Thursday 2026-10-22 in Montreal is already 00:30 on Friday in UTC.
+        useClock(Clock.fixed(Instant.parse("2026-10-23T00:30:00Z"), CAMPUS_ZONE));
+        ShuttleDepartureEngine engine = spy(shuttleScheduleService.getDepartureEngine());
+        doReturn(engine).when(shuttleScheduleService).getDepartureEngine();
+        OutdoorDirectionResponse walk = new OutdoorDirectionResponse(
+                "1.0 km", "5 mins", "p1", TransportMode.WALKING, new ArrayList<>());
+        when(googleMapsService.getDirections(anyString(), anyString(), any(TransportMode.class))).thenReturn(walk);
+
+        shuttleService.getShuttleOutdoorDirections("SGW_Start", "LOY_End", Campus.LOYOLA);
+
+        verify(engine).next("SGW", DayOfWeek.THURSDAY, 20 * 60 + 35);
+    }
+
+    @Test
+    void testGetShuttleOutdoorDirections_FirstFailureReturnsWithoutInterruptingTheOtherLegs() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        AtomicInteger interrupted = new AtomicInteger();
+        when(googleMapsService.getDirections(anyString(), anyString(), eq(TransportMode.WALKING)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        interrupted.incrementAndGet();
+                    }
+                    finished.countDown();
+                    return null;
+                });
+        when(googleMapsService.getDirections(anyString(), anyString(), eq(TransportMode.TRANSIT)))
+                .thenAnswer(invocation -> {
+                    started.await(5, TimeUnit.SECONDS);
+                    throw new GoogleMapsDirectionsApiException("Google Maps directions request failed with status: UNKNOWN_ERROR");
+                });
+
+        GoogleMapsDirectionsApiException thrown = assertTimeoutPreemptively(Duration.ofSeconds(4),
+                () -> assertThrows(GoogleMapsDirectionsApiException.class,
+                        () -> shuttleService.getShuttleOutdoorDirections("SGW_Start", "LOY_End", Campus.LOYOLA)));
+
+        assertTrue(thrown.getMessage().contains("UNKNOWN_ERROR"));
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS), "walking legs should run to completion");
+        assertEquals(0, interrupted.get(), "walking legs may be shared and must not be interrupted");
+    }
+
+    @Test
+    void testGetShuttleOutdoorDirections_FailsWhenTheDeadlinePasses() {
+        ReflectionTestUtils.setField(shuttleService, "legsDeadline", Duration.ofMillis(100));
+        when(googleMapsService.getDirections(anyString(), anyString(), any(TransportMode.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(Duration.ofSeconds(30));
+                    return null;
+                });
+
+        assertThrows(RouteTimeoutException.class,
+                () -> shuttleService.getShuttleOutdoorDirections("SGW_Start", "LOY_End", Campus.LOYOLA));
+    }
+
+    @Test
+    void testGetShuttleOutdoorDirections_UsesThePrecomputedCampusLeg() {
+        LocalDate monday = LocalDate.of(2026, 2, 23);
+        LocalTime tenAM = LocalTime.of(10, 0);
 
-            OutdoorDirectionResponse walk1 = new OutdoorDirectionResponse(
-                    "1.0 km", "5 mins", "p1", TransportMode.WALKING, new ArrayList<>());
-            OutdoorDirectionResponse shuttle = new OutdoorDirectionResponse(
-                    "5.0 km", "10 mins", "p2", TransportMode.TRANSIT, new ArrayList<>());
-            OutdoorDirectionResponse walk2 = new OutdoorDirectionResponse(
-                    "0.5 km", "5 mins", "p3", TransportMode.WALKING, new ArrayList<>());
+        useCampusTime(monday, tenAM);
 
-            when(googleMapsService.getDirections(anyString(), anyString(), any(TransportMode.class)))
-                    .thenReturn(walk1)
-                    .thenReturn(shuttle)
-                    .thenReturn(walk2);
+        OutdoorDirectionResponse walk = new OutdoorDirectionResponse(
+                "1.0 km", "5 mins", "p1", TransportMode.WALKING, new ArrayList<>());
+        OutdoorDirectionResponse precomputed = new OutdoorDirectionResponse(
+                "7.0 km", "10 mins", "p2", TransportMode.TRANSIT, new ArrayList<>());
+        when(googleMapsService.getDirections(anyString(), anyString(), eq(TransportMode.WALKING))).thenReturn(walk);
+        when(campusShuttleLegs.toward(Campus.LOYOLA)).thenReturn(Optional.of(precomputed));
 
-            OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
-                    "SGW_Start", "LOY_End", Campus.LOYOLA);
+        OutdoorDirectionResponse result = shuttleService.getShuttleOutdoorDirections(
+                "SGW_Start", "LOY_End", Campus.LOYOLA);
 
-            assertNotNull(result, "Friday shuttle should still run");
-            assertEquals(TransportMode.SHUTTLE, result.getTransportMode());
-        }
+        assertEquals("9.00 km", result.getDistance());
+        verify(googleMapsService, never()).getDirections(anyString(), anyString(), eq(TransportMode.TRANSIT));
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,10 @@ package com.soen390.backend.service;
 
 import com.soen390.backend.enums.BuildingLocation;
 import com.soen390.backend.enums.TransportMode;
+import com.soen390.backend.exception.GoogleMapsDirectionsApiException;
+import com.soen390.backend.exception.IndoorResourceNotFoundException;
+import com.soen390.backend.exception.RouteTimeoutException;
+import com.soen390.backend.object.IndoorConnection;
 import com.soen390.backend.object.IndoorDirectionResponse;
 import com.soen390.backend.object.OutdoorDirectionResponse;
 import com.soen390.backend.object.ShuttleSchedule;
@@ -9,11 +13,19 @@ import com.soen390.backend.object.UniversalDirectionResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,7 +45,6 @@ class UniversalRoutingServiceTest {
     @Mock
     private ShuttleScheduleService shuttleScheduleService;
 
-    @InjectMocks
     private UniversalRoutingService universalRoutingService;
 
     private IndoorDirectionResponse mockIndoorLeg;
@@ -49,6 +60,10 @@ class UniversalRoutingServiceTest {
         lenient().when(googleMapsService.getDirections(any(), any(), any())).thenReturn(mockOutdoorLeg);
         lenient().when(mockIndoorLeg.getDuration()).thenReturn("5 mins");
         lenient().when(mockOutdoorLeg.getDuration()).thenReturn("15 mins");
+        lenient().when(shuttleScheduleService.getDepartureEngine()).thenReturn(ShuttleDepartureEngine.compile(List.of()));
+        // Monday 10:00 on campus
+        universalRoutingService = new UniversalRoutingService(indoorDirectionService, googleMapsService,
+                shuttleScheduleService, Clock.fixed(Instant.parse("2026-10-19T14:00:00Z"), ZoneId.of("America/Montreal")));
     }
 
     @Test
@@ -80,7 +95,8 @@ class UniversalRoutingServiceTest {
         mockSchedule.setDayType("weekday");
         mockSchedule.setDepartureTimes(List.of("00:01", "23:59"));
 
-        when(shuttleScheduleService.getSchedules()).thenReturn(List.of(mockSchedule));
+        when(shuttleScheduleService.getDepartureEngine())
+                .thenReturn(ShuttleDepartureEngine.compile(List.of(mockSchedule)));
 
         UniversalDirectionResponse response = universalRoutingService.getCompleteRoute(
                 startBuilding, "H8-843", "8",
@@ -103,7 +119,8 @@ class UniversalRoutingServiceTest {
 
         mockSchedule.setDepartureTimes(List.of("00:00"));
 
-        when(shuttleScheduleService.getSchedules()).thenReturn(List.of(mockSchedule));
+        when(shuttleScheduleService.getDepartureEngine())
+                .thenReturn(ShuttleDepartureEngine.compile(List.of(mockSchedule)));
 
         UniversalDirectionResponse response = universalRoutingService.getCompleteRoute(
                 "H", "H-1", "1", "VL", "VL-1", "1", false
@@ -113,16 +130,14 @@ class UniversalRoutingServiceTest {
     }
 
     @Test
-    void getCompleteRoute_handlesNullBuildingIds_usesDefaults() {
-        UniversalDirectionResponse response = universalRoutingService.getCompleteRoute(
+    void getCompleteRoute_nullBuildingIds_areRejected() {
+        assertThrows(IndoorResourceNotFoundException.class, () -> universalRoutingService.getCompleteRoute(
                 null, "room1", "1",
                 null, "room2", "1", false
-        );
+        ));
 
-        verify(indoorDirectionService).getIndoorDirections(
-                eq(null), eq("room1"), eq("main-entrance"), eq("1"), eq("1"), anyBoolean()
-        );
-        assertNotNull(response);
+        verify(indoorDirectionService, never()).getIndoorDirections(
+                any(), any(), any(), any(), any(), anyBoolean());
     }
 
     @Test
@@ -149,10 +164,139 @@ class UniversalRoutingServiceTest {
     }
 
     @Test
-    void getCompleteRoute_unknownBuildingPrefix_usesMainEntrance() {
-        // Covers getBuildingEntranceId fallback for unknown prefix
-        universalRoutingService.getCompleteRoute("XX", "r1", "1", "H", "r2", "1", false);
-        verify(indoorDirectionService).getIndoorDirections(
-                eq("XX"), eq("r1"), eq("main-entrance"), eq("1"), eq("1"), anyBoolean());
+    void getCompleteRoute_unknownBuildingPrefix_isRejected() {
+        IndoorResourceNotFoundException thrown = assertThrows(IndoorResourceNotFoundException.class,
+                () -> universalRoutingService.getCompleteRoute("XX", "r1", "1", "H", "r2", "1", false));
+
+        assertTrue(thrown.getMessage().contains("XX"));
+        verifyNoInteractions(googleMapsService);
+    }
+
+    @Test
+    void getCompleteRoute_buildingsWithoutAFloorPlan_areRejected() {
+        assertThrows(IndoorResourceNotFoundException.class,
+                () -> universalRoutingService.getCompleteRoute("HB", "HB-131", "1", "H", "r2", "1", false));
+        assertThrows(IndoorResourceNotFoundException.class,
+                () -> universalRoutingService.getCompleteRoute("H", "r1", "1", "HU", "HU-101", "1", false));
+
+        verify(indoorDirectionService, never()).getIndoorDirections(
+                any(), any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void getCompleteRoute_connectedBuildings_staysIndoorsWithoutOutdoorLookup() {
+        IndoorDirectionResponse hallLeg = mock(IndoorDirectionResponse.class);
+        IndoorDirectionResponse mbLeg = mock(IndoorDirectionResponse.class);
+        IndoorConnection tunnel = new IndoorConnection(
+                "tunnel", "H", "H1-Metro-Entry", "MB", "MB-S2-Entrance-Exit", "260 m", "3 min 5 sec");
+        when(indoorDirectionService.getConnectedIndoorDirections(
+                "H", "H8-843", "8", "MB", "MB-S2-245", "S2", false))
+                .thenReturn(Optional.of(new IndoorDirectionService.ConnectedIndoorRoute(
+                        List.of(hallLeg, mbLeg), List.of(tunnel), "400 m", "4 min 45 sec")));
+
+        UniversalDirectionResponse response = universalRoutingService.getCompleteRoute(
+                "H", "H8-843", "8", "MB", "MB-S2-245", "S2", false);
+
+        verifyNoInteractions(googleMapsService, shuttleScheduleService);
+        assertSame(hallLeg, response.getStartIndoorRoute());
+        assertSame(mbLeg, response.getEndIndoorRoute());
+        assertNull(response.getOutdoorRoute());
+        assertTrue(response.getConnectingIndoorRoutes().isEmpty());
+        assertEquals(List.of(tunnel), response.getIndoorConnections());
+        assertEquals("Approx 4 min 45 sec indoors.", response.getTotalDuration());
+    }
+
+    @Test
+    void getCompleteRoute_runsTheLegsConcurrently() {
+        // Each leg only answers once all three are in flight, which never happens if they run one by one.
+        CountDownLatch allInFlight = new CountDownLatch(3);
+        when(indoorDirectionService.getIndoorDirections(any(), any(), any(), any(), any(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    allInFlight.countDown();
+                    allInFlight.await();
+                    return mockIndoorLeg;
+                });
+        when(googleMapsService.getDirections(any(), any(), any())).thenAnswer(invocation -> {
+            allInFlight.countDown();
+            allInFlight.await();
+            return mockOutdoorLeg;
+        });
+
+        UniversalDirectionResponse response = universalRoutingService.getCompleteRoute(
+                "H", "H8-843", "8", "MB", "MB-101", "1", false);
+
+        assertFalse(response.isDegraded());
+        assertSame(mockOutdoorLeg, response.getOutdoorRoute());
+    }
+
+    @Test
+    void getCompleteRoute_outdoorLegTimesOut_returnsIndoorLegsMarkedDegraded() {
+        ReflectionTestUtils.setField(universalRoutingService, "routeDeadline", Duration.ofMillis(100));
+        when(googleMapsService.getDirections(any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(Duration.ofSeconds(30));
+            return mockOutdoorLeg;
+        });
+
+        UniversalDirectionResponse response = universalRoutingService.getCompleteRoute(
+                "H", "H8-843", "8", "MB", "MB-101", "1", false);
+
+        assertTrue(response.isDegraded());
+        assertNull(response.getOutdoorRoute());
+        assertSame(mockIndoorLeg, response.getStartIndoorRoute());
+        assertSame(mockIndoorLeg, response.getEndIndoorRoute());
+    }
+
+    @Test
+    void getCompleteRoute_indoorLegTimesOut_raisesRouteTimeoutWithoutInterruptingTheLegs() throws Exception {
+        ReflectionTestUtils.setField(universalRoutingService, "routeDeadline", Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        AtomicInteger interrupted = new AtomicInteger();
+        when(indoorDirectionService.getIndoorDirections(any(), any(), any(), any(), any(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    started.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        interrupted.incrementAndGet();
+                    }
+                    finished.incrementAndGet();
+                    return mockIndoorLeg;
+                });
+
+        assertThrows(RouteTimeoutException.class,
+                () -> universalRoutingService.getCompleteRoute("H", "H8-843", "8", "MB", "MB-101", "1", false));
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (finished.get() < started.get() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(started.get(), finished.get());
+        assertEquals(0, interrupted.get());
+    }
+
+    @Test
+    void getCompleteRoute_googleUnavailable_returnsIndoorLegsMarkedDegraded() {
+        when(googleMapsService.getDirections(any(), any(), any()))
+                .thenThrow(new GoogleMapsDirectionsApiException("Google Maps directions are temporarily unavailable."));
+
+        UniversalDirectionResponse response = universalRoutingService.getCompleteRoute(
+                "H", "H8-843", "8", "MB", "MB-101", "1", false);
+
+        assertTrue(response.isDegraded());
+        assertNotNull(response.getStartIndoorRoute());
+    }
+
+    @Test
+    void getCompleteRoute_indoorLegFailure_isRethrown() {
+        when(indoorDirectionService.getIndoorDirections(any(), any(), any(), any(), any(), anyBoolean()))
+                .thenThrow(new IndoorResourceNotFoundException("Room not found: H8-999"));
+
+        IndoorResourceNotFoundException thrown = assertThrows(IndoorResourceNotFoundException.class,
+                () -> universalRoutingService.getCompleteRoute("H", "H8-999", "8", "MB", "MB-101", "1", false));
+
+        assertEquals("Room not found: H8-999", thrown.getMessage());
     }
 }